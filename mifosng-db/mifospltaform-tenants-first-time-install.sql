@@ -82,8 +82,8 @@ CREATE TABLE `tenants` (
   `pool_abandon_when_percentage_full` int(5) DEFAULT 50,
   `pool_test_on_borrow` tinyint(1) DEFAULT 1,
   `pool_max_active` int(5) DEFAULT 40,
-  `pool_min_idle` int(5) DEFAULT 20,
-  `pool_max_idle` int(5) DEFAULT 10,
+  `pool_min_idle` int(5) DEFAULT 5,
+  `pool_max_idle` int(5) DEFAULT 20,
   `pool_suspect_timeout` int(5) DEFAULT 60,
   `pool_time_between_eviction_runs_millis` int(11) DEFAULT 34000,
   `pool_min_evictable_idle_time_millis` int(11) DEFAULT 60000,
@@ -98,7 +98,7 @@ CREATE TABLE `tenants` (
 LOCK TABLES `tenants` WRITE;
 /*!40000 ALTER TABLE `tenants` DISABLE KEYS */;
 INSERT INTO `tenants` VALUES 
-(1,'default','default','mifostenant-default','Asia/Kolkata',NULL,NULL,NULL,NULL,'localhost','3306','root','mysql',1,5,30000,1,60,1,50,1,40,20,10,60,34000,60000);
+(1,'default','default','mifostenant-default','Asia/Kolkata',NULL,NULL,NULL,NULL,'localhost','3306','root','mysql',1,5,30000,1,60,1,50,1,40,5,20,60,34000,60000);
 /*!40000 ALTER TABLE `tenants` ENABLE KEYS */;
 UNLOCK TABLES;
 
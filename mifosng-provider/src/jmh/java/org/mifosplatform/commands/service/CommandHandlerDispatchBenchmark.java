@@ -0,0 +1,190 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.commands.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.mifosplatform.commands.domain.CommandWrapper;
+import org.mifosplatform.commands.exception.UnsupportedCommandException;
+import org.mifosplatform.commands.handler.NewCommandSourceHandler;
+import org.mifosplatform.infrastructure.core.api.JsonCommand;
+import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.GenericApplicationContext;
+
+/**
+ * Compares resolving the handler of a command through the former chain of
+ * {@link CommandWrapper} predicates followed by a bean lookup by name against
+ * the {@link CommandHandlerRegistry} dispatch table.
+ *
+ * The chain is modelled by {@link #COMMANDS}, the entities in the order the
+ * chain checked them, each followed by its actions in the order they were
+ * checked. The commands benchmarked sit at the start, the middle and the end
+ * of the chain.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandHandlerDispatchBenchmark {
+
+    private static final String[][] COMMANDS = {
+            { "ACCOUNTTRANSFER", "CREATE", "REFUNDBYTRANSFER" },
+            { "CONFIGURATION", "UPDATE" },
+            { "CLIENTNOTE", "CREATE", "UPDATE", "DELETE" },
+            { "LOANNOTE", "CREATE", "UPDATE", "DELETE" },
+            { "LOANTRANSACTIONNOTE", "CREATE", "UPDATE", "DELETE" },
+            { "SAVINGNOTE", "CREATE", "UPDATE", "DELETE" },
+            { "GROUPNOTE", "CREATE", "UPDATE", "DELETE" },
+            { "CLIENTIDENTIFIER", "CREATE", "UPDATE", "DELETE" },
+            { "CLIENT", "CREATE", "UPDATE", "DELETE", "ACTIVATE", "UNASSIGNSTAFF", "ASSIGNSTAFF", "CLOSE", "PROPOSETRANSFER",
+                    "PROPOSEANDACCEPTTRANSFER", "WITHDRAWTRANSFER", "ACCEPTTRANSFER", "REJECTTRANSFER", "UPDATESAVINGSACCOUNT", "REJECT",
+                    "WITHDRAW", "REACTIVATE" },
+            { "ROLE", "PERMISSIONS", "CREATE", "UPDATE", "DELETE", "DISABLE", "ENABLE" },
+            { "PERMISSION", "UPDATE" },
+            { "USER", "CREATE", "UPDATE", "DELETE" },
+            { "HOOK", "CREATE", "UPDATE", "DELETE" },
+            { "STAFF", "CREATE", "UPDATE" },
+            { "GUARANTOR", "CREATE", "UPDATE", "DELETE" },
+            { "TELLER", "CREATE", "UPDATE", "DELETE", "ALLOCATECASHIER", "UPDATECASHIERALLOCATION", "DELETECASHIERALLOCATION",
+                    "ALLOCATECASHTOCASHIER", "SETTLECASHFROMCASHIER" },
+            { "COLLATERAL", "CREATE", "UPDATE", "DELETE" },
+            { "CODE", "CREATE", "UPDATE", "DELETE" },
+            { "CODEVALUE", "CREATE", "UPDATE", "DELETE" },
+            { "SMS", "CREATE", "UPDATE", "DELETE" },
+            { "CURRENCY", "UPDATE" },
+            { "FUND", "CREATE", "UPDATE" },
+            { "OFFICE", "CREATE", "UPDATE" },
+            { "OFFICETRANSACTION", "CREATE", "DELETE" },
+            { "CHARGE", "CREATE", "UPDATE", "DELETE" },
+            { "LOANPRODUCT", "CREATE", "UPDATE" },
+            { "LOAN", "APPROVE", "APPROVALUNDO", "WITHDRAW", "REJECT", "DISBURSE", "DISBURSETOSAVINGS", "DISBURSALUNDO", "REPAYMENT",
+                    "RECOVERYPAYMENT", "ADJUST", "WAIVEINTERESTPORTION", "WRITEOFF", "CLOSE", "CLOSEASRESCHEDULED", "UPDATELOANOFFICER",
+                    "REMOVELOANOFFICER", "BULKREASSIGN", "CREATE", "UPDATE", "DELETE", "UNDOWRITEOFF", "RECOVERGUARANTEES", "REFUNDBYCASH",
+                    "UNDOREFUND" },
+            { "LOANCHARGE", "CREATE", "DELETE", "UPDATE", "WAIVE", "PAY" },
+            { "DISBURSEMENTDETAIL", "UPDATE" },
+            { "GLACCOUNT", "CREATE", "UPDATE", "DELETE" },
+            { "GLCLOSURE", "CREATE", "UPDATE", "DELETE" },
+            { "JOURNALENTRY", "CREATE", "REVERSE", "UPDATERUNNINGBALANCE", "DEFINEOPENINGBALANCE" },
+            { "PERIODICACCRUALACCOUNTING", "EXECUTE" },
+            { "SAVINGSPRODUCT", "CREATE", "UPDATE", "DELETE" },
+            { "FIXEDDEPOSITPRODUCT", "CREATE", "UPDATE", "DELETE" },
+            { "RECURRINGDEPOSITPRODUCT", "CREATE", "UPDATE", "DELETE" },
+            { "SAVINGSACCOUNT", "CREATE", "UPDATE", "DELETE", "REJECT", "WITHDRAW", "APPROVE", "APPROVALUNDO", "DEPOSIT", "WITHDRAWAL",
+                    "ACTIVATE", "CALCULATEINTEREST", "POSTINTEREST", "UNDOTRANSACTION", "ADJUSTTRANSACTION", "CLOSE",
+                    "UPDATESAVINGSOFFICER", "REMOVESAVINGSOFFICER" },
+            { "SAVINGSACCOUNTCHARGE", "CREATE", "DELETE", "UPDATE", "WAIVE", "PAY", "INACTIVATE" },
+            { "FIXEDDEPOSITACCOUNT", "CREATE", "UPDATE", "DELETE", "REJECT", "WITHDRAW", "APPROVE", "APPROVALUNDO", "DEPOSIT", "WITHDRAWAL",
+                    "ACTIVATE", "CALCULATEINTEREST", "POSTINTEREST", "UNDOTRANSACTION", "ADJUSTTRANSACTION", "CLOSE", "PREMATURECLOSE" },
+            { "RECURRINGDEPOSITACCOUNT", "CREATE", "UPDATE", "DELETE", "REJECT", "WITHDRAW", "APPROVE", "APPROVALUNDO",
+                    "UPDATEDEPOSITAMOUNT", "DEPOSIT", "WITHDRAWAL", "ACTIVATE", "CALCULATEINTEREST", "POSTINTEREST", "UNDOTRANSACTION",
+                    "ADJUSTTRANSACTION", "CLOSE", "PREMATURECLOSE" },
+            { "INTERESTRATECHART", "CREATE", "UPDATE", "DELETE" },
+            { "CHARTSLAB", "CREATE", "UPDATE", "DELETE" },
+            { "CALENDAR", "CREATE", "UPDATE", "DELETE" },
+            { "GROUP", "CREATE", "UPDATE", "DELETE", "UNASSIGNSTAFF", "ACTIVATE", "ASSOCIATECLIENTS", "DISASSOCIATECLIENTS",
+                    "SAVECOLLECTIONSHEET", "ASSIGNROLE", "UNASSIGNROLE", "UPDATEROLE", "ASSIGNSTAFF", "TRANSFERCLIENTS", "CLOSE" },
+            { "CENTER", "CREATE", "UPDATE", "DELETE", "ACTIVATE", "SAVECOLLECTIONSHEET", "CLOSE", "DISASSOCIATEGROUPS", "ASSOCIATEGROUPS" },
+            { "COLLECTIONSHEET", "UPDATE", "SAVE" },
+            { "REPORT", "CREATE", "UPDATE", "DELETE" },
+            { "ACCOUNTINGRULE", "CREATE", "UPDATE", "DELETE" },
+            { "XBRLMAPPING", "UPDATE" },
+            { "HOLIDAY", "CREATE", "UPDATE", "DELETE", "ACTIVATE" },
+            { "PRODUCTMIX", "CREATE", "UPDATE", "DELETE" },
+            { "SCHEDULER", "UPDATE" },
+            { "CACHE", "UPDATE" },
+            { "DATASOURCE", "RECONFIGURE", "EVICT" },
+            { "MEETING", "CREATE", "UPDATE", "DELETE", "SAVEORUPDATEATTENDANCE" },
+            { "TEMPLATE", "CREATE", "UPDATE", "DELETE" },
+            { "STANDINGINSTRUCTION", "CREATE", "UPDATE", "DELETE" },
+            { "FINANCIALACTIVITYACCOUNT", "CREATE", "UPDATE", "DELETE" },
+            { "LIKELIHOOD", "UPDATE" },
+            { "SURVEY", "REGISTER", "CREATE" },
+            { "RESCHEDULELOAN", "CREATE", "APPROVE", "REJECT" },
+            { "ACCOUNTNUMBERFORMAT", "CREATE", "UPDATE", "DELETE" },
+    };
+
+    @Param({ "CREATE_ACCOUNTTRANSFER", "REPAYMENT_LOAN", "DELETE_ACCOUNTNUMBERFORMAT" })
+    public String command;
+
+    private GenericApplicationContext applicationContext;
+    private CommandHandlerRegistry registry;
+    private CommandWrapper wrapper;
+
+    @Setup
+    public void setUp() {
+        this.applicationContext = new GenericApplicationContext();
+        final Map<String, NewCommandSourceHandler> dispatchTable = new HashMap<>();
+        for (final String[] entityActions : COMMANDS) {
+            for (int i = 1; i < entityActions.length; i++) {
+                final NewCommandSourceHandler handler = new StubCommandHandler();
+                this.applicationContext.getBeanFactory().registerSingleton(beanNameFor(entityActions[0], entityActions[i]), handler);
+                dispatchTable.put(CommandHandlerRegistry.keyFor(entityActions[0], entityActions[i]), handler);
+            }
+        }
+        this.applicationContext.refresh();
+        this.registry = new CommandHandlerRegistry(dispatchTable);
+
+        final String actionName = this.command.substring(0, this.command.indexOf('_'));
+        final String entityName = this.command.substring(this.command.indexOf('_') + 1);
+        final String href = "/" + entityName.toLowerCase() + "/1";
+        this.wrapper = new CommandWrapper(null, null, null, null, null, actionName, entityName, 1L, null, href, null, null, null, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.applicationContext.close();
+    }
+
+    @Benchmark
+    public NewCommandSourceHandler predicateChain() {
+        for (final String[] entityActions : COMMANDS) {
+            if (this.wrapper.entityName().equalsIgnoreCase(entityActions[0])) {
+                for (int i = 1; i < entityActions.length; i++) {
+                    if (this.wrapper.actionName().equalsIgnoreCase(entityActions[i])) {
+                        final String beanName = beanNameFor(entityActions[0], entityActions[i]);
+                        return this.applicationContext.getBean(beanName, NewCommandSourceHandler.class);
+                    }
+                }
+                throw new UnsupportedCommandException(this.wrapper.commandName());
+            }
+        }
+        throw new UnsupportedCommandException(this.wrapper.commandName());
+    }
+
+    @Benchmark
+    public NewCommandSourceHandler dispatchTable() {
+        return this.registry.findCommandHandler(this.wrapper);
+    }
+
+    private static String beanNameFor(final String entityName, final String actionName) {
+        return actionName.toLowerCase() + entityName + "CommandHandler";
+    }
+
+    private static final class StubCommandHandler implements NewCommandSourceHandler {
+
+        @Override
+        public CommandProcessingResult processCommand(@SuppressWarnings("unused") final JsonCommand command) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.organisation.monetary.domain;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares accumulating amounts with {@link Money} against
+ * {@link FixedPointMoney}, the way summary wrappers total up installments and
+ * transactions, and the way the schedule generators keep running totals they
+ * read back as {@link Money} each period. Schedule generation and transaction reprocessing are measured
+ * by LoanScheduleGeneratorBenchmark and
+ * LoanRepaymentScheduleTransactionProcessorBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    @Param({ "USD", "XOF_MULTIPLES" })
+    public String currencyType;
+
+    @Param({ "12", "365", "1000" })
+    public int numberOfAmounts;
+
+    private MonetaryCurrency currency;
+    private List<Money> amounts;
+
+    @Setup
+    public void setUp() {
+        if ("USD".equals(this.currencyType)) {
+            this.currency = new MonetaryCurrency("USD", 2, null);
+        } else {
+            this.currency = new MonetaryCurrency("XOF", 0, 50);
+        }
+
+        final Random random = new Random(42);
+        this.amounts = new ArrayList<>(this.numberOfAmounts);
+        for (int i = 0; i < this.numberOfAmounts; i++) {
+            final BigDecimal amount = BigDecimal.valueOf(random.nextInt(10000000), 2);
+            this.amounts.add(Money.of(this.currency, random.nextInt(10) == 0 ? amount.negate() : amount));
+        }
+    }
+
+    @Benchmark
+    public Money totalWithMoney() {
+        Money total = Money.zero(this.currency);
+        for (final Money amount : this.amounts) {
+            total = total.plus(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money totalWithFixedPointMoney() {
+        final FixedPointMoney total = FixedPointMoney.zero(this.currency);
+        for (final Money amount : this.amounts) {
+            total.plus(amount);
+        }
+        return total.toMoney();
+    }
+
+    /**
+     * A running total that is read as {@link Money} after each amount, the
+     * way the schedule generators pass the cumulative principal and interest
+     * into the calculation of the next period.
+     */
+    @Benchmark
+    public Money runningTotalReadEachStepWithMoney() {
+        Money total = Money.zero(this.currency);
+        Money lastRead = total;
+        for (final Money amount : this.amounts) {
+            total = total.plus(amount);
+            lastRead = total;
+        }
+        return lastRead;
+    }
+
+    @Benchmark
+    public Money runningTotalReadEachStepWithFixedPointMoney() {
+        final FixedPointMoney total = FixedPointMoney.zero(this.currency);
+        Money lastRead = null;
+        for (final Money amount : this.amounts) {
+            lastRead = total.plus(amount).toMoney();
+        }
+        return lastRead;
+    }
+
+    @Benchmark
+    public int countPositiveWithMoney() {
+        int count = 0;
+        for (final Money amount : this.amounts) {
+            if (amount.isGreaterThanZero()) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
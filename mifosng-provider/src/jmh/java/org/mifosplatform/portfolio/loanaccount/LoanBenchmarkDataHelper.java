@@ -0,0 +1,196 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.portfolio.loanaccount;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.joda.time.Days;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.mifosplatform.organisation.holiday.domain.Holiday;
+import org.mifosplatform.organisation.monetary.domain.ApplicationCurrency;
+import org.mifosplatform.organisation.monetary.domain.MonetaryCurrency;
+import org.mifosplatform.organisation.monetary.domain.Money;
+import org.mifosplatform.organisation.workingdays.domain.RepaymentRescheduleType;
+import org.mifosplatform.organisation.workingdays.domain.WorkingDays;
+import org.mifosplatform.portfolio.common.domain.DaysInMonthType;
+import org.mifosplatform.portfolio.common.domain.DaysInYearType;
+import org.mifosplatform.portfolio.common.domain.PeriodFrequencyType;
+import org.mifosplatform.portfolio.loanaccount.data.DisbursementData;
+import org.mifosplatform.portfolio.loanaccount.data.HolidayDetailDTO;
+import org.mifosplatform.portfolio.loanaccount.data.LoanTermVariationsData;
+import org.mifosplatform.portfolio.loanaccount.domain.LoanInterestRecalculationDetails;
+import org.mifosplatform.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.mifosplatform.portfolio.loanaccount.domain.LoanTransaction;
+import org.mifosplatform.portfolio.loanaccount.loanschedule.domain.LoanApplicationTerms;
+import org.mifosplatform.portfolio.loanaccount.loanschedule.domain.LoanScheduleModel;
+import org.mifosplatform.portfolio.loanaccount.loanschedule.domain.LoanScheduleModelPeriod;
+import org.mifosplatform.portfolio.loanproduct.domain.AmortizationMethod;
+import org.mifosplatform.portfolio.loanproduct.domain.InterestCalculationPeriodMethod;
+import org.mifosplatform.portfolio.loanproduct.domain.InterestMethod;
+import org.mifosplatform.portfolio.loanproduct.domain.InterestRecalculationCompoundingMethod;
+import org.mifosplatform.portfolio.loanproduct.domain.LoanRescheduleStrategyMethod;
+import org.mifosplatform.portfolio.loanproduct.domain.RecalculationFrequencyType;
+
+/**
+ * Helper class for creating synthetic loans for the benchmarks.
+ *
+ * Loans are repaid monthly up to 12 installments, weekly up to 52
+ * installments and daily beyond that. They are disbursed so that half of the
+ * loan term lies in the past, and prior repayments are spread evenly over
+ * that half, together covering half of the principal.
+ */
+public class LoanBenchmarkDataHelper {
+
+    public static final MathContext MATH_CONTEXT = new MathContext(8, RoundingMode.HALF_EVEN);
+
+    private static final BigDecimal PRINCIPAL = BigDecimal.valueOf(1000000);
+    private static final BigDecimal ANNUAL_NOMINAL_INTEREST_RATE = BigDecimal.valueOf(24);
+    private static final BigDecimal PRINCIPAL_THRESHOLD_FOR_LAST_INSTALMENT = BigDecimal.valueOf(50);
+
+    private static final BenchmarkCurrency CURRENCY = new BenchmarkCurrency("USD", 2);
+
+    public static MonetaryCurrency currency() {
+        return new MonetaryCurrency(CURRENCY.getCode(), CURRENCY.getDecimalPlaces(), CURRENCY.getCurrencyInMultiplesOf());
+    }
+
+    public static PeriodFrequencyType repaymentFrequencyFor(final int numberOfRepayments) {
+        if (numberOfRepayments <= 12) { return PeriodFrequencyType.MONTHS; }
+        if (numberOfRepayments <= 52) { return PeriodFrequencyType.WEEKS; }
+        return PeriodFrequencyType.DAYS;
+    }
+
+    public static LocalDate disbursementDateFor(final int numberOfRepayments) {
+        final LocalDate today = LocalDate.now();
+        final LocalDate maturityDate;
+        switch (repaymentFrequencyFor(numberOfRepayments)) {
+            case MONTHS:
+                maturityDate = today.plusMonths(numberOfRepayments);
+            break;
+            case WEEKS:
+                maturityDate = today.plusWeeks(numberOfRepayments);
+            break;
+            default:
+                maturityDate = today.plusDays(numberOfRepayments);
+            break;
+        }
+        return today.minusDays(Days.daysBetween(today, maturityDate).getDays() / 2);
+    }
+
+    public static LoanApplicationTerms loanApplicationTerms(final int numberOfRepayments, final InterestMethod interestMethod) {
+        final boolean isInterestRecalculationEnabled = false;
+        return loanApplicationTerms(numberOfRepayments, interestMethod, isInterestRecalculationEnabled);
+    }
+
+    /**
+     * Declining balance terms with interest recalculated on repayment dates,
+     * reducing the EMI amount.
+     */
+    public static LoanApplicationTerms loanApplicationTermsWithInterestRecalculation(final int numberOfRepayments) {
+        final boolean isInterestRecalculationEnabled = true;
+        final LoanApplicationTerms terms = loanApplicationTerms(numberOfRepayments, InterestMethod.DECLINING_BALANCE,
+                isInterestRecalculationEnabled);
+
+        final LoanInterestRecalculationDetails interestRecalculationDetails = LoanInterestRecalculationDetails.createFrom(
+                InterestRecalculationCompoundingMethod.NONE.getValue(), LoanRescheduleStrategyMethod.REDUCE_EMI_AMOUNT.getValue(),
+                RecalculationFrequencyType.SAME_AS_REPAYMENT_PERIOD.getValue(), null, null);
+
+        return LoanApplicationTerms.assembleFrom(CURRENCY, terms.getLoanTermFrequency(), terms.getLoanTermPeriodFrequencyType(),
+                terms.getExpectedDisbursementDate(), null, null, Money.zero(currency()), terms.toLoanProductRelatedDetail(), false, null,
+                new ArrayList<DisbursementData>(), null, new ArrayList<LoanTermVariationsData>(), null, interestRecalculationDetails,
+                null, RecalculationFrequencyType.SAME_AS_REPAYMENT_PERIOD, PRINCIPAL_THRESHOLD_FOR_LAST_INSTALMENT, null);
+    }
+
+    private static LoanApplicationTerms loanApplicationTerms(final int numberOfRepayments, final InterestMethod interestMethod,
+            final boolean isInterestRecalculationEnabled) {
+        final MonetaryCurrency currency = currency();
+        final PeriodFrequencyType repaymentFrequencyType = repaymentFrequencyFor(numberOfRepayments);
+
+        return LoanApplicationTerms.assembleFrom(CURRENCY, numberOfRepayments, repaymentFrequencyType, numberOfRepayments, 1,
+                repaymentFrequencyType, null, null, AmortizationMethod.EQUAL_INSTALLMENTS, interestMethod, ANNUAL_NOMINAL_INTEREST_RATE,
+                PeriodFrequencyType.YEARS, ANNUAL_NOMINAL_INTEREST_RATE, InterestCalculationPeriodMethod.SAME_AS_REPAYMENT_PERIOD,
+                Money.of(currency, PRINCIPAL), disbursementDateFor(numberOfRepayments), null, null, null, null, null, null,
+                Money.zero(currency), false, null, new ArrayList<DisbursementData>(), null, new ArrayList<LoanTermVariationsData>(), null,
+                DaysInMonthType.ACTUAL, DaysInYearType.ACTUAL, isInterestRecalculationEnabled, PRINCIPAL_THRESHOLD_FOR_LAST_INSTALMENT,
+                null);
+    }
+
+    /**
+     * Every day is a working day and there are no holidays.
+     */
+    public static HolidayDetailDTO holidayDetails() {
+        final boolean isHolidayEnabled = false;
+        return new HolidayDetailDTO(isHolidayEnabled, new ArrayList<Holiday>(), new BenchmarkWorkingDays(
+                "FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TU,WE,TH,FR,SA,SU", RepaymentRescheduleType.MOVE_TO_NEXT_WORKING_DAY.getValue()));
+    }
+
+    public static List<LoanRepaymentScheduleInstallment> installmentsFrom(final LoanScheduleModel loanScheduleModel) {
+        final List<LoanRepaymentScheduleInstallment> installments = new ArrayList<>();
+        for (final LoanScheduleModelPeriod period : loanScheduleModel.getPeriods()) {
+            if (period.isRepaymentPeriod()) {
+                installments.add(new LoanRepaymentScheduleInstallment(null, period.periodNumber(), period.periodFromDate(), period
+                        .periodDueDate(), period.principalDue(), period.interestDue(), period.feeChargesDue(), period.penaltyChargesDue(),
+                        period.isRecalculatedInterestComponent()));
+            }
+        }
+        return installments;
+    }
+
+    /**
+     * Creates new (unsaved) repayments between the disbursement date and
+     * today, in date order.
+     */
+    public static List<LoanTransaction> repayments(final LocalDate disbursementDate, final int numberOfTransactions) {
+        final List<LoanTransaction> repayments = new ArrayList<>(numberOfTransactions);
+        if (numberOfTransactions == 0) { return repayments; }
+
+        final Money amount = Money.of(currency(),
+                PRINCIPAL.divide(BigDecimal.valueOf(2L * numberOfTransactions), 2, RoundingMode.HALF_EVEN));
+        final int daysElapsed = Days.daysBetween(disbursementDate, LocalDate.now()).getDays();
+        for (int i = 0; i < numberOfTransactions; i++) {
+            final LocalDate transactionDate = disbursementDate.plusDays(1 + (int) ((long) i * (daysElapsed - 1) / numberOfTransactions));
+            repayments.add(LoanTransaction.repayment(null, amount, null, transactionDate, null, LocalDateTime.now(), null));
+        }
+        return repayments;
+    }
+
+    private static final class BenchmarkCurrency extends ApplicationCurrency {
+
+        private final String code;
+        private final Integer decimalPlaces;
+
+        BenchmarkCurrency(final String code, final Integer decimalPlaces) {
+            this.code = code;
+            this.decimalPlaces = decimalPlaces;
+        }
+
+        @Override
+        public String getCode() {
+            return this.code;
+        }
+
+        @Override
+        public Integer getDecimalPlaces() {
+            return this.decimalPlaces;
+        }
+
+        @Override
+        public Integer getCurrencyInMultiplesOf() {
+            return null;
+        }
+    }
+
+    private static final class BenchmarkWorkingDays extends WorkingDays {
+
+        BenchmarkWorkingDays(final String recurrence, final Integer repaymentReschedulingType) {
+            super(recurrence, repaymentReschedulingType);
+        }
+    }
+}
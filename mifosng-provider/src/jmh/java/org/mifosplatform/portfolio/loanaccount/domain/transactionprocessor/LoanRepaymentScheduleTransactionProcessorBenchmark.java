@@ -0,0 +1,92 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.portfolio.loanaccount.domain.transactionprocessor;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.LocalDate;
+import org.mifosplatform.organisation.monetary.domain.MonetaryCurrency;
+import org.mifosplatform.portfolio.loanaccount.LoanBenchmarkDataHelper;
+import org.mifosplatform.portfolio.loanaccount.domain.ChangedTransactionDetail;
+import org.mifosplatform.portfolio.loanaccount.domain.LoanCharge;
+import org.mifosplatform.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.mifosplatform.portfolio.loanaccount.domain.LoanTransaction;
+import org.mifosplatform.portfolio.loanaccount.loanschedule.domain.DefaultLoanScheduleGeneratorFactory;
+import org.mifosplatform.portfolio.loanaccount.loanschedule.domain.LoanApplicationTerms;
+import org.mifosplatform.portfolio.loanproduct.domain.InterestMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures re-processing all transactions of a loan against its schedule, as
+ * done on every repayment, adjustment or undo, for each
+ * {@link LoanRepaymentScheduleTransactionProcessor} strategy.
+ *
+ * Re-processing resets the derived amounts of the installments and new
+ * repayments before applying them, so the same loan is re-processed on every
+ * call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoanRepaymentScheduleTransactionProcessorBenchmark {
+
+    @Param({ "CreocoreLoanRepaymentScheduleTransactionProcessor", "EarlyPaymentLoanRepaymentScheduleTransactionProcessor",
+            "HeavensFamilyLoanRepaymentScheduleTransactionProcessor",
+            "InterestPrincipalPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor",
+            "MifosStyleLoanRepaymentScheduleTransactionProcessor",
+            "PrincipalInterestPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor", "RBILoanRepaymentScheduleTransactionProcessor" })
+    public String transactionProcessor;
+
+    @Param({ "12", "52", "365", "1000" })
+    public int numberOfRepayments;
+
+    @Param({ "0", "50", "500" })
+    public int numberOfTransactions;
+
+    private LoanRepaymentScheduleTransactionProcessor loanRepaymentScheduleTransactionProcessor;
+    private MonetaryCurrency currency;
+    private LocalDate disbursementDate;
+    private List<LoanRepaymentScheduleInstallment> installments;
+    private List<LoanTransaction> transactions;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.loanRepaymentScheduleTransactionProcessor = (LoanRepaymentScheduleTransactionProcessor) Class.forName(
+                LoanRepaymentScheduleTransactionProcessor.class.getPackage().getName() + ".impl." + this.transactionProcessor)
+                .newInstance();
+        this.currency = LoanBenchmarkDataHelper.currency();
+
+        final LoanApplicationTerms loanApplicationTerms = LoanBenchmarkDataHelper.loanApplicationTerms(this.numberOfRepayments,
+                InterestMethod.DECLINING_BALANCE);
+        this.disbursementDate = loanApplicationTerms.getExpectedDisbursementDate();
+        this.installments = LoanBenchmarkDataHelper.installmentsFrom(new DefaultLoanScheduleGeneratorFactory().create(
+                InterestMethod.DECLINING_BALANCE).generate(LoanBenchmarkDataHelper.MATH_CONTEXT, loanApplicationTerms,
+                new HashSet<LoanCharge>(), LoanBenchmarkDataHelper.holidayDetails()));
+        this.transactions = LoanBenchmarkDataHelper.repayments(this.disbursementDate, this.numberOfTransactions);
+    }
+
+    @Benchmark
+    public ChangedTransactionDetail handleTransaction() {
+        final LocalDate recalculateChargesFrom = null;
+        return this.loanRepaymentScheduleTransactionProcessor.handleTransaction(this.disbursementDate, this.transactions, this.currency,
+                this.installments, new HashSet<LoanCharge>(), recalculateChargesFrom);
+    }
+}
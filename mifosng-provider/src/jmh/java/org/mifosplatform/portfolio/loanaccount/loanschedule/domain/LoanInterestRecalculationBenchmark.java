@@ -0,0 +1,103 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.portfolio.loanaccount.loanschedule.domain;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.LocalDate;
+import org.mifosplatform.portfolio.loanaccount.LoanBenchmarkDataHelper;
+import org.mifosplatform.portfolio.loanaccount.data.HolidayDetailDTO;
+import org.mifosplatform.portfolio.loanaccount.domain.LoanCharge;
+import org.mifosplatform.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.mifosplatform.portfolio.loanaccount.domain.LoanTransaction;
+import org.mifosplatform.portfolio.loanaccount.domain.transactionprocessor.LoanRepaymentScheduleTransactionProcessor;
+import org.mifosplatform.portfolio.loanproduct.domain.InterestMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures
+ * {@link LoanScheduleGenerator#rescheduleNextInstallments(java.math.MathContext, LoanApplicationTerms, java.util.Set, HolidayDetailDTO, List, LoanRepaymentScheduleTransactionProcessor, List, LocalDate, LocalDate, int)}
+ * , which recalculates interest for every repayment date of a loan with
+ * interest recalculation enabled.
+ *
+ * The interest first strategy additionally identifies interest only periods
+ * before recalculating.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoanInterestRecalculationBenchmark {
+
+    @Param({ "MifosStyleLoanRepaymentScheduleTransactionProcessor", "RBILoanRepaymentScheduleTransactionProcessor" })
+    public String transactionProcessor;
+
+    @Param({ "12", "52", "365", "1000" })
+    public int numberOfRepayments;
+
+    @Param({ "0", "50", "500" })
+    public int numberOfTransactions;
+
+    private LoanScheduleGenerator loanScheduleGenerator;
+    private LoanRepaymentScheduleTransactionProcessor loanRepaymentScheduleTransactionProcessor;
+    private HolidayDetailDTO holidayDetailDTO;
+    private LoanScheduleModel originalSchedule;
+
+    private LoanApplicationTerms loanApplicationTerms;
+    private List<LoanRepaymentScheduleInstallment> previousSchedule;
+    private List<LoanTransaction> transactions;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.loanScheduleGenerator = new DefaultLoanScheduleGeneratorFactory().create(InterestMethod.DECLINING_BALANCE);
+        this.loanRepaymentScheduleTransactionProcessor = (LoanRepaymentScheduleTransactionProcessor) Class.forName(
+                LoanRepaymentScheduleTransactionProcessor.class.getPackage().getName() + ".impl." + this.transactionProcessor)
+                .newInstance();
+        this.holidayDetailDTO = LoanBenchmarkDataHelper.holidayDetails();
+        this.originalSchedule = this.loanScheduleGenerator.generate(LoanBenchmarkDataHelper.MATH_CONTEXT,
+                LoanBenchmarkDataHelper.loanApplicationTermsWithInterestRecalculation(this.numberOfRepayments),
+                new HashSet<LoanCharge>(), this.holidayDetailDTO);
+    }
+
+    /**
+     * Recalculation updates the terms, installments and transactions passed
+     * in, so each call starts from fresh copies. Calls take milliseconds, well
+     * above the overhead of an invocation level setup.
+     */
+    @Setup(Level.Invocation)
+    public void setUpLoan() {
+        this.loanApplicationTerms = LoanBenchmarkDataHelper.loanApplicationTermsWithInterestRecalculation(this.numberOfRepayments);
+        this.previousSchedule = LoanBenchmarkDataHelper.installmentsFrom(this.originalSchedule);
+        this.transactions = LoanBenchmarkDataHelper.repayments(this.loanApplicationTerms.getExpectedDisbursementDate(),
+                this.numberOfTransactions);
+    }
+
+    @Benchmark
+    public LoanScheduleModel rescheduleNextInstallments() {
+        final LocalDate disbursementDate = this.loanApplicationTerms.getExpectedDisbursementDate();
+        final LocalDate lastTransactionDate = this.transactions.isEmpty() ? disbursementDate : this.transactions.get(
+                this.transactions.size() - 1).getTransactionDate();
+        final int penaltyWaitPeriod = 0;
+        return this.loanScheduleGenerator.rescheduleNextInstallments(LoanBenchmarkDataHelper.MATH_CONTEXT, this.loanApplicationTerms,
+                new HashSet<LoanCharge>(), this.holidayDetailDTO, this.transactions, this.loanRepaymentScheduleTransactionProcessor,
+                this.previousSchedule, disbursementDate, lastTransactionDate, penaltyWaitPeriod);
+    }
+}
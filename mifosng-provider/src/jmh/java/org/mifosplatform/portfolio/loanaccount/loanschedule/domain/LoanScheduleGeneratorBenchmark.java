@@ -0,0 +1,67 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.portfolio.loanaccount.loanschedule.domain;
+
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+import org.mifosplatform.portfolio.loanaccount.LoanBenchmarkDataHelper;
+import org.mifosplatform.portfolio.loanaccount.data.HolidayDetailDTO;
+import org.mifosplatform.portfolio.loanaccount.domain.LoanCharge;
+import org.mifosplatform.portfolio.loanproduct.domain.InterestMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures generating a new repayment schedule, as done when calculating a
+ * loan schedule or submitting a loan application, with
+ * {@link DecliningBalanceInterestLoanScheduleGenerator} and
+ * {@link FlatInterestLoanScheduleGenerator}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoanScheduleGeneratorBenchmark {
+
+    @Param({ "DECLINING_BALANCE", "FLAT" })
+    public InterestMethod interestMethod;
+
+    @Param({ "12", "52", "365", "1000" })
+    public int numberOfRepayments;
+
+    private LoanScheduleGenerator loanScheduleGenerator;
+    private HolidayDetailDTO holidayDetailDTO;
+
+    @Setup
+    public void setUp() {
+        this.loanScheduleGenerator = new DefaultLoanScheduleGeneratorFactory().create(this.interestMethod);
+        this.holidayDetailDTO = LoanBenchmarkDataHelper.holidayDetails();
+    }
+
+    /**
+     * Terms are assembled on every call as schedule generation updates them,
+     * assembling them is cheap compared to generating the schedule.
+     */
+    @Benchmark
+    public LoanScheduleModel generate() {
+        final LoanApplicationTerms loanApplicationTerms = LoanBenchmarkDataHelper.loanApplicationTerms(this.numberOfRepayments,
+                this.interestMethod);
+        return this.loanScheduleGenerator.generate(LoanBenchmarkDataHelper.MATH_CONTEXT, loanApplicationTerms, new HashSet<LoanCharge>(),
+                this.holidayDetailDTO);
+    }
+}
@@ -19,4 +19,10 @@ public interface FinancialActivityAccountReadPlatformService {
 
     FinancialActivityAccountData getFinancialActivityAccountTemplate();
 
+    /**
+     * Returns the id of the GL account mapped to the financial activity, and
+     * throws a not found exception if there is none.
+     */
+    Long retrieveGLAccountIdForFinancialActivity(int financialActivityType);
+
 }
\ No newline at end of file
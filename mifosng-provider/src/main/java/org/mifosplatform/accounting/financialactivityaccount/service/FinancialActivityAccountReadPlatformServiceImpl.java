@@ -19,6 +19,7 @@ import org.mifosplatform.accounting.glaccount.data.GLAccountData;
 import org.mifosplatform.infrastructure.core.domain.JdbcSupport;
 import org.mifosplatform.infrastructure.core.service.RoutingDataSource;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
@@ -73,6 +74,16 @@ public class FinancialActivityAccountReadPlatformServiceImpl implements Financia
         return addTemplateDetails(financialActivityAccountData);
     }
 
+    @Override
+    @Cacheable(value = "financialActivityGLAccounts", key = "T(org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#financialActivityType+'fagl')")
+    public Long retrieveGLAccountIdForFinancialActivity(final int financialActivityType) {
+        final List<Long> glAccountIds = this.jdbcTemplate.queryForList(
+                "select faa.gl_account_id from acc_gl_financial_activity_account faa where faa.financial_activity_type = ?", Long.class,
+                financialActivityType);
+        if (glAccountIds.isEmpty()) { throw new FinancialActivityAccountNotFoundException(financialActivityType); }
+        return glAccountIds.get(0);
+    }
+
     private static final class FinancialActivityAccountMapper implements RowMapper<FinancialActivityAccountData> {
 
         private final String sql;
@@ -5,6 +5,12 @@
  */
 package org.mifosplatform.accounting.journalentry.api;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashSet;
@@ -19,6 +25,8 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
 import org.apache.commons.lang.StringUtils;
@@ -37,6 +45,9 @@ import org.mifosplatform.infrastructure.core.serialization.DefaultToApiJsonSeria
 import org.mifosplatform.infrastructure.core.service.Page;
 import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
 import org.mifosplatform.infrastructure.core.service.SearchParameters;
+import org.mifosplatform.infrastructure.dataqueries.service.CsvGenericResultsetWriter;
+import org.mifosplatform.infrastructure.dataqueries.service.GenericResultsetWriter;
+import org.mifosplatform.infrastructure.dataqueries.service.NdjsonGenericResultsetWriter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
@@ -82,7 +93,8 @@ public class JournalEntriesApiResource {
             @QueryParam("offset") final Integer offset, @QueryParam("limit") final Integer limit,
             @QueryParam("orderBy") final String orderBy, @QueryParam("sortOrder") final String sortOrder,
             @QueryParam("locale") final String locale, @QueryParam("dateFormat") final String dateFormat,
-            @QueryParam("runningBalance") final boolean runningBalance, @QueryParam("transactionDetails") final boolean transactionDetails) {
+            @QueryParam("runningBalance") final boolean runningBalance, @QueryParam("transactionDetails") final boolean transactionDetails,
+            @QueryParam("after") final String after) {
 
         this.context.authenticatedUser().validateHasReadPermission(this.resourceNameForPermission);
 
@@ -95,7 +107,8 @@ public class JournalEntriesApiResource {
             toDate = toDateParam.getDate("toDate", dateFormat, locale);
         }
 
-        final SearchParameters searchParameters = SearchParameters.forJournalEntries(officeId, offset, limit, orderBy, sortOrder);
+        final SearchParameters searchParameters = SearchParameters.forJournalEntries(officeId, offset, limit, orderBy, sortOrder,
+                after);
         JournalEntryAssociationParametersData associationParametersData = new JournalEntryAssociationParametersData(transactionDetails,
                 runningBalance);
 
@@ -105,6 +118,54 @@ public class JournalEntriesApiResource {
         return this.apiJsonSerializerService.serialize(settings, glJournalEntries, RESPONSE_DATA_PARAMETERS);
     }
 
+    /**
+     * Streams all journal entries of a date range, and optionally an office,
+     * as newline delimited JSON or CSV in entry id order. An interrupted
+     * export is resumed by passing the last entry id received as
+     * <code>afterId</code>.
+     */
+    @GET
+    @Path("export")
+    @Produces({ "application/x-ndjson", "text/csv" })
+    public Response export(@QueryParam("officeId") final Long officeId, @QueryParam("fromDate") final DateParam fromDateParam,
+            @QueryParam("toDate") final DateParam toDateParam, @QueryParam("afterId") final Long afterId,
+            @QueryParam("format") final String format, @QueryParam("locale") final String locale,
+            @QueryParam("dateFormat") final String dateFormat) {
+
+        this.context.authenticatedUser().validateHasReadPermission(this.resourceNameForPermission);
+
+        final boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && format != null && !"ndjson".equalsIgnoreCase(format)) { throw new UnrecognizedQueryParamException("format", format,
+                "ndjson", "csv"); }
+
+        Date fromDate = null;
+        if (fromDateParam != null) {
+            fromDate = fromDateParam.getDate("fromDate", dateFormat, locale);
+        }
+        Date toDate = null;
+        if (toDateParam != null) {
+            toDate = toDateParam.getDate("toDate", dateFormat, locale);
+        }
+        final Date exportFromDate = fromDate;
+        final Date exportToDate = toDate;
+
+        final StreamingOutput output = new StreamingOutput() {
+
+            @Override
+            public void write(final OutputStream out) throws IOException {
+                final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                final GenericResultsetWriter resultsetWriter = csv ? new CsvGenericResultsetWriter(writer)
+                        : new NdjsonGenericResultsetWriter(writer);
+                JournalEntriesApiResource.this.journalEntryReadPlatformService.exportJournalEntries(officeId, exportFromDate,
+                        exportToDate, afterId, resultsetWriter);
+            }
+        };
+
+        if (csv) { return Response.ok().entity(output).type("text/csv")
+                .header("Content-Disposition", "attachment;filename=JournalEntries.csv").build(); }
+        return Response.ok().entity(output).type("application/x-ndjson").build();
+    }
+
     @GET
     @Path("{journalEntryId}")
     @Consumes({ MediaType.APPLICATION_JSON })
@@ -0,0 +1,38 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.accounting.journalentry.service;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.Map;
+
+import org.mifosplatform.accounting.journalentry.domain.JournalEntry;
+
+public interface GLBalanceSnapshotService {
+
+    /**
+     * Adds a newly posted journal entry, including a reversal entry, to the
+     * daily and month end balances of its office, GL account and currency.
+     * Called in the transaction that posts the entry; the balances are updated
+     * when it commits, or right away outside of a transaction.
+     */
+    void addJournalEntry(JournalEntry journalEntry);
+
+    /**
+     * Adds the debits and credits posted on a day, e.g. the total of a batch of
+     * journal entries, to the daily and month end balances of the office, GL
+     * account and currency. Like {@link #addJournalEntry(JournalEntry)} it
+     * must be called before the transaction starts to commit.
+     */
+    void addPostedAmounts(Long officeId, Long accountId, String currencyCode, Date entryDate, BigDecimal debitAmount,
+            BigDecimal creditAmount);
+
+    /**
+     * Returns the debits less the credits posted on or before the given date,
+     * by GL code, over all offices and currencies.
+     */
+    Map<String, BigDecimal> retrieveNetDebitBalancesByGLCode(Date asOnDate);
+}
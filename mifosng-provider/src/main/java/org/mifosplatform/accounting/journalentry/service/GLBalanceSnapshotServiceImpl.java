@@ -0,0 +1,249 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.accounting.journalentry.service;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.joda.time.LocalDate;
+import org.mifosplatform.accounting.journalentry.domain.JournalEntry;
+import org.mifosplatform.infrastructure.core.service.RoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Maintains the GL balance snapshots: the debits and credits posted per
+ * office, GL account and currency on each day in
+ * <code>acc_gl_daily_balance</code>, and their totals up to the end of each
+ * month with postings in <code>acc_gl_month_end_balance</code>.
+ *
+ * The balance on a date is the latest month end total on or before it plus the
+ * daily postings after that month end, so it reads at most one month of daily
+ * rows instead of every journal entry posted so far.
+ *
+ * Amounts posted in a transaction are added up per office, GL account,
+ * currency and day and written just before it commits, in that order, so
+ * transactions posting to the same accounts lock their snapshot rows in the
+ * same order.
+ */
+@Service
+public class GLBalanceSnapshotServiceImpl implements GLBalanceSnapshotService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public GLBalanceSnapshotServiceImpl(final RoutingDataSource dataSource) {
+        this(new JdbcTemplate(dataSource));
+    }
+
+    GLBalanceSnapshotServiceImpl(final JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void addJournalEntry(final JournalEntry journalEntry) {
+        final BigDecimal debitAmount = journalEntry.isDebitEntry() ? journalEntry.getAmount() : BigDecimal.ZERO;
+        final BigDecimal creditAmount = journalEntry.isDebitEntry() ? BigDecimal.ZERO : journalEntry.getAmount();
+        addPostedAmounts(journalEntry.getOffice().getId(), journalEntry.getGlAccount().getId(), journalEntry.getCurrencyCode(),
+                journalEntry.getTransactionDate(), debitAmount, creditAmount);
+    }
+
+    @Override
+    public void addPostedAmounts(final Long officeId, final Long accountId, final String currencyCode, final Date transactionDate,
+            final BigDecimal debitAmount, final BigDecimal creditAmount) {
+        final SnapshotKey key = new SnapshotKey(officeId, accountId, currencyCode, LocalDate.fromDateFields(transactionDate));
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyPostedAmounts(key, debitAmount, creditAmount);
+            return;
+        }
+        pendingSnapshotsOfCurrentTransaction().add(key, debitAmount, creditAmount);
+    }
+
+    /**
+     * Registered as a synchronization for the same reason as the pending
+     * entries of {@link JournalEntryPostingServiceImpl}.
+     */
+    private PendingSnapshots pendingSnapshotsOfCurrentTransaction() {
+        for (final TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingSnapshots) { return (PendingSnapshots) synchronization; }
+        }
+        final PendingSnapshots pendingSnapshots = new PendingSnapshots();
+        TransactionSynchronizationManager.registerSynchronization(pendingSnapshots);
+        return pendingSnapshots;
+    }
+
+    private void applyPostedAmounts(final SnapshotKey key, final BigDecimal debitAmount, final BigDecimal creditAmount) {
+        final Date entryDate = key.entryDate.toDate();
+        final Date monthEndDate = key.entryDate.dayOfMonth().withMaximumValue().toDate();
+
+        this.jdbcTemplate.update("insert into acc_gl_daily_balance (office_id, account_id, currency_code, entry_date, debit_amount, "
+                + "credit_amount) values (?, ?, ?, ?, ?, ?) on duplicate key update debit_amount=debit_amount+values(debit_amount), "
+                + "credit_amount=credit_amount+values(credit_amount)", key.officeId, key.accountId, key.currencyCode, entryDate,
+                debitAmount, creditAmount);
+
+        this.jdbcTemplate.update("update acc_gl_month_end_balance set debit_amount=debit_amount+?, credit_amount=credit_amount+? "
+                + "where office_id=? and account_id=? and currency_code=? and month_end_date >= ?", debitAmount, creditAmount,
+                key.officeId, key.accountId, key.currencyCode, monthEndDate);
+
+        final Integer monthEndTotals = this.jdbcTemplate.queryForObject("select count(*) from acc_gl_month_end_balance "
+                + "where office_id=? and account_id=? and currency_code=? and month_end_date=?", Integer.class, key.officeId,
+                key.accountId, key.currencyCode, monthEndDate);
+        if (monthEndTotals == 0) {
+            createMonthEndTotal(key, monthEndDate, debitAmount, creditAmount);
+        }
+    }
+
+    /**
+     * The first posting of a month creates its month end total from the
+     * latest earlier month end total and the daily balances after it, which
+     * already include this posting.
+     */
+    private void createMonthEndTotal(final SnapshotKey key, final Date monthEndDate, final BigDecimal debitAmount,
+            final BigDecimal creditAmount) {
+
+        final List<Map<String, Object>> previousMonthEnds = this.jdbcTemplate.queryForList("select month_end_date, debit_amount, "
+                + "credit_amount from acc_gl_month_end_balance where office_id=? and account_id=? and currency_code=? "
+                + "and month_end_date < ? order by month_end_date desc limit 1", key.officeId, key.accountId, key.currencyCode,
+                monthEndDate);
+
+        BigDecimal debitTotal = BigDecimal.ZERO;
+        BigDecimal creditTotal = BigDecimal.ZERO;
+        final Map<String, Object> dailyTotals;
+        final String dailyTotalsSql = "select ifnull(sum(debit_amount), 0) as debit_amount, ifnull(sum(credit_amount), 0) as credit_amount "
+                + "from acc_gl_daily_balance where office_id=? and account_id=? and currency_code=? and entry_date <= ?";
+        if (previousMonthEnds.isEmpty()) {
+            dailyTotals = this.jdbcTemplate.queryForMap(dailyTotalsSql, key.officeId, key.accountId, key.currencyCode, monthEndDate);
+        } else {
+            final Map<String, Object> previousMonthEnd = previousMonthEnds.get(0);
+            debitTotal = (BigDecimal) previousMonthEnd.get("debit_amount");
+            creditTotal = (BigDecimal) previousMonthEnd.get("credit_amount");
+            dailyTotals = this.jdbcTemplate.queryForMap(dailyTotalsSql + " and entry_date > ?", key.officeId, key.accountId,
+                    key.currencyCode, monthEndDate, previousMonthEnd.get("month_end_date"));
+        }
+        debitTotal = debitTotal.add((BigDecimal) dailyTotals.get("debit_amount"));
+        creditTotal = creditTotal.add((BigDecimal) dailyTotals.get("credit_amount"));
+
+        final int monthEndTotalsCreated = this.jdbcTemplate.update("insert ignore into acc_gl_month_end_balance "
+                + "(office_id, account_id, currency_code, month_end_date, debit_amount, credit_amount) values (?, ?, ?, ?, ?, ?)",
+                key.officeId, key.accountId, key.currencyCode, monthEndDate, debitTotal, creditTotal);
+        if (monthEndTotalsCreated == 0) {
+            // created meanwhile by a concurrent first posting of the month,
+            // which could not see the daily balance of this one
+            this.jdbcTemplate.update("update acc_gl_month_end_balance set debit_amount=debit_amount+?, credit_amount=credit_amount+? "
+                    + "where office_id=? and account_id=? and currency_code=? and month_end_date=?", debitAmount, creditAmount,
+                    key.officeId, key.accountId, key.currencyCode, monthEndDate);
+        }
+    }
+
+    @Override
+    public Map<String, BigDecimal> retrieveNetDebitBalancesByGLCode(final Date asOnDate) {
+        final LocalDate onDate = LocalDate.fromDateFields(asOnDate);
+        final LocalDate monthEndDate = onDate.dayOfMonth().withMaximumValue();
+        final LocalDate lastMonthEndDate = onDate.equals(monthEndDate) ? onDate : onDate.withDayOfMonth(1).minusDays(1);
+
+        final StringBuilder sql = new StringBuilder(1000);
+        sql.append("select gl.gl_code as glCode, sum(b.debit_amount) - sum(b.credit_amount) as balance from (");
+        sql.append("select me.account_id, me.debit_amount, me.credit_amount from acc_gl_month_end_balance me ");
+        sql.append("join (select office_id, account_id, currency_code, max(month_end_date) as month_end_date ");
+        sql.append("from acc_gl_month_end_balance where month_end_date <= ? group by office_id, account_id, currency_code) latest ");
+        sql.append("on latest.office_id = me.office_id and latest.account_id = me.account_id ");
+        sql.append("and latest.currency_code = me.currency_code and latest.month_end_date = me.month_end_date ");
+        sql.append("union all ");
+        sql.append("select db.account_id, db.debit_amount, db.credit_amount from acc_gl_daily_balance db ");
+        sql.append("where db.entry_date > ? and db.entry_date <= ?");
+        sql.append(") b join acc_gl_account gl on gl.id = b.account_id group by gl.gl_code");
+
+        final Map<String, BigDecimal> balances = new HashMap<>();
+        this.jdbcTemplate.query(sql.toString(), new RowCallbackHandler() {
+
+            @Override
+            public void processRow(final ResultSet rs) throws SQLException {
+                balances.put(rs.getString("glCode"), rs.getBigDecimal("balance"));
+            }
+        }, lastMonthEndDate.toDate(), lastMonthEndDate.toDate(), onDate.toDate());
+        return balances;
+    }
+
+    private final class PendingSnapshots extends TransactionSynchronizationAdapter {
+
+        private final Map<SnapshotKey, BigDecimal[]> postedAmounts = new TreeMap<>();
+
+        void add(final SnapshotKey key, final BigDecimal debitAmount, final BigDecimal creditAmount) {
+            final BigDecimal[] amounts = this.postedAmounts.get(key);
+            if (amounts == null) {
+                this.postedAmounts.put(key, new BigDecimal[] { debitAmount, creditAmount });
+            } else {
+                amounts[0] = amounts[0].add(debitAmount);
+                amounts[1] = amounts[1].add(creditAmount);
+            }
+        }
+
+        @Override
+        public void beforeCommit(@SuppressWarnings("unused") final boolean readOnly) {
+            for (final Map.Entry<SnapshotKey, BigDecimal[]> postedAmount : this.postedAmounts.entrySet()) {
+                applyPostedAmounts(postedAmount.getKey(), postedAmount.getValue()[0], postedAmount.getValue()[1]);
+            }
+            this.postedAmounts.clear();
+        }
+    }
+
+    private static final class SnapshotKey implements Comparable<SnapshotKey> {
+
+        private final Long officeId;
+        private final Long accountId;
+        private final String currencyCode;
+        private final LocalDate entryDate;
+
+        SnapshotKey(final Long officeId, final Long accountId, final String currencyCode, final LocalDate entryDate) {
+            this.officeId = officeId;
+            this.accountId = accountId;
+            this.currencyCode = currencyCode;
+            this.entryDate = entryDate;
+        }
+
+        @Override
+        public int compareTo(final SnapshotKey other) {
+            int result = this.officeId.compareTo(other.officeId);
+            if (result == 0) {
+                result = this.accountId.compareTo(other.accountId);
+            }
+            if (result == 0) {
+                result = this.currencyCode.compareTo(other.currencyCode);
+            }
+            if (result == 0) {
+                result = this.entryDate.compareTo(other.entryDate);
+            }
+            return result;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) { return true; }
+            if (!(obj instanceof SnapshotKey)) { return false; }
+            return compareTo((SnapshotKey) obj) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = this.officeId.hashCode();
+            result = 31 * result + this.accountId.hashCode();
+            result = 31 * result + this.currencyCode.hashCode();
+            return 31 * result + this.entryDate.hashCode();
+        }
+    }
+}
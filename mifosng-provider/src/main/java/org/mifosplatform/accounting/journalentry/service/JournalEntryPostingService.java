@@ -0,0 +1,23 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.accounting.journalentry.service;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import org.mifosplatform.accounting.journalentry.domain.JournalEntryType;
+
+public interface JournalEntryPostingService {
+
+    /**
+     * Adds a system generated journal entry of a loan or savings transaction to
+     * the entries posted with the current transaction. The entries are
+     * inserted together, with their GL balance snapshots, when the
+     * transaction commits, or right away outside of a transaction.
+     */
+    void addEntry(Long officeId, Long accountId, String currencyCode, String transactionId, Long loanTransactionId,
+            Long savingsTransactionId, Date transactionDate, JournalEntryType type, BigDecimal amount, Integer entityType, Long entityId);
+}
@@ -0,0 +1,196 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.accounting.journalentry.service;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.joda.time.LocalDate;
+import org.mifosplatform.accounting.journalentry.domain.JournalEntryType;
+import org.mifosplatform.infrastructure.core.service.RoutingDataSource;
+import org.mifosplatform.useradministration.domain.AppUser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Posts the system generated journal entries of loan and savings transactions
+ * as one unit of work per database transaction.
+ *
+ * The entries added in a transaction are kept with it and inserted with one
+ * JDBC batch just before it commits, instead of flushing each debit and credit
+ * separately. Their amounts are handed to the {@link GLBalanceSnapshotService}
+ * as they are added, which updates the snapshots once per office, GL account,
+ * currency and day of the transaction when it commits. A transaction that is
+ * rolled back posts nothing. Very large units of work, e.g. a job processing many loans
+ * in one transaction, are inserted every {@link #BATCH_SIZE} entries.
+ */
+@Service
+public class JournalEntryPostingServiceImpl implements JournalEntryPostingService {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = "insert into acc_gl_journal_entry (account_id, office_id, currency_code, transaction_id, "
+            + "loan_transaction_id, savings_transaction_id, reversed, manual_entry, entry_date, type_enum, amount, entity_type_enum, "
+            + "entity_id, createdby_id, lastmodifiedby_id, created_date, lastmodified_date) "
+            + "values (?, ?, ?, ?, ?, ?, 0, 0, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditorAware<AppUser> auditorAware;
+    private final GLBalanceSnapshotService glBalanceSnapshotService;
+
+    @Autowired
+    public JournalEntryPostingServiceImpl(final RoutingDataSource dataSource, final AuditorAware<AppUser> auditorAware,
+            final GLBalanceSnapshotService glBalanceSnapshotService) {
+        this(new JdbcTemplate(dataSource), auditorAware, glBalanceSnapshotService);
+    }
+
+    JournalEntryPostingServiceImpl(final JdbcTemplate jdbcTemplate, final AuditorAware<AppUser> auditorAware,
+            final GLBalanceSnapshotService glBalanceSnapshotService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditorAware = auditorAware;
+        this.glBalanceSnapshotService = glBalanceSnapshotService;
+    }
+
+    @Override
+    public void addEntry(final Long officeId, final Long accountId, final String currencyCode, final String transactionId,
+            final Long loanTransactionId, final Long savingsTransactionId, final Date transactionDate, final JournalEntryType type,
+            final BigDecimal amount, final Integer entityType, final Long entityId) {
+        final PendingEntry entry = new PendingEntry(officeId, accountId, currencyCode, transactionId, loanTransactionId,
+                savingsTransactionId, transactionDate, type, amount, entityType, entityId);
+
+        // handed over now rather than with the batch, so the snapshots are
+        // registered with the transaction before it starts to commit
+        final BigDecimal debitAmount = type == JournalEntryType.DEBIT ? amount : BigDecimal.ZERO;
+        final BigDecimal creditAmount = type == JournalEntryType.DEBIT ? BigDecimal.ZERO : amount;
+        this.glBalanceSnapshotService.addPostedAmounts(officeId, accountId, currencyCode, transactionDate, debitAmount, creditAmount);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            post(Arrays.asList(entry));
+            return;
+        }
+
+        final PendingEntries pendingEntries = pendingEntriesOfCurrentTransaction();
+        pendingEntries.entries.add(entry);
+        if (pendingEntries.entries.size() >= BATCH_SIZE) {
+            pendingEntries.post();
+        }
+    }
+
+    /**
+     * The pending entries are registered as a synchronization rather than
+     * bound as a resource, so they are suspended with their transaction and a
+     * nested <code>REQUIRES_NEW</code> transaction posts its own entries.
+     */
+    private PendingEntries pendingEntriesOfCurrentTransaction() {
+        for (final TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingEntries) { return (PendingEntries) synchronization; }
+        }
+        final PendingEntries pendingEntries = new PendingEntries();
+        TransactionSynchronizationManager.registerSynchronization(pendingEntries);
+        return pendingEntries;
+    }
+
+    private void post(final List<PendingEntry> entries) {
+        final Long appUserId = this.auditorAware.getCurrentAuditor().getId();
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        this.jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+
+            @Override
+            public void setValues(final PreparedStatement ps, final int i) throws SQLException {
+                final PendingEntry entry = entries.get(i);
+                ps.setLong(1, entry.accountId);
+                ps.setLong(2, entry.officeId);
+                ps.setString(3, entry.currencyCode);
+                ps.setString(4, entry.transactionId);
+                setNullableLong(ps, 5, entry.loanTransactionId);
+                setNullableLong(ps, 6, entry.savingsTransactionId);
+                ps.setDate(7, new java.sql.Date(entry.entryDate.toDate().getTime()));
+                ps.setInt(8, entry.type.getValue());
+                ps.setBigDecimal(9, entry.amount);
+                ps.setInt(10, entry.entityType);
+                ps.setLong(11, entry.entityId);
+                ps.setLong(12, appUserId);
+                ps.setLong(13, appUserId);
+                ps.setTimestamp(14, now);
+                ps.setTimestamp(15, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+    }
+
+    private static void setNullableLong(final PreparedStatement ps, final int index, final Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    private final class PendingEntries extends TransactionSynchronizationAdapter {
+
+        private final List<PendingEntry> entries = new ArrayList<>();
+
+        void post() {
+            if (this.entries.isEmpty()) { return; }
+            JournalEntryPostingServiceImpl.this.post(this.entries);
+            this.entries.clear();
+        }
+
+        @Override
+        public void beforeCommit(@SuppressWarnings("unused") final boolean readOnly) {
+            post();
+        }
+    }
+
+    private static final class PendingEntry {
+
+        private final Long officeId;
+        private final Long accountId;
+        private final String currencyCode;
+        private final String transactionId;
+        private final Long loanTransactionId;
+        private final Long savingsTransactionId;
+        private final LocalDate entryDate;
+        private final JournalEntryType type;
+        private final BigDecimal amount;
+        private final Integer entityType;
+        private final Long entityId;
+
+        PendingEntry(final Long officeId, final Long accountId, final String currencyCode, final String transactionId,
+                final Long loanTransactionId, final Long savingsTransactionId, final Date transactionDate, final JournalEntryType type,
+                final BigDecimal amount, final Integer entityType, final Long entityId) {
+            this.officeId = officeId;
+            this.accountId = accountId;
+            this.currencyCode = currencyCode;
+            this.transactionId = transactionId;
+            this.loanTransactionId = loanTransactionId;
+            this.savingsTransactionId = savingsTransactionId;
+            this.entryDate = LocalDate.fromDateFields(transactionDate);
+            this.type = type;
+            this.amount = amount;
+            this.entityType = entityType;
+            this.entityId = entityId;
+        }
+    }
+}
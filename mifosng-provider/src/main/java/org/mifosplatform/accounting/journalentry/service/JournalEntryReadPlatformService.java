@@ -5,6 +5,7 @@
  */
 package org.mifosplatform.accounting.journalentry.service;
 
+import java.io.IOException;
 import java.util.Date;
 
 import org.mifosplatform.accounting.journalentry.data.JournalEntryAssociationParametersData;
@@ -12,6 +13,7 @@ import org.mifosplatform.accounting.journalentry.data.JournalEntryData;
 import org.mifosplatform.accounting.journalentry.data.OfficeOpeningBalancesData;
 import org.mifosplatform.infrastructure.core.service.Page;
 import org.mifosplatform.infrastructure.core.service.SearchParameters;
+import org.mifosplatform.infrastructure.dataqueries.service.GenericResultsetWriter;
 
 public interface JournalEntryReadPlatformService {
 
@@ -22,4 +24,14 @@ public interface JournalEntryReadPlatformService {
 
     OfficeOpeningBalancesData retrieveOfficeOpeningBalances(Long officeId);
 
+    /**
+     * Streams the journal entries in a date range, and optionally of an
+     * office, to the writer in id order, starting after the given entry id so
+     * an interrupted export can be resumed from the last id received.
+     *
+     * @return the number of journal entries written
+     */
+    int exportJournalEntries(Long officeId, Date fromDate, Date toDate, Long afterEntryId, GenericResultsetWriter writer)
+            throws IOException;
+
 }
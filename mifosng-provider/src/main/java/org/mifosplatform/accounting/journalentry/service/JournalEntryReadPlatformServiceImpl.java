@@ -5,6 +5,7 @@
  */
 package org.mifosplatform.accounting.journalentry.service;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -41,6 +42,8 @@ import org.mifosplatform.organisation.office.data.OfficeData;
 import org.mifosplatform.organisation.office.service.OfficeReadPlatformService;
 import org.mifosplatform.portfolio.account.PortfolioAccountType;
 import org.mifosplatform.infrastructure.core.service.SearchParameters;
+import org.mifosplatform.infrastructure.dataqueries.service.GenericDataService;
+import org.mifosplatform.infrastructure.dataqueries.service.GenericResultsetWriter;
 import org.mifosplatform.portfolio.loanaccount.data.LoanTransactionEnumData;
 import org.mifosplatform.portfolio.loanproduct.service.LoanEnumerations;
 import org.mifosplatform.portfolio.note.data.NoteData;
@@ -61,17 +64,19 @@ public class JournalEntryReadPlatformServiceImpl implements JournalEntryReadPlat
     private final ConfigurationDomainService configurationDomainService;
     private final GLAccountReadPlatformService glAccountReadPlatformService;
     private final OfficeReadPlatformService officeReadPlatformService;
+    private final GenericDataService genericDataService;
 
     private final PaginationHelper<JournalEntryData> paginationHelper = new PaginationHelper<>();
 
     @Autowired
     public JournalEntryReadPlatformServiceImpl(final RoutingDataSource dataSource,
             final ConfigurationDomainService configurationDomainService, final GLAccountReadPlatformService glAccountReadPlatformService,
-            final OfficeReadPlatformService officeReadPlatformService) {
+            final OfficeReadPlatformService officeReadPlatformService, final GenericDataService genericDataService) {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
         this.configurationDomainService = configurationDomainService;
         this.glAccountReadPlatformService = glAccountReadPlatformService;
         this.officeReadPlatformService = officeReadPlatformService;
+        this.genericDataService = genericDataService;
     }
 
     private static final class GLJournalEntryMapper implements RowMapper<JournalEntryData> {
@@ -233,8 +238,13 @@ public class JournalEntryReadPlatformServiceImpl implements JournalEntryReadPlat
             final JournalEntryAssociationParametersData associationParametersData) {
 
         GLJournalEntryMapper rm = new GLJournalEntryMapper(associationParametersData);
+        final String orderByColumn = searchParameters.isOrderByRequested() ? searchParameters.getOrderBy() : "journalEntry.entry_date";
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select SQL_CALC_FOUND_ROWS ");
+        if (searchParameters.isKeysetPaginationRequested()) {
+            sqlBuilder.append("select ").append(PaginationHelper.keysetColumns(orderByColumn, "journalEntry.id"));
+        } else {
+            sqlBuilder.append("select SQL_CALC_FOUND_ROWS ");
+        }
         sqlBuilder.append(rm.schema());
 
         final Object[] objectArray = new Object[5];
@@ -315,6 +325,10 @@ public class JournalEntryReadPlatformServiceImpl implements JournalEntryReadPlat
             }
         }
 
+        if (searchParameters.isKeysetPaginationRequested()) { return this.paginationHelper.fetchPageAfter(this.jdbcTemplate,
+                sqlBuilder.toString(), whereClose, Arrays.copyOf(objectArray, arrayPos), orderByColumn, "journalEntry.id",
+                searchParameters, rm); }
+
         if (searchParameters.isOrderByRequested()) {
             sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
 
@@ -337,6 +351,45 @@ public class JournalEntryReadPlatformServiceImpl implements JournalEntryReadPlat
         return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, sqlBuilder.toString(), finalObjectArray, rm);
     }
 
+    @Override
+    public int exportJournalEntries(final Long officeId, final Date fromDate, final Date toDate, final Long afterEntryId,
+            final GenericResultsetWriter writer) throws IOException {
+
+        final StringBuilder sqlBuilder = new StringBuilder(1000);
+        sqlBuilder.append("select je.id as id, je.office_id as officeId, office.name as officeName, ");
+        sqlBuilder.append("je.account_id as glAccountId, glAccount.gl_code as glAccountCode, glAccount.name as glAccountName, ");
+        sqlBuilder.append("je.entry_date as transactionDate, je.transaction_id as transactionId, je.currency_code as currencyCode, ");
+        sqlBuilder.append("if(je.type_enum = 2, 'DEBIT', 'CREDIT') as entryType, je.amount as amount, ");
+        sqlBuilder.append("(je.manual_entry = 1) as manualEntry, (je.reversed = 1) as reversed, ");
+        sqlBuilder.append("je.entity_type_enum as entityType, je.entity_id as entityId, je.ref_num as referenceNumber, ");
+        sqlBuilder.append("je.description as comments, je.createdby_id as createdByUserId, je.created_date as createdDate ");
+        sqlBuilder.append("from acc_gl_journal_entry je ");
+        sqlBuilder.append("join m_office office on office.id = je.office_id ");
+        sqlBuilder.append("join acc_gl_account glAccount on glAccount.id = je.account_id ");
+
+        // the primary key order is what makes the last id received a
+        // watermark to resume from, and lets the rows stream without a sort
+        sqlBuilder.append("where je.id > ?");
+        final List<Object> params = new ArrayList<>();
+        params.add(afterEntryId == null ? Long.valueOf(0) : afterEntryId);
+        if (officeId != null) {
+            sqlBuilder.append(" and je.office_id = ?");
+            params.add(officeId);
+        }
+        final DateFormat df = new SimpleDateFormat("yyyy-MM-dd");
+        if (fromDate != null) {
+            sqlBuilder.append(" and je.entry_date >= ?");
+            params.add(df.format(fromDate));
+        }
+        if (toDate != null) {
+            sqlBuilder.append(" and je.entry_date <= ?");
+            params.add(df.format(toDate));
+        }
+        sqlBuilder.append(" order by je.id");
+
+        return this.genericDataService.streamGenericResultSet(sqlBuilder.toString(), params.toArray(), writer);
+    }
+
     @Override
     public JournalEntryData retrieveGLJournalEntryById(final long glJournalEntryId,
             JournalEntryAssociationParametersData associationParametersData) {
@@ -467,8 +520,10 @@ public class JournalEntryReadPlatformServiceImpl implements JournalEntryReadPlat
         final Date fromDate = null;
         final Date toDate = null;
         final JournalEntryAssociationParametersData associationParametersData = null;
+        final String after = null;
 
-        final SearchParameters searchParameters = SearchParameters.forJournalEntries(officeId, offset, limit, orderBy, sortOrder);
+        final SearchParameters searchParameters = SearchParameters.forJournalEntries(officeId, offset, limit, orderBy, sortOrder,
+                after);
         return retrieveAll(searchParameters, contraId, onlyManualEntries, fromDate, toDate, transactionId, entityType,
                 associationParametersData);
 
@@ -8,24 +8,29 @@ package org.mifosplatform.accounting.journalentry.service;
 import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-import org.mifosplatform.accounting.common.AccountingEnumerations;
 import org.mifosplatform.accounting.glaccount.domain.GLAccountType;
 import org.mifosplatform.accounting.journalentry.api.JournalEntryJsonInputParams;
-import org.mifosplatform.accounting.journalentry.data.JournalEntryData;
 import org.mifosplatform.accounting.journalentry.data.JournalEntryDataValidator;
 import org.mifosplatform.accounting.journalentry.domain.JournalEntryType;
 import org.mifosplatform.infrastructure.core.api.JsonCommand;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResultBuilder;
-import org.mifosplatform.infrastructure.core.data.EnumOptionData;
-import org.mifosplatform.infrastructure.core.domain.JdbcSupport;
+import org.mifosplatform.infrastructure.core.exception.GeneralPlatformDomainRuleException;
 import org.mifosplatform.infrastructure.core.serialization.FromJsonHelper;
 import org.mifosplatform.infrastructure.core.service.RoutingDataSource;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextPropagatingCallable;
 import org.mifosplatform.infrastructure.jobs.annotation.CronTarget;
 import org.mifosplatform.infrastructure.jobs.service.JobName;
 import org.mifosplatform.organisation.office.domain.Office;
@@ -34,17 +39,43 @@ import org.mifosplatform.organisation.office.exception.OfficeNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Calculates the office and organization running balances of journal entries.
+ *
+ * The organization running balance of an entry runs over all offices of its GL
+ * account, so each GL account, with all of its offices, is updated as one
+ * partition and GL accounts are updated in parallel. The entries of a GL
+ * account are read in (entry date, id) order in chunks, and each chunk is
+ * written with one parameterized batch update in its own transaction together
+ * with the per office and organization high-water marks in
+ * <code>acc_gl_running_balance_mark</code>.
+ *
+ * A run continues from the marks, so it only reads entries posted after the
+ * last calculated one. An entry backdated before the marks makes the run go
+ * back to the balances just before that entry and recalculate the entries
+ * after it.
+ */
 @Service
 public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntryRunningBalanceUpdateService {
 
     private final static Logger logger = LoggerFactory.getLogger(JournalEntryRunningBalanceUpdateServiceImpl.class);
 
+    /**
+     * The office id under which the organization running balance of a GL
+     * account is marked.
+     */
+    private final static Long ORGANIZATION = 0L;
+
+    private final static int ENTRIES_PER_CHUNK = 1000;
+
     private final JdbcTemplate jdbcTemplate;
 
     private final OfficeRepository officeRepository;
@@ -53,42 +84,49 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
 
     private final FromJsonHelper fromApiJsonHelper;
 
-    private final GLJournalEntryMapper entryMapper = new GLJournalEntryMapper();
-    private final String officeRunningBalanceSql = "select je.office_running_balance as runningBalance,je.account_id as accountId from acc_gl_journal_entry je "
-            + "inner join (select max(id) as id from acc_gl_journal_entry where office_id=?  and entry_date < ? group by account_id,entry_date) je2 "
-            + "inner join (select max(entry_date) as date from acc_gl_journal_entry where office_id=? and entry_date < ? group by account_id) je3 "
-            + "where je2.id = je.id and je.entry_date = je3.date group by je.id order by je.entry_date DESC";
+    private final TransactionTemplate transactionTemplate;
+
+    private final int maxThreads;
+
+    private final RowMapper<Position> positionMapper = new RowMapper<Position>() {
+
+        @Override
+        public Position mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+            return new Position(rs.getDate("entryDate"), rs.getLong("id"), rs.getBigDecimal("runningBalance"));
+        }
+    };
 
-    private final String organizationRunningBalanceSql = "select je.organization_running_balance as runningBalance,je.account_id as accountId from acc_gl_journal_entry je "
-            + "inner join (select max(id) as id from acc_gl_journal_entry where entry_date < ? group by account_id,entry_date) je2 "
-            + "inner join (select max(entry_date) as date from acc_gl_journal_entry where entry_date < ? group by account_id) je3 "
-            + "where je2.id = je.id and je.entry_date = je3.date group by je.id order by je.entry_date DESC";
+    private final RowMapper<PendingEntry> pendingEntryMapper = new RowMapper<PendingEntry>() {
 
-    private final String officesRunningBalanceSql = "select je.office_running_balance as runningBalance,je.account_id as accountId,je.office_id as officeId "
-            + "from acc_gl_journal_entry je "
-            + "inner join (select max(id) as id from acc_gl_journal_entry where entry_date < ? group by office_id,account_id,entry_date) je2 "
-            + "inner join (select max(entry_date) as date from acc_gl_journal_entry where entry_date < ? group by office_id,account_id) je3 "
-            + "where je2.id = je.id and je.entry_date = je3.date group by je.id order by je.entry_date DESC";
+        @Override
+        public PendingEntry mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+            return new PendingEntry(rs.getLong("id"), rs.getLong("officeId"), rs.getDate("entryDate"), rs.getInt("entryType"),
+                    rs.getBigDecimal("amount"));
+        }
+    };
 
     @Autowired
     public JournalEntryRunningBalanceUpdateServiceImpl(final RoutingDataSource dataSource, final OfficeRepository officeRepository,
-            final JournalEntryDataValidator dataValidator, final FromJsonHelper fromApiJsonHelper) {
+            final JournalEntryDataValidator dataValidator, final FromJsonHelper fromApiJsonHelper,
+            final TransactionTemplate transactionTemplate,
+            @Value("${mifos.accounting.runningBalance.maxThreads:4}") final int maxThreads) {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
         this.officeRepository = officeRepository;
         this.dataValidator = dataValidator;
         this.fromApiJsonHelper = fromApiJsonHelper;
+        this.transactionTemplate = transactionTemplate;
+        this.maxThreads = maxThreads;
     }
 
     @Override
     @CronTarget(jobName = JobName.ACCOUNTING_RUNNING_BALANCE_UPDATE)
     public void updateRunningBalance() {
-        String dateFinder = "select MIN(je.entry_date) as entityDate from acc_gl_journal_entry  je "
-                + "where je.is_running_balance_calculated=0 ";
-        try {
-            Date entityDate = this.jdbcTemplate.queryForObject(dateFinder, Date.class);
-            updateOrganizationRunningBalance(entityDate);
-        } catch (EmptyResultDataAccessException e) {
+        final List<Long> accountIds = this.jdbcTemplate.queryForList(
+                "select distinct je.account_id from acc_gl_journal_entry je where je.is_running_balance_calculated=0", Long.class);
+        if (accountIds.isEmpty()) {
             logger.debug("No results found for updation of running balance ");
+        } else {
+            updateRunningBalance(accountIds);
         }
     }
 
@@ -105,103 +143,208 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
             final Office office = this.officeRepository.findOne(officeId);
             if (office == null) { throw new OfficeNotFoundException(officeId); }
 
-            String dateFinder = "select MIN(je.entry_date) as entityDate " + "from acc_gl_journal_entry  je "
-                    + "where je.is_running_balance_calculated=0  and je.office_id=?";
-            try {
-                Date entityDate = this.jdbcTemplate.queryForObject(dateFinder, Date.class, officeId);
-                updateRunningBalance(officeId, entityDate);
-            } catch (EmptyResultDataAccessException e) {
+            // the GL accounts of the office are updated for all offices, as
+            // their organization running balances run over all offices
+            final List<Long> accountIds = this.jdbcTemplate.queryForList("select distinct je.account_id from acc_gl_journal_entry je "
+                    + "where je.is_running_balance_calculated=0 and je.office_id=?", Long.class, officeId);
+            if (accountIds.isEmpty()) {
                 logger.debug("No results found for updation of office running balance with office id:" + officeId);
+            } else {
+                updateRunningBalance(accountIds);
             }
             commandProcessingResultBuilder.withOfficeId(officeId);
         }
         return commandProcessingResultBuilder.build();
     }
 
-    @Transactional
-    private void updateOrganizationRunningBalance(Date entityDate) {
-        Map<Long, BigDecimal> runningBalanceMap = new HashMap<>(5);
-        Map<Long, Map<Long, BigDecimal>> officesRunningBalance = new HashMap<>();
+    private void updateRunningBalance(final List<Long> accountIds) {
+        final ExecutorService executorService = Executors.newFixedThreadPool(Math.max(1, Math.min(this.maxThreads, accountIds.size())));
+        try {
+            final Map<Long, Future<Integer>> updates = new LinkedHashMap<>();
+            for (final Long accountId : accountIds) {
+                updates.put(accountId, executorService.submit(ThreadLocalContextPropagatingCallable.wrap(new Callable<Integer>() {
 
-        List<Map<String, Object>> list = jdbcTemplate.queryForList(organizationRunningBalanceSql, entityDate, entityDate);
-        for (Map<String, Object> entries : list) {
-            Long accountId = (Long) entries.get("accountId");
-            if (!runningBalanceMap.containsKey(accountId)) {
-                runningBalanceMap.put(accountId, (BigDecimal) entries.get("runningBalance"));
+                    @Override
+                    public Integer call() {
+                        return updateRunningBalance(accountId);
+                    }
+                })));
             }
-        }
 
-        List<Map<String, Object>> officesRunningBalanceList = jdbcTemplate.queryForList(officesRunningBalanceSql, entityDate, entityDate);
-        for (Map<String, Object> entries : officesRunningBalanceList) {
-            Long accountId = (Long) entries.get("accountId");
-            Long officeId = (Long) entries.get("officeId");
-            Map<Long, BigDecimal> runningBalance = null;
-            if (officesRunningBalance.containsKey(officeId)) {
-                runningBalance = officesRunningBalance.get(officeId);
-            } else {
-                runningBalance = new HashMap<>();
-                officesRunningBalance.put(officeId, runningBalance);
-            }
-            if (!runningBalance.containsKey(accountId)) {
-                runningBalance.put(accountId, (BigDecimal) entries.get("runningBalance"));
+            int updatedEntries = 0;
+            final List<Long> failedAccountIds = new ArrayList<>();
+            for (final Map.Entry<Long, Future<Integer>> update : updates.entrySet()) {
+                try {
+                    updatedEntries += update.getValue().get();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                } catch (final ExecutionException e) {
+                    logger.error("Running balance update failed for GL account " + update.getKey(), e.getCause());
+                    failedAccountIds.add(update.getKey());
+                }
             }
+
+            logger.info("Running balances updated for " + updatedEntries + " journal entries of " + accountIds.size() + " GL accounts");
+
+            if (!failedAccountIds.isEmpty()) { throw new GeneralPlatformDomainRuleException("error.msg.running.balance.update.failed",
+                    "Running balances could not be updated for the GL accounts " + failedAccountIds, failedAccountIds); }
+        } finally {
+            executorService.shutdownNow();
         }
+    }
 
-        List<JournalEntryData> entryDatas = jdbcTemplate.query(entryMapper.organizationRunningBalanceSchema(), entryMapper,
-                new Object[] { entityDate });
-        if (entryDatas.size() > 0) {
-            String[] updateSql = new String[entryDatas.size()];
-            int i = 0;
-            for (JournalEntryData entryData : entryDatas) {
-                Map<Long, BigDecimal> officeRunningBalanceMap = null;
-                if (officesRunningBalance.containsKey(entryData.getOfficeId())) {
-                    officeRunningBalanceMap = officesRunningBalance.get(entryData.getOfficeId());
-                } else {
-                    officeRunningBalanceMap = new HashMap<>();
-                    officesRunningBalance.put(entryData.getOfficeId(), officeRunningBalanceMap);
-                }
-                BigDecimal officeRunningBalance = calculateRunningBalance(entryData, officeRunningBalanceMap);
-                BigDecimal runningBalance = calculateRunningBalance(entryData, runningBalanceMap);
-                String sql = "UPDATE acc_gl_journal_entry je SET je.is_running_balance_calculated=1, je.organization_running_balance="
-                        + runningBalance + ",je.office_running_balance=" + officeRunningBalance + " WHERE  je.id=" + entryData.getId();
-                updateSql[i++] = sql;
+    /**
+     * Updates the pending journal entries of one GL account, returning the
+     * number of entries updated.
+     */
+    private int updateRunningBalance(final Long accountId) {
+        final Integer classification = this.jdbcTemplate.queryForObject("select classification_enum from acc_gl_account where id = ?",
+                Integer.class, accountId);
+        final GLAccountType accountType = GLAccountType.fromInt(classification);
+
+        final RunningBalances runningBalances = this.transactionTemplate.execute(new TransactionCallback<RunningBalances>() {
+
+            @Override
+            public RunningBalances doInTransaction(@SuppressWarnings("unused") final TransactionStatus status) {
+                return retrieveRunningBalancesBeforePendingEntries(accountId);
             }
-            this.jdbcTemplate.batchUpdate(updateSql);
-        }
+        });
+        if (runningBalances == null) { return 0; }
 
+        int updatedEntries = 0;
+        List<PendingEntry> entries = retrieveEntriesAfter(accountId, runningBalances.position);
+        while (!entries.isEmpty()) {
+            final List<PendingEntry> chunk = entries;
+            this.transactionTemplate.execute(new TransactionCallback<Void>() {
+
+                @Override
+                public Void doInTransaction(@SuppressWarnings("unused") final TransactionStatus status) {
+                    writeRunningBalances(accountId, accountType, runningBalances, chunk);
+                    return null;
+                }
+            });
+            updatedEntries += chunk.size();
+            entries = retrieveEntriesAfter(accountId, runningBalances.position);
+        }
+        return updatedEntries;
     }
 
-    @Transactional
-    private void updateRunningBalance(Long officeId, Date entityDate) {
-        Map<Long, BigDecimal> runningBalanceMap = new HashMap<>(5);
+    /**
+     * Returns the running balances from which the pending entries of the GL
+     * account are calculated, or <code>null</code> when there are none.
+     *
+     * They are the marks when every pending entry comes after them. Otherwise
+     * the balances are taken from the entries just before the first pending
+     * one, the marks are reset to those entries and every later entry is made
+     * pending again, so a run that fails part way is continued correctly.
+     */
+    private RunningBalances retrieveRunningBalancesBeforePendingEntries(final Long accountId) {
+        final List<Position> firstPendingEntries = this.jdbcTemplate.query("select je.entry_date as entryDate, je.id as id, "
+                + "null as runningBalance from acc_gl_journal_entry je where je.account_id=? and je.is_running_balance_calculated=0 "
+                + "order by je.entry_date, je.id limit 1", this.positionMapper, accountId);
+        if (firstPendingEntries.isEmpty()) { return null; }
+        final Position firstPendingEntry = firstPendingEntries.get(0);
+
+        final Map<Long, Position> marks = new HashMap<>();
+        this.jdbcTemplate.query("select m.office_id as officeId, m.entry_date as entryDate, m.journal_entry_id as id, "
+                + "m.running_balance as runningBalance from acc_gl_running_balance_mark m where m.account_id=?", new RowMapper<Void>() {
+
+            @Override
+            public Void mapRow(final ResultSet rs, final int rowNum) throws SQLException {
+                marks.put(rs.getLong("officeId"), JournalEntryRunningBalanceUpdateServiceImpl.this.positionMapper.mapRow(rs, rowNum));
+                return null;
+            }
+        }, accountId);
+
+        final Position organizationMark = marks.remove(ORGANIZATION);
+        if (organizationMark != null && firstPendingEntry.isAfter(organizationMark)) { return new RunningBalances(organizationMark, marks); }
 
-        List<Map<String, Object>> list = jdbcTemplate.queryForList(officeRunningBalanceSql, officeId, entityDate, officeId, entityDate);
-        for (Map<String, Object> entries : list) {
-            Long accountId = (Long) entries.get("accountId");
-            if (!runningBalanceMap.containsKey(accountId)) {
-                runningBalanceMap.put(accountId, (BigDecimal) entries.get("runningBalance"));
+        final String beforeFirstPendingEntry = " and (je.entry_date < ? or (je.entry_date = ? and je.id < ?)) "
+                + "order by je.entry_date desc, je.id desc limit 1";
+        final List<Position> organizationBalances = this.jdbcTemplate.query("select je.entry_date as entryDate, je.id as id, "
+                + "je.organization_running_balance as runningBalance from acc_gl_journal_entry je where je.account_id=?"
+                + beforeFirstPendingEntry, this.positionMapper, accountId, firstPendingEntry.entryDate, firstPendingEntry.entryDate,
+                firstPendingEntry.entryId);
+        final Map<Long, Position> officeBalances = new HashMap<>();
+        for (final Long officeId : this.jdbcTemplate.queryForList("select o.id from m_office o", Long.class)) {
+            final List<Position> officeBalance = this.jdbcTemplate.query("select je.entry_date as entryDate, je.id as id, "
+                    + "je.office_running_balance as runningBalance from acc_gl_journal_entry je where je.office_id=? and je.account_id=?"
+                    + beforeFirstPendingEntry, this.positionMapper, officeId, accountId, firstPendingEntry.entryDate,
+                    firstPendingEntry.entryDate, firstPendingEntry.entryId);
+            if (!officeBalance.isEmpty()) {
+                officeBalances.put(officeId, officeBalance.get(0));
             }
         }
-        List<JournalEntryData> entryDatas = jdbcTemplate.query(entryMapper.officeRunningBalanceSchema(), entryMapper, new Object[] {
-                officeId, entityDate });
-        String[] updateSql = new String[entryDatas.size()];
-        int i = 0;
-        for (JournalEntryData entryData : entryDatas) {
-            BigDecimal runningBalance = calculateRunningBalance(entryData, runningBalanceMap);
-            String sql = "UPDATE acc_gl_journal_entry je SET je.office_running_balance=" + runningBalance + " WHERE  je.id="
-                    + entryData.getId();
-            updateSql[i++] = sql;
+
+        this.jdbcTemplate.update("delete from acc_gl_running_balance_mark where account_id=?", accountId);
+        final List<Object[]> resetMarks = new ArrayList<>();
+        if (!organizationBalances.isEmpty()) {
+            resetMarks.add(organizationBalances.get(0).toMark(accountId, ORGANIZATION));
+        }
+        for (final Map.Entry<Long, Position> officeBalance : officeBalances.entrySet()) {
+            resetMarks.add(officeBalance.getValue().toMark(accountId, officeBalance.getKey()));
+        }
+        if (!resetMarks.isEmpty()) {
+            this.jdbcTemplate.batchUpdate("insert into acc_gl_running_balance_mark "
+                    + "(account_id, office_id, entry_date, journal_entry_id, running_balance) values (?, ?, ?, ?, ?)", resetMarks);
+        }
+        this.jdbcTemplate.update("update acc_gl_journal_entry je set je.is_running_balance_calculated=0 "
+                + "where je.account_id=? and je.is_running_balance_calculated=1 "
+                + "and (je.entry_date > ? or (je.entry_date = ? and je.id > ?))", accountId, firstPendingEntry.entryDate,
+                firstPendingEntry.entryDate, firstPendingEntry.entryId);
+
+        final Position organizationBalance = organizationBalances.isEmpty() ? null : organizationBalances.get(0);
+        return new RunningBalances(organizationBalance, officeBalances);
+    }
+
+    private List<PendingEntry> retrieveEntriesAfter(final Long accountId, final Position position) {
+        final StringBuilder sql = new StringBuilder(300);
+        sql.append("select je.id as id, je.office_id as officeId, je.entry_date as entryDate, je.type_enum as entryType, ");
+        sql.append("je.amount as amount from acc_gl_journal_entry je where je.account_id=? ");
+        if (position == null) {
+            sql.append("order by je.entry_date, je.id limit ?");
+            return this.jdbcTemplate.query(sql.toString(), this.pendingEntryMapper, accountId, ENTRIES_PER_CHUNK);
         }
-        this.jdbcTemplate.batchUpdate(updateSql);
+        sql.append("and (je.entry_date > ? or (je.entry_date = ? and je.id > ?)) order by je.entry_date, je.id limit ?");
+        return this.jdbcTemplate.query(sql.toString(), this.pendingEntryMapper, accountId, position.entryDate, position.entryDate,
+                position.entryId, ENTRIES_PER_CHUNK);
     }
 
-    private BigDecimal calculateRunningBalance(JournalEntryData entry, Map<Long, BigDecimal> runningBalanceMap) {
-        BigDecimal runningBalance = BigDecimal.ZERO;
-        if (runningBalanceMap.containsKey(entry.getGlAccountId())) {
-            runningBalance = runningBalanceMap.get(entry.getGlAccountId());
+    private void writeRunningBalances(final Long accountId, final GLAccountType accountType, final RunningBalances runningBalances,
+            final List<PendingEntry> entries) {
+        final List<Object[]> updates = new ArrayList<>(entries.size());
+        final Map<Long, Position> lastEntryOfOffice = new HashMap<>();
+        Position lastEntry = null;
+        for (final PendingEntry entry : entries) {
+            final BigDecimal amount = calculateRunningBalanceChange(accountType, entry);
+
+            final BigDecimal organizationRunningBalance = runningBalances.organizationRunningBalance().add(amount);
+            final BigDecimal officeRunningBalance = runningBalances.officeRunningBalance(entry.officeId).add(amount);
+            updates.add(new Object[] { organizationRunningBalance, officeRunningBalance, entry.id });
+
+            lastEntry = new Position(entry.entryDate, entry.id, organizationRunningBalance);
+            final Position lastOfficeEntry = new Position(entry.entryDate, entry.id, officeRunningBalance);
+            runningBalances.moveTo(lastEntry, entry.officeId, lastOfficeEntry);
+            lastEntryOfOffice.put(entry.officeId, lastOfficeEntry);
+        }
+
+        this.jdbcTemplate.batchUpdate("UPDATE acc_gl_journal_entry SET is_running_balance_calculated=1, organization_running_balance=?, "
+                + "office_running_balance=? WHERE id=?", updates);
+
+        final List<Object[]> marks = new ArrayList<>(lastEntryOfOffice.size() + 1);
+        marks.add(lastEntry.toMark(accountId, ORGANIZATION));
+        for (final Map.Entry<Long, Position> lastOfficeEntry : lastEntryOfOffice.entrySet()) {
+            marks.add(lastOfficeEntry.getValue().toMark(accountId, lastOfficeEntry.getKey()));
         }
-        GLAccountType accounttype = GLAccountType.fromInt(entry.getGlAccountType().getId().intValue());
-        JournalEntryType entryType = JournalEntryType.fromInt(entry.getEntryType().getId().intValue());
+        this.jdbcTemplate.batchUpdate("insert into acc_gl_running_balance_mark "
+                + "(account_id, office_id, entry_date, journal_entry_id, running_balance) values (?, ?, ?, ?, ?) "
+                + "on duplicate key update entry_date=values(entry_date), journal_entry_id=values(journal_entry_id), "
+                + "running_balance=values(running_balance)", marks);
+    }
+
+    private BigDecimal calculateRunningBalanceChange(final GLAccountType accounttype, final PendingEntry entry) {
+        JournalEntryType entryType = JournalEntryType.fromInt(entry.entryType);
         boolean isIncrease = false;
         switch (accounttype) {
             case ASSET:
@@ -230,46 +373,74 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
                 }
             break;
         }
-        if (isIncrease) {
-            runningBalance = runningBalance.add(entry.getAmount());
-        } else {
-            runningBalance = runningBalance.subtract(entry.getAmount());
+        return isIncrease ? entry.amount : entry.amount.negate();
+    }
+
+    /**
+     * A journal entry in (entry date, id) order, with the running balance
+     * after it.
+     */
+    private static final class Position {
+
+        private final Date entryDate;
+        private final Long entryId;
+        private final BigDecimal runningBalance;
+
+        public Position(final Date entryDate, final Long entryId, final BigDecimal runningBalance) {
+            this.entryDate = entryDate;
+            this.entryId = entryId;
+            this.runningBalance = runningBalance;
+        }
+
+        public boolean isAfter(final Position position) {
+            final int dateComparison = this.entryDate.compareTo(position.entryDate);
+            return dateComparison > 0 || (dateComparison == 0 && this.entryId > position.entryId);
+        }
+
+        public Object[] toMark(final Long accountId, final Long officeId) {
+            return new Object[] { accountId, officeId, this.entryDate, this.entryId, this.runningBalance };
         }
-        runningBalanceMap.put(entry.getGlAccountId(), runningBalance);
-        return runningBalance;
     }
 
-    private static final class GLJournalEntryMapper implements RowMapper<JournalEntryData> {
+    private static final class RunningBalances {
 
-        public String officeRunningBalanceSchema() {
-            return "select je.id as id,je.account_id as glAccountId,je.type_enum as entryType,je.amount as amount, "
-                    + "glAccount.classification_enum as classification,je.office_id as officeId "
-                    + "from acc_gl_journal_entry je , acc_gl_account glAccount " + "where je.account_id = glAccount.id "
-                    + "and je.office_id=? and je.entry_date >= ? order by je.entry_date,je.id";
+        private Position position;
+        private final Map<Long, Position> officePositions;
+
+        public RunningBalances(final Position position, final Map<Long, Position> officePositions) {
+            this.position = position;
+            this.officePositions = officePositions;
         }
 
-        public String organizationRunningBalanceSchema() {
-            return "select je.id as id,je.account_id as glAccountId," + "je.type_enum as entryType,je.amount as amount, "
-                    + "glAccount.classification_enum as classification,je.office_id as officeId  "
-                    + "from acc_gl_journal_entry je , acc_gl_account glAccount " + "where je.account_id = glAccount.id "
-                    + "and je.entry_date >= ? order by je.entry_date,je.id";
+        public BigDecimal organizationRunningBalance() {
+            return this.position == null ? BigDecimal.ZERO : this.position.runningBalance;
         }
 
-        @Override
-        public JournalEntryData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
-
-            final Long id = rs.getLong("id");
-            final Long glAccountId = rs.getLong("glAccountId");
-            final Long officeId = rs.getLong("officeId");
-            final int accountTypeId = JdbcSupport.getInteger(rs, "classification");
-            final EnumOptionData accountType = AccountingEnumerations.gLAccountType(accountTypeId);
-            final BigDecimal amount = rs.getBigDecimal("amount");
-            final int entryTypeId = JdbcSupport.getInteger(rs, "entryType");
-            final EnumOptionData entryType = AccountingEnumerations.journalEntryType(entryTypeId);
-
-            return new JournalEntryData(id, officeId, null, null, glAccountId, null, accountType, null, entryType, amount, null, null,
-                    null, null, null, null, null, null, null, null, null, null, null, null, null);
+        public BigDecimal officeRunningBalance(final Long officeId) {
+            final Position officePosition = this.officePositions.get(officeId);
+            return officePosition == null ? BigDecimal.ZERO : officePosition.runningBalance;
+        }
+
+        public void moveTo(final Position position, final Long officeId, final Position officePosition) {
+            this.position = position;
+            this.officePositions.put(officeId, officePosition);
         }
     }
 
+    private static final class PendingEntry {
+
+        private final Long id;
+        private final Long officeId;
+        private final Date entryDate;
+        private final int entryType;
+        private final BigDecimal amount;
+
+        public PendingEntry(final Long id, final Long officeId, final Date entryDate, final int entryType, final BigDecimal amount) {
+            this.id = id;
+            this.officeId = officeId;
+            this.entryDate = entryDate;
+            this.entryType = entryType;
+            this.amount = amount;
+        }
+    }
 }
@@ -29,4 +29,25 @@ public interface ProductToGLAccountMappingReadPlatformService {
 
     public List<ChargeToGLAccountMapper> fetchPenaltyToIncomeAccountMappingsForSavingsProduct(final Long savingsProductId);
 
+    /**
+     * Returns the id of the GL account mapped to the financial account type of
+     * the product, or null if it is not mapped. Payment type and charge
+     * specific mappings are not considered.
+     */
+    public Long retrieveGLAccountIdForProduct(Long productId, int productType, int financialAccountType);
+
+    /**
+     * Returns the id of the GL account mapped to the financial account type of
+     * the product for the payment type, or null if there is no payment type
+     * specific mapping.
+     */
+    public Long retrieveGLAccountIdForPaymentType(Long productId, int productType, int financialAccountType, Long paymentTypeId);
+
+    /**
+     * Returns the id of the GL account mapped to the financial account type of
+     * the product for the charge, or null if there is no charge specific
+     * mapping.
+     */
+    public Long retrieveGLAccountIdForCharge(Long productId, int productType, int financialAccountType, Long chargeId);
+
 }
\ No newline at end of file
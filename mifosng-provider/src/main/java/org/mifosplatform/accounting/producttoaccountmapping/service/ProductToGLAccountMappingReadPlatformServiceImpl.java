@@ -27,6 +27,7 @@ import org.mifosplatform.infrastructure.core.domain.JdbcSupport;
 import org.mifosplatform.infrastructure.core.service.RoutingDataSource;
 import org.mifosplatform.portfolio.charge.data.ChargeData;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
@@ -312,4 +313,38 @@ public class ProductToGLAccountMappingReadPlatformServiceImpl implements Product
         return chargeToGLAccountMappers;
     }
 
+    @Override
+    @Cacheable(value = "productToGLAccountMappings", key = "T(org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#productId+':'+#productType+':'+#financialAccountType+'pgl')")
+    public Long retrieveGLAccountIdForProduct(final Long productId, final int productType, final int financialAccountType) {
+        final String sql = "select mapping.gl_account_id from acc_product_mapping mapping where mapping.product_id = ? "
+                + "and mapping.product_type = ? and mapping.financial_account_type = ? and mapping.payment_type is null "
+                + "and mapping.charge_id is null";
+        return singleGLAccountId(this.jdbcTemplate.queryForList(sql, Long.class, productId, productType, financialAccountType));
+    }
+
+    @Override
+    @Cacheable(value = "productToGLAccountMappings", key = "T(org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#productId+':'+#productType+':'+#financialAccountType+':'+#paymentTypeId+'ptgl')")
+    public Long retrieveGLAccountIdForPaymentType(final Long productId, final int productType, final int financialAccountType,
+            final Long paymentTypeId) {
+        if (paymentTypeId == null) { return null; }
+        final String sql = "select mapping.gl_account_id from acc_product_mapping mapping where mapping.product_id = ? "
+                + "and mapping.product_type = ? and mapping.financial_account_type = ? and mapping.payment_type = ?";
+        return singleGLAccountId(this.jdbcTemplate.queryForList(sql, Long.class, productId, productType, financialAccountType,
+                paymentTypeId));
+    }
+
+    @Override
+    @Cacheable(value = "productToGLAccountMappings", key = "T(org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#productId+':'+#productType+':'+#financialAccountType+':'+#chargeId+'cgl')")
+    public Long retrieveGLAccountIdForCharge(final Long productId, final int productType, final int financialAccountType,
+            final Long chargeId) {
+        if (chargeId == null) { return null; }
+        final String sql = "select mapping.gl_account_id from acc_product_mapping mapping where mapping.product_id = ? "
+                + "and mapping.product_type = ? and mapping.financial_account_type = ? and mapping.charge_id = ?";
+        return singleGLAccountId(this.jdbcTemplate.queryForList(sql, Long.class, productId, productType, financialAccountType, chargeId));
+    }
+
+    private static Long singleGLAccountId(final List<Long> glAccountIds) {
+        return glAccountIds.isEmpty() ? null : glAccountIds.get(0);
+    }
+
 }
\ No newline at end of file
@@ -36,6 +36,19 @@ public interface BatchApiService {
      */
     List<BatchResponse> handleBatchRequestsWithoutEnclosingTransaction(List<BatchRequest> requestList, UriInfo uriInfo);
 
+    /**
+     * Returns a list of {@link org.mifosplatform.batch.domain.BatchResponse}s
+     * like {@link #handleBatchRequestsWithoutEnclosingTransaction}, but
+     * executes the independent dependency trees of the requests concurrently.
+     * It will be used when the Query Parameter "parallel" is set to 'true'.
+     * Responses are still ordered by their requestId.
+     * 
+     * @param requestList
+     * @param uriInfo
+     * @return List<BatchResponse>
+     */
+    List<BatchResponse> handleBatchRequestsInParallel(List<BatchRequest> requestList, UriInfo uriInfo);
+
     /**
      * returns a list of {@link org.mifosplatform.batch.domain.BatchResponse}s
      * by getting the appropriate CommandStrategy for every
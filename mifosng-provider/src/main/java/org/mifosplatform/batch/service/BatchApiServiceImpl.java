@@ -6,9 +6,20 @@
 package org.mifosplatform.batch.service;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
-
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
@@ -21,6 +32,8 @@ import org.mifosplatform.batch.domain.BatchResponse;
 import org.mifosplatform.batch.exception.ErrorHandler;
 import org.mifosplatform.batch.exception.ErrorInfo;
 import org.mifosplatform.batch.service.ResolutionHelper.BatchRequestNode;
+import org.mifosplatform.infrastructure.core.exception.PlatformInternalServerException;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextPropagatingCallable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.TransactionException;
@@ -30,13 +43,16 @@ import org.springframework.transaction.support.TransactionTemplate;
 
 import com.google.gson.Gson;
 
-import edu.emory.mathcs.backport.java.util.Collections;
-
 /**
  * Implementation for {@link BatchApiService} to iterate through all the
  * incoming requests and obtain the appropriate CommandStrategy from
  * CommandStrategyProvider.
  * 
+ * In parallel mode the independent dependency trees of a batch run
+ * concurrently on a bounded pool shared by all batches. When the pool and its
+ * queue are full, the calling thread runs the next tree itself, which slows
+ * down the submission of further trees.
+ * 
  * @author Rishabh Shukla
  * 
  * @see org.mifosplatform.batch.domain.BatchRequest
@@ -49,7 +65,10 @@ public class BatchApiServiceImpl implements BatchApiService {
     private final CommandStrategyProvider strategyProvider;
     private final ResolutionHelper resolutionHelper;
     private final TransactionTemplate transactionTemplate;
-    private List<BatchResponse> checkList = new ArrayList<>();
+    private final ExecutorService parallelExecutor;
+
+    private static final int PARALLEL_THREADS = 8;
+    private static final int PARALLEL_QUEUE_CAPACITY = 1000;
 
     /**
      * Constructs a 'BatchApiServiceImpl' with an argument of
@@ -65,6 +84,23 @@ public class BatchApiServiceImpl implements BatchApiService {
         this.strategyProvider = strategyProvider;
         this.resolutionHelper = resolutionHelper;
         this.transactionTemplate = transactionTemplate;
+        this.parallelExecutor = new ThreadPoolExecutor(PARALLEL_THREADS, PARALLEL_THREADS, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(PARALLEL_QUEUE_CAPACITY), new ThreadFactory() {
+
+                    private final AtomicInteger threadNumber = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(final Runnable runnable) {
+                        final Thread thread = new Thread(runnable, "batch-request-" + this.threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdownParallelExecutor() {
+        this.parallelExecutor.shutdownNow();
     }
 
     /**
@@ -81,18 +117,35 @@ public class BatchApiServiceImpl implements BatchApiService {
         final List<BatchResponse> responseList = new ArrayList<>(requestList.size());
 
         final List<BatchRequestNode> batchRequestNodes = this.resolutionHelper.getDependingRequests(requestList);
-        checkList.clear();
 
         for (BatchRequestNode rootNode : batchRequestNodes) {
-            final BatchRequest rootRequest = rootNode.getRequest();
-            final CommandStrategy commandStrategy = this.strategyProvider.getCommandStrategy(CommandContext
-                    .resource(rootRequest.getRelativeUrl()).method(rootRequest.getMethod()).build());
-            final BatchResponse rootResponse = commandStrategy.execute(rootRequest, uriInfo);
-
-            responseList.add(rootResponse);
-            responseList.addAll(this.processChildRequests(rootNode, rootResponse, uriInfo));
+            responseList.addAll(this.processRequestTree(rootNode, uriInfo));
         }
 
+        sortByRequestId(responseList);
+        return responseList;
+
+    }
+
+    /**
+     * Executes a root request followed by the requests depending on it.
+     */
+    private List<BatchResponse> processRequestTree(final BatchRequestNode rootNode, final UriInfo uriInfo) {
+
+        final List<BatchResponse> responseList = new ArrayList<>();
+
+        final BatchRequest rootRequest = rootNode.getRequest();
+        final CommandStrategy commandStrategy = this.strategyProvider.getCommandStrategy(CommandContext
+                .resource(rootRequest.getRelativeUrl()).method(rootRequest.getMethod()).build());
+        final BatchResponse rootResponse = commandStrategy.execute(rootRequest, uriInfo);
+
+        responseList.add(rootResponse);
+        responseList.addAll(this.processChildRequests(rootNode, rootResponse, uriInfo));
+
+        return responseList;
+    }
+
+    private void sortByRequestId(final List<BatchResponse> responseList) {
         Collections.sort(responseList, new Comparator<BatchResponse>() {
 
             @Override
@@ -100,10 +153,6 @@ public class BatchApiServiceImpl implements BatchApiService {
                 return source.getRequestId().compareTo(testee.getRequestId());
             }
         });
-
-        checkList = responseList;
-        return responseList;
-
     }
 
     private List<BatchResponse> processChildRequests(final BatchRequestNode rootRequest, BatchResponse rootResponse, UriInfo uriInfo) {
@@ -160,16 +209,81 @@ public class BatchApiServiceImpl implements BatchApiService {
         return handleBatchRequests(requestList, uriInfo);
     }
 
+    @Override
+    public List<BatchResponse> handleBatchRequestsInParallel(final List<BatchRequest> requestList, final UriInfo uriInfo) {
+
+        final List<BatchRequestNode> batchRequestNodes = this.resolutionHelper.getDependingRequests(requestList);
+
+        final List<Future<List<BatchResponse>>> treeResponses = new ArrayList<>(batchRequestNodes.size());
+        for (final BatchRequestNode rootNode : batchRequestNodes) {
+            treeResponses.add(this.parallelExecutor.submit(ThreadLocalContextPropagatingCallable.wrap(new Callable<List<BatchResponse>>() {
+
+                @Override
+                public List<BatchResponse> call() {
+                    return processRequestTreeReportingErrors(rootNode, uriInfo);
+                }
+            })));
+        }
+
+        final List<BatchResponse> responseList = new ArrayList<>(requestList.size());
+        try {
+            for (final Future<List<BatchResponse>> treeResponse : treeResponses) {
+                responseList.addAll(treeResponse.get());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(treeResponses);
+            throw new PlatformInternalServerException("error.msg.batch.interrupted", "Processing the batch requests was interrupted.");
+        } catch (final ExecutionException e) {
+            cancel(treeResponses);
+            throw new PlatformInternalServerException("error.msg.batch.failed", "Processing the batch requests failed: "
+                    + e.getCause().getMessage());
+        }
+
+        sortByRequestId(responseList);
+        return responseList;
+    }
+
+    /**
+     * Unlike a sequential batch, which fails as a whole, a failing root
+     * request of a parallel batch only fails its own tree, with the error as
+     * its response and its depending requests in conflict.
+     */
+    private List<BatchResponse> processRequestTreeReportingErrors(final BatchRequestNode rootNode, final UriInfo uriInfo) {
+        try {
+            return processRequestTree(rootNode, uriInfo);
+        } catch (final RuntimeException ex) {
+            final ErrorInfo error = ErrorHandler.handler(ex);
+            final BatchResponse rootResponse = new BatchResponse();
+            rootResponse.setRequestId(rootNode.getRequest().getRequestId());
+            rootResponse.setStatusCode(error.getStatusCode());
+            rootResponse.setBody(error.getMessage());
+
+            final List<BatchResponse> responseList = new ArrayList<>();
+            responseList.add(rootResponse);
+            responseList.addAll(this.processChildRequests(rootNode, rootResponse, uriInfo));
+            return responseList;
+        }
+    }
+
+    private void cancel(final List<Future<List<BatchResponse>>> treeResponses) {
+        for (final Future<List<BatchResponse>> treeResponse : treeResponses) {
+            treeResponse.cancel(false);
+        }
+    }
+
     @Override
     public List<BatchResponse> handleBatchRequestsWithEnclosingTransaction(final List<BatchRequest> requestList, final UriInfo uriInfo) {
 
+        final List<BatchResponse> checkList = new ArrayList<>();
         try {
             return this.transactionTemplate.execute(new TransactionCallback<List<BatchResponse>>() {
 
                 @Override
                 public List<BatchResponse> doInTransaction(TransactionStatus status) {
                     try {
-                        return handleBatchRequests(requestList, uriInfo);
+                        checkList.addAll(handleBatchRequests(requestList, uriInfo));
+                        return checkList;
                     } catch (RuntimeException ex) {
 
                         ErrorInfo e = ErrorHandler.handler(ex);
@@ -198,7 +312,6 @@ public class BatchApiServiceImpl implements BatchApiService {
                 }
             }
 
-            checkList.clear();
             List<BatchResponse> errResponseList = new ArrayList<>();
             errResponseList.add(errResponse);
 
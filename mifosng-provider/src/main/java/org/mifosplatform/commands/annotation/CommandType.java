@@ -0,0 +1,33 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.commands.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation that marks a {@link org.mifosplatform.commands.handler.NewCommandSourceHandler}
+ * as the handler of the commands with the given entity and action names.
+ *
+ * @see org.mifosplatform.commands.service.CommandHandlerRegistry
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CommandType {
+
+    /**
+     * The entity names handled, e.g. <code>LOAN</code>. Several names are only
+     * needed when one handler serves a family of entities, like notes.
+     */
+    String[] entity();
+
+    /**
+     * The action name handled, e.g. <code>REPAYMENT</code>.
+     */
+    String action();
+}
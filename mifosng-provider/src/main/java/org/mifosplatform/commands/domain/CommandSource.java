@@ -88,6 +88,15 @@ public class CommandSource extends AbstractPersistable<Long> {
                 command.json(), maker, DateTime.now());
     }
 
+    /**
+     * An entry summarising work done outside the command pipeline, e.g. one
+     * chunk of a bulk import.
+     */
+    public static CommandSource summaryEntryFrom(final String actionName, final String entityName, final String href,
+            final String summaryAsJson, final AppUser maker) {
+        return new CommandSource(actionName, entityName, href, null, null, summaryAsJson, maker, DateTime.now());
+    }
+
     protected CommandSource() {
         //
     }
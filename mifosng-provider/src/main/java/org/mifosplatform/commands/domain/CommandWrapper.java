@@ -815,6 +815,18 @@ public class CommandWrapper {
         return this.entityName.equalsIgnoreCase("CACHE");
     }
 
+    public boolean isDataSourceResource() {
+        return this.entityName.equalsIgnoreCase("DATASOURCE");
+    }
+
+    public boolean isReconfigureOperation() {
+        return this.actionName.equalsIgnoreCase("RECONFIGURE");
+    }
+
+    public boolean isEvictOperation() {
+        return this.actionName.equalsIgnoreCase("EVICT");
+    }
+
     // Begin - Deposit product
     public boolean isFixedDepositProductResource() {
         return this.entityName.equalsIgnoreCase("FIXEDDEPOSITPRODUCT");
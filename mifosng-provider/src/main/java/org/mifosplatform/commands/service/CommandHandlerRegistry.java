@@ -0,0 +1,193 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.commands.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.mifosplatform.commands.annotation.CommandType;
+import org.mifosplatform.commands.domain.CommandWrapper;
+import org.mifosplatform.commands.exception.UnsupportedCommandException;
+import org.mifosplatform.commands.handler.NewCommandSourceHandler;
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.core.service.RoutingDataSource;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.mifosplatform.infrastructure.security.service.TenantDetailsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the {@link NewCommandSourceHandler} of a command with a single
+ * lookup in a dispatch table, which is built once the application context is
+ * refreshed from the handlers annotated with {@link CommandType}.
+ *
+ * The table is keyed by <code>ACTION_ENTITY</code>, the format of the
+ * permission codes. Datatable and survey commands are named after the
+ * datatable, so they are keyed by the pseudo entities {@link #DATATABLE},
+ * {@link #DATATABLE_ENTRY}, {@link #DATATABLE_MULTIROW_ENTRY} and
+ * {@link #SURVEY} instead.
+ *
+ * Two handlers declaring the same command fail the startup. Handlers without
+ * {@link CommandType} and write permissions without a handler are logged once
+ * at startup.
+ */
+@Component
+public class CommandHandlerRegistry implements ApplicationListener<ContextRefreshedEvent> {
+
+    private final static Logger logger = LoggerFactory.getLogger(CommandHandlerRegistry.class);
+
+    /**
+     * Creating, updating, deleting and registering a datatable itself.
+     */
+    public static final String DATATABLE = "DATATABLE";
+
+    /**
+     * Creating an entry of a datatable, and updating or deleting the entry of
+     * a one to one datatable or all entries of a one to many datatable.
+     */
+    public static final String DATATABLE_ENTRY = "DATATABLE_ENTRY";
+
+    /**
+     * Updating or deleting one entry of a one to many datatable.
+     */
+    public static final String DATATABLE_MULTIROW_ENTRY = "DATATABLE_MULTIROW_ENTRY";
+
+    public static final String SURVEY = "SURVEY";
+
+    private static final String DATATABLES_HREF = "/datatables/";
+    private static final String SURVEY_HREF = "/survey/";
+
+    private final ApplicationContext applicationContext;
+    private final TenantDetailsService tenantDetailsService;
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Map<String, NewCommandSourceHandler> dispatchTable = Collections.emptyMap();
+
+    @Autowired
+    public CommandHandlerRegistry(final ApplicationContext applicationContext, final TenantDetailsService tenantDetailsService,
+            final RoutingDataSource dataSource) {
+        this.applicationContext = applicationContext;
+        this.tenantDetailsService = tenantDetailsService;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * For benchmarks and tests, which supply the dispatch table directly.
+     */
+    CommandHandlerRegistry(final Map<String, NewCommandSourceHandler> dispatchTable) {
+        this.applicationContext = null;
+        this.tenantDetailsService = null;
+        this.jdbcTemplate = null;
+        this.dispatchTable = Collections.unmodifiableMap(new HashMap<>(dispatchTable));
+    }
+
+    @Override
+    public void onApplicationEvent(final ContextRefreshedEvent event) {
+        if (event.getApplicationContext() != this.applicationContext) { return; }
+
+        this.dispatchTable = Collections.unmodifiableMap(buildDispatchTable());
+        logger.info("Registered " + this.dispatchTable.size() + " commands");
+
+        reportPermissionsWithoutHandler();
+    }
+
+    public NewCommandSourceHandler findCommandHandler(final CommandWrapper wrapper) {
+        final NewCommandSourceHandler handler = this.dispatchTable.get(keyFor(wrapper));
+        if (handler == null) { throw new UnsupportedCommandException(wrapper.commandName()); }
+        return handler;
+    }
+
+    public static String keyFor(final CommandWrapper wrapper) {
+        final String href = wrapper.getHref();
+        String entityName = wrapper.entityName();
+        if (href != null && href.startsWith(DATATABLES_HREF)) {
+            if (wrapper.getEntityId() == null) {
+                entityName = DATATABLE;
+            } else if (wrapper.getSubentityId() != null && !wrapper.isCreate()) {
+                entityName = DATATABLE_MULTIROW_ENTRY;
+            } else {
+                entityName = DATATABLE_ENTRY;
+            }
+        } else if (href != null && href.startsWith(SURVEY_HREF)) {
+            entityName = SURVEY;
+        }
+        return keyFor(entityName, wrapper.actionName());
+    }
+
+    public static String keyFor(final String entityName, final String actionName) {
+        return (actionName + "_" + entityName).toUpperCase();
+    }
+
+    private Map<String, NewCommandSourceHandler> buildDispatchTable() {
+        final Map<String, NewCommandSourceHandler> handlers = new HashMap<>();
+        final Map<String, String> beanNames = new HashMap<>();
+
+        for (final String beanName : this.applicationContext.getBeanNamesForType(NewCommandSourceHandler.class)) {
+            final CommandType commandType = this.applicationContext.findAnnotationOnBean(beanName, CommandType.class);
+            if (commandType == null) {
+                logger.warn("Command handler " + beanName + " is not annotated with @CommandType and will never be used");
+                continue;
+            }
+
+            final NewCommandSourceHandler handler = this.applicationContext.getBean(beanName, NewCommandSourceHandler.class);
+            for (final String entityName : commandType.entity()) {
+                final String key = keyFor(entityName, commandType.action());
+                final String existingBeanName = beanNames.put(key, beanName);
+                if (existingBeanName != null) { throw new IllegalStateException("Command " + key + " is handled by both "
+                        + existingBeanName + " and " + beanName); }
+                handlers.put(key, handler);
+            }
+        }
+
+        return handlers;
+    }
+
+    /**
+     * Write permissions name commands the same way, so a permission without a
+     * handler points at a command which would fail once submitted.
+     */
+    private void reportPermissionsWithoutHandler() {
+        final String sql = "select p.entity_name, p.action_name from m_permission p"
+                + " where p.entity_name is not null and p.action_name is not null and p.action_name <> 'READ'"
+                + " and p.action_name not like '%CHECKER' and p.grouping not in ('special', 'report', 'datatable', 'survey')";
+
+        final Set<String> unmappedCommands = new TreeSet<>();
+        for (final MifosPlatformTenant tenant : this.tenantDetailsService.findAllTenants()) {
+            try {
+                ThreadLocalContextUtil.setTenant(tenant);
+                this.jdbcTemplate.query(sql, new RowCallbackHandler() {
+
+                    @Override
+                    public void processRow(final ResultSet rs) throws SQLException {
+                        final String key = keyFor(rs.getString("entity_name"), rs.getString("action_name"));
+                        if (!CommandHandlerRegistry.this.dispatchTable.containsKey(key)) {
+                            unmappedCommands.add(key);
+                        }
+                    }
+                });
+            } catch (final RuntimeException e) {
+                logger.warn("Could not check the permissions of tenant " + tenant.getTenantIdentifier() + " for unmapped commands", e);
+            } finally {
+                ThreadLocalContextUtil.clearTenant();
+            }
+        }
+
+        if (!unmappedCommands.isEmpty()) {
+            logger.warn("No command handler is registered for the permissions " + unmappedCommands);
+        }
+    }
+}
@@ -1823,6 +1823,20 @@ public class CommandWrapperBuilder {
         return this;
     }
 
+    public CommandWrapperBuilder reconfigureDataSource() {
+        this.actionName = "RECONFIGURE";
+        this.entityName = "DATASOURCE";
+        this.href = "/datasources?command=reconfigure";
+        return this;
+    }
+
+    public CommandWrapperBuilder evictDataSource() {
+        this.actionName = "EVICT";
+        this.entityName = "DATASOURCE";
+        this.href = "/datasources?command=evict";
+        return this;
+    }
+
     /**
      * Deposit account mappings
      */
@@ -26,6 +26,10 @@ public class PlatformCache extends AbstractPersistable<Long> {
         this.cacheType = cacheType.getValue();
     }
 
+    public CacheType cacheType() {
+        return CacheType.fromInt(this.cacheType);
+    }
+
     public boolean isNoCachedEnabled() {
         return CacheType.fromInt(this.cacheType).isNoCache();
     }
@@ -0,0 +1,23 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.cache.service;
+
+import org.mifosplatform.infrastructure.cache.domain.CacheType;
+
+/**
+ * Receives the messages published by other nodes through a
+ * {@link CacheEvictionTransport}.
+ */
+public interface CacheEvictionListener {
+
+    /**
+     * @param key
+     *            the key to evict, <code>null</code> to clear the whole cache
+     */
+    void onEviction(String cacheName, String key);
+
+    void onCacheSwitch(CacheType cacheType);
+}
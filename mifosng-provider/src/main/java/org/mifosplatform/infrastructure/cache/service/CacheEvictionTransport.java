@@ -0,0 +1,42 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.cache.service;
+
+import org.mifosplatform.infrastructure.cache.domain.CacheType;
+
+/**
+ * Carries cache evictions and cache switches between the nodes of a cluster
+ * running with {@link CacheType#MULTI_NODE} caching.
+ * 
+ * Messages published by a node are delivered to the listeners of all other
+ * nodes, never back to the publishing node. Listeners receive every message
+ * and ignore the caches they do not hold.
+ */
+public interface CacheEvictionTransport {
+
+    /**
+     * @return whether this node exchanges messages with other nodes, without
+     *         it messages are neither published nor received and
+     *         {@link CacheType#MULTI_NODE} caching is not available
+     */
+    boolean isEnabled();
+
+    /**
+     * Registers the listener, the first listener starts receiving messages
+     * when the transport is enabled.
+     */
+    void subscribe(CacheEvictionListener listener);
+
+    void stop();
+
+    /**
+     * @param key
+     *            the key to evict, <code>null</code> to clear the whole cache
+     */
+    void publishEviction(String cacheName, String key);
+
+    void publishCacheSwitch(CacheType cacheType);
+}
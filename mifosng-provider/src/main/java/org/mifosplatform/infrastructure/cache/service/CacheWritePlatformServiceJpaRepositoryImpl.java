@@ -31,9 +31,9 @@ public class CacheWritePlatformServiceJpaRepositoryImpl implements CacheWritePla
     @Override
     public Map<String, Object> switchToCache(final CacheType toCacheType) {
 
-        final boolean ehCacheEnabled = this.configurationDomainService.isEhcacheEnabled();
+        final CacheType currentCacheType = this.configurationDomainService.retrieveCacheType();
 
-        final Map<String, Object> changes = this.cacheService.switchToCache(ehCacheEnabled, toCacheType);
+        final Map<String, Object> changes = this.cacheService.switchToCache(currentCacheType, toCacheType);
 
         if (!changes.isEmpty()) {
             this.configurationDomainService.updateCache(toCacheType);
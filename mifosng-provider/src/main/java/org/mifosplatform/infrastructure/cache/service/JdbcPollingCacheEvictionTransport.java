@@ -0,0 +1,216 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.cache.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.mifosplatform.infrastructure.cache.domain.CacheType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * A {@link CacheEvictionTransport} that exchanges messages through the
+ * <code>cache_eviction_messages</code> table of the shared tenants database,
+ * which every node polls once a second.
+ *
+ * Meant as a simple stand-in for a real messaging transport, e.g. for running
+ * several nodes on one machine. Evictions reach the other nodes with up to a
+ * poll interval of delay.
+ *
+ * Nodes only poll and publish with {@value #MULTI_NODE_ENABLED} set, a node
+ * running on its own leaves the table alone.
+ */
+@Component
+public class JdbcPollingCacheEvictionTransport implements CacheEvictionTransport {
+
+    private final static Logger logger = LoggerFactory.getLogger(JdbcPollingCacheEvictionTransport.class);
+
+    public final static String MULTI_NODE_ENABLED = "mifos.cache.multiNode.enabled";
+
+    private static final long POLL_INTERVAL_MILLIS = 1000;
+    private static final int RETENTION_MINUTES = 10;
+    private static final int POLLS_BETWEEN_CLEANUPS = 300;
+    private static final int MAX_KEY_LENGTH = 500;
+
+    /**
+     * Messages are numbered by an auto increment column, a message published
+     * concurrently can become visible after a higher numbered one, so every
+     * poll looks back this many ids and skips the messages already seen.
+     */
+    private static final int LOOK_BACK_IDS = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Set<Long> recentlySeenIds = new LinkedHashSet<>();
+    private final List<CacheEvictionListener> listeners = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService executorService;
+    private Long lastSeenId;
+    private int pollsSinceCleanup;
+
+    @Autowired
+    public JdbcPollingCacheEvictionTransport(@Qualifier("tenantDataSourceJndi") final DataSource dataSource,
+            @Value("${" + MULTI_NODE_ENABLED + ":false}") final boolean enabled) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    @Override
+    public synchronized void subscribe(final CacheEvictionListener listener) {
+        this.listeners.add(listener);
+        if (!this.enabled || this.executorService != null) { return; }
+
+        this.executorService = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, "cache-eviction-poller");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.executorService.scheduleWithFixedDelay(new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    poll();
+                } catch (final RuntimeException e) {
+                    // keep polling, a failing run would cancel the schedule
+                    logger.error("Polling for cache evictions failed", e);
+                }
+            }
+        }, POLL_INTERVAL_MILLIS, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (this.executorService != null) {
+            this.executorService.shutdownNow();
+            this.executorService = null;
+        }
+    }
+
+    @Override
+    public void publishEviction(final String cacheName, final String key) {
+        if (!this.enabled) { return; }
+        // keys too long to store are evicted by clearing the whole cache
+        final String storedKey = key != null && key.length() <= MAX_KEY_LENGTH ? key : null;
+        this.jdbcTemplate.update("insert into cache_eviction_messages (node_id, cache_name, cache_key, created_date) values (?, ?, ?, now())",
+                this.nodeId, cacheName, storedKey);
+    }
+
+    @Override
+    public void publishCacheSwitch(final CacheType cacheType) {
+        if (!this.enabled) { return; }
+        this.jdbcTemplate.update("insert into cache_eviction_messages (node_id, cache_type_enum, created_date) values (?, ?, now())",
+                this.nodeId, cacheType.getValue());
+    }
+
+    synchronized boolean isPolling() {
+        return this.executorService != null;
+    }
+
+    private void poll() {
+
+        // starts from the messages published after the first successful poll,
+        // the table is only created once the tenants database is upgraded
+        if (this.lastSeenId == null) {
+            this.lastSeenId = this.jdbcTemplate.queryForObject("select coalesce(max(id), 0) from cache_eviction_messages", Long.class);
+            return;
+        }
+
+        final List<CacheEvictionMessage> messages = this.jdbcTemplate.query(
+                "select id, node_id, cache_name, cache_key, cache_type_enum from cache_eviction_messages where id > ? order by id",
+                new CacheEvictionMessageMapper(), Math.max(0, this.lastSeenId - LOOK_BACK_IDS));
+
+        for (final CacheEvictionMessage message : messages) {
+            if (!this.recentlySeenIds.add(message.id)) {
+                continue;
+            }
+            this.lastSeenId = Math.max(this.lastSeenId, message.id);
+            if (this.nodeId.equals(message.nodeId)) {
+                continue;
+            }
+            for (final CacheEvictionListener listener : this.listeners) {
+                if (message.cacheType != null) {
+                    listener.onCacheSwitch(CacheType.fromInt(message.cacheType));
+                } else {
+                    listener.onEviction(message.cacheName, message.key);
+                }
+            }
+        }
+
+        final Iterator<Long> seenIds = this.recentlySeenIds.iterator();
+        while (seenIds.hasNext()) {
+            if (seenIds.next() <= this.lastSeenId - LOOK_BACK_IDS) {
+                seenIds.remove();
+            } else {
+                break;
+            }
+        }
+
+        if (++this.pollsSinceCleanup >= POLLS_BETWEEN_CLEANUPS) {
+            this.pollsSinceCleanup = 0;
+            this.jdbcTemplate.update("delete from cache_eviction_messages where created_date < now() - interval " + RETENTION_MINUTES
+                    + " minute");
+        }
+    }
+
+    private static final class CacheEvictionMessage {
+
+        private final long id;
+        private final String nodeId;
+        private final String cacheName;
+        private final String key;
+        private final Integer cacheType;
+
+        CacheEvictionMessage(final long id, final String nodeId, final String cacheName, final String key, final Integer cacheType) {
+            this.id = id;
+            this.nodeId = nodeId;
+            this.cacheName = cacheName;
+            this.key = key;
+            this.cacheType = cacheType;
+        }
+    }
+
+    private static final class CacheEvictionMessageMapper implements RowMapper<CacheEvictionMessage> {
+
+        @Override
+        public CacheEvictionMessage mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+            final long id = rs.getLong("id");
+            final String nodeId = rs.getString("node_id");
+            final String cacheName = rs.getString("cache_name");
+            final String key = rs.getString("cache_key");
+            final int cacheType = rs.getInt("cache_type_enum");
+            return new CacheEvictionMessage(id, nodeId, cacheName, key, rs.wasNull() ? null : Integer.valueOf(cacheType));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.cache.service;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * A {@link CacheManager} for running several nodes of the platform. Each node
+ * caches in its own local (near) cache and every eviction is also sent to the
+ * other nodes through a {@link CacheEvictionTransport}.
+ */
+public class MultiNodeCacheManager implements CacheManager {
+
+    private final CacheManager localCacheManager;
+    private final CacheEvictionTransport cacheEvictionTransport;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public MultiNodeCacheManager(final CacheManager localCacheManager, final CacheEvictionTransport cacheEvictionTransport) {
+        this.localCacheManager = localCacheManager;
+        this.cacheEvictionTransport = cacheEvictionTransport;
+    }
+
+    @Override
+    public Cache getCache(final String name) {
+        Cache cache = this.caches.get(name);
+        if (cache == null) {
+            final Cache localCache = this.localCacheManager.getCache(name);
+            if (localCache == null) { return null; }
+            final Cache newCache = new BroadcastingCache(localCache);
+            final Cache existingCache = this.caches.putIfAbsent(name, newCache);
+            cache = existingCache == null ? newCache : existingCache;
+        }
+        return cache;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return this.localCacheManager.getCacheNames();
+    }
+
+    /**
+     * Applies an eviction received from another node to the local cache only.
+     */
+    public void evictLocally(final String cacheName, final String key) {
+        final Cache localCache = this.localCacheManager.getCache(cacheName);
+        if (localCache == null) { return; }
+        if (key == null) {
+            localCache.clear();
+        } else {
+            localCache.evict(key);
+        }
+    }
+
+    private final class BroadcastingCache implements Cache {
+
+        private final Cache localCache;
+
+        BroadcastingCache(final Cache localCache) {
+            this.localCache = localCache;
+        }
+
+        @Override
+        public String getName() {
+            return this.localCache.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return this.localCache.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(final Object key) {
+            return this.localCache.get(key);
+        }
+
+        @Override
+        public <T> T get(final Object key, final Class<T> type) {
+            return this.localCache.get(key, type);
+        }
+
+        @Override
+        public void put(final Object key, final Object value) {
+            this.localCache.put(key, value);
+        }
+
+        @Override
+        public void evict(final Object key) {
+            this.localCache.evict(key);
+            // other nodes can only match string keys, any other key clears
+            // the whole cache there
+            publishEviction(key instanceof String ? (String) key : null);
+        }
+
+        @Override
+        public void clear() {
+            this.localCache.clear();
+            publishEviction(null);
+        }
+
+        /**
+         * Other nodes reload evicted entries from their own connections, so
+         * the eviction is only sent once the change is committed.
+         */
+        private void publishEviction(final String key) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                    @Override
+                    public void afterCommit() {
+                        MultiNodeCacheManager.this.cacheEvictionTransport.publishEviction(getName(), key);
+                    }
+                });
+            } else {
+                MultiNodeCacheManager.this.cacheEvictionTransport.publishEviction(getName(), key);
+            }
+        }
+    }
+}
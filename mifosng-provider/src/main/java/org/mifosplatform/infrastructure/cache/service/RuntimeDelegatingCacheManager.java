@@ -10,11 +10,17 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
 import org.mifosplatform.infrastructure.cache.CacheApiConstants;
 import org.mifosplatform.infrastructure.cache.CacheEnumerations;
 import org.mifosplatform.infrastructure.cache.data.CacheData;
 import org.mifosplatform.infrastructure.cache.domain.CacheType;
 import org.mifosplatform.infrastructure.core.data.EnumOptionData;
+import org.mifosplatform.infrastructure.core.exception.PlatformDataIntegrityException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
@@ -29,18 +35,44 @@ import org.springframework.stereotype.Component;
  * By default it is {@link NoOpCacheManager} but we can change that by checking
  * some persisted configuration in the database on startup and allow user to
  * switch implementation through UI/API
+ * 
+ * With {@link CacheType#MULTI_NODE} the ehcache caches of this node act as
+ * near caches, evictions are sent to the other nodes through the
+ * {@link CacheEvictionTransport}. Switching the cache type is sent to the other
+ * nodes as well so that all nodes use the same type. A node whose transport is
+ * not enabled refuses to switch to {@link CacheType#MULTI_NODE} and runs
+ * without cache when that type is persisted.
  */
 @Component(value = "runtimeDelegatingCacheManager")
-public class RuntimeDelegatingCacheManager implements CacheManager {
+public class RuntimeDelegatingCacheManager implements CacheManager, CacheEvictionListener {
+
+    private final static Logger logger = LoggerFactory.getLogger(RuntimeDelegatingCacheManager.class);
 
     private final EhCacheCacheManager ehcacheCacheManager;
     private final CacheManager noOpCacheManager = new NoOpCacheManager();
-    private CacheManager currentCacheManager;
+    private final MultiNodeCacheManager multiNodeCacheManager;
+    private final CacheEvictionTransport cacheEvictionTransport;
+    private volatile CacheManager currentCacheManager;
+    private CacheType currentCacheType;
 
     @Autowired
-    public RuntimeDelegatingCacheManager(final EhCacheCacheManager ehCacheCacheManager) {
+    public RuntimeDelegatingCacheManager(final EhCacheCacheManager ehCacheCacheManager,
+            final CacheEvictionTransport cacheEvictionTransport) {
         this.ehcacheCacheManager = ehCacheCacheManager;
+        this.cacheEvictionTransport = cacheEvictionTransport;
+        this.multiNodeCacheManager = new MultiNodeCacheManager(ehCacheCacheManager, cacheEvictionTransport);
         this.currentCacheManager = this.noOpCacheManager;
+        this.currentCacheType = CacheType.NO_CACHE;
+    }
+
+    @PostConstruct
+    public void startCacheEvictionTransport() {
+        this.cacheEvictionTransport.subscribe(this);
+    }
+
+    @PreDestroy
+    public void stopCacheEvictionTransport() {
+        this.cacheEvictionTransport.stop();
     }
 
     @Override
@@ -55,59 +87,96 @@ public class RuntimeDelegatingCacheManager implements CacheManager {
 
     public Collection<CacheData> retrieveAll() {
 
-        final boolean noCacheEnabled = this.currentCacheManager instanceof NoOpCacheManager;
-        final boolean ehcacheEnabled = this.currentCacheManager instanceof EhCacheCacheManager;
-
-        // final boolean distributedCacheEnabled = false;
+        final CacheManager cacheManager = this.currentCacheManager;
+        final boolean noCacheEnabled = cacheManager == this.noOpCacheManager;
+        final boolean ehcacheEnabled = cacheManager == this.ehcacheCacheManager;
+        final boolean distributedCacheEnabled = cacheManager == this.multiNodeCacheManager;
 
         final EnumOptionData noCacheType = CacheEnumerations.cacheType(CacheType.NO_CACHE);
         final EnumOptionData singleNodeCacheType = CacheEnumerations.cacheType(CacheType.SINGLE_NODE);
-        // final EnumOptionData multiNodeCacheType =
-        // CacheEnumerations.cacheType(CacheType.MULTI_NODE);
+        final EnumOptionData multiNodeCacheType = CacheEnumerations.cacheType(CacheType.MULTI_NODE);
 
         final CacheData noCache = CacheData.instance(noCacheType, noCacheEnabled);
         final CacheData singleNodeCache = CacheData.instance(singleNodeCacheType, ehcacheEnabled);
-        // final CacheData distributedCache =
-        // CacheData.instance(multiNodeCacheType, distributedCacheEnabled);
+        final CacheData distributedCache = CacheData.instance(multiNodeCacheType, distributedCacheEnabled);
 
-        final Collection<CacheData> caches = Arrays.asList(noCache, singleNodeCache);
+        final Collection<CacheData> caches = Arrays.asList(noCache, singleNodeCache, distributedCache);
         return caches;
     }
 
-    public Map<String, Object> switchToCache(final boolean ehcacheEnabled, final CacheType toCacheType) {
+    /**
+     * @param fromCacheType
+     *            the persisted cache type, changes are only reported (and sent
+     *            to the other nodes) when switching to a different type
+     */
+    public Map<String, Object> switchToCache(final CacheType fromCacheType, final CacheType toCacheType) {
 
         final Map<String, Object> changes = new HashMap<>();
 
-        final boolean noCacheEnabled = !ehcacheEnabled;
-        final boolean distributedCacheEnabled = !ehcacheEnabled;
+        if (toCacheType == CacheType.INVALID) { return changes; }
+
+        if (toCacheType == CacheType.MULTI_NODE && !this.cacheEvictionTransport.isEnabled()) {
+            if (fromCacheType != toCacheType) { throw new PlatformDataIntegrityException("error.msg.cache.multi.node.not.enabled",
+                    "Multi node caching needs the cache eviction transport enabled on every node"); }
+            logger.warn("Multi node caching is configured but the cache eviction transport is not enabled on this node, "
+                    + "running without cache");
+            useCache(CacheType.NO_CACHE);
+            return changes;
+        }
+
+        useCache(toCacheType);
+
+        if (fromCacheType != toCacheType) {
+            changes.put(CacheApiConstants.cacheTypeParameter, toCacheType.getValue());
+            this.cacheEvictionTransport.publishCacheSwitch(toCacheType);
+        }
+
+        return changes;
+    }
+
+    @Override
+    public void onEviction(final String cacheName, final String key) {
+        if (this.currentCacheManager == this.multiNodeCacheManager) {
+            this.multiNodeCacheManager.evictLocally(cacheName, key);
+        }
+    }
+
+    @Override
+    public void onCacheSwitch(final CacheType cacheType) {
+        if (cacheType != CacheType.INVALID) {
+            useCache(cacheType);
+        }
+    }
 
-        switch (toCacheType) {
+    /**
+     * Local caches may be stale when switching from another type as
+     * evictions were not applied to them in the meantime, so they start empty.
+     */
+    private synchronized void useCache(final CacheType cacheType) {
+        final boolean switched = this.currentCacheType != cacheType;
+        switch (cacheType) {
             case INVALID:
             break;
             case NO_CACHE:
-                if (!noCacheEnabled) {
-                    changes.put(CacheApiConstants.cacheTypeParameter, toCacheType.getValue());
-                }
                 this.currentCacheManager = this.noOpCacheManager;
             break;
             case SINGLE_NODE:
-                if (!ehcacheEnabled) {
-                    changes.put(CacheApiConstants.cacheTypeParameter, toCacheType.getValue());
+                if (switched) {
                     clearEhCache();
                 }
                 this.currentCacheManager = this.ehcacheCacheManager;
             break;
             case MULTI_NODE:
-                if (!distributedCacheEnabled) {
-                    changes.put(CacheApiConstants.cacheTypeParameter, toCacheType.getValue());
+                if (switched) {
+                    clearEhCache();
                 }
+                this.currentCacheManager = this.multiNodeCacheManager;
             break;
         }
-
-        return changes;
+        this.currentCacheType = cacheType;
     }
 
     private void clearEhCache() {
         this.ehcacheCacheManager.getCacheManager().clearAll();
     }
-}
\ No newline at end of file
+}
@@ -25,6 +25,8 @@ public interface ConfigurationDomainService {
 
     boolean isEhcacheEnabled();
 
+    CacheType retrieveCacheType();
+
     void updateCache(CacheType cacheType);
 
     Long retrievePenaltyWaitPeriod();
@@ -47,4 +49,14 @@ public interface ConfigurationDomainService {
 
     boolean isMeetingMandatoryForJLGLoans();
 
+    Integer retrieveSavingsInterestPostingChunkSize();
+
+    Integer retrieveSavingsInterestPostingThreadPoolSize();
+
+    Integer retrieveLoanSummaryUpdateBatchSize();
+
+    boolean isArrearsAgeingDeltaUpdateEnabled();
+
+    Integer retrieveHookDeliveryMaxAttempts();
+
 }
\ No newline at end of file
@@ -9,25 +9,27 @@ import org.apache.commons.lang.StringUtils;
 import org.mifosplatform.infrastructure.cache.domain.CacheType;
 import org.mifosplatform.infrastructure.cache.domain.PlatformCache;
 import org.mifosplatform.infrastructure.cache.domain.PlatformCacheRepository;
-import org.mifosplatform.useradministration.domain.Permission;
-import org.mifosplatform.useradministration.domain.PermissionRepository;
+import org.mifosplatform.infrastructure.configuration.exception.GlobalConfigurationPropertyNotFoundException;
 import org.mifosplatform.useradministration.exception.PermissionNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Reads configuration from the {@link ConfigurationSnapshot} of the tenant, so
+ * it is called freely on hot paths like command processing and authentication
+ * without querying the database.
+ */
 @Service
 public class ConfigurationDomainServiceJpa implements ConfigurationDomainService {
 
-    private final PermissionRepository permissionRepository;
-    private final GlobalConfigurationRepositoryWrapper globalConfigurationRepository;
+    private final ConfigurationSnapshotService configurationSnapshotService;
     private final PlatformCacheRepository cacheTypeRepository;
 
     @Autowired
-    public ConfigurationDomainServiceJpa(final PermissionRepository permissionRepository,
-            final GlobalConfigurationRepositoryWrapper globalConfigurationRepository, final PlatformCacheRepository cacheTypeRepository) {
-        this.permissionRepository = permissionRepository;
-        this.globalConfigurationRepository = globalConfigurationRepository;
+    public ConfigurationDomainServiceJpa(final ConfigurationSnapshotService configurationSnapshotService,
+            final PlatformCacheRepository cacheTypeRepository) {
+        this.configurationSnapshotService = configurationSnapshotService;
         this.cacheTypeRepository = cacheTypeRepository;
     }
 
@@ -35,26 +37,28 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
     public boolean isMakerCheckerEnabledForTask(final String taskPermissionCode) {
         if (StringUtils.isBlank(taskPermissionCode)) { throw new PermissionNotFoundException(taskPermissionCode); }
 
-        final Permission thisTask = this.permissionRepository.findOneByCode(taskPermissionCode);
-        if (thisTask == null) { throw new PermissionNotFoundException(taskPermissionCode); }
+        ConfigurationSnapshot snapshot = this.configurationSnapshotService.retrieveSnapshot();
+        if (!snapshot.hasPermission(taskPermissionCode)) {
+            // permissions are added at runtime, e.g. for new datatables
+            snapshot = reloadSnapshot();
+            if (!snapshot.hasPermission(taskPermissionCode)) { throw new PermissionNotFoundException(taskPermissionCode); }
+        }
 
         final String makerCheckerConfigurationProperty = "maker-checker";
-        final GlobalConfigurationProperty property = this.globalConfigurationRepository
-                .findOneByNameWithNotFoundDetection(makerCheckerConfigurationProperty);
+        final ConfigurationSnapshot.Property property = findOneByNameWithNotFoundDetection(makerCheckerConfigurationProperty);
 
-        return thisTask.hasMakerCheckerEnabled() && property.isEnabled();
+        return snapshot.isMakerCheckerEnabledFor(taskPermissionCode) && property.isEnabled();
     }
 
     @Override
     public boolean isAmazonS3Enabled() {
-        return this.globalConfigurationRepository.findOneByNameWithNotFoundDetection("amazon-S3").isEnabled();
+        return findOneByNameWithNotFoundDetection("amazon-S3").isEnabled();
     }
 
     @Override
     public boolean isRescheduleFutureRepaymentsEnabled() {
         final String rescheduleRepaymentsConfigurationProperty = "reschedule-future-repayments";
-        final GlobalConfigurationProperty property = this.globalConfigurationRepository
-                .findOneByNameWithNotFoundDetection(rescheduleRepaymentsConfigurationProperty);
+        final ConfigurationSnapshot.Property property = findOneByNameWithNotFoundDetection(rescheduleRepaymentsConfigurationProperty);
         return property.isEnabled();
     }
 
@@ -67,36 +71,39 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
     @Override
     public boolean isRescheduleRepaymentsOnHolidaysEnabled() {
         final String holidaysConfigurationProperty = "reschedule-repayments-on-holidays";
-        final GlobalConfigurationProperty property = this.globalConfigurationRepository
-                .findOneByNameWithNotFoundDetection(holidaysConfigurationProperty);
+        final ConfigurationSnapshot.Property property = findOneByNameWithNotFoundDetection(holidaysConfigurationProperty);
         return property.isEnabled();
     }
 
     @Override
     public boolean allowTransactionsOnHolidayEnabled() {
         final String allowTransactionsOnHolidayProperty = "allow-transactions-on-holiday";
-        final GlobalConfigurationProperty property = this.globalConfigurationRepository
-                .findOneByNameWithNotFoundDetection(allowTransactionsOnHolidayProperty);
+        final ConfigurationSnapshot.Property property = findOneByNameWithNotFoundDetection(allowTransactionsOnHolidayProperty);
         return property.isEnabled();
     }
 
     @Override
     public boolean allowTransactionsOnNonWorkingDayEnabled() {
         final String propertyName = "allow-transactions-on-non_workingday";
-        final GlobalConfigurationProperty property = this.globalConfigurationRepository.findOneByNameWithNotFoundDetection(propertyName);
+        final ConfigurationSnapshot.Property property = findOneByNameWithNotFoundDetection(propertyName);
         return property.isEnabled();
     }
 
     @Override
     public boolean isConstraintApproachEnabledForDatatables() {
         final String propertyName = "constraint_approach_for_datatables";
-        final GlobalConfigurationProperty property = this.globalConfigurationRepository.findOneByNameWithNotFoundDetection(propertyName);
+        final ConfigurationSnapshot.Property property = findOneByNameWithNotFoundDetection(propertyName);
         return property.isEnabled();
     }
 
     @Override
     public boolean isEhcacheEnabled() {
-        return this.cacheTypeRepository.findOne(Long.valueOf(1)).isEhcacheEnabled();
+        return retrieveCacheType().isEhcache();
+    }
+
+    @Override
+    public CacheType retrieveCacheType() {
+        return this.configurationSnapshotService.retrieveSnapshot().getCacheType();
     }
 
     @Transactional
@@ -105,54 +112,55 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
         final PlatformCache cache = this.cacheTypeRepository.findOne(Long.valueOf(1));
         cache.update(cacheType);
         this.cacheTypeRepository.save(cache);
+        this.configurationSnapshotService.invalidateSnapshot();
     }
 
     @Override
     public Long retrievePenaltyWaitPeriod() {
         final String propertyName = "penalty-wait-period";
-        final GlobalConfigurationProperty property = this.globalConfigurationRepository.findOneByNameWithNotFoundDetection(propertyName);
+        final ConfigurationSnapshot.Property property = findOneByNameWithNotFoundDetection(propertyName);
         return property.getValue();
     }
 
     @Override
     public Long retrieveGraceOnPenaltyPostingPeriod() {
         final String propertyName = "grace-on-penalty-posting";
-        final GlobalConfigurationProperty property = this.globalConfigurationRepository.findOneByNameWithNotFoundDetection(propertyName);
+        final ConfigurationSnapshot.Property property = findOneByNameWithNotFoundDetection(propertyName);
         return property.getValue();
     }
 
     @Override
     public boolean isPasswordForcedResetEnable() {
         final String propertyName = "force-password-reset-days";
-        final GlobalConfigurationProperty property = this.globalConfigurationRepository.findOneByNameWithNotFoundDetection(propertyName);
+        final ConfigurationSnapshot.Property property = findOneByNameWithNotFoundDetection(propertyName);
         return property.isEnabled();
     }
 
     @Override
     public Long retrievePasswordLiveTime() {
         final String propertyName = "force-password-reset-days";
-        final GlobalConfigurationProperty property = this.globalConfigurationRepository.findOneByNameWithNotFoundDetection(propertyName);
+        final ConfigurationSnapshot.Property property = findOneByNameWithNotFoundDetection(propertyName);
         return property.getValue();
     }
 
     @Override
     public Long retrieveOpeningBalancesContraAccount() {
         final String propertyName = "office-opening-balances-contra-account";
-        final GlobalConfigurationProperty property = this.globalConfigurationRepository.findOneByNameWithNotFoundDetection(propertyName);
+        final ConfigurationSnapshot.Property property = findOneByNameWithNotFoundDetection(propertyName);
         return property.getValue();
     }
 
     @Override
     public boolean isSavingsInterestPostingAtCurrentPeriodEnd() {
         final String propertyName = "savings-interest-posting-current-period-end";
-        final GlobalConfigurationProperty property = this.globalConfigurationRepository.findOneByNameWithNotFoundDetection(propertyName);
+        final ConfigurationSnapshot.Property property = findOneByNameWithNotFoundDetection(propertyName);
         return property.isEnabled();
     }
 
     @Override
     public Integer retrieveFinancialYearBeginningMonth() {
         final String propertyName = "financial-year-beginning-month";
-        final GlobalConfigurationProperty property = this.globalConfigurationRepository.findOneByNameWithNotFoundDetection(propertyName);
+        final ConfigurationSnapshot.Property property = findOneByNameWithNotFoundDetection(propertyName);
         if (property.isEnabled()) return property.getValue().intValue();
         return 1;
     }
@@ -160,7 +168,7 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
     @Override
     public Integer retrieveMinAllowedClientsInGroup() {
         final String propertyName = "min-clients-in-group";
-        final GlobalConfigurationProperty property = this.globalConfigurationRepository.findOneByNameWithNotFoundDetection(propertyName);
+        final ConfigurationSnapshot.Property property = findOneByNameWithNotFoundDetection(propertyName);
         if (property.isEnabled()) { return property.getValue().intValue(); }
         return null;
     }
@@ -168,7 +176,7 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
     @Override
     public Integer retrieveMaxAllowedClientsInGroup() {
         final String propertyName = "max-clients-in-group";
-        final GlobalConfigurationProperty property = this.globalConfigurationRepository.findOneByNameWithNotFoundDetection(propertyName);
+        final ConfigurationSnapshot.Property property = findOneByNameWithNotFoundDetection(propertyName);
         if (property.isEnabled()) { return property.getValue().intValue(); }
         return null;
     }
@@ -176,8 +184,61 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
     @Override
     public boolean isMeetingMandatoryForJLGLoans() {
         final String propertyName = "meetings-mandatory-for-jlg-loans";
-        final GlobalConfigurationProperty property = this.globalConfigurationRepository.findOneByNameWithNotFoundDetection(propertyName);
+        final ConfigurationSnapshot.Property property = findOneByNameWithNotFoundDetection(propertyName);
+        return property.isEnabled();
+    }
+
+    @Override
+    public Integer retrieveSavingsInterestPostingChunkSize() {
+        final String propertyName = "savings-interest-posting-chunk-size";
+        final ConfigurationSnapshot.Property property = findOneByNameWithNotFoundDetection(propertyName);
+        if (property.isEnabled() && property.getValue() != null && property.getValue() > 0) { return property.getValue().intValue(); }
+        return 500;
+    }
+
+    @Override
+    public Integer retrieveSavingsInterestPostingThreadPoolSize() {
+        final String propertyName = "savings-interest-posting-thread-pool-size";
+        final ConfigurationSnapshot.Property property = findOneByNameWithNotFoundDetection(propertyName);
+        if (property.isEnabled() && property.getValue() != null && property.getValue() > 0) { return property.getValue().intValue(); }
+        return 4;
+    }
+
+    @Override
+    public Integer retrieveLoanSummaryUpdateBatchSize() {
+        final String propertyName = "loan-summary-update-batch-size";
+        final ConfigurationSnapshot.Property property = findOneByNameWithNotFoundDetection(propertyName);
+        if (property.isEnabled() && property.getValue() != null && property.getValue() > 0) { return property.getValue().intValue(); }
+        return 200;
+    }
+
+    @Override
+    public boolean isArrearsAgeingDeltaUpdateEnabled() {
+        final String propertyName = "arrears-ageing-delta-update";
+        final ConfigurationSnapshot.Property property = findOneByNameWithNotFoundDetection(propertyName);
         return property.isEnabled();
     }
 
-}
\ No newline at end of file
+    @Override
+    public Integer retrieveHookDeliveryMaxAttempts() {
+        final String propertyName = "hook-delivery-max-attempts";
+        final ConfigurationSnapshot.Property property = findOneByNameWithNotFoundDetection(propertyName);
+        if (property.isEnabled() && property.getValue() != null && property.getValue() > 0) { return property.getValue().intValue(); }
+        return 8;
+    }
+
+    private ConfigurationSnapshot.Property findOneByNameWithNotFoundDetection(final String propertyName) {
+        ConfigurationSnapshot.Property property = this.configurationSnapshotService.retrieveSnapshot().getProperty(propertyName);
+        if (property == null) {
+            // properties are added at runtime, e.g. for surveys
+            property = reloadSnapshot().getProperty(propertyName);
+            if (property == null) { throw new GlobalConfigurationPropertyNotFoundException(propertyName); }
+        }
+        return property;
+    }
+
+    private ConfigurationSnapshot reloadSnapshot() {
+        this.configurationSnapshotService.invalidateLocalSnapshot();
+        return this.configurationSnapshotService.retrieveSnapshot();
+    }
+}
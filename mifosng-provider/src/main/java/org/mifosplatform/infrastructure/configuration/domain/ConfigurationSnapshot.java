@@ -0,0 +1,83 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.configuration.domain;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.mifosplatform.infrastructure.cache.domain.CacheType;
+
+/**
+ * Immutable copy of a tenant's global configuration (<code>c_configuration</code>),
+ * maker checker flags of its permissions (<code>m_permission</code>) and cache
+ * type (<code>c_cache</code>).
+ * 
+ * The version identifies the snapshot, a snapshot is replaced whenever any of
+ * the underlying data changes.
+ */
+public final class ConfigurationSnapshot {
+
+    private final long version;
+    private final Map<String, Property> properties;
+    private final Map<String, Boolean> makerCheckerEnabledByPermissionCode;
+    private final CacheType cacheType;
+
+    public ConfigurationSnapshot(final long version, final Map<String, Property> properties,
+            final Map<String, Boolean> makerCheckerEnabledByPermissionCode, final CacheType cacheType) {
+        this.version = version;
+        this.properties = Collections.unmodifiableMap(properties);
+        this.makerCheckerEnabledByPermissionCode = Collections.unmodifiableMap(makerCheckerEnabledByPermissionCode);
+        this.cacheType = cacheType;
+    }
+
+    public long getVersion() {
+        return this.version;
+    }
+
+    public boolean hasProperty(final String name) {
+        return this.properties.containsKey(name);
+    }
+
+    /**
+     * @return the property or <code>null</code> when there is no property of
+     *         that name
+     */
+    public Property getProperty(final String name) {
+        return this.properties.get(name);
+    }
+
+    public boolean hasPermission(final String permissionCode) {
+        return this.makerCheckerEnabledByPermissionCode.containsKey(permissionCode);
+    }
+
+    public boolean isMakerCheckerEnabledFor(final String permissionCode) {
+        final Boolean makerCheckerEnabled = this.makerCheckerEnabledByPermissionCode.get(permissionCode);
+        return makerCheckerEnabled != null && makerCheckerEnabled.booleanValue();
+    }
+
+    public CacheType getCacheType() {
+        return this.cacheType;
+    }
+
+    public static final class Property {
+
+        private final boolean enabled;
+        private final Long value;
+
+        public Property(final boolean enabled, final Long value) {
+            this.enabled = enabled;
+            this.value = value;
+        }
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public Long getValue() {
+            return this.value;
+        }
+    }
+}
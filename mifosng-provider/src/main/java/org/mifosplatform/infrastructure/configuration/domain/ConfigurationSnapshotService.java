@@ -0,0 +1,31 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.configuration.domain;
+
+/**
+ * Keeps a {@link ConfigurationSnapshot} per tenant so reading configuration
+ * does not query the database.
+ */
+public interface ConfigurationSnapshotService {
+
+    /**
+     * @return the snapshot of the tenant of the request, loaded if there is
+     *         no current one
+     */
+    ConfigurationSnapshot retrieveSnapshot();
+
+    /**
+     * Drops the snapshot of the tenant of the request on this node and on all
+     * other nodes. Within a transaction this happens once it completes.
+     */
+    void invalidateSnapshot();
+
+    /**
+     * Drops the snapshot of the tenant of the request on this node straight
+     * away, e.g. when it lacks data added by another node.
+     */
+    void invalidateLocalSnapshot();
+}
@@ -0,0 +1,169 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.configuration.domain;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+
+import org.mifosplatform.infrastructure.cache.domain.CacheType;
+import org.mifosplatform.infrastructure.cache.service.CacheEvictionListener;
+import org.mifosplatform.infrastructure.cache.service.CacheEvictionTransport;
+import org.mifosplatform.infrastructure.core.service.RoutingDataSource;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Loads a tenant's {@link ConfigurationSnapshot} with three queries and keeps
+ * it until the configuration changes.
+ *
+ * Each tenant has a version counter that is incremented on invalidation. A
+ * snapshot is only used while its version matches the counter, so a snapshot
+ * loaded concurrently with a change is never used after the change.
+ *
+ * Invalidations are sent to the other nodes through the
+ * {@link CacheEvictionTransport} under the {@link #SNAPSHOT_CACHE_NAME} name,
+ * keyed by tenant identifier, so several nodes need the transport enabled.
+ */
+@Service
+public class ConfigurationSnapshotServiceJdbc implements ConfigurationSnapshotService, CacheEvictionListener {
+
+    public static final String SNAPSHOT_CACHE_NAME = "configurationSnapshots";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheEvictionTransport cacheEvictionTransport;
+    private final ConcurrentMap<String, AtomicLong> versionsByTenant = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConfigurationSnapshot> snapshotsByTenant = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ConfigurationSnapshotServiceJdbc(final RoutingDataSource dataSource, final CacheEvictionTransport cacheEvictionTransport) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.cacheEvictionTransport = cacheEvictionTransport;
+    }
+
+    @PostConstruct
+    public void subscribeToInvalidations() {
+        this.cacheEvictionTransport.subscribe(this);
+    }
+
+    @Override
+    public ConfigurationSnapshot retrieveSnapshot() {
+        final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        final AtomicLong version = versionOf(tenantIdentifier);
+
+        final ConfigurationSnapshot snapshot = this.snapshotsByTenant.get(tenantIdentifier);
+        if (snapshot != null && snapshot.getVersion() == version.get()) { return snapshot; }
+
+        final ConfigurationSnapshot loadedSnapshot = loadSnapshot(version.get());
+        this.snapshotsByTenant.put(tenantIdentifier, loadedSnapshot);
+        return loadedSnapshot;
+    }
+
+    @Override
+    public void invalidateSnapshot() {
+        final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                /**
+                 * Also invalidates after a rollback as a snapshot loaded
+                 * within the transaction may hold its changes.
+                 */
+                @Override
+                public void afterCompletion(final int status) {
+                    invalidate(tenantIdentifier);
+                    if (status == STATUS_COMMITTED) {
+                        ConfigurationSnapshotServiceJdbc.this.cacheEvictionTransport.publishEviction(SNAPSHOT_CACHE_NAME,
+                                tenantIdentifier);
+                    }
+                }
+            });
+        } else {
+            invalidate(tenantIdentifier);
+            this.cacheEvictionTransport.publishEviction(SNAPSHOT_CACHE_NAME, tenantIdentifier);
+        }
+    }
+
+    @Override
+    public void invalidateLocalSnapshot() {
+        invalidate(ThreadLocalContextUtil.getTenant().getTenantIdentifier());
+    }
+
+    @Override
+    public void onEviction(final String cacheName, final String key) {
+        if (!SNAPSHOT_CACHE_NAME.equals(cacheName)) { return; }
+
+        if (key == null) {
+            for (final String tenantIdentifier : this.versionsByTenant.keySet()) {
+                invalidate(tenantIdentifier);
+            }
+        } else {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public void onCacheSwitch(@SuppressWarnings("unused") final CacheType cacheType) {
+        // the node switching the cache type invalidates the snapshot of its
+        // tenant
+    }
+
+    private void invalidate(final String tenantIdentifier) {
+        versionOf(tenantIdentifier).incrementAndGet();
+        this.snapshotsByTenant.remove(tenantIdentifier);
+    }
+
+    private AtomicLong versionOf(final String tenantIdentifier) {
+        AtomicLong version = this.versionsByTenant.get(tenantIdentifier);
+        if (version == null) {
+            final AtomicLong newVersion = new AtomicLong();
+            final AtomicLong existingVersion = this.versionsByTenant.putIfAbsent(tenantIdentifier, newVersion);
+            version = existingVersion == null ? newVersion : existingVersion;
+        }
+        return version;
+    }
+
+    private ConfigurationSnapshot loadSnapshot(final long version) {
+
+        final Map<String, ConfigurationSnapshot.Property> properties = new HashMap<>();
+        this.jdbcTemplate.query("select c.name, c.enabled, c.value from c_configuration c", new RowCallbackHandler() {
+
+            @Override
+            public void processRow(final ResultSet rs) throws SQLException {
+                final String name = rs.getString("name");
+                final boolean enabled = rs.getBoolean("enabled");
+                final long value = rs.getLong("value");
+                properties.put(name, new ConfigurationSnapshot.Property(enabled, rs.wasNull() ? null : Long.valueOf(value)));
+            }
+        });
+
+        final Map<String, Boolean> makerCheckerEnabledByPermissionCode = new HashMap<>();
+        this.jdbcTemplate.query("select p.code, p.can_maker_checker from m_permission p", new RowCallbackHandler() {
+
+            @Override
+            public void processRow(final ResultSet rs) throws SQLException {
+                makerCheckerEnabledByPermissionCode.put(rs.getString("code"), rs.getBoolean("can_maker_checker"));
+            }
+        });
+
+        final List<Integer> cacheTypes = this.jdbcTemplate.queryForList("select cache_type_enum from c_cache where id = 1", Integer.class);
+        final CacheType cacheType = cacheTypes.isEmpty() ? CacheType.INVALID : CacheType.fromInt(cacheTypes.get(0));
+
+        return new ConfigurationSnapshot(version, properties, makerCheckerEnabledByPermissionCode, cacheType);
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.core.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.tomcat.jdbc.pool.ConnectionPool;
+import org.apache.tomcat.jdbc.pool.DataSource;
+import org.apache.tomcat.jdbc.pool.PoolConfiguration;
+
+/**
+ * A tomcat jdbc connection pool {@link DataSource} that records how long
+ * callers wait to borrow a connection and how often borrowing times out
+ * because the pool is exhausted.
+ *
+ * The counters are updated without locking so they do not add contention to
+ * the pool itself.
+ *
+ * Once {@link #retire()}d the data source never creates a pool again, so a
+ * caller still holding it after the tenant's pool was reconfigured or evicted
+ * cannot leave an orphaned pool behind.
+ */
+public class MeteredTomcatJdbcDataSource extends DataSource {
+
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private boolean retired = false;
+
+    public MeteredTomcatJdbcDataSource(final PoolConfiguration poolConfiguration) {
+        super(poolConfiguration);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            final Connection connection = super.getConnection();
+            recordBorrow(System.nanoTime() - start);
+            return connection;
+        } catch (final SQLException e) {
+            final long waited = System.nanoTime() - start;
+            recordBorrow(waited);
+            if (isTimeout(waited)) {
+                this.timeoutCount.incrementAndGet();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized ConnectionPool createPool() throws SQLException {
+        if (this.retired) { throw new SQLException("Connection pool " + getPoolProperties().getName() + " has been retired."); }
+        return super.createPool();
+    }
+
+    /**
+     * Closes idle connections straight away, connections in use are closed as
+     * they are returned.
+     */
+    public synchronized void retire() {
+        this.retired = true;
+        close(false);
+    }
+
+    private void recordBorrow(final long waitedNanos) {
+        this.borrowCount.incrementAndGet();
+        this.totalWaitNanos.addAndGet(waitedNanos);
+
+        long currentMax = this.maxWaitNanos.get();
+        while (waitedNanos > currentMax && !this.maxWaitNanos.compareAndSet(currentMax, waitedNanos)) {
+            currentMax = this.maxWaitNanos.get();
+        }
+    }
+
+    /**
+     * The pool gives up on a borrow after <code>maxWait</code> milliseconds
+     * when no connection becomes free, any other failure returns earlier.
+     */
+    private boolean isTimeout(final long waitedNanos) {
+        final int maxWait = getPoolProperties().getMaxWait();
+        return maxWait > 0 && TimeUnit.NANOSECONDS.toMillis(waitedNanos) >= maxWait;
+    }
+
+    public long getBorrowCount() {
+        return this.borrowCount.get();
+    }
+
+    public long getTotalWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.totalWaitNanos.get());
+    }
+
+    public long getMaxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.maxWaitNanos.get());
+    }
+
+    public long getTimeoutCount() {
+        return this.timeoutCount.get();
+    }
+}
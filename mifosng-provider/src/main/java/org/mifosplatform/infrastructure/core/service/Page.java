@@ -9,19 +9,35 @@ import java.util.List;
 
 public class Page<E> {
 
-    private final int totalFilteredRecords;
+    private final Integer totalFilteredRecords;
     private final List<E> pageItems;
+    private final String nextCursor;
 
     public Page(final List<E> pageItems, final int totalFilteredRecords) {
         this.pageItems = pageItems;
         this.totalFilteredRecords = totalFilteredRecords;
+        this.nextCursor = null;
     }
 
-    public int getTotalFilteredRecords() {
+    /**
+     * A keyset page, which has no total count. The next cursor is
+     * <code>null</code> on the last page.
+     */
+    public Page(final List<E> pageItems, final String nextCursor) {
+        this.pageItems = pageItems;
+        this.totalFilteredRecords = null;
+        this.nextCursor = nextCursor;
+    }
+
+    public Integer getTotalFilteredRecords() {
         return this.totalFilteredRecords;
     }
 
     public List<E> getPageItems() {
         return this.pageItems;
     }
-}
\ No newline at end of file
+
+    public String getNextCursor() {
+        return this.nextCursor;
+    }
+}
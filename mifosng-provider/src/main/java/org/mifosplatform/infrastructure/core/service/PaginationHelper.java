@@ -5,13 +5,29 @@
  */
 package org.mifosplatform.infrastructure.core.service;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.regex.Pattern;
 
+import javax.xml.bind.DatatypeConverter;
+
+import org.apache.commons.lang.StringUtils;
+import org.mifosplatform.infrastructure.core.exception.UnrecognizedQueryParamException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 
 public class PaginationHelper<E> {
 
+    private static final String KEYSET_VALUE = "keysetValue";
+    private static final String KEYSET_ID = "keysetId";
+    private static final Pattern KEYSET_COLUMN = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*\\.[A-Za-z_][A-Za-z0-9_]*");
+
     public Page<E> fetchPage(final JdbcTemplate jt, final String sqlCountRows, final String sqlFetchRows, final Object args[],
             final RowMapper<E> rowMapper) {
 
@@ -23,4 +39,134 @@ public class PaginationHelper<E> {
 
         return new Page<>(items, totalFilteredRecords);
     }
-}
\ No newline at end of file
+
+    /**
+     * The leading select columns of a keyset page query, read back by
+     * {@link #fetchPageAfter} to build the cursor of the next page.
+     *
+     * The order by column is compared in the where clause, so it must be a
+     * table column such as <code>c.display_name</code>, not a select alias.
+     */
+    public static String keysetColumns(final String orderByColumn, final String idColumn) {
+        if (!KEYSET_COLUMN.matcher(orderByColumn).matches()) { throw new UnrecognizedQueryParamException("orderBy", orderByColumn); }
+        return orderByColumn + " as " + KEYSET_VALUE + ", " + idColumn + " as " + KEYSET_ID + ", ";
+    }
+
+    /**
+     * Fetches the page after the cursor in the search parameters, ordered by
+     * the given column and then the id, without counting the filtered rows.
+     *
+     * The query is given up to its filter, starting with
+     * {@link #keysetColumns}, and the condition on the cursor is appended
+     * with the given connector, <code>where</code> or <code>and</code>.
+     * Rows with a null order by value sort first, as in MySQL.
+     */
+    public Page<E> fetchPageAfter(final JdbcTemplate jt, final String sqlFilteredRows, final String connector, final Object args[],
+            final String orderByColumn, final String idColumn, final SearchParameters searchParameters, final RowMapper<E> rowMapper) {
+
+        final boolean descending = "desc".equalsIgnoreCase(StringUtils.trim(searchParameters.getSortOrder()));
+        final int limit = searchParameters.isLimited() ? searchParameters.getLimit() : SearchParameters.getCheckedLimit(null);
+
+        final StringBuilder sqlBuilder = new StringBuilder(sqlFilteredRows);
+        final List<Object> params = new ArrayList<>(Arrays.asList(args));
+        if (StringUtils.isNotBlank(searchParameters.getAfter())) {
+            final Object[] cursor = decodeCursor(searchParameters.getAfter());
+            final Object value = cursor[0];
+            final Long id = (Long) cursor[1];
+            sqlBuilder.append(' ').append(connector).append(' ');
+            if (value == null && !descending) {
+                sqlBuilder.append("((").append(orderByColumn).append(" is null and ").append(idColumn).append(" > ?) or ")
+                        .append(orderByColumn).append(" is not null)");
+                params.add(id);
+            } else if (value == null) {
+                sqlBuilder.append("(").append(orderByColumn).append(" is null and ").append(idColumn).append(" < ?)");
+                params.add(id);
+            } else {
+                final String comparison = descending ? " < ?" : " > ?";
+                sqlBuilder.append("(").append(orderByColumn).append(comparison).append(" or (").append(orderByColumn).append(" = ? and ")
+                        .append(idColumn).append(comparison).append(')');
+                if (descending) {
+                    sqlBuilder.append(" or ").append(orderByColumn).append(" is null");
+                }
+                sqlBuilder.append(')');
+                params.add(value);
+                params.add(value);
+                params.add(id);
+            }
+        }
+        final String direction = descending ? " desc" : "";
+        sqlBuilder.append(" order by ").append(orderByColumn).append(direction).append(", ").append(idColumn).append(direction);
+        sqlBuilder.append(" limit ").append(limit);
+
+        final Object[] lastKey = new Object[2];
+        final List<E> items = jt.query(sqlBuilder.toString(), params.toArray(), new RowMapper<E>() {
+
+            @Override
+            public E mapRow(final ResultSet rs, final int rowNum) throws SQLException {
+                lastKey[0] = rs.getObject(KEYSET_VALUE);
+                lastKey[1] = rs.getLong(KEYSET_ID);
+                return rowMapper.mapRow(rs, rowNum);
+            }
+        });
+
+        final String nextCursor = items.size() < limit ? null : encodeCursor(lastKey[0], (Long) lastKey[1]);
+        return new Page<>(items, nextCursor);
+    }
+
+    /**
+     * Encodes the order by value and id of the last row of a page as an
+     * opaque, URL safe cursor, keeping the value type so it is compared as
+     * the same type on the next page.
+     */
+    private static String encodeCursor(final Object value, final Long id) {
+        final String key;
+        if (value == null) {
+            key = id + ":n:";
+        } else if (value instanceof java.sql.Date) {
+            key = id + ":d:" + value.toString();
+        } else if (value instanceof java.util.Date) {
+            key = id + ":t:" + ((java.util.Date) value).getTime();
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            key = id + ":i:" + value;
+        } else if (value instanceof Number) {
+            key = id + ":b:" + new BigDecimal(value.toString()).toPlainString();
+        } else if (value instanceof Boolean) {
+            key = id + ":i:" + (((Boolean) value) ? 1 : 0);
+        } else {
+            key = id + ":s:" + value;
+        }
+        return DatatypeConverter.printBase64Binary(key.getBytes(StandardCharsets.UTF_8)).replace('+', '-').replace('/', '_')
+                .replace("=", "");
+    }
+
+    private static Object[] decodeCursor(final String cursor) {
+        try {
+            String base64 = cursor.replace('-', '+').replace('_', '/');
+            while (base64.length() % 4 != 0) {
+                base64 = base64 + "=";
+            }
+            final String key = new String(DatatypeConverter.parseBase64Binary(base64), StandardCharsets.UTF_8);
+            final String[] parts = key.split(":", 3);
+            final Long id = Long.valueOf(parts[0]);
+            final String value = parts[2];
+            switch (parts[1]) {
+                case "n":
+                    return new Object[] { null, id };
+                case "d":
+                    return new Object[] { java.sql.Date.valueOf(value), id };
+                case "t":
+                    return new Object[] { new Timestamp(Long.parseLong(value)), id };
+                case "i":
+                    return new Object[] { Long.valueOf(value), id };
+                case "b":
+                    return new Object[] { new BigDecimal(value), id };
+                case "s":
+                    return new Object[] { value, id };
+                default:
+                    throw new UnrecognizedQueryParamException("after", cursor);
+            }
+        } catch (final IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new UnrecognizedQueryParamException("after", cursor);
+        }
+    }
+}
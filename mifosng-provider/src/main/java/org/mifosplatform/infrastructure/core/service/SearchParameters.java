@@ -21,6 +21,7 @@ public final class SearchParameters {
     private final String orderBy;
     private final String sortOrder;
     private final String accountNo;
+    private final String after;
 
     private final Long staffId;
 
@@ -29,19 +30,19 @@ public final class SearchParameters {
         final Long staffId = null;
         final String accountNo = null;
         return new SearchParameters(sqlSearch, officeId, externalId, name, hierarchy, null, null, null, null, null, null, staffId,
-                accountNo);
+                accountNo, null);
     }
 
     public static SearchParameters forClients(final String sqlSearch, final Long officeId, final String externalId,
             final String displayName, final String firstname, final String lastname, final String hierarchy, final Integer offset,
-            final Integer limit, final String orderBy, final String sortOrder) {
+            final Integer limit, final String orderBy, final String sortOrder, final String after) {
 
         final Integer maxLimitAllowed = getCheckedLimit(limit);
         final Long staffId = null;
         final String accountNo = null;
 
         return new SearchParameters(sqlSearch, officeId, externalId, displayName, hierarchy, firstname, lastname, offset, maxLimitAllowed,
-                orderBy, sortOrder, staffId, accountNo);
+                orderBy, sortOrder, staffId, accountNo, after);
     }
 
     public static SearchParameters forGroups(final String sqlSearch, final Long officeId, final Long staffId, final String externalId,
@@ -52,32 +53,32 @@ public final class SearchParameters {
         final String accountNo = null;
 
         return new SearchParameters(sqlSearch, officeId, externalId, name, hierarchy, null, null, offset, maxLimitAllowed, orderBy,
-                sortOrder, staffId, accountNo);
+                sortOrder, staffId, accountNo, null);
     }
 
     public static SearchParameters forOffices(final String orderBy, final String sortOrder) {
         return new SearchParameters(null, null, null, null, null, null, null, null, null, orderBy, sortOrder,
-                null, null);
+                null, null, null);
     }
 
     public static SearchParameters forLoans(final String sqlSearch, final String externalId, final Integer offset, final Integer limit,
-            final String orderBy, final String sortOrder, final String accountNo) {
+            final String orderBy, final String sortOrder, final String accountNo, final String after) {
 
         final Integer maxLimitAllowed = getCheckedLimit(limit);
         final Long staffId = null;
 
         return new SearchParameters(sqlSearch, null, externalId, null, null, null, null, offset, maxLimitAllowed, orderBy, sortOrder,
-                staffId, accountNo);
+                staffId, accountNo, after);
     }
 
     public static SearchParameters forJournalEntries(final Long officeId, final Integer offset, final Integer limit, final String orderBy,
-            final String sortOrder) {
+            final String sortOrder, final String after) {
 
         final Integer maxLimitAllowed = getCheckedLimit(limit);
         final Long staffId = null;
 
         return new SearchParameters(null, officeId, null, null, null, null, null, offset, maxLimitAllowed, orderBy, sortOrder, staffId,
-                null);
+                null, after);
     }
 
     public static SearchParameters forPagination(final Integer offset, final Integer limit, final String orderBy, final String sortOrder) {
@@ -85,7 +86,8 @@ public final class SearchParameters {
         final Integer maxLimitAllowed = getCheckedLimit(limit);
         final Long staffId = null;
 
-        return new SearchParameters(null, null, null, null, null, null, null, offset, maxLimitAllowed, orderBy, sortOrder, staffId, null);
+        return new SearchParameters(null, null, null, null, null, null, null, offset, maxLimitAllowed, orderBy, sortOrder, staffId, null,
+                null);
     }
 
     public static SearchParameters forSavings(final String sqlSearch, final String externalId, final Integer offset, final Integer limit,
@@ -96,7 +98,7 @@ public final class SearchParameters {
         final String accountNo = null;
 
         return new SearchParameters(sqlSearch, null, externalId, null, null, null, null, offset, maxLimitAllowed, orderBy, sortOrder,
-                staffId, accountNo);
+                staffId, accountNo, null);
     }
 
     public static SearchParameters forAccountTransfer(final String sqlSearch, final String externalId, final Integer offset,
@@ -107,12 +109,12 @@ public final class SearchParameters {
         final String accountNo = null;
 
         return new SearchParameters(sqlSearch, null, externalId, null, null, null, null, offset, maxLimitAllowed, orderBy, sortOrder,
-                staffId, accountNo);
+                staffId, accountNo, null);
     }
 
     private SearchParameters(final String sqlSearch, final Long officeId, final String externalId, final String name,
             final String hierarchy, final String firstname, final String lastname, final Integer offset, final Integer limit,
-            final String orderBy, final String sortOrder, final Long staffId, final String accountNo) {
+            final String orderBy, final String sortOrder, final Long staffId, final String accountNo, final String after) {
         this.sqlSearch = sqlSearch;
         this.officeId = officeId;
         this.externalId = externalId;
@@ -126,6 +128,7 @@ public final class SearchParameters {
         this.sortOrder = sortOrder;
         this.staffId = staffId;
         this.accountNo = accountNo;
+        this.after = after;
     }
 
     public boolean isOrderByRequested() {
@@ -164,6 +167,16 @@ public final class SearchParameters {
         return this.offset != null;
     }
 
+    /**
+     * Keyset pagination is requested with an <code>after</code> parameter:
+     * empty for the first page, then the cursor returned with the previous
+     * page. Pages are then read after the cursor instead of at an offset and
+     * are returned without a total count.
+     */
+    public boolean isKeysetPaginationRequested() {
+        return this.after != null;
+    }
+
     public boolean isScopedByOfficeHierarchy() {
         return StringUtils.isNotBlank(this.hierarchy);
     }
@@ -224,4 +237,8 @@ public final class SearchParameters {
         return this.accountNo;
     }
 
+    public String getAfter() {
+        return this.after;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.core.service;
+
+import java.util.concurrent.Callable;
+
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Runs a {@link Callable} on a pooled thread with the tenant, data source
+ * context, auth token and security context of the thread that created it, and
+ * clears them again afterwards so the pooled thread does not leak them into
+ * its next task.
+ *
+ * When the task runs on the creating thread itself, e.g. because an executor
+ * with a caller runs policy is saturated, its context is left untouched.
+ */
+public class ThreadLocalContextPropagatingCallable<T> implements Callable<T> {
+
+    private final Callable<T> delegate;
+    private final Thread creatingThread;
+    private final MifosPlatformTenant tenant;
+    private final String dataSourceContext;
+    private final String authToken;
+    private final SecurityContext securityContext;
+
+    public static <T> ThreadLocalContextPropagatingCallable<T> wrap(final Callable<T> delegate) {
+        return new ThreadLocalContextPropagatingCallable<>(delegate);
+    }
+
+    private ThreadLocalContextPropagatingCallable(final Callable<T> delegate) {
+        this.delegate = delegate;
+        this.creatingThread = Thread.currentThread();
+        this.tenant = ThreadLocalContextUtil.getTenant();
+        this.dataSourceContext = ThreadLocalContextUtil.getDataSourceContext();
+        this.authToken = ThreadLocalContextUtil.getAuthToken();
+        this.securityContext = SecurityContextHolder.getContext();
+    }
+
+    @Override
+    public T call() throws Exception {
+        if (Thread.currentThread() == this.creatingThread) { return this.delegate.call(); }
+
+        try {
+            if (this.tenant != null) {
+                ThreadLocalContextUtil.setTenant(this.tenant);
+            }
+            ThreadLocalContextUtil.setDataSourceContext(this.dataSourceContext);
+            ThreadLocalContextUtil.setAuthToken(this.authToken);
+            SecurityContextHolder.setContext(this.securityContext);
+
+            return this.delegate.call();
+        } finally {
+            ThreadLocalContextUtil.clearTenant();
+            ThreadLocalContextUtil.clearDataSourceContext();
+            ThreadLocalContextUtil.setAuthToken(null);
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -5,8 +5,8 @@
  */
 package org.mifosplatform.infrastructure.core.service;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.sql.DataSource;
 
@@ -24,11 +24,16 @@ import org.springframework.stereotype.Service;
  * 
  * {@link ThreadLocalContextUtil} is used to retrieve the
  * {@link MifosPlatformTenant} for the request.
+ * 
+ * Every JDBC access looks up the tenant's datasource, so the lookup does not
+ * lock. A datasource only opens its pool on the first connection request, so
+ * when two threads race to register a tenant's datasource the loser is simply
+ * discarded and exactly one pool is ever created per tenant.
  */
 @Service
 public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceService {
 
-    private final Map<Long, DataSource> tenantToDataSourceMap = new HashMap<>(1);
+    private final ConcurrentMap<Long, MeteredTomcatJdbcDataSource> tenantToDataSourceMap = new ConcurrentHashMap<>();
     private final DataSource tenantDataSource;
 
     @Autowired
@@ -44,23 +49,57 @@ public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceSe
 
         final MifosPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
         if (tenant != null) {
-            synchronized (this.tenantToDataSourceMap) {
-                // if tenant information available switch to appropriate
-                // datasource
-                // for that tenant.
-                if (this.tenantToDataSourceMap.containsKey(tenant.getId())) {
-                    tenantDataSource = this.tenantToDataSourceMap.get(tenant.getId());
-                } else {
-                    tenantDataSource = createNewDataSourceFor(tenant);
-                    this.tenantToDataSourceMap.put(tenant.getId(), tenantDataSource);
-                }
+            // if tenant information available switch to appropriate
+            // datasource for that tenant.
+            tenantDataSource = this.tenantToDataSourceMap.get(tenant.getId());
+            if (tenantDataSource == null) {
+                final MeteredTomcatJdbcDataSource newDataSource = createNewDataSourceFor(tenant);
+                final MeteredTomcatJdbcDataSource existingDataSource = this.tenantToDataSourceMap.putIfAbsent(tenant.getId(),
+                        newDataSource);
+                tenantDataSource = existingDataSource == null ? newDataSource : existingDataSource;
             }
         }
 
         return tenantDataSource;
     }
 
-    private DataSource createNewDataSourceFor(final MifosPlatformTenant tenant) {
+    /**
+     * Returns the datasource of the tenant or <code>null</code> when the
+     * tenant has not used its connection pool yet.
+     */
+    public MeteredTomcatJdbcDataSource retrieveDataSourceFor(final Long tenantId) {
+        return this.tenantToDataSourceMap.get(tenantId);
+    }
+
+    /**
+     * Replaces the connection pool of the tenant with one built from the
+     * (reloaded) tenant details. Requests already holding connections from the
+     * old pool finish normally, its connections are closed as they are
+     * returned.
+     */
+    public void reconfigure(final MifosPlatformTenant tenant) {
+        final MeteredTomcatJdbcDataSource previousDataSource = this.tenantToDataSourceMap.put(tenant.getId(),
+                createNewDataSourceFor(tenant));
+        if (previousDataSource != null) {
+            previousDataSource.retire();
+        }
+    }
+
+    /**
+     * Closes and forgets the connection pool of the tenant, the next request
+     * of the tenant creates a new one.
+     * 
+     * @return <code>true</code> if the tenant had a connection pool
+     */
+    public boolean evict(final Long tenantId) {
+        final MeteredTomcatJdbcDataSource previousDataSource = this.tenantToDataSourceMap.remove(tenantId);
+        if (previousDataSource != null) {
+            previousDataSource.retire();
+        }
+        return previousDataSource != null;
+    }
+
+    private MeteredTomcatJdbcDataSource createNewDataSourceFor(final MifosPlatformTenant tenant) {
         // see
         // http://www.tomcatexpert.com/blog/2010/04/01/configuring-jdbc-pool-high-concurrency
 
@@ -86,21 +125,23 @@ public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceSe
         poolConfiguration.setLogAbandoned(tenant.isLogAbandoned());
         poolConfiguration.setAbandonWhenPercentageFull(tenant.getAbandonWhenPercentageFull());
 
-        /**
-         * Vishwas- Do we need to enable the below properties and add
-         * ResetAbandonedTimer for long running batch Jobs?
-         **/
-        // poolConfiguration.setMaxActive(tenant.getMaxActive());
-        // poolConfiguration.setMinIdle(tenant.getMinIdle());
-        // poolConfiguration.setMaxIdle(tenant.getMaxIdle());
+        poolConfiguration.setMaxActive(tenant.getMaxActive());
+        // tomcat jdbc does not check minIdle against maxIdle; keep rows that
+        // predate the corrected defaults from holding more idle connections
+        // open than the pool is allowed to keep
+        poolConfiguration.setMinIdle(Math.min(tenant.getMinIdle(), tenant.getMaxIdle()));
+        poolConfiguration.setMaxIdle(tenant.getMaxIdle());
 
-        // poolConfiguration.setSuspectTimeout(tenant.getSuspectTimeout());
-        // poolConfiguration.setTimeBetweenEvictionRunsMillis(tenant.getTimeBetweenEvictionRunsMillis());
-        // poolConfiguration.setMinEvictableIdleTimeMillis(tenant.getMinEvictableIdleTimeMillis());
+        poolConfiguration.setSuspectTimeout(tenant.getSuspectTimeout());
+        poolConfiguration.setTimeBetweenEvictionRunsMillis(tenant.getTimeBetweenEvictionRunsMillis());
+        poolConfiguration.setMinEvictableIdleTimeMillis(tenant.getMinEvictableIdleTimeMillis());
 
+        // reset the abandoned timer on every statement so long running batch
+        // jobs do not lose their connection now that the pool is bounded
         poolConfiguration.setJdbcInterceptors("org.apache.tomcat.jdbc.pool.interceptor.ConnectionState;"
-                + "org.apache.tomcat.jdbc.pool.interceptor.StatementFinalizer;org.apache.tomcat.jdbc.pool.interceptor.SlowQueryReport");
+                + "org.apache.tomcat.jdbc.pool.interceptor.StatementFinalizer;org.apache.tomcat.jdbc.pool.interceptor.SlowQueryReport;"
+                + "org.apache.tomcat.jdbc.pool.interceptor.ResetAbandonedTimer");
 
-        return new org.apache.tomcat.jdbc.pool.DataSource(poolConfiguration);
+        return new MeteredTomcatJdbcDataSource(poolConfiguration);
     }
 }
\ No newline at end of file
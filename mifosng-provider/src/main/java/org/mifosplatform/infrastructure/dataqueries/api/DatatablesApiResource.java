@@ -5,6 +5,7 @@
  */
 package org.mifosplatform.infrastructure.dataqueries.api;
 
+import java.io.InputStream;
 import java.util.List;
 
 import javax.ws.rs.Consumes;
@@ -17,6 +18,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.UriInfo;
 
@@ -27,8 +29,10 @@ import org.mifosplatform.infrastructure.core.api.ApiParameterHelper;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResultBuilder;
 import org.mifosplatform.infrastructure.core.serialization.ToApiJsonSerializer;
+import org.mifosplatform.infrastructure.dataqueries.data.DatatableBulkImportData;
 import org.mifosplatform.infrastructure.dataqueries.data.DatatableData;
 import org.mifosplatform.infrastructure.dataqueries.data.GenericResultsetData;
+import org.mifosplatform.infrastructure.dataqueries.service.DatatableBulkImportService;
 import org.mifosplatform.infrastructure.dataqueries.service.GenericDataService;
 import org.mifosplatform.infrastructure.dataqueries.service.ReadWriteNonCoreDataService;
 import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
@@ -49,18 +53,21 @@ public class DatatablesApiResource {
     private final ReadWriteNonCoreDataService readWriteNonCoreDataService;
     private final ToApiJsonSerializer<GenericResultsetData> toApiJsonSerializer;
     private final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService;
+    private final DatatableBulkImportService datatableBulkImportService;
     private final static org.slf4j.Logger logger = LoggerFactory.getLogger(DatatablesApiResource.class);
 
     @Autowired
     public DatatablesApiResource(final PlatformSecurityContext context, final GenericDataService genericDataService,
             final ReadWriteNonCoreDataService readWriteNonCoreDataService,
             final ToApiJsonSerializer<GenericResultsetData> toApiJsonSerializer,
-            final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService) {
+            final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService,
+            final DatatableBulkImportService datatableBulkImportService) {
         this.context = context;
         this.genericDataService = genericDataService;
         this.readWriteNonCoreDataService = readWriteNonCoreDataService;
         this.toApiJsonSerializer = toApiJsonSerializer;
         this.commandsSourceWritePlatformService = commandsSourceWritePlatformService;
+        this.datatableBulkImportService = datatableBulkImportService;
     }
 
     @GET
@@ -199,6 +206,23 @@ public class DatatablesApiResource {
         return json;
     }
 
+    @POST
+    @Path("{datatable}/bulk")
+    @Consumes({ DatatableBulkImportService.NDJSON, DatatableBulkImportService.CSV })
+    @Produces({ MediaType.APPLICATION_JSON })
+    public String importDatatableEntries(@PathParam("datatable") final String datatable, @QueryParam("chunkSize") final Integer chunkSize,
+            @QueryParam("locale") final String locale, @QueryParam("dateFormat") final String dateFormat,
+            @Context final HttpHeaders headers, final InputStream entries) {
+
+        final boolean isCsv = MediaType.valueOf(DatatableBulkImportService.CSV).isCompatible(headers.getMediaType());
+        final String format = isCsv ? DatatableBulkImportService.CSV : DatatableBulkImportService.NDJSON;
+
+        final DatatableBulkImportData result = this.datatableBulkImportService.importEntries(datatable, format, entries, chunkSize,
+                locale, dateFormat);
+
+        return this.toApiJsonSerializer.serialize(result);
+    }
+
     @POST
     @Path("{datatable}/{apptableId}")
     @Consumes({ MediaType.APPLICATION_JSON })
@@ -0,0 +1,25 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.dataqueries.data;
+
+/**
+ * Immutable data object for the outcome of a bulk datatable import.
+ */
+public class DatatableBulkImportData {
+
+    @SuppressWarnings("unused")
+    private final String datatable;
+    @SuppressWarnings("unused")
+    private final long entriesImported;
+    @SuppressWarnings("unused")
+    private final int chunksImported;
+
+    public DatatableBulkImportData(final String datatable, final long entriesImported, final int chunksImported) {
+        this.datatable = datatable;
+        this.entriesImported = entriesImported;
+        this.chunksImported = chunksImported;
+    }
+}
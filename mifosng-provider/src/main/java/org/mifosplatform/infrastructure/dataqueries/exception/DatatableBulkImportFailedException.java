@@ -0,0 +1,22 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.dataqueries.exception;
+
+import org.mifosplatform.infrastructure.core.exception.AbstractPlatformDomainRuleException;
+
+/**
+ * A {@link RuntimeException} thrown when a chunk of a bulk datatable import
+ * fails. The chunks before it stay imported.
+ */
+public class DatatableBulkImportFailedException extends AbstractPlatformDomainRuleException {
+
+    public DatatableBulkImportFailedException(final String datatable, final long firstEntryOfChunk, final long entriesImported,
+            final String reason) {
+        super("error.msg.datatable.bulk.import.failed", "Import into datatable `" + datatable + "` failed in the chunk starting at entry "
+                + firstEntryOfChunk + " after " + entriesImported + " entries were imported: " + reason, datatable, firstEntryOfChunk,
+                entriesImported);
+    }
+}
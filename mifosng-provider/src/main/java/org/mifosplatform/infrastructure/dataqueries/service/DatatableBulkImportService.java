@@ -0,0 +1,32 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.dataqueries.service;
+
+import java.io.InputStream;
+
+import org.mifosplatform.infrastructure.dataqueries.data.DatatableBulkImportData;
+
+public interface DatatableBulkImportService {
+
+    String NDJSON = "application/x-ndjson";
+
+    String CSV = "text/csv";
+
+    /**
+     * Reads datatable entries from the stream and creates them chunk by chunk,
+     * each chunk in its own transaction with one audit entry.
+     *
+     * @param format
+     *            {@link #NDJSON}, one JSON object per line, or {@link #CSV}
+     *            with column names on the first line
+     * @param locale
+     *            used for entries which do not carry their own
+     * @param dateFormat
+     *            used for entries which do not carry their own
+     */
+    DatatableBulkImportData importEntries(String datatable, String format, InputStream entries, Integer chunkSize, String locale,
+            String dateFormat);
+}
@@ -0,0 +1,240 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.dataqueries.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.StringUtils;
+import org.mifosplatform.commands.domain.CommandSource;
+import org.mifosplatform.commands.domain.CommandSourceRepository;
+import org.mifosplatform.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.mifosplatform.infrastructure.core.data.ApiParameterError;
+import org.mifosplatform.infrastructure.core.exception.AbstractPlatformDomainRuleException;
+import org.mifosplatform.infrastructure.core.exception.AbstractPlatformResourceNotFoundException;
+import org.mifosplatform.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.mifosplatform.infrastructure.core.exception.PlatformDataIntegrityException;
+import org.mifosplatform.infrastructure.core.serialization.FromJsonHelper;
+import org.mifosplatform.infrastructure.dataqueries.data.DatatableBulkImportData;
+import org.mifosplatform.infrastructure.dataqueries.exception.DatatableBulkImportFailedException;
+import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
+import org.mifosplatform.useradministration.domain.AppUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.csvreader.CsvReader;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Imports datatable entries in chunks instead of one command per entry. A
+ * chunk is validated against the cached datatable metadata, scope checked with
+ * one query and inserted with multi-row statements. Each chunk commits on its
+ * own and is audited with one <code>m_portfolio_command_source</code> entry, so
+ * a failing chunk leaves the chunks before it imported.
+ *
+ * Bulk imports bypass maker checker, so they are refused for datatables with
+ * maker checker enabled on create.
+ */
+@Service
+public class DatatableBulkImportServiceImpl implements DatatableBulkImportService {
+
+    private final static Logger logger = LoggerFactory.getLogger(DatatableBulkImportServiceImpl.class);
+
+    private final static int DEFAULT_CHUNK_SIZE = 500;
+    private final static int MAX_CHUNK_SIZE = 5000;
+
+    private final PlatformSecurityContext context;
+    private final ReadWriteNonCoreDataService readWriteNonCoreDataService;
+    private final ConfigurationDomainService configurationDomainService;
+    private final CommandSourceRepository commandSourceRepository;
+    private final FromJsonHelper fromJsonHelper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public DatatableBulkImportServiceImpl(final PlatformSecurityContext context,
+            final ReadWriteNonCoreDataService readWriteNonCoreDataService, final ConfigurationDomainService configurationDomainService,
+            final CommandSourceRepository commandSourceRepository, final FromJsonHelper fromJsonHelper,
+            final TransactionTemplate transactionTemplate) {
+        this.context = context;
+        this.readWriteNonCoreDataService = readWriteNonCoreDataService;
+        this.configurationDomainService = configurationDomainService;
+        this.commandSourceRepository = commandSourceRepository;
+        this.fromJsonHelper = fromJsonHelper;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public DatatableBulkImportData importEntries(final String datatable, final String format, final InputStream entries,
+            final Integer chunkSize, final String locale, final String dateFormat) {
+
+        final AppUser maker = this.context.authenticatedUser();
+        final String permissionCode = "CREATE_" + datatable;
+        maker.validateHasPermissionTo(permissionCode);
+        if (this.configurationDomainService.isMakerCheckerEnabledForTask(permissionCode)) { throw new PlatformDataIntegrityException(
+                "error.msg.datatable.bulk.import.maker.checker.enabled", "Bulk import is not available for datatable `" + datatable
+                        + "` as maker checker is enabled for creating its entries", datatable); }
+
+        final int entriesPerChunk = validateChunkSize(chunkSize);
+        final Reader reader = new InputStreamReader(entries, StandardCharsets.UTF_8);
+
+        long entriesImported = 0;
+        int chunksImported = 0;
+        final EntryReader entryReader = CSV.equals(format) ? new CsvEntryReader(reader) : new NdjsonEntryReader(reader,
+                this.fromJsonHelper);
+
+        List<Map<String, String>> chunk = readChunk(datatable, entryReader, entriesPerChunk, entriesImported, locale, dateFormat);
+        while (!chunk.isEmpty()) {
+            entriesImported += importChunk(datatable, chunk, entriesImported, maker);
+            chunksImported++;
+            chunk = readChunk(datatable, entryReader, entriesPerChunk, entriesImported, locale, dateFormat);
+        }
+
+        logger.info("Imported " + entriesImported + " entries into datatable " + datatable + " in " + chunksImported + " chunks");
+
+        return new DatatableBulkImportData(datatable, entriesImported, chunksImported);
+    }
+
+    private int validateChunkSize(final Integer chunkSize) {
+        if (chunkSize == null) { return DEFAULT_CHUNK_SIZE; }
+        if (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE) {
+            final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
+            dataValidationErrors.add(ApiParameterError.parameterError("validation.msg.datatable.bulk.chunkSize.out.of.range",
+                    "The chunk size must be between 1 and " + MAX_CHUNK_SIZE, "chunkSize", chunkSize, MAX_CHUNK_SIZE));
+            throw new PlatformApiDataValidationException("validation.msg.validation.errors.exist", "Validation errors exist.",
+                    dataValidationErrors);
+        }
+        return chunkSize;
+    }
+
+    private List<Map<String, String>> readChunk(final String datatable, final EntryReader entryReader, final int entriesPerChunk,
+            final long entriesImported, final String locale, final String dateFormat) {
+
+        final List<Map<String, String>> chunk = new ArrayList<>(entriesPerChunk);
+        try {
+            Map<String, String> entry;
+            while (chunk.size() < entriesPerChunk && (entry = entryReader.next()) != null) {
+                if (StringUtils.isNotBlank(locale) && !entry.containsKey("locale")) {
+                    entry.put("locale", locale);
+                }
+                if (StringUtils.isNotBlank(dateFormat) && !entry.containsKey("dateFormat")) {
+                    entry.put("dateFormat", dateFormat);
+                }
+                chunk.add(entry);
+            }
+        } catch (final IOException | RuntimeException e) {
+            throw new DatatableBulkImportFailedException(datatable, entriesImported + 1, entriesImported, "Entry "
+                    + (entriesImported + chunk.size() + 1) + " could not be read: " + e.getMessage());
+        }
+        return chunk;
+    }
+
+    private int importChunk(final String datatable, final List<Map<String, String>> chunk, final long entriesImported,
+            final AppUser maker) {
+
+        final long firstEntry = entriesImported + 1;
+        try {
+            return this.transactionTemplate.execute(new TransactionCallback<Integer>() {
+
+                @Override
+                public Integer doInTransaction(@SuppressWarnings("unused") final TransactionStatus status) {
+                    final int created = DatatableBulkImportServiceImpl.this.readWriteNonCoreDataService.createDatatableEntries(datatable,
+                            chunk);
+
+                    final String summaryAsJson = "{\"firstEntry\": " + firstEntry + ", \"entries\": " + created + "}";
+                    DatatableBulkImportServiceImpl.this.commandSourceRepository.save(CommandSource.summaryEntryFrom("CREATE", datatable,
+                            "/datatables/" + datatable + "/bulk", summaryAsJson, maker));
+                    return created;
+                }
+            });
+        } catch (final RuntimeException e) {
+            logger.warn("Bulk import into datatable " + datatable + " failed in the chunk starting at entry " + firstEntry, e);
+            throw new DatatableBulkImportFailedException(datatable, firstEntry, entriesImported, reasonOf(e));
+        }
+    }
+
+    private static String reasonOf(final RuntimeException e) {
+        if (e instanceof PlatformApiDataValidationException) {
+            final List<String> messages = new ArrayList<>();
+            for (final ApiParameterError error : ((PlatformApiDataValidationException) e).getErrors()) {
+                messages.add(error.getParameterName() + ": " + error.getDeveloperMessage());
+            }
+            return StringUtils.join(messages, ", ");
+        }
+        if (e instanceof PlatformDataIntegrityException) { return ((PlatformDataIntegrityException) e).getDefaultUserMessage(); }
+        if (e instanceof AbstractPlatformDomainRuleException) { return ((AbstractPlatformDomainRuleException) e).getDefaultUserMessage(); }
+        if (e instanceof AbstractPlatformResourceNotFoundException) { return ((AbstractPlatformResourceNotFoundException) e)
+                .getDefaultUserMessage(); }
+        return e.getMessage();
+    }
+
+    private interface EntryReader {
+
+        /**
+         * @return the next entry, <code>null</code> at the end of the stream
+         */
+        Map<String, String> next() throws IOException;
+    }
+
+    private static final class NdjsonEntryReader implements EntryReader {
+
+        private final BufferedReader reader;
+        private final FromJsonHelper fromJsonHelper;
+        private final Type typeOfMap = new TypeToken<Map<String, String>>() {}.getType();
+
+        NdjsonEntryReader(final Reader reader, final FromJsonHelper fromJsonHelper) {
+            this.reader = new BufferedReader(reader);
+            this.fromJsonHelper = fromJsonHelper;
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            String line = this.reader.readLine();
+            while (line != null && StringUtils.isBlank(line)) {
+                line = this.reader.readLine();
+            }
+            if (line == null) { return null; }
+            return new HashMap<>(this.fromJsonHelper.extractDataMap(this.typeOfMap, line));
+        }
+    }
+
+    private static final class CsvEntryReader implements EntryReader {
+
+        private final CsvReader reader;
+        private String[] headers;
+
+        CsvEntryReader(final Reader reader) {
+            this.reader = new CsvReader(reader);
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            if (this.headers == null) {
+                if (!this.reader.readHeaders()) { return null; }
+                this.headers = this.reader.getHeaders();
+            }
+            if (!this.reader.readRecord()) { return null; }
+            final Map<String, String> entry = new HashMap<>();
+            for (int i = 0; i < this.headers.length; i++) {
+                entry.put(this.headers[i], this.reader.get(i));
+            }
+            return entry;
+        }
+    }
+}
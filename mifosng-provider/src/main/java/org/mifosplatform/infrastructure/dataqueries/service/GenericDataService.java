@@ -5,6 +5,7 @@
  */
 package org.mifosplatform.infrastructure.dataqueries.service;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.mifosplatform.infrastructure.dataqueries.data.GenericResultsetData;
@@ -16,9 +17,42 @@ public interface GenericDataService {
 
     String generateJsonFromGenericResultsetData(GenericResultsetData grs);
 
+    /**
+     * Runs the query on a forward only cursor and hands each row to the writer
+     * as it is read, so memory use does not grow with the size of the
+     * resultset.
+     *
+     * @return the number of rows written
+     */
+    int streamGenericResultSet(String sql, GenericResultsetWriter writer) throws IOException;
+
+    /**
+     * As {@link #streamGenericResultSet(String, GenericResultsetWriter)}, for
+     * a query with parameters.
+     */
+    int streamGenericResultSet(String sql, Object[] params, GenericResultsetWriter writer) throws IOException;
+
     String replace(String str, String pattern, String replace);
 
     String wrapSQL(String sql);
 
+    /**
+     * Cached per tenant and datatable until
+     * {@link #evictDatatableMetadata(String)} is called for the datatable.
+     */
     List<ResultsetColumnHeaderData> fillResultsetColumnHeaders(String datatable);
+
+    /**
+     * Cached per tenant and datatable until
+     * {@link #evictDatatableMetadata(String)} is called for the datatable.
+     *
+     * @return the application table the datatable is registered against
+     */
+    String retrieveApplicationTableName(String datatable);
+
+    /**
+     * Drops the cached columns and registration of a datatable, to be called
+     * whenever its structure or registration changes.
+     */
+    void evictDatatableMetadata(String datatable);
 }
\ No newline at end of file
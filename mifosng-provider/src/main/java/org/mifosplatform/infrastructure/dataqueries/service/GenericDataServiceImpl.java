@@ -5,13 +5,18 @@
  */
 package org.mifosplatform.infrastructure.dataqueries.service;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
 import javax.sql.DataSource;
 
-import org.joda.time.LocalDate;
-import org.joda.time.LocalDateTime;
 import org.mifosplatform.infrastructure.core.service.RoutingDataSource;
 import org.mifosplatform.infrastructure.dataqueries.data.GenericResultsetData;
 import org.mifosplatform.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
@@ -21,7 +26,13 @@ import org.mifosplatform.infrastructure.dataqueries.exception.DatatableNotFoundE
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.jdbc.support.rowset.SqlRowSetMetaData;
 import org.springframework.stereotype.Service;
@@ -29,6 +40,13 @@ import org.springframework.stereotype.Service;
 @Service
 public class GenericDataServiceImpl implements GenericDataService {
 
+    /**
+     * With a forward only, read only statement this makes MySQL Connector/J
+     * stream the rows one at a time instead of reading the whole resultset
+     * into memory first.
+     */
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
     private final JdbcTemplate jdbcTemplate;
     private final DataSource dataSource;
     private final static Logger logger = LoggerFactory.getLogger(GenericDataServiceImpl.class);
@@ -106,79 +124,81 @@ public class GenericDataServiceImpl implements GenericDataService {
     @Override
     public String generateJsonFromGenericResultsetData(final GenericResultsetData grs) {
 
-        final StringBuffer writer = new StringBuffer();
+        final StringWriter writer = new StringWriter();
+        final GenericResultsetWriter jsonWriter = new JsonGenericResultsetWriter(writer);
+        try {
+            jsonWriter.writeColumnHeaders(grs.getColumnHeaders());
+            for (final ResultsetRowData row : grs.getData()) {
+                jsonWriter.writeRow(row.getRow());
+            }
+            jsonWriter.finish();
+        } catch (final IOException e) {
+            // a StringWriter does not throw
+            throw new IllegalStateException(e);
+        }
+        return writer.toString();
+    }
 
-        writer.append("[");
+    @Override
+    public int streamGenericResultSet(final String sql, final GenericResultsetWriter writer) throws IOException {
+        return streamGenericResultSet(sql, new Object[0], writer);
+    }
 
-        final List<ResultsetColumnHeaderData> columnHeaders = grs.getColumnHeaders();
+    @Override
+    public int streamGenericResultSet(final String sql, final Object[] params, final GenericResultsetWriter writer) throws IOException {
 
-        final List<ResultsetRowData> data = grs.getData();
-        List<String> row;
-        Integer rSize;
-        final String doubleQuote = "\"";
-        final String slashDoubleQuote = "\\\"";
-        String currColType;
-        String currVal;
+        final PreparedStatementCreator forwardOnlyStatement = new PreparedStatementCreator() {
 
-        for (int i = 0; i < data.size(); i++) {
-            writer.append("\n{");
+            @Override
+            public PreparedStatement createPreparedStatement(final Connection connection) throws SQLException {
+                final PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(STREAMING_FETCH_SIZE);
+                new ArgumentPreparedStatementSetter(params).setValues(statement);
+                return statement;
+            }
+        };
 
-            row = data.get(i).getRow();
-            rSize = row.size();
-            for (int j = 0; j < rSize; j++) {
+        try {
+            return this.jdbcTemplate.query(forwardOnlyStatement, new ResultSetExtractor<Integer>() {
 
-                writer.append(doubleQuote + columnHeaders.get(j).getColumnName() + doubleQuote + ": ");
-                currColType = columnHeaders.get(j).getColumnDisplayType();
-                final String colType = columnHeaders.get(j).getColumnType();
-                if (currColType == null && colType.equalsIgnoreCase("INT")) {
-                    currColType = "INTEGER";
-                }
-                if (currColType == null && colType.equalsIgnoreCase("VARCHAR")) {
-                    currColType = "VARCHAR";
-                }
-                if (currColType == null && colType.equalsIgnoreCase("DATE")) {
-                    currColType = "DATE";
-                }
-                currVal = row.get(j);
-                if (currVal != null && currColType != null) {
-                    if (currColType.equals("DECIMAL") || currColType.equals("INTEGER")) {
-                        writer.append(currVal);
-                    } else {
-                        if (currColType.equals("DATE")) {
-                            final LocalDate localDate = new LocalDate(currVal);
-                            writer.append("[" + localDate.getYear() + ", " + localDate.getMonthOfYear() + ", " + localDate.getDayOfMonth()
-                                    + "]");
-                        } else if (currColType.equals("DATETIME")) {
-                            final LocalDateTime localDateTime = new LocalDateTime(currVal);
-                            writer.append("[" + localDateTime.getYear() + ", " + localDateTime.getMonthOfYear() + ", "
-                                    + localDateTime.getDayOfMonth() + " " + localDateTime.getHourOfDay() + ", "
-                                    + localDateTime.getMinuteOfHour() + ", " + localDateTime.getSecondOfMinute() + ", "
-                                    + localDateTime.getMillisOfSecond() + "]");
-                        } else {
-                            writer.append(doubleQuote + replace(currVal, doubleQuote, slashDoubleQuote) + doubleQuote);
+                @Override
+                public Integer extractData(final ResultSet rs) throws SQLException {
+                    try {
+                        final ResultSetMetaData rsmd = rs.getMetaData();
+                        final int columnCount = rsmd.getColumnCount();
+
+                        final List<ResultsetColumnHeaderData> columnHeaders = new ArrayList<>(columnCount);
+                        for (int i = 0; i < columnCount; i++) {
+                            columnHeaders.add(ResultsetColumnHeaderData.basic(rsmd.getColumnLabel(i + 1), rsmd.getColumnTypeName(i + 1)));
                         }
+                        writer.writeColumnHeaders(columnHeaders);
+
+                        int rowCount = 0;
+                        final List<String> columnValues = new ArrayList<>(columnCount);
+                        while (rs.next()) {
+                            columnValues.clear();
+                            for (int i = 0; i < columnCount; i++) {
+                                columnValues.add(rs.getString(i + 1));
+                            }
+                            writer.writeRow(columnValues);
+                            rowCount++;
+                        }
+
+                        writer.finish();
+                        return rowCount;
+                    } catch (final IOException e) {
+                        throw new ResultsetWriteException(e);
                     }
-                } else {
-                    writer.append("null");
                 }
-                if (j < (rSize - 1)) {
-                    writer.append(",\n");
-                }
-            }
-
-            if (i < (data.size() - 1)) {
-                writer.append("},");
-            } else {
-                writer.append("}");
-            }
+            });
+        } catch (final ResultsetWriteException e) {
+            throw e.getCause();
         }
-
-        writer.append("\n]");
-        return writer.toString();
-
     }
 
     @Override
+    @Cacheable(value = "datatableColumnHeaders", key = "T(org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#datatable+'dch')")
     public List<ResultsetColumnHeaderData> fillResultsetColumnHeaders(final String datatable) {
 
         logger.debug("::3 Was inside the fill ResultSetColumnHeader");
@@ -237,6 +257,31 @@ public class GenericDataServiceImpl implements GenericDataService {
         return columnHeaders;
     }
 
+    @Override
+    @Cacheable(value = "datatableApplicationTables", key = "T(org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#datatable+'dat')")
+    public String retrieveApplicationTableName(final String datatable) {
+        final String sql = "SELECT application_table_name FROM x_registered_table where registered_table_name = '" + datatable + "'";
+
+        final SqlRowSet rs = this.jdbcTemplate.queryForRowSet(sql);
+
+        String applicationTableName = null;
+        if (rs.next()) {
+            applicationTableName = rs.getString("application_table_name");
+        } else {
+            throw new DatatableNotFoundException(datatable);
+        }
+
+        return applicationTableName;
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(value = "datatableColumnHeaders", key = "T(org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#datatable+'dch')"),
+            @CacheEvict(value = "datatableApplicationTables", key = "T(org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#datatable+'dat')") })
+    public void evictDatatableMetadata(@SuppressWarnings("unused") final String datatable) {
+        // evicted by the annotations
+    }
+
     /*
      * Candidate for using caching there to get allowed 'column values' from
      * code/codevalue tables
@@ -300,4 +345,20 @@ public class GenericDataServiceImpl implements GenericDataService {
 
         return rsValues;
     }
-}
\ No newline at end of file
+
+    /**
+     * Carries an {@link IOException} of the writer out of the
+     * {@link ResultSetExtractor}, which may only throw {@link SQLException}.
+     */
+    private static final class ResultsetWriteException extends RuntimeException {
+
+        ResultsetWriteException(final IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+}
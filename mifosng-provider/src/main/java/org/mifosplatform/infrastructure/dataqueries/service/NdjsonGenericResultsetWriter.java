@@ -0,0 +1,72 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.dataqueries.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.mifosplatform.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+
+import com.google.gson.JsonPrimitive;
+
+/**
+ * Writes a generic resultset as newline delimited JSON: one object per row,
+ * keyed by column name, on its own line. Numeric values are written as they
+ * are, dates as <code>yyyy-MM-dd</code> strings and all other values as
+ * strings.
+ */
+public class NdjsonGenericResultsetWriter implements GenericResultsetWriter {
+
+    private final Writer writer;
+    private final List<String> columnNames = new ArrayList<>();
+    private final List<Boolean> numericColumns = new ArrayList<>();
+
+    public NdjsonGenericResultsetWriter(final Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void writeColumnHeaders(final List<ResultsetColumnHeaderData> columnHeaders) throws IOException {
+        for (final ResultsetColumnHeaderData columnHeader : columnHeaders) {
+            this.columnNames.add(new JsonPrimitive(columnHeader.getColumnName()).toString());
+            this.numericColumns.add(isNumeric(columnHeader.getColumnType()));
+        }
+    }
+
+    @Override
+    public void writeRow(final List<String> row) throws IOException {
+        this.writer.write('{');
+        final int rSize = row.size();
+        for (int j = 0; j < rSize; j++) {
+            this.writer.write(this.columnNames.get(j));
+            this.writer.write(':');
+            final String currVal = row.get(j);
+            if (currVal == null) {
+                this.writer.write("null");
+            } else if (this.numericColumns.get(j)) {
+                this.writer.write(currVal);
+            } else {
+                this.writer.write(new JsonPrimitive(currVal).toString());
+            }
+            if (j < (rSize - 1)) {
+                this.writer.write(',');
+            }
+        }
+        this.writer.write("}\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        this.writer.flush();
+    }
+
+    private static boolean isNumeric(final String columnType) {
+        return columnType.equals("DECIMAL") || columnType.equals("DOUBLE") || columnType.equals("BIGINT") || columnType.equals("SMALLINT")
+                || columnType.equals("INT") || columnType.equals("TINYINT");
+    }
+}
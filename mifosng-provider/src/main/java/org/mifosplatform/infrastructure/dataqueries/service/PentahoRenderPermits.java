@@ -0,0 +1,94 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.dataqueries.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.mifosplatform.infrastructure.core.exception.PlatformServiceUnavailableException;
+
+import com.sun.jersey.spi.CloseableService;
+
+/**
+ * Limits the number of Pentaho reports rendered at once.
+ *
+ * The permit is taken while the request is still being handled, before any
+ * response is committed, so a request that finds no free slot gets a 503
+ * instead of a truncated 200. It is handed back once the returned
+ * {@link StreamingOutput} has been written, whether or not writing succeeds,
+ * and at the latest when the request completes: the output is never written
+ * for a HEAD request, or when an exception replaces it as the response entity.
+ */
+final class PentahoRenderPermits {
+
+    private final Semaphore permits;
+    private final long waitMillis;
+
+    PentahoRenderPermits(final int maxConcurrentRenders, final long waitMillis) {
+        this.permits = new Semaphore(maxConcurrentRenders, true);
+        this.waitMillis = waitMillis;
+    }
+
+    /**
+     * Waits for a free slot and returns an output that renders using it. The
+     * slot is also registered with the request's {@link CloseableService},
+     * which Jersey closes once the request is done.
+     *
+     * @throws PlatformServiceUnavailableException
+     *             when no slot frees up in time
+     */
+    StreamingOutput acquireFor(final StreamingOutput render, final CloseableService requestCompletion) {
+        try {
+            final boolean acquired = this.permits.tryAcquire(this.waitMillis, TimeUnit.MILLISECONDS);
+            if (!acquired) { throw new PlatformServiceUnavailableException("error.msg.reporting.busy",
+                    "Too many reports are being generated, please try again later"); }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PlatformServiceUnavailableException("error.msg.reporting.busy", "Report generation was interrupted");
+        }
+
+        final RenderPermit permit = new RenderPermit(render);
+        requestCompletion.add(permit);
+        return permit;
+    }
+
+    int availablePermits() {
+        return this.permits.availablePermits();
+    }
+
+    private final class RenderPermit implements StreamingOutput, Closeable {
+
+        private final StreamingOutput render;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        RenderPermit(final StreamingOutput render) {
+            this.render = render;
+        }
+
+        @Override
+        public void write(final OutputStream out) throws IOException, WebApplicationException {
+            try {
+                this.render.write(out);
+            } finally {
+                close();
+            }
+        }
+
+        @Override
+        public void close() {
+            if (this.released.compareAndSet(false, true)) {
+                PentahoRenderPermits.this.permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.dataqueries.service;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.mifosplatform.infrastructure.documentmanagement.contentrepository.FileSystemContentRepository;
+import org.pentaho.reporting.engine.classic.core.MasterReport;
+import org.pentaho.reporting.libraries.resourceloader.ResourceException;
+import org.pentaho.reporting.libraries.resourceloader.ResourceManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps parsed Pentaho report definitions in memory so that a <code>.prpt</code>
+ * file is only parsed again once it changes on disk.
+ *
+ * Entries are keyed by report name and hold the modification time of the file
+ * they were parsed from. The least recently used report is evicted once more
+ * than the configured number of reports are cached. Every caller gets its own
+ * clone of the cached {@link MasterReport}, which it is free to fill with
+ * parameters.
+ */
+@Component
+public class PentahoReportDefinitionCache {
+
+    private final static Logger logger = LoggerFactory.getLogger(PentahoReportDefinitionCache.class);
+
+    public final static String MAX_SIZE = "mifos.reporting.pentaho.cache.maxSize";
+
+    private final ResourceManager manager;
+    private final Map<String, CachedReport> reports;
+
+    @Autowired
+    public PentahoReportDefinitionCache(@Value("${" + MAX_SIZE + ":50}") final int maxSize) {
+        this.manager = new ResourceManager();
+        this.manager.registerDefaults();
+        this.reports = new LinkedHashMap<String, CachedReport>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CachedReport> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public static File reportFile(final String reportName) {
+        return new File(FileSystemContentRepository.MIFOSX_BASE_DIR + File.separator + "pentahoReports" + File.separator + reportName
+                + ".prpt");
+    }
+
+    /**
+     * Returns a private copy of the named report, parsing its file only when it
+     * is not cached yet or has been modified since it was cached.
+     */
+    public MasterReport getReport(final String reportName) throws ResourceException {
+        final File reportFile = reportFile(reportName);
+        final long lastModified = reportFile.lastModified();
+
+        CachedReport cachedReport;
+        synchronized (this.reports) {
+            cachedReport = this.reports.get(reportName);
+        }
+
+        if (cachedReport == null || cachedReport.lastModified != lastModified) {
+            logger.info("Loading report definition: " + reportFile.getPath());
+            final MasterReport masterReport;
+            synchronized (this.manager) {
+                masterReport = (MasterReport) this.manager.createDirectly(reportFile.getPath(), MasterReport.class).getResource();
+            }
+            cachedReport = new CachedReport(masterReport, lastModified);
+            synchronized (this.reports) {
+                this.reports.put(reportName, cachedReport);
+            }
+        }
+
+        return (MasterReport) cachedReport.masterReport.clone();
+    }
+
+    private static final class CachedReport {
+
+        private final MasterReport masterReport;
+        private final long lastModified;
+
+        CachedReport(final MasterReport masterReport, final long lastModified) {
+            this.masterReport = masterReport;
+            this.lastModified = lastModified;
+        }
+    }
+}
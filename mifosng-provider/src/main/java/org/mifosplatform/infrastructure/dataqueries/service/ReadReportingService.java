@@ -16,13 +16,18 @@ import org.mifosplatform.infrastructure.dataqueries.data.GenericResultsetData;
 import org.mifosplatform.infrastructure.dataqueries.data.ReportData;
 import org.mifosplatform.infrastructure.dataqueries.data.ReportParameterData;
 
+import com.sun.jersey.spi.CloseableService;
+
 public interface ReadReportingService {
 
     StreamingOutput retrieveReportCSV(String name, String type, Map<String, String> extractedQueryParams);
 
+    StreamingOutput retrieveReportJSON(String name, String type, Map<String, String> extractedQueryParams);
+
     GenericResultsetData retrieveGenericResultset(String name, String type, Map<String, String> extractedQueryParams);
 
-    Response processPentahoRequest(String reportName, String outputType, Map<String, String> queryParams, Locale locale);
+    Response processPentahoRequest(String reportName, String outputType, Map<String, String> queryParams, Locale locale,
+            CloseableService requestCompletion);
 
     String retrieveReportPDF(String name, String type, Map<String, String> extractedQueryParams);
 
@@ -5,13 +5,14 @@
  */
 package org.mifosplatform.infrastructure.dataqueries.service;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.ResultSet;
@@ -54,12 +55,12 @@ import org.pentaho.reporting.engine.classic.core.modules.output.table.xls.ExcelR
 import org.pentaho.reporting.engine.classic.core.parameters.ParameterDefinitionEntry;
 import org.pentaho.reporting.engine.classic.core.parameters.ReportParameterDefinition;
 import org.pentaho.reporting.engine.classic.core.util.ReportParameterValues;
-import org.pentaho.reporting.libraries.resourceloader.Resource;
 import org.pentaho.reporting.libraries.resourceloader.ResourceException;
-import org.pentaho.reporting.libraries.resourceloader.ResourceManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
@@ -69,6 +70,7 @@ import com.lowagie.text.Document;
 import com.lowagie.text.PageSize;
 import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
+import com.sun.jersey.spi.CloseableService;
 
 @Service
 public class ReadReportingServiceImpl implements ReadReportingService {
@@ -79,11 +81,17 @@ public class ReadReportingServiceImpl implements ReadReportingService {
     private final DataSource dataSource;
     private final PlatformSecurityContext context;
     private final GenericDataService genericDataService;
+    private final PentahoReportDefinitionCache pentahoReportDefinitionCache;
+    private final PentahoRenderPermits pentahoRenderPermits;
     private boolean noPentaho = false;
 
+    public final static String MAX_CONCURRENT_PENTAHO_RENDERS = "mifos.reporting.pentaho.maxConcurrentRenders";
+    private final static long PENTAHO_RENDER_WAIT_MILLIS = 30000;
+
     @Autowired
     public ReadReportingServiceImpl(final PlatformSecurityContext context, final RoutingDataSource dataSource,
-            final GenericDataService genericDataService) {
+            final GenericDataService genericDataService, final PentahoReportDefinitionCache pentahoReportDefinitionCache,
+            @Value("${" + MAX_CONCURRENT_PENTAHO_RENDERS + ":4}") final int maxConcurrentPentahoRenders) {
         // kick off pentaho reports server
         ClassicEngineBoot.getInstance().start();
         this.noPentaho = false;
@@ -92,87 +100,57 @@ public class ReadReportingServiceImpl implements ReadReportingService {
         this.dataSource = dataSource;
         this.jdbcTemplate = new JdbcTemplate(this.dataSource);
         this.genericDataService = genericDataService;
+        this.pentahoReportDefinitionCache = pentahoReportDefinitionCache;
+        this.pentahoRenderPermits = new PentahoRenderPermits(maxConcurrentPentahoRenders, PENTAHO_RENDER_WAIT_MILLIS);
     }
 
     @Override
     public StreamingOutput retrieveReportCSV(final String name, final String type, final Map<String, String> queryParams) {
 
+        final String sql = getSQLtoRun(name, type, queryParams);
+
         return new StreamingOutput() {
 
             @Override
-            public void write(final OutputStream out) {
-                try {
+            public void write(final OutputStream out) throws IOException {
+                streamReport(name, type, sql, new CsvGenericResultsetWriter(newBufferedWriter(out)));
+            }
+        };
+    }
 
-                    final GenericResultsetData result = retrieveGenericResultset(name, type, queryParams);
-                    final StringBuffer sb = generateCsvFileBuffer(result);
+    @Override
+    public StreamingOutput retrieveReportJSON(final String name, final String type, final Map<String, String> queryParams) {
 
-                    final InputStream in = new ByteArrayInputStream(sb.toString().getBytes("UTF-8"));
+        final String sql = getSQLtoRun(name, type, queryParams);
 
-                    final byte[] outputByte = new byte[4096];
-                    Integer readLen = in.read(outputByte, 0, 4096);
+        return new StreamingOutput() {
 
-                    while (readLen != -1) {
-                        out.write(outputByte, 0, readLen);
-                        readLen = in.read(outputByte, 0, 4096);
-                    }
-                    // in.close();
-                    // out.flush();
-                    // out.close();
-                } catch (final Exception e) {
-                    throw new PlatformDataIntegrityException("error.msg.exception.error", e.getMessage());
-                }
+            @Override
+            public void write(final OutputStream out) throws IOException {
+                streamReport(name, type, sql, new JsonGenericResultsetWriter(newBufferedWriter(out)));
             }
         };
-
     }
 
-    private StringBuffer generateCsvFileBuffer(final GenericResultsetData result) {
-        final StringBuffer writer = new StringBuffer();
+    private void streamReport(final String name, final String type, final String sql, final GenericResultsetWriter writer)
+            throws IOException {
 
-        final List<ResultsetColumnHeaderData> columnHeaders = result.getColumnHeaders();
-        logger.info("NO. of Columns: " + columnHeaders.size());
-        final Integer chSize = columnHeaders.size();
-        for (int i = 0; i < chSize; i++) {
-            writer.append('"' + columnHeaders.get(i).getColumnName() + '"');
-            if (i < (chSize - 1)) {
-                writer.append(",");
-            }
-        }
-        writer.append('\n');
-
-        final List<ResultsetRowData> data = result.getData();
-        List<String> row;
-        Integer rSize;
-        // String currCol;
-        String currColType;
-        String currVal;
-        final String doubleQuote = "\"";
-        final String twoDoubleQuotes = doubleQuote + doubleQuote;
-        logger.info("NO. of Rows: " + data.size());
-        for (int i = 0; i < data.size(); i++) {
-            row = data.get(i).getRow();
-            rSize = row.size();
-            for (int j = 0; j < rSize; j++) {
-                // currCol = columnHeaders.get(j).getColumnName();
-                currColType = columnHeaders.get(j).getColumnType();
-                currVal = row.get(j);
-                if (currVal != null) {
-                    if (currColType.equals("DECIMAL") || currColType.equals("DOUBLE") || currColType.equals("BIGINT")
-                            || currColType.equals("SMALLINT") || currColType.equals("INT")) {
-                        writer.append(currVal);
-                    } else {
-                        writer.append('"' + this.genericDataService.replace(currVal, doubleQuote, twoDoubleQuotes) + '"');
-                    }
+        final long startTime = System.currentTimeMillis();
+        logger.info("STARTING REPORT: " + name + "   Type: " + type);
 
-                }
-                if (j < (rSize - 1)) {
-                    writer.append(",");
-                }
-            }
-            writer.append('\n');
+        try {
+            final int rowCount = this.genericDataService.streamGenericResultSet(sql, writer);
+
+            final long elapsed = System.currentTimeMillis() - startTime;
+            logger.info("FINISHING Report/Request Name: " + name + " - " + type + "     Rows: " + rowCount + "     Elapsed Time: "
+                    + elapsed);
+        } catch (final DataAccessException e) {
+            throw new PlatformDataIntegrityException("error.msg.exception.error", e.getMessage());
         }
+    }
 
-        return writer;
+    private static Writer newBufferedWriter(final OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
     }
 
     @Override
@@ -241,7 +219,7 @@ public class ReadReportingServiceImpl implements ReadReportingService {
 
     @Override
     public Response processPentahoRequest(final String reportName, final String outputTypeParam, final Map<String, String> queryParams,
-            final Locale locale) {
+            final Locale locale, final CloseableService requestCompletion) {
 
         String outputType = "HTML";
         if (StringUtils.isNotBlank(outputTypeParam)) {
@@ -255,56 +233,65 @@ public class ReadReportingServiceImpl implements ReadReportingService {
         if (this.noPentaho) { throw new PlatformDataIntegrityException("error.msg.no.pentaho", "Pentaho is not enabled",
                 "Pentaho is not enabled"); }
 
-        final String reportPath = FileSystemContentRepository.MIFOSX_BASE_DIR + File.separator + "pentahoReports" + File.separator
-                + reportName + ".prpt";
-        logger.info("Report path: " + reportPath);
-
-        // load report definition
-        final ResourceManager manager = new ResourceManager();
-        manager.registerDefaults();
-        Resource res;
+        logger.info("Report path: " + PentahoReportDefinitionCache.reportFile(reportName).getPath());
 
+        final MasterReport masterReport;
         try {
-            res = manager.createDirectly(reportPath, MasterReport.class);
-            final MasterReport masterReport = (MasterReport) res.getResource();
-            final DefaultReportEnvironment reportEnvironment = (DefaultReportEnvironment) masterReport.getReportEnvironment();
-            if (locale != null) {
-                reportEnvironment.setLocale(locale);
-            }
-            addParametersToReport(masterReport, queryParams);
+            masterReport = this.pentahoReportDefinitionCache.getReport(reportName);
+        } catch (final ResourceException e) {
+            throw new PlatformDataIntegrityException("error.msg.reporting.error", e.getMessage());
+        }
+        if (locale != null) {
+            // the environment may be shared with the cached definition
+            final DefaultReportEnvironment reportEnvironment = new DefaultReportEnvironment(masterReport.getConfiguration());
+            reportEnvironment.setLocale(locale);
+            masterReport.setReportEnvironment(reportEnvironment);
+        }
+        addParametersToReport(masterReport, queryParams);
 
-            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final String renderType = outputType.toUpperCase();
+        // wait for a render slot now, while a 503 can still be returned
+        final StreamingOutput output = this.pentahoRenderPermits.acquireFor(new StreamingOutput() {
 
-            if ("PDF".equalsIgnoreCase(outputType)) {
-                PdfReportUtil.createPDF(masterReport, baos);
-                return Response.ok().entity(baos.toByteArray()).type("application/pdf").build();
+            @Override
+            public void write(final OutputStream out) throws IOException {
+                renderPentahoReport(masterReport, renderType, out);
             }
+        }, requestCompletion);
 
-            if ("XLS".equalsIgnoreCase(outputType)) {
-                ExcelReportUtil.createXLS(masterReport, baos);
-                return Response.ok().entity(baos.toByteArray()).type("application/vnd.ms-excel")
-                        .header("Content-Disposition", "attachment;filename=" + reportName.replaceAll(" ", "") + ".xls").build();
-            }
+        if ("PDF".equals(renderType)) { return Response.ok().entity(output).type("application/pdf").build(); }
 
-            if ("CSV".equalsIgnoreCase(outputType)) {
-                CSVReportUtil.createCSV(masterReport, baos, "UTF-8");
-                return Response.ok().entity(baos.toByteArray()).type("application/x-msdownload")
-                        .header("Content-Disposition", "attachment;filename=" + reportName.replaceAll(" ", "") + ".csv").build();
-            }
+        if ("XLS".equals(renderType)) { return Response.ok().entity(output).type("application/vnd.ms-excel")
+                .header("Content-Disposition", "attachment;filename=" + reportName.replaceAll(" ", "") + ".xls").build(); }
+
+        if ("CSV".equals(renderType)) { return Response.ok().entity(output).type("application/x-msdownload")
+                .header("Content-Disposition", "attachment;filename=" + reportName.replaceAll(" ", "") + ".csv").build(); }
+
+        return Response.ok().entity(output).type("text/html").build();
+    }
+
+    /**
+     * Renders straight into the response. Rendering a large report takes a lot
+     * of heap, so only a limited number of reports are rendered at once, see
+     * {@link PentahoRenderPermits}.
+     */
+    private void renderPentahoReport(final MasterReport masterReport, final String outputType, final OutputStream out)
+            throws IOException {
 
-            if ("HTML".equalsIgnoreCase(outputType)) {
-                HtmlReportUtil.createStreamHTML(masterReport, baos);
-                return Response.ok().entity(baos.toByteArray()).type("text/html").build();
+        try {
+            if ("PDF".equals(outputType)) {
+                PdfReportUtil.createPDF(masterReport, out);
+            } else if ("XLS".equals(outputType)) {
+                ExcelReportUtil.createXLS(masterReport, out);
+            } else if ("CSV".equals(outputType)) {
+                CSVReportUtil.createCSV(masterReport, out, "UTF-8");
+            } else {
+                HtmlReportUtil.createStreamHTML(masterReport, out);
             }
-        } catch (final ResourceException e) {
-            throw new PlatformDataIntegrityException("error.msg.reporting.error", e.getMessage());
+            out.flush();
         } catch (final ReportProcessingException e) {
             throw new PlatformDataIntegrityException("error.msg.reporting.error", e.getMessage());
-        } catch (final IOException e) {
-            throw new PlatformDataIntegrityException("error.msg.reporting.error", e.getMessage());
         }
-
-        throw new PlatformDataIntegrityException("error.msg.invalid.outputType", "No matching Output Type: " + outputType);
     }
 
     private void addParametersToReport(final MasterReport report, final Map<String, String> queryParams) {
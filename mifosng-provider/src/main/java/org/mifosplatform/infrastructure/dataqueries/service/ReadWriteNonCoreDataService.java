@@ -6,6 +6,7 @@
 package org.mifosplatform.infrastructure.dataqueries.service;
 
 import java.util.List;
+import java.util.Map;
 
 import org.mifosplatform.infrastructure.core.api.JsonCommand;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
@@ -41,6 +42,14 @@ public interface ReadWriteNonCoreDataService {
 
     CommandProcessingResult createNewDatatableEntry(String datatable, Long appTableId, JsonCommand command);
 
+    /**
+     * Creates entries for many application table rows at once. Each entry
+     * holds the application table id under the datatable's foreign key column.
+     *
+     * @return the number of entries created
+     */
+    int createDatatableEntries(String datatable, List<Map<String, String>> entries);
+
     CommandProcessingResult createPPIEntry(String datatable, Long appTableId, JsonCommand command);
 
     CommandProcessingResult updateDatatableEntryOneToOne(String datatable, Long appTableId, JsonCommand command);
@@ -10,6 +10,8 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -59,6 +61,8 @@ import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.jdbc.support.rowset.SqlRowSetMetaData;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
@@ -72,6 +76,8 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
 
     private final static String CODE_VALUES_TABLE = "m_code_value";
 
+    private final static int MAX_PLACEHOLDERS_PER_STATEMENT = 65535;
+
     private final static Logger logger = LoggerFactory.getLogger(ReadWriteNonCoreDataServiceImpl.class);
     private final static HashMap<String, String> apiTypeToMySQL = new HashMap<String, String>() {
 
@@ -109,8 +115,16 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
             final FromJsonHelper fromJsonHelper, final GenericDataService genericDataService,
             final DatatableCommandFromApiJsonDeserializer fromApiJsonDeserializer, final CodeReadPlatformService codeReadPlatformService,
             final ConfigurationDomainService configurationDomainService, final DataTableValidator dataTableValidator) {
-        this.dataSource = dataSource;
-        this.jdbcTemplate = new JdbcTemplate(this.dataSource);
+        this(new JdbcTemplate(dataSource), context, fromJsonHelper, genericDataService, fromApiJsonDeserializer, codeReadPlatformService,
+                configurationDomainService, dataTableValidator);
+    }
+
+    ReadWriteNonCoreDataServiceImpl(final JdbcTemplate jdbcTemplate, final PlatformSecurityContext context,
+            final FromJsonHelper fromJsonHelper, final GenericDataService genericDataService,
+            final DatatableCommandFromApiJsonDeserializer fromApiJsonDeserializer, final CodeReadPlatformService codeReadPlatformService,
+            final ConfigurationDomainService configurationDomainService, final DataTableValidator dataTableValidator) {
+        this.dataSource = jdbcTemplate.getDataSource();
+        this.jdbcTemplate = jdbcTemplate;
         this.context = context;
         this.fromJsonHelper = fromJsonHelper;
         this.helper = new JsonParserHelper();
@@ -181,6 +195,24 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         return datatableData;
     }
 
+    /**
+     * Evicts straight away for the rest of this transaction and again once it
+     * completes, as a concurrent request may have cached the old metadata in
+     * between.
+     */
+    private void evictDatatableMetadata(final String datatableName) {
+        this.genericDataService.evictDatatableMetadata(datatableName);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCompletion(@SuppressWarnings("unused") final int status) {
+                    ReadWriteNonCoreDataServiceImpl.this.genericDataService.evictDatatableMetadata(datatableName);
+                }
+            });
+        }
+    }
+
     private void logAsErrorUnexpectedDataIntegrityException(final Exception dve) {
         logger.error(dve.getMessage(), dve);
     }
@@ -231,6 +263,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
 
         validateAppTable(applicationTableName);
         assertDataTableExists(dataTableName);
+        evictDatatableMetadata(dataTableName);
 
         final String registerDatatableSql = "insert into x_registered_table (registered_table_name, application_table_name,category) values ('"
                 + dataTableName + "', '" + applicationTableName + "', '" + category + "')";
@@ -317,6 +350,8 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
     @Transactional
     @Override
     public void deregisterDatatable(final String datatable) {
+        evictDatatableMetadata(datatable);
+
         final String permissionList = "('CREATE_" + datatable + "', 'CREATE_" + datatable + "_CHECKER', 'READ_" + datatable + "', 'UPDATE_"
                 + datatable + "', 'UPDATE_" + datatable + "_CHECKER', 'DELETE_" + datatable + "', 'DELETE_" + datatable + "_CHECKER')";
 
@@ -343,7 +378,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
     public CommandProcessingResult createNewDatatableEntry(final String dataTableName, final Long appTableId, final JsonCommand command) {
 
         try {
-            final String appTable = queryForApplicationTableName(dataTableName);
+            final String appTable = this.genericDataService.retrieveApplicationTableName(dataTableName);
             final CommandProcessingResult commandProcessingResult = checkMainResourceExistsWithinScope(appTable, appTableId);
 
             final List<ResultsetColumnHeaderData> columnHeaders = this.genericDataService.fillResultsetColumnHeaders(dataTableName);
@@ -381,11 +416,130 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         }
     }
 
+    @Transactional
+    @Override
+    public int createDatatableEntries(final String dataTableName, final List<Map<String, String>> entries) {
+
+        final String appTable = this.genericDataService.retrieveApplicationTableName(dataTableName);
+        final String fkName = getFKField(appTable);
+        final List<ResultsetColumnHeaderData> columnHeaders = this.genericDataService.fillResultsetColumnHeaders(dataTableName);
+
+        final Set<Long> appTableIds = new HashSet<>();
+        final Map<List<String>, List<Object[]>> rowsByColumns = new LinkedHashMap<>();
+        for (final Map<String, String> entry : entries) {
+            final Long appTableId = extractAppTableId(entry, fkName);
+            appTableIds.add(appTableId);
+
+            final Map<String, String> affectedColumns = getAffectedColumns(columnHeaders, entry, fkName);
+            final List<String> columns = new ArrayList<>();
+            final List<Object> values = new ArrayList<>();
+            values.add(appTableId);
+            for (final ResultsetColumnHeaderData columnHeader : columnHeaders) {
+                final String key = columnHeader.getColumnName();
+                if (affectedColumns.containsKey(key)) {
+                    columns.add(key);
+                    values.add(toInsertValue(columnHeader, affectedColumns.get(key)));
+                }
+            }
+
+            List<Object[]> rows = rowsByColumns.get(columns);
+            if (rows == null) {
+                rows = new ArrayList<>();
+                rowsByColumns.put(columns, rows);
+            }
+            rows.add(values.toArray());
+        }
+
+        assertMainResourcesExistWithinScope(appTable, appTableIds);
+
+        try {
+            for (final Map.Entry<List<String>, List<Object[]>> rowsWithColumns : rowsByColumns.entrySet()) {
+                insertRows(dataTableName, fkName, rowsWithColumns.getKey(), rowsWithColumns.getValue());
+            }
+        } catch (final DataAccessException dve) {
+            final Throwable realCause = dve.getMostSpecificCause();
+            if (realCause.getMessage().contains("Duplicate entry")) { throw new PlatformDataIntegrityException(
+                    "error.msg.datatable.entry.duplicate", "An entry already exists for datatable `" + dataTableName + "`: "
+                            + realCause.getMessage(), "dataTableName", dataTableName); }
+
+            logAsErrorUnexpectedDataIntegrityException(dve);
+            throw new PlatformDataIntegrityException("error.msg.unknown.data.integrity.issue",
+                    "Unknown data integrity issue with resource.");
+        }
+
+        return entries.size();
+    }
+
+    private Long extractAppTableId(final Map<String, String> entry, final String fkName) {
+        final String appTableId = entry.get(fkName);
+        if (StringUtils.isBlank(appTableId)) {
+            final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
+            dataValidationErrors.add(ApiParameterError.parameterError("error.msg.column.mandatory", "Mandatory", fkName));
+            throw new PlatformApiDataValidationException("validation.msg.validation.errors.exist", "Validation errors exist.",
+                    dataValidationErrors);
+        }
+        try {
+            return Long.valueOf(appTableId.trim());
+        } catch (final NumberFormatException e) {
+            final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
+            dataValidationErrors.add(ApiParameterError.parameterError("validation.msg.invalid.integer.format", "Invalid integer value "
+                    + appTableId, fkName, appTableId));
+            throw new PlatformApiDataValidationException("validation.msg.validation.errors.exist", "Validation errors exist.",
+                    dataValidationErrors);
+        }
+    }
+
+    private Object toInsertValue(final ResultsetColumnHeaderData columnHeader, final String value) {
+        if (StringUtils.isEmpty(value)) { return null; }
+        if ("bit".equalsIgnoreCase(columnHeader.getColumnType())) {
+            final Boolean booleanValue = BooleanUtils.toBooleanObject(value);
+            return booleanValue == null ? null : (booleanValue ? 1 : 0);
+        }
+        return value;
+    }
+
+    /**
+     * Inserts rows with the same columns with as few multi-row statements as
+     * MySQL's limit of 65535 placeholders per statement allows.
+     */
+    private void insertRows(final String dataTableName, final String fkName, final List<String> columns, final List<Object[]> rows) {
+
+        final StringBuilder insertSql = new StringBuilder("insert into `" + dataTableName + "` (`" + fkName + "`");
+        final StringBuilder rowPlaceholders = new StringBuilder("(?");
+        for (final String column : columns) {
+            insertSql.append(", `").append(column).append("`");
+            rowPlaceholders.append(", ?");
+        }
+        insertSql.append(") values ");
+        rowPlaceholders.append(")");
+
+        final int columnCount = columns.size() + 1;
+        final int rowsPerStatement = Math.max(1, MAX_PLACEHOLDERS_PER_STATEMENT / columnCount);
+        for (int from = 0; from < rows.size(); from += rowsPerStatement) {
+            final List<Object[]> statementRows = rows.subList(from, Math.min(from + rowsPerStatement, rows.size()));
+
+            final StringBuilder sql = new StringBuilder(insertSql);
+            final Object[] args = new Object[statementRows.size() * columnCount];
+            int argIndex = 0;
+            for (int i = 0; i < statementRows.size(); i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append(rowPlaceholders);
+                for (final Object value : statementRows.get(i)) {
+                    args[argIndex++] = value;
+                }
+            }
+
+            this.jdbcTemplate.update(sql.toString(), args);
+        }
+    }
+
     @Override
     public CommandProcessingResult createPPIEntry(final String dataTableName, final Long appTableId, final JsonCommand command) {
 
         try {
-            final String appTable = queryForApplicationTableName(dataTableName);
+            final String appTable = this.genericDataService.retrieveApplicationTableName(dataTableName);
             final CommandProcessingResult commandProcessingResult = checkMainResourceExistsWithinScope(appTable, appTableId);
 
             final List<ResultsetColumnHeaderData> columnHeaders = this.genericDataService.fillResultsetColumnHeaders(dataTableName);
@@ -821,6 +975,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
             final String apptableName = this.fromJsonHelper.extractStringNamed("apptableName", element);
 
             validateDatatableName(datatableName);
+            evictDatatableMetadata(datatableName);
 
             final List<ResultsetColumnHeaderData> columnHeaderData = this.genericDataService.fillResultsetColumnHeaders(datatableName);
             final Map<String, ResultsetColumnHeaderData> mapColumnNameDefinition = new HashMap<>();
@@ -833,7 +988,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
             if (!StringUtils.isBlank(apptableName)) {
                 validateAppTable(apptableName);
 
-                final String oldApptableName = queryForApplicationTableName(datatableName);
+                final String oldApptableName = this.genericDataService.retrieveApplicationTableName(datatableName);
                 if (!StringUtils.equals(oldApptableName, apptableName)) {
                     final String oldFKName = oldApptableName.substring(2) + "_id";
                     final String newFKName = apptableName.substring(2) + "_id";
@@ -1009,7 +1164,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
     private CommandProcessingResult updateDatatableEntry(final String dataTableName, final Long appTableId, final Long datatableId,
             final JsonCommand command) {
 
-        final String appTable = queryForApplicationTableName(dataTableName);
+        final String appTable = this.genericDataService.retrieveApplicationTableName(dataTableName);
         final CommandProcessingResult commandProcessingResult = checkMainResourceExistsWithinScope(appTable, appTableId);
 
         final GenericResultsetData grs = retrieveDataTableGenericResultSetForUpdate(appTable, dataTableName, appTableId, datatableId);
@@ -1059,7 +1214,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
     @Override
     public CommandProcessingResult deleteDatatableEntries(final String dataTableName, final Long appTableId) {
 
-        final String appTable = queryForApplicationTableName(dataTableName);
+        final String appTable = this.genericDataService.retrieveApplicationTableName(dataTableName);
         final CommandProcessingResult commandProcessingResult = checkMainResourceExistsWithinScope(appTable, appTableId);
 
         final String deleteOneToOneEntrySql = getDeleteEntriesSql(dataTableName, getFKField(appTable), appTableId);
@@ -1074,7 +1229,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
     @Override
     public CommandProcessingResult deleteDatatableEntry(final String dataTableName, final Long appTableId, final Long datatableId) {
 
-        final String appTable = queryForApplicationTableName(dataTableName);
+        final String appTable = this.genericDataService.retrieveApplicationTableName(dataTableName);
         final CommandProcessingResult commandProcessingResult = checkMainResourceExistsWithinScope(appTable, appTableId);
 
         final String sql = getDeleteEntrySql(dataTableName, datatableId);
@@ -1087,7 +1242,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
     public GenericResultsetData retrieveDataTableGenericResultSet(final String dataTableName, final Long appTableId, final String order,
             final Long id) {
 
-        final String appTable = queryForApplicationTableName(dataTableName);
+        final String appTable = this.genericDataService.retrieveApplicationTableName(dataTableName);
 
         checkMainResourceExistsWithinScope(appTable, appTableId);
 
@@ -1134,7 +1289,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
 
     private CommandProcessingResult checkMainResourceExistsWithinScope(final String appTable, final Long appTableId) {
 
-        final String sql = dataScopedSQL(appTable, appTableId);
+        final String sql = dataScopedSQL(appTable, "= " + appTableId);
         logger.info("data scoped sql: " + sql);
         final SqlRowSet rs = this.jdbcTemplate.queryForRowSet(sql);
 
@@ -1158,6 +1313,33 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
                 .build();
     }
 
+    /**
+     * The bulk counterpart of {@link #checkMainResourceExistsWithinScope}, one
+     * query for all application table ids.
+     */
+    private void assertMainResourcesExistWithinScope(final String appTable, final Set<Long> appTableIds) {
+
+        final String sql = dataScopedSQL(appTable, "in (" + StringUtils.join(appTableIds, ",") + ")");
+        final String idColumn = scopedIdColumn(appTable);
+
+        final Set<Long> missingAppTableIds = new HashSet<>(appTableIds);
+        final SqlRowSet rs = this.jdbcTemplate.queryForRowSet(sql);
+        while (rs.next()) {
+            missingAppTableIds.remove(rs.getLong(idColumn));
+        }
+
+        if (!missingAppTableIds.isEmpty()) { throw new DatatableNotFoundException(appTable, missingAppTableIds.iterator().next()); }
+    }
+
+    private String scopedIdColumn(final String appTable) {
+        if (appTable.equalsIgnoreCase("m_loan")) { return "loanId"; }
+        if (appTable.equalsIgnoreCase("m_savings_account")) { return "savingsId"; }
+        if (appTable.equalsIgnoreCase("m_client")) { return "clientId"; }
+        if (appTable.equalsIgnoreCase("m_group") || appTable.equalsIgnoreCase("m_center")) { return "groupId"; }
+        if (appTable.equalsIgnoreCase("m_office")) { return "officeId"; }
+        return "entityId";
+    }
+
     private Long getLongSqlRowSet(final SqlRowSet rs, final String column) {
         Long val = rs.getLong(column);
         if (val == 0) {
@@ -1166,7 +1348,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         return val;
     }
 
-    private String dataScopedSQL(final String appTable, final Long appTableId) {
+    private String dataScopedSQL(final String appTable, final String appTableIdCondition) {
         /*
          * unfortunately have to, one way or another, be able to restrict data
          * to the users office hierarchy. Here, a few key tables are done. But
@@ -1188,13 +1370,13 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
                     + " join m_office o on o.id = c.office_id and o.hierarchy like '"
                     + currentUser.getOffice().getHierarchy()
                     + "%'"
-                    + " where l.id = "
-                    + appTableId
+                    + " where l.id "
+                    + appTableIdCondition
                     + ")"
                     + " union all "
                     + " (select o.id as officeId, l.group_id as groupId, l.client_id as clientId, null as savingsId, l.id as loanId, null as entityId from m_loan l "
                     + " join m_group g on g.id = l.group_id " + " join m_office o on o.id = g.office_id and o.hierarchy like '"
-                    + currentUser.getOffice().getHierarchy() + "%'" + " where l.id = " + appTableId + ")" + " ) x";
+                    + currentUser.getOffice().getHierarchy() + "%'" + " where l.id " + appTableIdCondition + ")" + " ) x";
         }
         if (appTable.equalsIgnoreCase("m_savings_account")) {
             scopedSQL = "select  distinctrow x.* from ("
@@ -1203,36 +1385,36 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
                     + " join m_office o on o.id = c.office_id and o.hierarchy like '"
                     + currentUser.getOffice().getHierarchy()
                     + "%'"
-                    + " where s.id = "
-                    + appTableId
+                    + " where s.id "
+                    + appTableIdCondition
                     + ")"
                     + " union all "
                     + " (select o.id as officeId, s.group_id as groupId, s.client_id as clientId, s.id as savingsId, null as loanId, null as entityId from m_savings_account s "
                     + " join m_group g on g.id = s.group_id " + " join m_office o on o.id = g.office_id and o.hierarchy like '"
-                    + currentUser.getOffice().getHierarchy() + "%'" + " where s.id = " + appTableId + ")" + " ) x";
+                    + currentUser.getOffice().getHierarchy() + "%'" + " where s.id " + appTableIdCondition + ")" + " ) x";
         }
         if (appTable.equalsIgnoreCase("m_client")) {
             scopedSQL = "select o.id as officeId, null as groupId, c.id as clientId, null as savingsId, null as loanId, null as entityId from m_client c "
                     + " join m_office o on o.id = c.office_id and o.hierarchy like '"
                     + currentUser.getOffice().getHierarchy()
                     + "%'"
-                    + " where c.id = " + appTableId;
+                    + " where c.id " + appTableIdCondition;
         }
         if (appTable.equalsIgnoreCase("m_group") || appTable.equalsIgnoreCase("m_center")) {
             scopedSQL = "select o.id as officeId, g.id as groupId, null as clientId, null as savingsId, null as loanId, null as entityId from m_group g "
                     + " join m_office o on o.id = g.office_id and o.hierarchy like '"
                     + currentUser.getOffice().getHierarchy()
                     + "%'"
-                    + " where g.id = " + appTableId;
+                    + " where g.id " + appTableIdCondition;
         }
         if (appTable.equalsIgnoreCase("m_office")) {
             scopedSQL = "select o.id as officeId, null as groupId, null as clientId, null as savingsId, null as loanId, null as entityId from m_office o "
-                    + " where o.hierarchy like '" + currentUser.getOffice().getHierarchy() + "%'" + " and o.id = " + appTableId;
+                    + " where o.hierarchy like '" + currentUser.getOffice().getHierarchy() + "%'" + " and o.id " + appTableIdCondition;
         }
 
         if (appTable.equalsIgnoreCase("m_product_loan") || appTable.equalsIgnoreCase("m_savings_product")) {
             scopedSQL = "select null as officeId, null as groupId, null as clientId, null as savingsId, null as loanId, p.id as entityId from "
-                    + appTable + " as p WHERE p.id = " + appTableId;
+                    + appTable + " as p WHERE p.id " + appTableIdCondition;
         }
 
         if (scopedSQL == null) { throw new PlatformDataIntegrityException("error.msg.invalid.dataScopeCriteria", "Application Table: "
@@ -1285,21 +1467,6 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         return resultsetDataRows;
     }
 
-    private String queryForApplicationTableName(final String datatable) {
-        final String sql = "SELECT application_table_name FROM x_registered_table where registered_table_name = '" + datatable + "'";
-
-        final SqlRowSet rs = this.jdbcTemplate.queryForRowSet(sql);
-
-        String applicationTableName = null;
-        if (rs.next()) {
-            applicationTableName = rs.getString("application_table_name");
-        } else {
-            throw new DatatableNotFoundException(datatable);
-        }
-
-        return applicationTableName;
-    }
-
     private String getFKField(final String applicationTableName) {
 
         return applicationTableName.substring(2) + "_id";
@@ -0,0 +1,15 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.datasource;
+
+public class TenantDataSourceApiConstants {
+
+    public static final String RESOURCE_NAME = "DATASOURCE";
+    public static final String COMMAND = "command";
+    public static final String COMMAND_RECONFIGURE = "reconfigure";
+    public static final String COMMAND_EVICT = "evict";
+
+}
@@ -0,0 +1,104 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.datasource.api;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.UriInfo;
+
+import org.mifosplatform.commands.domain.CommandWrapper;
+import org.mifosplatform.commands.service.CommandWrapperBuilder;
+import org.mifosplatform.commands.service.PortfolioCommandSourceWritePlatformService;
+import org.mifosplatform.infrastructure.core.api.ApiRequestParameterHelper;
+import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
+import org.mifosplatform.infrastructure.core.exception.UnrecognizedQueryParamException;
+import org.mifosplatform.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
+import org.mifosplatform.infrastructure.core.serialization.DefaultToApiJsonSerializer;
+import org.mifosplatform.infrastructure.datasource.TenantDataSourceApiConstants;
+import org.mifosplatform.infrastructure.datasource.data.TenantDataSourceData;
+import org.mifosplatform.infrastructure.datasource.service.TenantDataSourceReadPlatformService;
+import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+/**
+ * Connection pool of the tenant of the request. Tenants only ever see and
+ * manage their own pool.
+ */
+@Path("/datasources")
+@Consumes({ MediaType.APPLICATION_JSON })
+@Produces({ MediaType.APPLICATION_JSON })
+@Component
+@Scope("singleton")
+public class TenantDataSourceApiResource {
+
+    private final Set<String> RESPONSE_DATA_PARAMETERS = new HashSet<>(Arrays.asList("tenantIdentifier", "poolName", "initialized",
+            "maxActive", "minIdle", "maxIdle", "size", "active", "idle", "waiting", "borrowCount", "totalWaitMillis", "maxWaitMillis",
+            "timeoutCount"));
+
+    private final PlatformSecurityContext context;
+    private final TenantDataSourceReadPlatformService readPlatformService;
+    private final DefaultToApiJsonSerializer<TenantDataSourceData> toApiJsonSerializer;
+    private final ApiRequestParameterHelper apiRequestParameterHelper;
+    private final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService;
+
+    @Autowired
+    public TenantDataSourceApiResource(final PlatformSecurityContext context,
+            final TenantDataSourceReadPlatformService readPlatformService,
+            final DefaultToApiJsonSerializer<TenantDataSourceData> toApiJsonSerializer,
+            final ApiRequestParameterHelper apiRequestParameterHelper,
+            final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService) {
+        this.context = context;
+        this.readPlatformService = readPlatformService;
+        this.toApiJsonSerializer = toApiJsonSerializer;
+        this.apiRequestParameterHelper = apiRequestParameterHelper;
+        this.commandsSourceWritePlatformService = commandsSourceWritePlatformService;
+    }
+
+    @GET
+    public String retrieveDataSource(@Context final UriInfo uriInfo) {
+
+        this.context.authenticatedUser().validateHasReadPermission(TenantDataSourceApiConstants.RESOURCE_NAME);
+
+        final TenantDataSourceData dataSource = this.readPlatformService.retrieveCurrentTenantDataSource();
+
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.toApiJsonSerializer.serialize(settings, dataSource, this.RESPONSE_DATA_PARAMETERS);
+    }
+
+    @POST
+    public String handleCommands(@QueryParam(TenantDataSourceApiConstants.COMMAND) final String commandParam,
+            final String apiRequestBodyAsJson) {
+
+        CommandWrapper commandRequest = null;
+        if (is(commandParam, TenantDataSourceApiConstants.COMMAND_RECONFIGURE)) {
+            commandRequest = new CommandWrapperBuilder().reconfigureDataSource().withJson(apiRequestBodyAsJson).build();
+        } else if (is(commandParam, TenantDataSourceApiConstants.COMMAND_EVICT)) {
+            commandRequest = new CommandWrapperBuilder().evictDataSource().withJson(apiRequestBodyAsJson).build();
+        } else {
+            throw new UnrecognizedQueryParamException(TenantDataSourceApiConstants.COMMAND, commandParam);
+        }
+
+        final CommandProcessingResult result = this.commandsSourceWritePlatformService.logCommandSource(commandRequest);
+
+        return this.toApiJsonSerializer.serialize(result);
+    }
+
+    private boolean is(final String commandParam, final String commandValue) {
+        return commandParam != null && commandParam.trim().equalsIgnoreCase(commandValue);
+    }
+}
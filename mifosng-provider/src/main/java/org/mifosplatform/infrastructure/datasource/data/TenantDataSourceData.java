@@ -0,0 +1,71 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.datasource.data;
+
+/**
+ * Immutable data object representing the state of a tenant's connection pool.
+ */
+public class TenantDataSourceData {
+
+    @SuppressWarnings("unused")
+    private final String tenantIdentifier;
+    @SuppressWarnings("unused")
+    private final String poolName;
+    @SuppressWarnings("unused")
+    private final boolean initialized;
+    @SuppressWarnings("unused")
+    private final int maxActive;
+    @SuppressWarnings("unused")
+    private final int minIdle;
+    @SuppressWarnings("unused")
+    private final int maxIdle;
+    @SuppressWarnings("unused")
+    private final int size;
+    @SuppressWarnings("unused")
+    private final int active;
+    @SuppressWarnings("unused")
+    private final int idle;
+    @SuppressWarnings("unused")
+    private final int waiting;
+    @SuppressWarnings("unused")
+    private final long borrowCount;
+    @SuppressWarnings("unused")
+    private final long totalWaitMillis;
+    @SuppressWarnings("unused")
+    private final long maxWaitMillis;
+    @SuppressWarnings("unused")
+    private final long timeoutCount;
+
+    public static TenantDataSourceData notInitialized(final String tenantIdentifier) {
+        return new TenantDataSourceData(tenantIdentifier, null, false, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    public static TenantDataSourceData instance(final String tenantIdentifier, final String poolName, final int maxActive,
+            final int minIdle, final int maxIdle, final int size, final int active, final int idle, final int waiting,
+            final long borrowCount, final long totalWaitMillis, final long maxWaitMillis, final long timeoutCount) {
+        return new TenantDataSourceData(tenantIdentifier, poolName, true, maxActive, minIdle, maxIdle, size, active, idle, waiting,
+                borrowCount, totalWaitMillis, maxWaitMillis, timeoutCount);
+    }
+
+    private TenantDataSourceData(final String tenantIdentifier, final String poolName, final boolean initialized, final int maxActive,
+            final int minIdle, final int maxIdle, final int size, final int active, final int idle, final int waiting,
+            final long borrowCount, final long totalWaitMillis, final long maxWaitMillis, final long timeoutCount) {
+        this.tenantIdentifier = tenantIdentifier;
+        this.poolName = poolName;
+        this.initialized = initialized;
+        this.maxActive = maxActive;
+        this.minIdle = minIdle;
+        this.maxIdle = maxIdle;
+        this.size = size;
+        this.active = active;
+        this.idle = idle;
+        this.waiting = waiting;
+        this.borrowCount = borrowCount;
+        this.totalWaitMillis = totalWaitMillis;
+        this.maxWaitMillis = maxWaitMillis;
+        this.timeoutCount = timeoutCount;
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.datasource.service;
+
+import org.apache.tomcat.jdbc.pool.ConnectionPool;
+import org.apache.tomcat.jdbc.pool.PoolConfiguration;
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.core.service.MeteredTomcatJdbcDataSource;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.mifosplatform.infrastructure.core.service.TomcatJdbcDataSourcePerTenantService;
+import org.mifosplatform.infrastructure.datasource.data.TenantDataSourceData;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class TenantDataSourceReadPlatformServiceImpl implements TenantDataSourceReadPlatformService {
+
+    private final TomcatJdbcDataSourcePerTenantService dataSourcePerTenantService;
+
+    @Autowired
+    public TenantDataSourceReadPlatformServiceImpl(final TomcatJdbcDataSourcePerTenantService dataSourcePerTenantService) {
+        this.dataSourcePerTenantService = dataSourcePerTenantService;
+    }
+
+    @Override
+    public TenantDataSourceData retrieveCurrentTenantDataSource() {
+
+        final MifosPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+
+        final MeteredTomcatJdbcDataSource dataSource = this.dataSourcePerTenantService.retrieveDataSourceFor(tenant.getId());
+        if (dataSource == null) { return TenantDataSourceData.notInitialized(tenant.getTenantIdentifier()); }
+
+        final ConnectionPool pool = dataSource.getPool();
+        if (pool == null) { return TenantDataSourceData.notInitialized(tenant.getTenantIdentifier()); }
+
+        final PoolConfiguration poolProperties = dataSource.getPoolProperties();
+
+        return TenantDataSourceData.instance(tenant.getTenantIdentifier(), poolProperties.getName(), poolProperties.getMaxActive(),
+                poolProperties.getMinIdle(), poolProperties.getMaxIdle(), pool.getSize(), pool.getActive(), pool.getIdle(),
+                pool.getWaitCount(), dataSource.getBorrowCount(), dataSource.getTotalWaitMillis(), dataSource.getMaxWaitMillis(),
+                dataSource.getTimeoutCount());
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.datasource.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.mifosplatform.infrastructure.core.service.TomcatJdbcDataSourcePerTenantService;
+import org.mifosplatform.infrastructure.security.service.TenantDetailsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Applies changes to the <code>tenants</code> table to the connection pool of
+ * the current tenant without a restart.
+ */
+@Service
+public class TenantDataSourceWritePlatformServiceImpl implements TenantDataSourceWritePlatformService {
+
+    private final TomcatJdbcDataSourcePerTenantService dataSourcePerTenantService;
+    private final TenantDetailsService tenantDetailsService;
+
+    @Autowired
+    public TenantDataSourceWritePlatformServiceImpl(final TomcatJdbcDataSourcePerTenantService dataSourcePerTenantService,
+            final TenantDetailsService tenantDetailsService) {
+        this.dataSourcePerTenantService = dataSourcePerTenantService;
+        this.tenantDetailsService = tenantDetailsService;
+    }
+
+    @Override
+    public Map<String, Object> reconfigureCurrentTenantDataSource() {
+
+        final MifosPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+
+        // refresh the cached tenant details first so pools created later by
+        // other requests of the tenant use the same settings
+        final MifosPlatformTenant reloadedTenant = this.tenantDetailsService.reloadTenantById(tenant.getTenantIdentifier());
+        this.dataSourcePerTenantService.reconfigure(reloadedTenant);
+
+        final Map<String, Object> changes = new LinkedHashMap<>(7);
+        changes.put("maxActive", reloadedTenant.getMaxActive());
+        changes.put("minIdle", reloadedTenant.getMinIdle());
+        changes.put("maxIdle", reloadedTenant.getMaxIdle());
+        changes.put("initialSize", reloadedTenant.getInitialSize());
+        changes.put("suspectTimeout", reloadedTenant.getSuspectTimeout());
+        changes.put("timeBetweenEvictionRunsMillis", reloadedTenant.getTimeBetweenEvictionRunsMillis());
+        changes.put("minEvictableIdleTimeMillis", reloadedTenant.getMinEvictableIdleTimeMillis());
+        return changes;
+    }
+
+    @Override
+    public Map<String, Object> evictCurrentTenantDataSource() {
+
+        final MifosPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+
+        final boolean evicted = this.dataSourcePerTenantService.evict(tenant.getId());
+
+        final Map<String, Object> changes = new LinkedHashMap<>(1);
+        changes.put("evicted", evicted);
+        return changes;
+    }
+}
@@ -54,6 +54,11 @@ public class HookApiConstants {
                     templateIdParamName, isActiveParamName, configParamName,
                     eventsParamName, templateNameParamName));
 
+    public static final Set<String> DELIVERY_RESPONSE_DATA_PARAMETERS = new HashSet<>(
+            Arrays.asList("id", "hookId", entityNameParamName,
+                    actionNameParamName, "payload", "status", "attempts",
+                    "nextAttemptTime", "lastError", "createdDate"));
+
     public static final Set<String> UPDATE_REQUEST_DATA_PARAMETERS = new HashSet<>(
             Arrays.asList(nameParamName, displayNameParamName,
                     templateIdParamName, isActiveParamName, configParamName,
@@ -5,6 +5,7 @@
  */
 package org.mifosplatform.infrastructure.hooks.api;
 
+import static org.mifosplatform.infrastructure.hooks.api.HookApiConstants.DELIVERY_RESPONSE_DATA_PARAMETERS;
 import static org.mifosplatform.infrastructure.hooks.api.HookApiConstants.HOOK_RESOURCE_NAME;
 import static org.mifosplatform.infrastructure.hooks.api.HookApiConstants.RESPONSE_DATA_PARAMETERS;
 
@@ -18,6 +19,7 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.UriInfo;
@@ -27,9 +29,12 @@ import org.mifosplatform.commands.service.CommandWrapperBuilder;
 import org.mifosplatform.commands.service.PortfolioCommandSourceWritePlatformService;
 import org.mifosplatform.infrastructure.core.api.ApiRequestParameterHelper;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
+import org.mifosplatform.infrastructure.core.exception.UnrecognizedQueryParamException;
 import org.mifosplatform.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
 import org.mifosplatform.infrastructure.core.serialization.DefaultToApiJsonSerializer;
 import org.mifosplatform.infrastructure.hooks.data.HookData;
+import org.mifosplatform.infrastructure.hooks.data.HookDeliveryData;
+import org.mifosplatform.infrastructure.hooks.domain.HookDeliveryStatus;
 import org.mifosplatform.infrastructure.hooks.service.HookReadPlatformService;
 import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -46,6 +51,7 @@ public class HookApiResource {
 	private final PlatformSecurityContext context;
 	private final HookReadPlatformService readPlatformService;
 	private final DefaultToApiJsonSerializer<HookData> toApiJsonSerializer;
+	private final DefaultToApiJsonSerializer<HookDeliveryData> deliveryToApiJsonSerializer;
 	private final ApiRequestParameterHelper apiRequestParameterHelper;
 	private final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService;
 
@@ -54,11 +60,13 @@ public class HookApiResource {
 			final PlatformSecurityContext context,
 			final HookReadPlatformService readPlatformService,
 			final DefaultToApiJsonSerializer<HookData> toApiJsonSerializer,
+			final DefaultToApiJsonSerializer<HookDeliveryData> deliveryToApiJsonSerializer,
 			final ApiRequestParameterHelper apiRequestParameterHelper,
 			final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService) {
 		this.context = context;
 		this.readPlatformService = readPlatformService;
 		this.toApiJsonSerializer = toApiJsonSerializer;
+		this.deliveryToApiJsonSerializer = deliveryToApiJsonSerializer;
 		this.apiRequestParameterHelper = apiRequestParameterHelper;
 		this.commandsSourceWritePlatformService = commandsSourceWritePlatformService;
 	}
@@ -101,6 +109,36 @@ public class HookApiResource {
 				RESPONSE_DATA_PARAMETERS);
 	}
 
+	@GET
+	@Path("{hookId}/deliveries")
+	public String retrieveDeliveries(@PathParam("hookId") final Long hookId,
+			@QueryParam("status") final String status,
+			@Context final UriInfo uriInfo) {
+
+		this.context.authenticatedUser().validateHasReadPermission(
+				HOOK_RESOURCE_NAME);
+
+		HookDeliveryStatus deliveryStatus = null;
+		if (status != null) {
+			if (status.equalsIgnoreCase("pending")) {
+				deliveryStatus = HookDeliveryStatus.PENDING;
+			} else if (status.equalsIgnoreCase("dead")) {
+				deliveryStatus = HookDeliveryStatus.DEAD;
+			} else {
+				throw new UnrecognizedQueryParamException("status", status,
+						"pending", "dead");
+			}
+		}
+
+		final Collection<HookDeliveryData> deliveries = this.readPlatformService
+				.retrieveDeliveries(hookId, deliveryStatus);
+
+		final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper
+				.process(uriInfo.getQueryParameters());
+		return this.deliveryToApiJsonSerializer.serialize(settings,
+				deliveries, DELIVERY_RESPONSE_DATA_PARAMETERS);
+	}
+
 	@GET
 	@Path("template")
 	public String template(@Context final UriInfo uriInfo) {
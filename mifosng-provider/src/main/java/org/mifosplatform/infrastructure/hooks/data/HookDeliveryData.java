@@ -0,0 +1,63 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.hooks.data;
+
+import java.io.Serializable;
+
+import org.joda.time.DateTime;
+import org.mifosplatform.infrastructure.core.data.EnumOptionData;
+
+/**
+ * An event of a hook that is waiting in the outbox, either to be delivered or,
+ * once it has used up its attempts, as a dead letter.
+ */
+public class HookDeliveryData implements Serializable {
+
+    private final Long id;
+    private final Long hookId;
+    private final String entityName;
+    private final String actionName;
+    private final String payload;
+    private final EnumOptionData status;
+    private final Integer attempts;
+    private final DateTime nextAttemptTime;
+    private final String lastError;
+    private final DateTime createdDate;
+
+    public static HookDeliveryData instance(final Long id, final Long hookId, final String entityName, final String actionName,
+            final String payload, final EnumOptionData status, final Integer attempts, final DateTime nextAttemptTime,
+            final String lastError, final DateTime createdDate) {
+        return new HookDeliveryData(id, hookId, entityName, actionName, payload, status, attempts, nextAttemptTime, lastError,
+                createdDate);
+    }
+
+    private HookDeliveryData(final Long id, final Long hookId, final String entityName, final String actionName, final String payload,
+            final EnumOptionData status, final Integer attempts, final DateTime nextAttemptTime, final String lastError,
+            final DateTime createdDate) {
+        this.id = id;
+        this.hookId = hookId;
+        this.entityName = entityName;
+        this.actionName = actionName;
+        this.payload = payload;
+        this.status = status;
+        this.attempts = attempts;
+        this.nextAttemptTime = nextAttemptTime;
+        this.lastError = lastError;
+        this.createdDate = createdDate;
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public Long getHookId() {
+        return this.hookId;
+    }
+
+    public EnumOptionData getStatus() {
+        return this.status;
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.hooks.domain;
+
+import org.mifosplatform.infrastructure.core.data.EnumOptionData;
+
+/**
+ * Status of an event in the <code>m_hook_delivery</code> outbox. Delivered
+ * events are removed from the outbox, so only pending events and dead letters
+ * have a status.
+ */
+public enum HookDeliveryStatus {
+
+    PENDING(100, "hookDeliveryStatus.pending", "Pending"), //
+    DEAD(200, "hookDeliveryStatus.dead", "Dead");
+
+    private final Integer value;
+    private final String code;
+    private final String description;
+
+    private HookDeliveryStatus(final Integer value, final String code, final String description) {
+        this.value = value;
+        this.code = code;
+        this.description = description;
+    }
+
+    public Integer getValue() {
+        return this.value;
+    }
+
+    public String getCode() {
+        return this.code;
+    }
+
+    public EnumOptionData toEnumOptionData() {
+        return new EnumOptionData(this.value.longValue(), this.code, this.description);
+    }
+
+    public static HookDeliveryStatus fromInt(final Integer statusValue) {
+        HookDeliveryStatus status = null;
+        switch (statusValue) {
+            case 100:
+                status = HookDeliveryStatus.PENDING;
+            break;
+            case 200:
+                status = HookDeliveryStatus.DEAD;
+            break;
+        }
+        return status;
+    }
+}
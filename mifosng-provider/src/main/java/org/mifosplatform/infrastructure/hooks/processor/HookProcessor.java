@@ -10,7 +10,19 @@ import org.mifosplatform.useradministration.domain.AppUser;
 
 public interface HookProcessor {
 
+	/**
+	 * Delivers an event to the receiver of the hook and returns once the
+	 * receiver has accepted it; a failed delivery is thrown so that it can
+	 * be retried.
+	 */
 	void process(Hook hook, AppUser appUser, String payload, String entityName,
 			String actionName, String tenantIdentifier, String authToken);
 
+	/**
+	 * Whether delivering calls back into the platform with the auth token of
+	 * the command that raised the event. The token is only held in memory by
+	 * the node that stored the event, so only that node delivers it.
+	 */
+	boolean requiresAuthToken();
+
 }
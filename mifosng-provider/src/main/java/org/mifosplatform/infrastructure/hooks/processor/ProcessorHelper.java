@@ -8,6 +8,9 @@ package org.mifosplatform.infrastructure.hooks.processor;
 import java.security.SecureRandom;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
@@ -15,22 +18,21 @@ import javax.net.ssl.SSLSession;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import retrofit.Callback;
 import retrofit.RestAdapter;
-import retrofit.RetrofitError;
 import retrofit.client.OkClient;
-import retrofit.client.Response;
 
 import com.squareup.okhttp.OkHttpClient;
 
 @SuppressWarnings("unused")
 public class ProcessorHelper {
 
-	private final static Logger logger = LoggerFactory
-			.getLogger(ProcessorHelper.class);
+	private final static int CONNECT_TIMEOUT_SECONDS = 10;
+
+	private final static int READ_TIMEOUT_SECONDS = 30;
+
+	private final static OkHttpClient sharedClient = createClient();
+
+	private final static ConcurrentMap<String, WebHookService> services = new ConcurrentHashMap<>();
 
 	@SuppressWarnings("null")
 	public static OkHttpClient configureClient(final OkHttpClient client) {
@@ -77,34 +79,31 @@ public class ProcessorHelper {
 
 	public static OkHttpClient createClient() {
 		final OkHttpClient client = new OkHttpClient();
+		client.setConnectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		client.setReadTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS);
 		return configureClient(client);
 	}
 
-	@SuppressWarnings("rawtypes")
-	public static Callback createCallback(final String url) {
-
-		return new Callback() {
-			@Override
-			public void success(final Object o, final Response response) {
-				logger.info("URL : " + url + "\tStatus : "
-						+ response.getStatus());
+	/**
+	 * Returns the service of an endpoint, created on first use on top of one
+	 * shared client, so deliveries to the same endpoint reuse its pooled
+	 * connections and the SSL context is only set up once.
+	 */
+	public static WebHookService getWebHookService(final String url) {
+
+		WebHookService service = services.get(url);
+		if (service == null) {
+			final RestAdapter restAdapter = new RestAdapter.Builder()
+					.setEndpoint(url).setClient(new OkClient(sharedClient))
+					.build();
+			final WebHookService created = restAdapter
+					.create(WebHookService.class);
+			service = services.putIfAbsent(url, created);
+			if (service == null) {
+				service = created;
 			}
-
-			@Override
-			public void failure(final RetrofitError retrofitError) {
-				logger.info(retrofitError.getMessage());
-			}
-		};
-	}
-
-	public static WebHookService createWebHookService(final String url) {
-
-		final OkHttpClient client = ProcessorHelper.createClient();
-
-		final RestAdapter restAdapter = new RestAdapter.Builder()
-				.setEndpoint(url).setClient(new OkClient(client)).build();
-
-		return restAdapter.create(WebHookService.class);
+		}
+		return service;
 	}
 
-}
\ No newline at end of file
+}
@@ -19,7 +19,6 @@ import org.mifosplatform.template.service.TemplateMergeService;
 import org.mifosplatform.useradministration.domain.AppUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import retrofit.Callback;
 
 import java.io.IOException;
 import java.util.HashMap;
@@ -30,6 +29,10 @@ import static org.mifosplatform.infrastructure.hooks.api.HookApiConstants.apiKey
 @Service
 public class TwilioHookProcessor implements HookProcessor {
 
+    private final static Gson gson = new Gson();
+
+    private final static JsonParser jsonParser = new JsonParser();
+
     private final HookConfigurationRepository hookConfigurationRepository;
     private final TemplateMergeService templateMergeService;
     private final ClientRepository clientRepository;
@@ -58,18 +61,22 @@ public class TwilioHookProcessor implements HookProcessor {
                 tenantIdentifier, authToken, hook);
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * The token registers the platform with the SMS bridge and is used to
+     * read the data of user generated templates.
+     */
+    @Override
+    public boolean requiresAuthToken() {
+        return true;
+    }
+
     private void sendRequest(final SmsProviderData smsProviderData,
             final String payload, String entityName, String actionName,
             final String tenantIdentifier, final String authToken,
             final Hook hook) {
 
         final WebHookService service = ProcessorHelper
-                .createWebHookService(smsProviderData.getUrl());
-
-        @SuppressWarnings("rawtypes")
-        final Callback callback = ProcessorHelper
-                .createCallback(smsProviderData.getUrl());
+                .getWebHookService(smsProviderData.getUrl());
 
         String apiKey = this.hookConfigurationRepository
                 .findOneByHookIdAndFieldName(hook.getId(), apiKeyName);
@@ -94,10 +101,10 @@ public class TwilioHookProcessor implements HookProcessor {
                     return;
                 }
             } else {
-                json = new JsonParser().parse(payload).getAsJsonObject();
+                json = jsonParser.parse(payload).getAsJsonObject();
             }
             service.sendSmsBridgeRequest(entityName, actionName,
-                    tenantIdentifier, apiKey, json, callback);
+                    tenantIdentifier, apiKey, json);
         }
 
     }
@@ -123,8 +130,7 @@ public class TwilioHookProcessor implements HookProcessor {
                     final Map<String, String> jsonMap = new HashMap<>();
                     jsonMap.put("mobileNo", mobileNo);
                     jsonMap.put("message", compiledMessage);
-                    final String jsonString = new Gson().toJson(jsonMap);
-                    json = new JsonParser().parse(jsonString).getAsJsonObject();
+                    json = gson.toJsonTree(jsonMap).getAsJsonObject();
                 }
             }
         } catch (IOException e) {
@@ -17,8 +17,6 @@ import org.mifosplatform.infrastructure.hooks.domain.HookConfiguration;
 import org.mifosplatform.useradministration.domain.AppUser;
 import org.springframework.stereotype.Service;
 
-import retrofit.Callback;
-
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -26,6 +24,10 @@ import com.google.gson.JsonParser;
 @Service
 public class WebHookProcessor implements HookProcessor {
 
+	private final static Gson gson = new Gson();
+
+	private final static JsonParser jsonParser = new JsonParser();
+
 	@Override
 	public void process(final Hook hook,
 			@SuppressWarnings("unused") final AppUser appUser,
@@ -53,6 +55,11 @@ public class WebHookProcessor implements HookProcessor {
 
 	}
 
+	@Override
+	public boolean requiresAuthToken() {
+		return false;
+	}
+
 	@SuppressWarnings("unchecked")
 	private void sendRequest(final String url, final String contentType,
 			final String payload, final String entityName,
@@ -60,23 +67,19 @@ public class WebHookProcessor implements HookProcessor {
 			@SuppressWarnings("unused") final String authToken) {
 
 		final String mifosEndpointUrl = System.getProperty("baseUrl");
-		final WebHookService service = ProcessorHelper
-				.createWebHookService(url);
-
-		@SuppressWarnings("rawtypes")
-		final Callback callback = ProcessorHelper.createCallback(url);
+		final WebHookService service = ProcessorHelper.getWebHookService(url);
 
 		if (contentType.equalsIgnoreCase("json")
 				|| contentType.contains("json")) {
-			final JsonObject json = new JsonParser().parse(payload)
+			final JsonObject json = jsonParser.parse(payload)
 					.getAsJsonObject();
 			service.sendJsonRequest(entityName, actionName, tenantIdentifier,
-					mifosEndpointUrl, json, callback);
+					mifosEndpointUrl, json);
 		} else {
-			Map<String, String> map = new HashMap<>();
-			map = new Gson().fromJson(payload, map.getClass());
+			final Map<String, String> map = gson.fromJson(payload,
+					HashMap.class);
 			service.sendFormRequest(entityName, actionName, tenantIdentifier,
-					mifosEndpointUrl, map, callback);
+					mifosEndpointUrl, map);
 		}
 
 	}
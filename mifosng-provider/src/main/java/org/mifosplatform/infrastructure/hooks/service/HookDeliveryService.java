@@ -0,0 +1,24 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.hooks.service;
+
+import org.mifosplatform.infrastructure.hooks.event.HookEvent;
+
+public interface HookDeliveryService {
+
+    /**
+     * Stores the event in the outbox for each active hook listening to it, as
+     * part of the current transaction, and hands it to the delivery workers
+     * once the transaction has committed.
+     */
+    void saveForDelivery(HookEvent event);
+
+    /**
+     * Hands the pending events that are due and not being delivered to the
+     * delivery workers, e.g. after a restart or when the workers were busy.
+     */
+    void deliverDueEvents();
+}
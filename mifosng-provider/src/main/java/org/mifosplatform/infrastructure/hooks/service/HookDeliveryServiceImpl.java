@@ -0,0 +1,556 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.hooks.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.lang.StringUtils;
+import org.mifosplatform.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.mifosplatform.infrastructure.core.domain.JdbcSupport;
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.core.service.RoutingDataSource;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.mifosplatform.infrastructure.hooks.domain.Hook;
+import org.mifosplatform.infrastructure.hooks.domain.HookDeliveryStatus;
+import org.mifosplatform.infrastructure.hooks.domain.HookRepository;
+import org.mifosplatform.infrastructure.hooks.event.HookEvent;
+import org.mifosplatform.infrastructure.hooks.event.HookEventSource;
+import org.mifosplatform.infrastructure.hooks.processor.HookProcessor;
+import org.mifosplatform.infrastructure.hooks.processor.HookProcessorProvider;
+import org.mifosplatform.infrastructure.jobs.annotation.CronTarget;
+import org.mifosplatform.infrastructure.jobs.service.JobName;
+import org.mifosplatform.useradministration.domain.AppUser;
+import org.mifosplatform.useradministration.domain.AppUserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Delivers hook events through the <code>m_hook_delivery</code> outbox.
+ *
+ * An event is stored for each hook listening to it in the transaction of the
+ * command that raised it, and handed to a bounded pool of delivery workers
+ * after that transaction has committed, so a command never waits on a
+ * receiver and the event is not lost when the receiver is down or the workers
+ * are busy.
+ *
+ * Only the allowed number of deliveries to a hook are in progress on this node
+ * at a time. Further events of the hook are parked in memory, without reading
+ * them, and delivered by the worker finishing a delivery to the hook. A worker
+ * claims an event by leasing its row, so an event is delivered by one worker
+ * at a time across nodes. A delivered event is removed from the outbox. A
+ * failed delivery is retried with exponential backoff until the configured
+ * number of attempts is used up, after which the event stays in the outbox as
+ * a dead letter.
+ *
+ * Hooks whose processor calls back into the platform need the auth token of
+ * the command that raised the event. It is a credential, so it is only held in
+ * memory by the node that stored the event, until the event is delivered or
+ * becomes a dead letter. The job leaves such an event in the outbox on a node
+ * without its token, for the node holding it, and gives it up once it has
+ * waited {@link #AUTH_TOKEN_WAIT_HOURS} hours, e.g. because that node went
+ * down.
+ *
+ * Events the workers did not pick up, e.g. because the pool was full or the
+ * node went down, are handed to them again by the
+ * {@link JobName#DELIVER_HOOK_EVENTS} job once due and no longer leased.
+ */
+@Service
+public class HookDeliveryServiceImpl implements HookDeliveryService {
+
+    private final static Logger logger = LoggerFactory.getLogger(HookDeliveryServiceImpl.class);
+
+    /**
+     * How long a worker holds an event while delivering it; longer than the
+     * connect and read timeouts of the hook clients together.
+     */
+    private final static int LEASE_SECONDS = 120;
+
+    private final static int FIRST_RETRY_DELAY_SECONDS = 30;
+
+    private final static int MAX_RETRY_DELAY_SECONDS = 3600;
+
+    private final static int DUE_EVENTS_PER_RUN = 500;
+
+    private final static int AUTH_TOKEN_WAIT_HOURS = 24;
+
+    private final static int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HookReadPlatformService hookReadPlatformService;
+    private final HookRepository hookRepository;
+    private final HookProcessorProvider hookProcessorProvider;
+    private final AppUserRepository appUserRepository;
+    private final ConfigurationDomainService configurationDomainService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxConcurrentDeliveriesPerHook;
+    private final ExecutorService deliveryExecutor;
+    private final ScheduledExecutorService retryScheduler;
+    private final ConcurrentMap<String, HookDeliveries> deliveriesByHook = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> authTokensByDelivery = new ConcurrentHashMap<>();
+
+    private final RowMapper<PendingDelivery> pendingDeliveryMapper = new RowMapper<PendingDelivery>() {
+
+        @Override
+        public PendingDelivery mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+            return new PendingDelivery(rs.getLong("id"), rs.getLong("hookId"), rs.getString("entityName"), rs.getString("actionName"),
+                    rs.getString("payload"), JdbcSupport.getLong(rs, "appUserId"), rs.getInt("attempts"));
+        }
+    };
+
+    @Autowired
+    public HookDeliveryServiceImpl(final RoutingDataSource dataSource, final HookReadPlatformService hookReadPlatformService,
+            final HookRepository hookRepository, final HookProcessorProvider hookProcessorProvider,
+            final AppUserRepository appUserRepository, final ConfigurationDomainService configurationDomainService,
+            final TransactionTemplate transactionTemplate, @Value("${mifos.hooks.delivery.threads:4}") final int threads,
+            @Value("${mifos.hooks.delivery.queueCapacity:1000}") final int queueCapacity,
+            @Value("${mifos.hooks.delivery.maxConcurrentPerHook:2}") final int maxConcurrentDeliveriesPerHook) {
+        this(new JdbcTemplate(dataSource), hookReadPlatformService, hookRepository, hookProcessorProvider, appUserRepository,
+                configurationDomainService, transactionTemplate, new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                        new ArrayBlockingQueue<Runnable>(queueCapacity), new NamedDaemonThreadFactory("hook-delivery-"),
+                        new ThreadPoolExecutor.AbortPolicy()), Executors.newSingleThreadScheduledExecutor(new NamedDaemonThreadFactory(
+                        "hook-delivery-retry-")), maxConcurrentDeliveriesPerHook);
+    }
+
+    HookDeliveryServiceImpl(final JdbcTemplate jdbcTemplate, final HookReadPlatformService hookReadPlatformService,
+            final HookRepository hookRepository, final HookProcessorProvider hookProcessorProvider,
+            final AppUserRepository appUserRepository, final ConfigurationDomainService configurationDomainService,
+            final TransactionTemplate transactionTemplate, final ExecutorService deliveryExecutor,
+            final ScheduledExecutorService retryScheduler, final int maxConcurrentDeliveriesPerHook) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.hookReadPlatformService = hookReadPlatformService;
+        this.hookRepository = hookRepository;
+        this.hookProcessorProvider = hookProcessorProvider;
+        this.appUserRepository = appUserRepository;
+        this.configurationDomainService = configurationDomainService;
+        this.transactionTemplate = transactionTemplate;
+        this.deliveryExecutor = deliveryExecutor;
+        this.retryScheduler = retryScheduler;
+        this.maxConcurrentDeliveriesPerHook = maxConcurrentDeliveriesPerHook;
+    }
+
+    @PreDestroy
+    public void shutdownDeliveryExecutors() {
+        this.retryScheduler.shutdownNow();
+        this.deliveryExecutor.shutdownNow();
+    }
+
+    @Override
+    public void saveForDelivery(final HookEvent event) {
+        final HookEventSource source = event.getSource();
+        final List<Hook> hooks = this.hookReadPlatformService.retrieveHooksByEvent(source.getEntityName(), source.getActionName());
+        if (hooks.isEmpty()) { return; }
+
+        final Long appUserId = event.getAppUser() == null ? null : event.getAppUser().getId();
+        final MifosPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        final List<DeliveryTask> tasks = new ArrayList<>(hooks.size());
+        final List<Long> deliveryIdsNeedingAuthToken = new ArrayList<>();
+        for (final Hook hook : hooks) {
+            final Long deliveryId = insertDelivery(hook.getId(), source.getEntityName(), source.getActionName(), event.getPayload(),
+                    appUserId);
+            tasks.add(new DeliveryTask(deliveryId, hook.getId(), tenant));
+            final HookProcessor processor = this.hookProcessorProvider.getProcessor(hook);
+            if (processor != null && processor.requiresAuthToken()) {
+                deliveryIdsNeedingAuthToken.add(deliveryId);
+            }
+        }
+
+        final String authToken = event.getAuthToken();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCommit() {
+                    holdAuthToken(tenant, deliveryIdsNeedingAuthToken, authToken);
+                    submitAll(tasks);
+                }
+            });
+        } else {
+            holdAuthToken(tenant, deliveryIdsNeedingAuthToken, authToken);
+            submitAll(tasks);
+        }
+    }
+
+    @Override
+    @CronTarget(jobName = JobName.DELIVER_HOOK_EVENTS)
+    public void deliverDueEvents() {
+        final MifosPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        final List<DeliveryTask> tasks = this.jdbcTemplate.query("select hd.id as id, hd.hook_id as hookId from m_hook_delivery hd"
+                + " where hd.status_enum = ? and hd.next_attempt_time <= now() and (hd.locked_until is null or hd.locked_until < now())"
+                + " order by hd.next_attempt_time, hd.id limit " + DUE_EVENTS_PER_RUN, new RowMapper<DeliveryTask>() {
+
+            @Override
+            public DeliveryTask mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+                return new DeliveryTask(rs.getLong("id"), rs.getLong("hookId"), tenant);
+            }
+        }, HookDeliveryStatus.PENDING.getValue());
+        submitAll(tasks);
+    }
+
+    private Long insertDelivery(final Long hookId, final String entityName, final String actionName, final String payload,
+            final Long appUserId) {
+        final String sql = "insert into m_hook_delivery (hook_id, entity_name, action_name, payload, app_user_id, status_enum,"
+                + " attempts, next_attempt_time, created_date) values (?, ?, ?, ?, ?, ?, 0, now(), now())";
+        final KeyHolder keyHolder = new GeneratedKeyHolder();
+        this.jdbcTemplate.update(new PreparedStatementCreator() {
+
+            @Override
+            public PreparedStatement createPreparedStatement(final Connection connection) throws SQLException {
+                final PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+                ps.setLong(1, hookId);
+                ps.setString(2, entityName);
+                ps.setString(3, actionName);
+                ps.setString(4, payload);
+                ps.setObject(5, appUserId);
+                ps.setInt(6, HookDeliveryStatus.PENDING.getValue());
+                return ps;
+            }
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    private void holdAuthToken(final MifosPlatformTenant tenant, final List<Long> deliveryIds, final String authToken) {
+        if (authToken == null) { return; }
+        for (final Long deliveryId : deliveryIds) {
+            this.authTokensByDelivery.put(authTokenKey(tenant, deliveryId), authToken);
+        }
+    }
+
+    private static String authTokenKey(final MifosPlatformTenant tenant, final Long deliveryId) {
+        return tenant.getTenantIdentifier() + ":" + deliveryId;
+    }
+
+    private void submitAll(final List<DeliveryTask> tasks) {
+        for (final DeliveryTask task : tasks) {
+            if (!submit(task)) {
+                // the rest is picked up by the next run of the job
+                break;
+            }
+        }
+    }
+
+    private boolean submit(final DeliveryTask task) {
+        try {
+            this.deliveryExecutor.execute(task);
+            return true;
+        } catch (final RejectedExecutionException e) {
+            logger.debug("Hook delivery workers are busy, event " + task.deliveryId + " is left for the next run of the job");
+            return false;
+        }
+    }
+
+    private void submitLater(final DeliveryTask task, final long delay, final TimeUnit unit) {
+        try {
+            this.retryScheduler.schedule(new Runnable() {
+
+                @Override
+                public void run() {
+                    submit(task);
+                }
+            }, delay, unit);
+        } catch (final RejectedExecutionException e) {
+            logger.debug("Hook delivery is shutting down, event " + task.deliveryId + " is left for the next run of the job");
+        }
+    }
+
+    /**
+     * Delivers the event unless the hook already has the allowed number of
+     * deliveries in progress, in which case the event is parked until one of
+     * them finishes. The worker then goes on with the parked events of the
+     * hook.
+     */
+    private void deliverOrPark(final DeliveryTask task) {
+        final HookDeliveries hookDeliveries = deliveriesOf(task.tenant.getTenantIdentifier(), task.hookId);
+        if (!hookDeliveries.startOrPark(task)) { return; }
+
+        DeliveryTask next = task;
+        while (next != null) {
+            try {
+                deliver(next);
+            } catch (final RuntimeException e) {
+                logger.error("Delivery of hook event " + next.deliveryId + " failed", e);
+            } finally {
+                next = hookDeliveries.finishAndTakeParked();
+            }
+        }
+    }
+
+    private HookDeliveries deliveriesOf(final String tenantIdentifier, final Long hookId) {
+        final String key = tenantIdentifier + ":" + hookId;
+        HookDeliveries hookDeliveries = this.deliveriesByHook.get(key);
+        if (hookDeliveries == null) {
+            final HookDeliveries created = new HookDeliveries(this.maxConcurrentDeliveriesPerHook);
+            hookDeliveries = this.deliveriesByHook.putIfAbsent(key, created);
+            if (hookDeliveries == null) {
+                hookDeliveries = created;
+            }
+        }
+        return hookDeliveries;
+    }
+
+    private void deliver(final DeliveryTask task) {
+        final String authTokenKey = authTokenKey(task.tenant, task.deliveryId);
+        final PendingDelivery delivery;
+        try {
+            delivery = this.jdbcTemplate.queryForObject("select hd.id as id, hd.hook_id as hookId, hd.entity_name as entityName,"
+                    + " hd.action_name as actionName, hd.payload as payload, hd.app_user_id as appUserId, hd.attempts as attempts"
+                    + " from m_hook_delivery hd where hd.id = ? and hd.status_enum = ?", this.pendingDeliveryMapper, task.deliveryId,
+                    HookDeliveryStatus.PENDING.getValue());
+        } catch (final EmptyResultDataAccessException e) {
+            // delivered by another worker, or its hook was deleted
+            this.authTokensByDelivery.remove(authTokenKey);
+            return;
+        }
+        if (!claim(delivery.id)) { return; }
+
+        final Hook hook = retrieveHook(delivery.hookId);
+        final HookProcessor processor = hook == null ? null : this.hookProcessorProvider.getProcessor(hook);
+        if (processor == null) {
+            markAsDead(delivery, "No processor found for the template of hook " + delivery.hookId);
+            this.authTokensByDelivery.remove(authTokenKey);
+            return;
+        }
+        final String authToken = this.authTokensByDelivery.get(authTokenKey);
+        if (processor.requiresAuthToken() && authToken == null) {
+            leaveForAuthTokenHolder(delivery);
+            return;
+        }
+        final AppUser appUser = delivery.appUserId == null ? null : this.appUserRepository.findOne(delivery.appUserId);
+
+        try {
+            ThreadLocalContextUtil.setAuthToken(authToken);
+            processor.process(hook, appUser, delivery.payload, delivery.entityName, delivery.actionName,
+                    task.tenant.getTenantIdentifier(), authToken);
+        } catch (final RuntimeException e) {
+            logger.info("Delivery of event " + delivery.id + " to hook " + delivery.hookId + " failed: " + e.getMessage());
+            markAsFailed(delivery, task, e);
+            return;
+        } finally {
+            ThreadLocalContextUtil.setAuthToken(null);
+        }
+        this.jdbcTemplate.update("delete from m_hook_delivery where id = ?", delivery.id);
+        this.authTokensByDelivery.remove(authTokenKey);
+    }
+
+    /**
+     * Releases an event whose processor needs an auth token this node does
+     * not hold, without counting an attempt, so that the node holding it
+     * delivers the event. The event is given up once no node can be expected
+     * to hold the token any more.
+     */
+    private void leaveForAuthTokenHolder(final PendingDelivery delivery) {
+        final int givenUp = this.jdbcTemplate.update("update m_hook_delivery set status_enum = ?, last_error = ?, locked_until = null"
+                + " where id = ? and created_date < date_sub(now(), interval ? hour)", HookDeliveryStatus.DEAD.getValue(),
+                "The auth token of the event is no longer held by any node", delivery.id, AUTH_TOKEN_WAIT_HOURS);
+        if (givenUp == 0) {
+            this.jdbcTemplate.update("update m_hook_delivery set next_attempt_time = date_add(now(), interval ? second),"
+                    + " locked_until = null where id = ?", FIRST_RETRY_DELAY_SECONDS, delivery.id);
+        }
+    }
+
+    /**
+     * Leases the event to this worker unless another worker holds it.
+     */
+    private boolean claim(final Long deliveryId) {
+        return this.jdbcTemplate.update("update m_hook_delivery set locked_until = date_add(now(), interval ? second)"
+                + " where id = ? and status_enum = ? and (locked_until is null or locked_until < now())", LEASE_SECONDS, deliveryId,
+                HookDeliveryStatus.PENDING.getValue()) == 1;
+    }
+
+    /**
+     * Loads the hook with its configuration, which is read by the processors
+     * after the transaction has ended.
+     */
+    private Hook retrieveHook(final Long hookId) {
+        return this.transactionTemplate.execute(new TransactionCallback<Hook>() {
+
+            @Override
+            public Hook doInTransaction(@SuppressWarnings("unused") final TransactionStatus status) {
+                final Hook hook = HookDeliveryServiceImpl.this.hookRepository.findOne(hookId);
+                if (hook != null) {
+                    hook.getHookConfig().size();
+                    hook.getHookTemplate().getName();
+                }
+                return hook;
+            }
+        });
+    }
+
+    private void markAsFailed(final PendingDelivery delivery, final DeliveryTask task, final RuntimeException e) {
+        final int attempts = delivery.attempts + 1;
+        final String error = StringUtils.abbreviate(e.getClass().getSimpleName() + ": " + e.getMessage(), MAX_ERROR_LENGTH);
+        if (attempts >= this.configurationDomainService.retrieveHookDeliveryMaxAttempts()) {
+            this.jdbcTemplate.update("update m_hook_delivery set status_enum = ?, attempts = ?, last_error = ?, locked_until = null"
+                    + " where id = ?", HookDeliveryStatus.DEAD.getValue(), attempts, error, delivery.id);
+            this.authTokensByDelivery.remove(authTokenKey(task.tenant, delivery.id));
+            logger.warn("Event " + delivery.id + " of hook " + delivery.hookId + " moved to the dead letters after " + attempts
+                    + " attempts");
+            return;
+        }
+
+        final int retryDelaySeconds = retryDelaySeconds(attempts);
+        this.jdbcTemplate.update("update m_hook_delivery set attempts = ?, last_error = ?,"
+                + " next_attempt_time = date_add(now(), interval ? second), locked_until = null where id = ?", attempts, error,
+                retryDelaySeconds, delivery.id);
+        submitLater(task, retryDelaySeconds, TimeUnit.SECONDS);
+    }
+
+    private void markAsDead(final PendingDelivery delivery, final String error) {
+        this.jdbcTemplate.update("update m_hook_delivery set status_enum = ?, last_error = ?, locked_until = null where id = ?",
+                HookDeliveryStatus.DEAD.getValue(), error, delivery.id);
+    }
+
+    /**
+     * Doubles the delay after each failed attempt, starting from
+     * {@link #FIRST_RETRY_DELAY_SECONDS}, up to
+     * {@link #MAX_RETRY_DELAY_SECONDS}.
+     */
+    private static int retryDelaySeconds(final int attempts) {
+        final int doublings = Math.min(attempts - 1, 30);
+        return (int) Math.min((long) FIRST_RETRY_DELAY_SECONDS << doublings, MAX_RETRY_DELAY_SECONDS);
+    }
+
+    /**
+     * Delivers an event on a worker with the tenant of the command that raised
+     * it, or of the job run that picked it up.
+     */
+    private final class DeliveryTask implements Runnable {
+
+        private final Long deliveryId;
+        private final Long hookId;
+        private final MifosPlatformTenant tenant;
+
+        DeliveryTask(final Long deliveryId, final Long hookId, final MifosPlatformTenant tenant) {
+            this.deliveryId = deliveryId;
+            this.hookId = hookId;
+            this.tenant = tenant;
+        }
+
+        @Override
+        public void run() {
+            try {
+                ThreadLocalContextUtil.setTenant(this.tenant);
+                deliverOrPark(this);
+            } finally {
+                ThreadLocalContextUtil.clearTenant();
+            }
+        }
+    }
+
+    /**
+     * The deliveries to one hook on this node: how many are in progress and
+     * the events parked until one of them finishes, by delivery id so that an
+     * event handed over again by the job is parked once.
+     */
+    private static final class HookDeliveries {
+
+        private final int maxInProgress;
+        private final Map<Long, DeliveryTask> parked = new LinkedHashMap<>();
+        private int inProgress;
+
+        HookDeliveries(final int maxInProgress) {
+            this.maxInProgress = maxInProgress;
+        }
+
+        synchronized boolean startOrPark(final DeliveryTask task) {
+            if (this.inProgress < this.maxInProgress) {
+                this.inProgress++;
+                return true;
+            }
+            this.parked.put(task.deliveryId, task);
+            return false;
+        }
+
+        /**
+         * Finishes a delivery and returns the next parked event, which takes
+         * over its place, if there is one.
+         */
+        synchronized DeliveryTask finishAndTakeParked() {
+            final Iterator<DeliveryTask> parkedTasks = this.parked.values().iterator();
+            if (parkedTasks.hasNext()) {
+                final DeliveryTask next = parkedTasks.next();
+                parkedTasks.remove();
+                return next;
+            }
+            this.inProgress--;
+            return null;
+        }
+    }
+
+    private static final class PendingDelivery {
+
+        private final Long id;
+        private final Long hookId;
+        private final String entityName;
+        private final String actionName;
+        private final String payload;
+        private final Long appUserId;
+        private final int attempts;
+
+        PendingDelivery(final Long id, final Long hookId, final String entityName, final String actionName, final String payload,
+                final Long appUserId, final int attempts) {
+            this.id = id;
+            this.hookId = hookId;
+            this.entityName = entityName;
+            this.actionName = actionName;
+            this.payload = payload;
+            this.appUserId = appUserId;
+            this.attempts = attempts;
+        }
+    }
+
+    private static final class NamedDaemonThreadFactory implements ThreadFactory {
+
+        private final String namePrefix;
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        NamedDaemonThreadFactory(final String namePrefix) {
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, this.namePrefix + this.threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -9,7 +9,9 @@ import java.util.Collection;
 import java.util.List;
 
 import org.mifosplatform.infrastructure.hooks.data.HookData;
+import org.mifosplatform.infrastructure.hooks.data.HookDeliveryData;
 import org.mifosplatform.infrastructure.hooks.domain.Hook;
+import org.mifosplatform.infrastructure.hooks.domain.HookDeliveryStatus;
 
 public interface HookReadPlatformService {
 
@@ -20,4 +22,10 @@ public interface HookReadPlatformService {
     List<Hook> retrieveHooksByEvent(final String actionName, final String entityName);
 
     HookData retrieveNewHookDetails(String templateName);
+
+    /**
+     * Retrieves the events of a hook waiting in the outbox, optionally only
+     * those with the given status, e.g. its dead letters.
+     */
+    Collection<HookDeliveryData> retrieveDeliveries(Long hookId, HookDeliveryStatus status);
 }
@@ -5,11 +5,14 @@
  */
 package org.mifosplatform.infrastructure.hooks.service;
 
+import org.joda.time.DateTime;
 import org.joda.time.LocalDate;
+import org.mifosplatform.infrastructure.core.data.EnumOptionData;
 import org.mifosplatform.infrastructure.core.domain.JdbcSupport;
 import org.mifosplatform.infrastructure.core.service.RoutingDataSource;
 import org.mifosplatform.infrastructure.hooks.data.*;
 import org.mifosplatform.infrastructure.hooks.domain.Hook;
+import org.mifosplatform.infrastructure.hooks.domain.HookDeliveryStatus;
 import org.mifosplatform.infrastructure.hooks.domain.HookRepository;
 import org.mifosplatform.infrastructure.hooks.exception.HookNotFoundException;
 import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
@@ -66,7 +69,7 @@ public class HookReadPlatformServiceImpl implements HookReadPlatformService {
     }
 
     @Override
-    @Cacheable(value = "hooks", key = "T(org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat('HK')")
+    @Cacheable(value = "hooks", key = "T(org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#actionName+':'+#entityName+'HK')")
     public List<Hook> retrieveHooksByEvent(final String actionName,
             final String entityName) {
 
@@ -96,6 +99,23 @@ public class HookReadPlatformServiceImpl implements HookReadPlatformService {
         return HookData.template(templateData, events);
     }
 
+    @Override
+    public Collection<HookDeliveryData> retrieveDeliveries(final Long hookId,
+            final HookDeliveryStatus status) {
+
+        this.context.authenticatedUser();
+        final HookDeliveryMapper rm = new HookDeliveryMapper();
+        if (status == null) {
+            final String sql = "select " + rm.schema()
+                    + " where hd.hook_id = ? order by hd.id";
+            return this.jdbcTemplate.query(sql, rm, new Object[]{hookId});
+        }
+        final String sql = "select " + rm.schema()
+                + " where hd.hook_id = ? and hd.status_enum = ? order by hd.id";
+        return this.jdbcTemplate.query(sql, rm,
+                new Object[]{hookId, status.getValue()});
+    }
+
     private List<Grouping> getTemplateForEvents() {
         final String sql = "select p.grouping, p.entity_name, p.action_name from m_permission p "
                 + " where p.action_name NOT LIKE '%CHECKER%' AND p.action_name NOT LIKE '%READ%' "
@@ -163,6 +183,38 @@ public class HookReadPlatformServiceImpl implements HookReadPlatformService {
         }
     }
 
+    private static final class HookDeliveryMapper
+            implements
+                RowMapper<HookDeliveryData> {
+
+        public String schema() {
+            return " hd.id, hd.hook_id, hd.entity_name, hd.action_name, hd.payload, hd.status_enum,"
+                    + " hd.attempts, hd.next_attempt_time, hd.last_error, hd.created_date from m_hook_delivery hd ";
+        }
+
+        @Override
+        public HookDeliveryData mapRow(final ResultSet rs,
+                @SuppressWarnings("unused") final int rowNum)
+                throws SQLException {
+            final Long id = rs.getLong("id");
+            final Long hookId = rs.getLong("hook_id");
+            final String entityName = rs.getString("entity_name");
+            final String actionName = rs.getString("action_name");
+            final String payload = rs.getString("payload");
+            final EnumOptionData status = HookDeliveryStatus.fromInt(
+                    rs.getInt("status_enum")).toEnumOptionData();
+            final Integer attempts = rs.getInt("attempts");
+            final DateTime nextAttemptTime = JdbcSupport.getDateTime(rs,
+                    "next_attempt_time");
+            final String lastError = rs.getString("last_error");
+            final DateTime createdDate = JdbcSupport.getDateTime(rs,
+                    "created_date");
+            return HookDeliveryData.instance(id, hookId, entityName,
+                    actionName, payload, status, attempts, nextAttemptTime,
+                    lastError, createdDate);
+        }
+    }
+
     private static final class HookEventMapper implements RowMapper<Event> {
 
         public String schema() {
@@ -286,7 +286,7 @@ public class HookWritePlatformServiceJpaRepositoryImpl
             if (conf.getFieldName().equals(payloadURLName)) {
                 try {
                     final WebHookService service = ProcessorHelper
-                            .createWebHookService(fieldValue);
+                            .getWebHookService(fieldValue);
                     service.sendEmptyRequest();
                 } catch (RetrofitError re) {
                     // Swallow error if it's because of method not supported or
@@ -0,0 +1,25 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.jobs.service;
+
+import org.joda.time.LocalDate;
+
+/**
+ * Persists the last entity id fully processed by a chunked batch job so that a
+ * run which crashed or was killed can resume where it stopped.
+ */
+public interface JobCheckpointService {
+
+    /**
+     * Returns the last processed id recorded for the job on the given run
+     * date, or <code>null</code> when there is nothing to resume from.
+     */
+    Long retrieveLastProcessedId(JobName jobName, LocalDate runDate);
+
+    void updateLastProcessedId(JobName jobName, LocalDate runDate, Long lastProcessedId);
+
+    void clearCheckpoint(JobName jobName);
+}
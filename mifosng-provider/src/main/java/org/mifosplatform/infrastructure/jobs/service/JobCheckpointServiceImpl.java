@@ -0,0 +1,49 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.jobs.service;
+
+import java.util.List;
+
+import org.joda.time.LocalDate;
+import org.mifosplatform.infrastructure.core.service.RoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Checkpoints are written outside of any surrounding transaction so that they
+ * survive the failure of the chunk that is processed next.
+ */
+@Service
+public class JobCheckpointServiceImpl implements JobCheckpointService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public JobCheckpointServiceImpl(final RoutingDataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public Long retrieveLastProcessedId(final JobName jobName, final LocalDate runDate) {
+        final String sql = "select jc.last_processed_id from job_checkpoint jc where jc.job_name = ? and jc.run_date = ?";
+        final List<Long> lastProcessedIds = this.jdbcTemplate.queryForList(sql, Long.class, jobName.toString(), runDate.toDate());
+        if (lastProcessedIds.isEmpty()) { return null; }
+        return lastProcessedIds.get(0);
+    }
+
+    @Override
+    public void updateLastProcessedId(final JobName jobName, final LocalDate runDate, final Long lastProcessedId) {
+        final String sql = "insert into job_checkpoint (job_name, run_date, last_processed_id, updated_time) values (?, ?, ?, now()) "
+                + "on duplicate key update run_date = values(run_date), last_processed_id = values(last_processed_id), updated_time = now()";
+        this.jdbcTemplate.update(sql, jobName.toString(), runDate.toDate(), lastProcessedId);
+    }
+
+    @Override
+    public void clearCheckpoint(final JobName jobName) {
+        this.jdbcTemplate.update("delete from job_checkpoint where job_name = ?", jobName.toString());
+    }
+}
@@ -8,6 +8,7 @@ package org.mifosplatform.infrastructure.jobs.service;
 public enum JobName {
 
     UPDATE_LOAN_SUMMARY("Update loan Summary"), //
+    REBUILD_LOAN_SUMMARY("Rebuild Loan Summary"), //
     UPDATE_LOAN_ARREARS_AGEING("Update Loan Arrears Ageing"), //
     UPDATE_LOAN_PAID_IN_ADVANCE("Update Loan Paid In Advance"), //
     APPLY_ANNUAL_FEE_FOR_SAVINGS("Apply Annual Fee For Savings"), //
@@ -23,7 +24,9 @@ public enum JobName {
     UPDATE_DEPOSITS_ACCOUNT_MATURITY_DETAILS("Update Deposit Accounts Maturity details"),
     TRANSFER_INTEREST_TO_SAVINGS("Transfer Interest To Savings"),
     ADD_PERIODIC_ACCRUAL_ENTRIES("Add Periodic Accrual Transactions"),
-    RECALCULATE_INTEREST_FOR_LOAN("Recalculate Interest For Loans");
+    RECALCULATE_INTEREST_FOR_LOAN("Recalculate Interest For Loans"),
+    DELIVER_HOOK_EVENTS("Deliver Hook Events"),
+    REBUILD_SEARCH_INDEX("Rebuild Search Index");
 
     private final String name;
 
@@ -0,0 +1,34 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.jobs.service;
+
+/**
+ * Collects progress lines reported by a running job on the scheduler thread.
+ * {@link SchedulerJobListener} drains them into the run history once the job
+ * has been executed.
+ */
+public class JobRunProgressRecorder {
+
+    private static final ThreadLocal<StringBuilder> progressContext = new ThreadLocal<>();
+
+    public static void record(final String progress) {
+        StringBuilder progressLog = progressContext.get();
+        if (progressLog == null) {
+            progressLog = new StringBuilder();
+            progressContext.set(progressLog);
+        } else {
+            progressLog.append("\n");
+        }
+        progressLog.append(progress);
+    }
+
+    public static String drain() {
+        final StringBuilder progressLog = progressContext.get();
+        progressContext.remove();
+        if (progressLog == null) { return null; }
+        return progressLog.toString();
+    }
+}
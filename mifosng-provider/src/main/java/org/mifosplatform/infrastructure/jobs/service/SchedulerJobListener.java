@@ -45,7 +45,8 @@ public class SchedulerJobListener implements JobListener {
 
     @Override
     public void jobToBeExecuted(@SuppressWarnings("unused") final JobExecutionContext context) {
-
+        // discard anything left behind by a previous run on this thread
+        JobRunProgressRecorder.drain();
     }
 
     @Override
@@ -92,7 +93,7 @@ public class SchedulerJobListener implements JobListener {
         scheduledJobDetails.updateCurrentlyRunningStatus(false);
 
         final ScheduledJobRunHistory runHistory = new ScheduledJobRunHistory(scheduledJobDetails, version, context.getFireTime(),
-                new Date(), status, errorMessage, triggerType, errorLog);
+                new Date(), status, errorMessage, triggerType, errorLog, JobRunProgressRecorder.drain());
         // scheduledJobDetails.addRunHistory(runHistory);
 
         this.schedularService.saveOrUpdate(scheduledJobDetails, runHistory);
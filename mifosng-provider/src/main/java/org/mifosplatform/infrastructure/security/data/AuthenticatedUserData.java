@@ -22,6 +22,8 @@ public class AuthenticatedUserData {
     @SuppressWarnings("unused")
     private final String base64EncodedAuthenticationKey;
     @SuppressWarnings("unused")
+    private final String sessionToken;
+    @SuppressWarnings("unused")
     private final boolean authenticated;
     @SuppressWarnings("unused")
     private final Long officeId;
@@ -45,6 +47,7 @@ public class AuthenticatedUserData {
         this.username = username;
         this.userId = null;
         this.base64EncodedAuthenticationKey = null;
+        this.sessionToken = null;
         this.authenticated = false;
         this.officeId = null;
         this.officeName = null;
@@ -58,7 +61,8 @@ public class AuthenticatedUserData {
 
     public AuthenticatedUserData(final String username, final Long officeId, final String officeName, final Long staffId,
             final String staffDisplayName, final EnumOptionData organisationalRole, final Collection<RoleData> roles,
-            final Collection<String> permissions, final Long userId, final String base64EncodedAuthenticationKey) {
+            final Collection<String> permissions, final Long userId, final String base64EncodedAuthenticationKey,
+            final String sessionToken) {
         this.username = username;
         this.officeId = officeId;
         this.officeName = officeName;
@@ -67,13 +71,15 @@ public class AuthenticatedUserData {
         this.organisationalRole = organisationalRole;
         this.userId = userId;
         this.base64EncodedAuthenticationKey = base64EncodedAuthenticationKey;
+        this.sessionToken = sessionToken;
         this.authenticated = true;
         this.roles = roles;
         this.permissions = permissions;
         this.shouldRenewPassword = false;
     }
 
-    public AuthenticatedUserData(final String username, final Long userId, final String base64EncodedAuthenticationKey) {
+    public AuthenticatedUserData(final String username, final Long userId, final String base64EncodedAuthenticationKey,
+            final String sessionToken) {
         this.username = username;
         this.officeId = null;
         this.officeName = null;
@@ -82,6 +88,7 @@ public class AuthenticatedUserData {
         this.organisationalRole = null;
         this.userId = userId;
         this.base64EncodedAuthenticationKey = base64EncodedAuthenticationKey;
+        this.sessionToken = sessionToken;
         this.authenticated = true;
         this.roles = null;
         this.permissions = null;
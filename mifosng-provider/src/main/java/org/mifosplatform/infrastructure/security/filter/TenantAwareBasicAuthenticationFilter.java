@@ -24,10 +24,12 @@ import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
 import org.mifosplatform.infrastructure.security.data.PlatformRequestLog;
 import org.mifosplatform.infrastructure.security.exception.InvalidTenantIdentiferException;
 import org.mifosplatform.infrastructure.security.service.BasicAuthTenantDetailsService;
+import org.mifosplatform.infrastructure.security.service.SessionTokenService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
@@ -47,6 +49,9 @@ import org.springframework.stereotype.Service;
  * 
  * If multi-tenant and basic auth credentials are invalid, a http error response
  * is returned.
+ * 
+ * A request can instead carry a session token, see {@link SessionTokenService},
+ * whose authenticated user is then taken from the token store.
  */
 @Service(value = "basicAuthenticationProcessingFilter")
 public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFilter {
@@ -58,6 +63,7 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
     private final ToApiJsonSerializer<PlatformRequestLog> toApiJsonSerializer;
     private final ConfigurationDomainService configurationDomainService;
     private final CacheWritePlatformService cacheWritePlatformService;
+    private final SessionTokenService sessionTokenService;
 
     private final String tenantRequestHeader = "X-Mifos-Platform-TenantId";
     private final boolean exceptionIfHeaderMissing = true;
@@ -66,12 +72,13 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
     public TenantAwareBasicAuthenticationFilter(final AuthenticationManager authenticationManager,
             final AuthenticationEntryPoint authenticationEntryPoint, final BasicAuthTenantDetailsService basicAuthTenantDetailsService,
             final ToApiJsonSerializer<PlatformRequestLog> toApiJsonSerializer, final ConfigurationDomainService configurationDomainService,
-            final CacheWritePlatformService cacheWritePlatformService) {
+            final CacheWritePlatformService cacheWritePlatformService, final SessionTokenService sessionTokenService) {
         super(authenticationManager, authenticationEntryPoint);
         this.basicAuthTenantDetailsService = basicAuthTenantDetailsService;
         this.toApiJsonSerializer = toApiJsonSerializer;
         this.configurationDomainService = configurationDomainService;
         this.cacheWritePlatformService = cacheWritePlatformService;
+        this.sessionTokenService = sessionTokenService;
     }
 
     @Override
@@ -107,15 +114,22 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
 
                 if (authToken != null && authToken.startsWith("Basic ")) {
                     ThreadLocalContextUtil.setAuthToken(authToken.replaceFirst("Basic ", ""));
+                } else if (authToken != null && authToken.startsWith(SessionTokenService.AUTHORIZATION_SCHEME)) {
+                    // an unknown or expired token leaves the request unauthenticated
+                    final Authentication authentication = this.sessionTokenService.resolveToken(authToken
+                            .substring(SessionTokenService.AUTHORIZATION_SCHEME.length()));
+                    if (authentication != null) {
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                    }
                 }
 
                 if (!firstRequestProcessed) {
                 	final String baseUrl = request.getRequestURL().toString().replace(request.getPathInfo(), "/");
                 	System.setProperty("baseUrl", baseUrl);
                 	
-                    final boolean ehcacheEnabled = this.configurationDomainService.isEhcacheEnabled();
-                    if (ehcacheEnabled) {
-                        this.cacheWritePlatformService.switchToCache(CacheType.SINGLE_NODE);
+                    final CacheType cacheType = this.configurationDomainService.retrieveCacheType();
+                    if (cacheType.isEhcache() || cacheType.isDistributedCache()) {
+                        this.cacheWritePlatformService.switchToCache(cacheType);
                     } else {
                         this.cacheWritePlatformService.switchToCache(CacheType.NO_CACHE);
                     }
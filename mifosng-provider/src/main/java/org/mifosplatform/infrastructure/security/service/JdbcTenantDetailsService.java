@@ -15,6 +15,7 @@ import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
 import org.mifosplatform.infrastructure.security.exception.InvalidTenantIdentiferException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -88,6 +89,16 @@ public class JdbcTenantDetailsService implements TenantDetailsService {
     @Override
     @Cacheable(value = "tenantsById")
     public MifosPlatformTenant loadTenantById(final String tenantIdentifier) {
+        return retrieveTenant(tenantIdentifier);
+    }
+
+    @Override
+    @CachePut(value = "tenantsById")
+    public MifosPlatformTenant reloadTenantById(final String tenantIdentifier) {
+        return retrieveTenant(tenantIdentifier);
+    }
+
+    private MifosPlatformTenant retrieveTenant(final String tenantIdentifier) {
 
         try {
             final TenantMapper rm = new TenantMapper();
@@ -0,0 +1,46 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.security.service;
+
+import org.springframework.security.core.Authentication;
+
+/**
+ * Issues the session tokens of the API, an alternative to sending the basic
+ * auth credentials with every request.
+ *
+ * A token is bound to the tenant and user it was created for and is sent in
+ * the <code>Authorization</code> header with the {@link #AUTHORIZATION_SCHEME}
+ * scheme. Tokens are held in memory by the node that created them.
+ */
+public interface SessionTokenService {
+
+    String AUTHORIZATION_SCHEME = "Bearer ";
+
+    /**
+     * Creates a token for an authentication of the current tenant.
+     */
+    String createToken(Authentication authentication);
+
+    /**
+     * The authentication of the token, or <code>null</code> when the token is
+     * unknown, has expired or has been revoked, or belongs to another tenant.
+     */
+    Authentication resolveToken(String token);
+
+    void revokeToken(String token);
+
+    /**
+     * Revokes the tokens of a user of the current tenant, e.g. when the
+     * password or the roles of the user change.
+     */
+    void revokeTokensOfUser(Long userId);
+
+    /**
+     * Revokes all tokens of the current tenant, e.g. when the permissions of a
+     * role change.
+     */
+    void revokeTokensOfTenant();
+}
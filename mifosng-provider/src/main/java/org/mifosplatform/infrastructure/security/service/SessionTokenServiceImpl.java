@@ -0,0 +1,116 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.security.service;
+
+import java.security.SecureRandom;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.mifosplatform.useradministration.domain.AppUser;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.io.BaseEncoding;
+
+/**
+ * Keeps the authenticated principal of each token, so a request with a token
+ * needs neither the password hash nor the user to be loaded.
+ *
+ * The store is bounded to {@link #MAXIMUM_SESSIONS} tokens, least recently
+ * used first out, and a token expires after {@link #IDLE_TIMEOUT_MINUTES}
+ * minutes without use and at the latest {@link #LIFETIME_HOURS} hours after
+ * it was created.
+ */
+@Service
+public class SessionTokenServiceImpl implements SessionTokenService {
+
+    static final int MAXIMUM_SESSIONS = 10000;
+    static final int IDLE_TIMEOUT_MINUTES = 30;
+    static final int LIFETIME_HOURS = 12;
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Cache<String, Session> sessions;
+
+    public SessionTokenServiceImpl() {
+        this.sessions = CacheBuilder.newBuilder().maximumSize(MAXIMUM_SESSIONS).expireAfterAccess(IDLE_TIMEOUT_MINUTES, TimeUnit.MINUTES)
+                .expireAfterWrite(LIFETIME_HOURS, TimeUnit.HOURS).build();
+    }
+
+    @Override
+    public String createToken(final Authentication authentication) {
+        // the credentials are not kept, the principal is all a request needs
+        final Authentication principal = new UsernamePasswordAuthenticationToken(authentication.getPrincipal(), null,
+                authentication.getAuthorities());
+
+        final byte[] bytes = new byte[TOKEN_BYTES];
+        this.random.nextBytes(bytes);
+        final String token = BaseEncoding.base64Url().omitPadding().encode(bytes);
+
+        this.sessions.put(token, new Session(currentTenantIdentifier(), principal));
+        return token;
+    }
+
+    @Override
+    public Authentication resolveToken(final String token) {
+        if (token == null) { return null; }
+        final Session session = this.sessions.getIfPresent(token);
+        if (session == null || !session.tenantIdentifier.equals(currentTenantIdentifier())) { return null; }
+        return session.authentication;
+    }
+
+    @Override
+    public void revokeToken(final String token) {
+        if (token == null) { return; }
+        this.sessions.invalidate(token);
+    }
+
+    @Override
+    public void revokeTokensOfUser(final Long userId) {
+        final String tenantIdentifier = currentTenantIdentifier();
+        for (final Iterator<Session> iterator = this.sessions.asMap().values().iterator(); iterator.hasNext();) {
+            final Session session = iterator.next();
+            if (session.tenantIdentifier.equals(tenantIdentifier) && session.isOfUser(userId)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    @Override
+    public void revokeTokensOfTenant() {
+        final String tenantIdentifier = currentTenantIdentifier();
+        for (final Iterator<Session> iterator = this.sessions.asMap().values().iterator(); iterator.hasNext();) {
+            if (iterator.next().tenantIdentifier.equals(tenantIdentifier)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static String currentTenantIdentifier() {
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+    }
+
+    private static final class Session {
+
+        private final String tenantIdentifier;
+        private final Authentication authentication;
+
+        Session(final String tenantIdentifier, final Authentication authentication) {
+            this.tenantIdentifier = tenantIdentifier;
+            this.authentication = authentication;
+        }
+
+        boolean isOfUser(final Long userId) {
+            final Object principal = this.authentication.getPrincipal();
+            return principal instanceof AppUser && userId.equals(((AppUser) principal).getId());
+        }
+    }
+}
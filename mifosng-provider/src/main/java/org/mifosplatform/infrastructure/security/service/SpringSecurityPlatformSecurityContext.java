@@ -16,6 +16,7 @@ import org.mifosplatform.infrastructure.configuration.domain.ConfigurationDomain
 import org.mifosplatform.infrastructure.core.service.DateUtils;
 import org.mifosplatform.infrastructure.security.exception.NoAuthorizationException;
 import org.mifosplatform.infrastructure.security.exception.ResetPasswordException;
+import org.mifosplatform.organisation.office.service.OfficeHierarchyReadPlatformService;
 import org.mifosplatform.useradministration.domain.AppUser;
 import org.mifosplatform.useradministration.exception.UnAuthenticatedUserException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,6 +34,7 @@ import org.springframework.stereotype.Service;
 public class SpringSecurityPlatformSecurityContext implements PlatformSecurityContext {
 
     private final ConfigurationDomainService configurationDomainService;
+    private final OfficeHierarchyReadPlatformService officeHierarchyReadPlatformService;
 
     public static final List<CommandWrapper> EXEMPT_FROM_PASSWORD_RESET_CHECK = new ArrayList<CommandWrapper>() {
 
@@ -42,8 +44,10 @@ public class SpringSecurityPlatformSecurityContext implements PlatformSecurityCo
     };
 
     @Autowired
-    SpringSecurityPlatformSecurityContext(final ConfigurationDomainService configurationDomainService) {
+    SpringSecurityPlatformSecurityContext(final ConfigurationDomainService configurationDomainService,
+            final OfficeHierarchyReadPlatformService officeHierarchyReadPlatformService) {
         this.configurationDomainService = configurationDomainService;
+        this.officeHierarchyReadPlatformService = officeHierarchyReadPlatformService;
     }
 
     @Override
@@ -62,6 +66,7 @@ public class SpringSecurityPlatformSecurityContext implements PlatformSecurityCo
 
         if (this.doesPasswordHasToBeRenewed(currentUser)) { throw new ResetPasswordException(currentUser.getId()); }
 
+        resolveVisibleOfficeIds(currentUser);
         return currentUser;
     }
 
@@ -81,6 +86,7 @@ public class SpringSecurityPlatformSecurityContext implements PlatformSecurityCo
 
         if (this.doesPasswordHasToBeRenewed(currentUser)) { throw new ResetPasswordException(currentUser.getId()); }
 
+        resolveVisibleOfficeIds(currentUser);
         return currentUser;
     }
 
@@ -101,6 +107,7 @@ public class SpringSecurityPlatformSecurityContext implements PlatformSecurityCo
         if (this.shouldCheckForPasswordForceReset(commandWrapper) && this.doesPasswordHasToBeRenewed(currentUser)) { throw new ResetPasswordException(
                 currentUser.getId()); }
 
+        resolveVisibleOfficeIds(currentUser);
         return currentUser;
 
     }
@@ -141,6 +148,15 @@ public class SpringSecurityPlatformSecurityContext implements PlatformSecurityCo
 
     }
 
+    /*
+     * the offices are cached per tenant and re-resolved on every lookup, so a
+     * user kept by a session or token store sees the offices created since
+     */
+    private void resolveVisibleOfficeIds(final AppUser currentUser) {
+        currentUser.updateVisibleOfficeIds(this.officeHierarchyReadPlatformService.retrieveVisibleOfficeIds(currentUser.getOffice()
+                .getId()));
+    }
+
     private boolean shouldCheckForPasswordForceReset(CommandWrapper commandWrapper) {
         for (CommandWrapper commandItem : EXEMPT_FROM_PASSWORD_RESET_CHECK) {
             if (commandItem.actionName().equals(commandWrapper.actionName())
@@ -13,5 +13,10 @@ public interface TenantDetailsService {
 
     MifosPlatformTenant loadTenantById(String tenantId);
 
+    /**
+     * Loads the tenant details from the database, replacing the cached ones.
+     */
+    MifosPlatformTenant reloadTenantById(String tenantId);
+
     List<MifosPlatformTenant> findAllTenants();
 }
\ No newline at end of file
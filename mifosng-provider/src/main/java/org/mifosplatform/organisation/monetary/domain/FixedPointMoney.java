@@ -0,0 +1,192 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.organisation.monetary.domain;
+
+import java.math.BigDecimal;
+
+/**
+ * A money amount held as a <code>long</code> count of the minor units (e.g.
+ * cents) of its currency.
+ *
+ * Intended for calculation loops that add up many {@link Money} amounts: adding
+ * and subtracting works on the primitive value and does not create
+ * intermediate {@link BigDecimal} or {@link Money} instances. Convert back
+ * using {@link #toMoney()} where the result is handed to an entity.
+ *
+ * Starting from {@link #zero(MonetaryCurrency)}, a sequence of
+ * {@link #plus(Money)} and {@link #minus(Money)} calls gives the same amount
+ * as the same sequence of {@link Money#plus(Money)} and
+ * {@link Money#minus(Money)} calls, including the rounding into multiples of
+ * the currency for currencies without decimal places.
+ *
+ * Used for totals over installments and transactions, e.g. in the summary
+ * wrappers. The per-installment arithmetic of the schedule generators and
+ * repayment transaction processors stays in {@link Money} because it goes
+ * through entity methods that take and return {@link Money}. Each amount
+ * added still has its {@link BigDecimal} converted to minor units; only the
+ * running total avoids allocation.
+ *
+ * Instances are mutable and must not be shared between threads.
+ */
+public final class FixedPointMoney implements Comparable<FixedPointMoney> {
+
+    private final MonetaryCurrency currency;
+    private final int digitsAfterDecimal;
+
+    /**
+     * Multiples positive amounts are rounded into, zero when the currency is
+     * not rounded into multiples.
+     */
+    private final long inMultiplesOf;
+
+    private long minorUnits;
+
+    public static FixedPointMoney zero(final MonetaryCurrency currency) {
+        return new FixedPointMoney(currency, 0L);
+    }
+
+    private FixedPointMoney(final MonetaryCurrency currency, final long minorUnits) {
+        this.currency = currency;
+        this.digitsAfterDecimal = currency.getDigitsAfterDecimal();
+        final Integer multiplesOf = currency.getCurrencyInMultiplesOf();
+        if (this.digitsAfterDecimal == 0 && multiplesOf != null && multiplesOf > 0) {
+            this.inMultiplesOf = multiplesOf;
+        } else {
+            this.inMultiplesOf = 0L;
+        }
+        this.minorUnits = minorUnits;
+    }
+
+    public FixedPointMoney plus(final Money moneyToAdd) {
+        final BigDecimal amountToAdd = checkCurrencyEqual(moneyToAdd).getAmount();
+        if (amountToAdd.signum() == 0) { return this; }
+
+        final BigDecimal minorUnitsToAdd = amountToAdd.movePointRight(this.digitsAfterDecimal);
+        if (isWholeNumber(minorUnitsToAdd)) {
+            this.minorUnits = roundToMultiplesOf(addExact(this.minorUnits, minorUnitsToAdd.longValueExact()));
+        } else {
+            // amounts more precise than the currency are added as they are
+            // and only the total is rounded, as in Money
+            this.minorUnits = toMinorUnits(Money.of(this.currency, getAmount().add(amountToAdd)));
+        }
+        return this;
+    }
+
+    public FixedPointMoney minus(final Money moneyToSubtract) {
+        final BigDecimal amountToSubtract = checkCurrencyEqual(moneyToSubtract).getAmount();
+        if (amountToSubtract.signum() == 0) { return this; }
+
+        final BigDecimal minorUnitsToSubtract = amountToSubtract.movePointRight(this.digitsAfterDecimal);
+        if (isWholeNumber(minorUnitsToSubtract)) {
+            this.minorUnits = roundToMultiplesOf(subtractExact(this.minorUnits, minorUnitsToSubtract.longValueExact()));
+        } else {
+            this.minorUnits = toMinorUnits(Money.of(this.currency, getAmount().subtract(amountToSubtract)));
+        }
+        return this;
+    }
+
+    public FixedPointMoney plus(final FixedPointMoney other) {
+        checkCurrencyEqual(other);
+        if (other.minorUnits == 0) { return this; }
+        this.minorUnits = roundToMultiplesOf(addExact(this.minorUnits, other.minorUnits));
+        return this;
+    }
+
+    public FixedPointMoney minus(final FixedPointMoney other) {
+        checkCurrencyEqual(other);
+        if (other.minorUnits == 0) { return this; }
+        this.minorUnits = roundToMultiplesOf(subtractExact(this.minorUnits, other.minorUnits));
+        return this;
+    }
+
+    public FixedPointMoney copy() {
+        return new FixedPointMoney(this.currency, this.minorUnits);
+    }
+
+    public long getMinorUnits() {
+        return this.minorUnits;
+    }
+
+    public BigDecimal getAmount() {
+        return BigDecimal.valueOf(this.minorUnits, this.digitsAfterDecimal);
+    }
+
+    public MonetaryCurrency getCurrency() {
+        return this.currency;
+    }
+
+    public Money toMoney() {
+        return Money.of(this.currency, getAmount());
+    }
+
+    public boolean isZero() {
+        return this.minorUnits == 0;
+    }
+
+    public boolean isGreaterThanZero() {
+        return this.minorUnits > 0;
+    }
+
+    public boolean isLessThanZero() {
+        return this.minorUnits < 0;
+    }
+
+    @Override
+    public int compareTo(final FixedPointMoney other) {
+        checkCurrencyEqual(other);
+        return this.minorUnits < other.minorUnits ? -1 : (this.minorUnits == other.minorUnits ? 0 : 1);
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder().append(this.currency.getCode()).append(' ').append(getAmount().toPlainString()).toString();
+    }
+
+    /**
+     * Same rounding as {@link Money#roundToMultiplesOf(double, Integer)} but
+     * exact: positive amounts go to the nearest multiple, halfway amounts go
+     * up. Negative amounts are left as they are.
+     */
+    private long roundToMultiplesOf(final long value) {
+        if (this.inMultiplesOf == 0 || value <= 0) { return value; }
+        final long remainder = value % this.inMultiplesOf;
+        if (remainder == 0) { return value; }
+        final long floorOfValue = value - remainder;
+        if (this.inMultiplesOf - remainder > remainder) { return floorOfValue; }
+        return addExact(floorOfValue, this.inMultiplesOf);
+    }
+
+    private long toMinorUnits(final Money money) {
+        return money.getAmount().movePointRight(this.digitsAfterDecimal).longValueExact();
+    }
+
+    private static boolean isWholeNumber(final BigDecimal value) {
+        return value.scale() <= 0 || value.stripTrailingZeros().scale() <= 0;
+    }
+
+    private static long addExact(final long x, final long y) {
+        final long result = x + y;
+        if (((x ^ result) & (y ^ result)) < 0) { throw new ArithmeticException("Money amount out of range."); }
+        return result;
+    }
+
+    private static long subtractExact(final long x, final long y) {
+        final long result = x - y;
+        if (((x ^ y) & (x ^ result)) < 0) { throw new ArithmeticException("Money amount out of range."); }
+        return result;
+    }
+
+    private Money checkCurrencyEqual(final Money money) {
+        if (!this.currency.getCode().equals(money.getCurrencyCode())) { throw new UnsupportedOperationException(
+                "currencies are different."); }
+        return money;
+    }
+
+    private void checkCurrencyEqual(final FixedPointMoney other) {
+        if (!this.currency.getCode().equals(other.currency.getCode())) { throw new UnsupportedOperationException(
+                "currencies are different."); }
+    }
+}
@@ -0,0 +1,17 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.organisation.office.service;
+
+import java.util.Set;
+
+public interface OfficeHierarchyReadPlatformService {
+
+    /**
+     * The ids of the office and of all offices under it in the office
+     * hierarchy, i.e. the offices whose data a user of the office can access.
+     */
+    Set<Long> retrieveVisibleOfficeIds(Long officeId);
+}
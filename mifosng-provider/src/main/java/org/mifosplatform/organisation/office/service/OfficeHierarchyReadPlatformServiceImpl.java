@@ -0,0 +1,46 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.organisation.office.service;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.mifosplatform.infrastructure.core.service.RoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Resolves the office hierarchy from <code>m_office_closure</code>, which
+ * holds a row for every office and each of its ancestors, itself included.
+ */
+@Service
+public class OfficeHierarchyReadPlatformServiceImpl implements OfficeHierarchyReadPlatformService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public OfficeHierarchyReadPlatformServiceImpl(final RoutingDataSource dataSource) {
+        this(new JdbcTemplate(dataSource));
+    }
+
+    OfficeHierarchyReadPlatformServiceImpl(final JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Cacheable(value = "visibleOfficeIds", key = "T(org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#officeId)")
+    public Set<Long> retrieveVisibleOfficeIds(final Long officeId) {
+        final String sql = "select oc.descendant_id from m_office_closure oc where oc.ancestor_id = ? order by oc.descendant_id";
+
+        final Set<Long> visibleOfficeIds = new LinkedHashSet<>(this.jdbcTemplate.queryForList(sql, Long.class, officeId));
+        // the office itself, should its closure rows not have been written yet
+        visibleOfficeIds.add(officeId);
+        return Collections.unmodifiableSet(visibleOfficeIds);
+    }
+}
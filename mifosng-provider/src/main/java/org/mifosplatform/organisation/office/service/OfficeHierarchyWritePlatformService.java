@@ -0,0 +1,22 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.organisation.office.service;
+
+/**
+ * Maintains the office closure table, <code>m_office_closure</code>, as
+ * offices are created and moved in the office hierarchy.
+ */
+public interface OfficeHierarchyWritePlatformService {
+
+    void addOffice(Long officeId, Long parentId);
+
+    /**
+     * Moves the office, with all offices under it, to its new parent and
+     * updates the <code>hierarchy</code> of the offices under it, which is
+     * derived from the hierarchy of the office.
+     */
+    void moveOffice(Long officeId, String previousHierarchy, Long parentId);
+}
@@ -0,0 +1,96 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.organisation.office.service;
+
+import org.mifosplatform.infrastructure.core.service.RoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cached visible office ids are cleared once the change to the hierarchy is
+ * committed. Clearing them before would let a concurrent request load and
+ * cache the hierarchy as it was before the change.
+ */
+@Service
+public class OfficeHierarchyWritePlatformServiceImpl implements OfficeHierarchyWritePlatformService {
+
+    static final String VISIBLE_OFFICE_IDS_CACHE = "visibleOfficeIds";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public OfficeHierarchyWritePlatformServiceImpl(final RoutingDataSource dataSource,
+            @Qualifier("runtimeDelegatingCacheManager") final CacheManager cacheManager) {
+        this(new JdbcTemplate(dataSource), cacheManager);
+    }
+
+    OfficeHierarchyWritePlatformServiceImpl(final JdbcTemplate jdbcTemplate, final CacheManager cacheManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void addOffice(final Long officeId, final Long parentId) {
+        this.jdbcTemplate.update("insert into m_office_closure (ancestor_id, descendant_id, depth) values (?, ?, 0)", officeId, officeId);
+        if (parentId != null) {
+            this.jdbcTemplate.update("insert into m_office_closure (ancestor_id, descendant_id, depth) "
+                    + "select oc.ancestor_id, ?, oc.depth + 1 from m_office_closure oc where oc.descendant_id = ?", officeId, parentId);
+        }
+
+        clearVisibleOfficeIdsAfterCommit();
+    }
+
+    @Override
+    public void moveOffice(final Long officeId, final String previousHierarchy, final Long parentId) {
+
+        // detach the subtree of the office from the ancestors of the office
+        this.jdbcTemplate.update("delete link from m_office_closure link "
+                + "join m_office_closure subtree on subtree.descendant_id = link.descendant_id "
+                + "join m_office_closure supertree on supertree.ancestor_id = link.ancestor_id "
+                + "where subtree.ancestor_id = ? and supertree.descendant_id = ? and supertree.depth > 0", officeId, officeId);
+
+        // and attach it to the new parent and its ancestors
+        this.jdbcTemplate.update("insert into m_office_closure (ancestor_id, descendant_id, depth) "
+                + "select supertree.ancestor_id, subtree.descendant_id, supertree.depth + subtree.depth + 1 "
+                + "from m_office_closure supertree join m_office_closure subtree "
+                + "where supertree.descendant_id = ? and subtree.ancestor_id = ?", parentId, officeId);
+
+        this.jdbcTemplate.update("update m_office d join m_office_closure oc on oc.descendant_id = d.id "
+                + "join m_office o on o.id = oc.ancestor_id "
+                + "set d.hierarchy = concat(o.hierarchy, substring(d.hierarchy, ?)) where oc.ancestor_id = ? and oc.depth > 0",
+                previousHierarchy.length() + 1, officeId);
+
+        clearVisibleOfficeIdsAfterCommit();
+    }
+
+    private void clearVisibleOfficeIdsAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            clearVisibleOfficeIds();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+            @Override
+            public void afterCommit() {
+                clearVisibleOfficeIds();
+            }
+        });
+    }
+
+    private void clearVisibleOfficeIds() {
+        final Cache cache = this.cacheManager.getCache(VISIBLE_OFFICE_IDS_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.mifosplatform.accounting.glaccount.domain.GLAccount;
 import org.mifosplatform.accounting.journalentry.domain.JournalEntry;
 import org.mifosplatform.accounting.journalentry.domain.JournalEntryType;
 import org.mifosplatform.accounting.journalentry.domain.JournalEntryRepository;
+import org.mifosplatform.accounting.journalentry.service.GLBalanceSnapshotService;
 import org.mifosplatform.infrastructure.core.api.JsonCommand;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResultBuilder;
@@ -58,6 +59,7 @@ public class TellerWritePlatformServiceJpaImpl implements TellerWritePlatformSer
     private final CashierTransactionRepository cashierTxnRepository;
     private final JournalEntryRepository glJournalEntryRepository;
     private final FinancialActivityAccountRepositoryWrapper financialActivityAccountRepositoryWrapper;
+    private final GLBalanceSnapshotService glBalanceSnapshotService;
     
     
     @Autowired
@@ -67,7 +69,8 @@ public class TellerWritePlatformServiceJpaImpl implements TellerWritePlatformSer
             final StaffRepository staffRepository, CashierRepository cashierRepository,
             CashierTransactionRepository cashierTxnRepository,
             JournalEntryRepository glJournalEntryRepository,
-            FinancialActivityAccountRepositoryWrapper financialActivityAccountRepositoryWrapper
+            FinancialActivityAccountRepositoryWrapper financialActivityAccountRepositoryWrapper,
+            GLBalanceSnapshotService glBalanceSnapshotService
     		) {
         this.context = context;
         this.fromApiJsonDeserializer = fromApiJsonDeserializer;
@@ -78,6 +81,7 @@ public class TellerWritePlatformServiceJpaImpl implements TellerWritePlatformSer
         this.cashierTxnRepository = cashierTxnRepository;
         this.glJournalEntryRepository = glJournalEntryRepository;
 		this.financialActivityAccountRepositoryWrapper = financialActivityAccountRepositoryWrapper;
+		this.glBalanceSnapshotService = glBalanceSnapshotService;
     }
 
 
@@ -390,6 +394,8 @@ public class TellerWritePlatformServiceJpaImpl implements TellerWritePlatformSer
 			
 	        this.glJournalEntryRepository.saveAndFlush(debitJournalEntry);
 	        this.glJournalEntryRepository.saveAndFlush(creditJournalEntry);
+	        this.glBalanceSnapshotService.addJournalEntry(debitJournalEntry);
+	        this.glBalanceSnapshotService.addJournalEntry(creditJournalEntry);
 
             return new CommandProcessingResultBuilder() //
                     .withCommandId(command.commandId()) //
@@ -111,18 +111,23 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
     @Override
     public Page<ClientData> retrieveAll(final SearchParameters searchParameters) {
 
-        final String userOfficeHierarchy = this.context.officeHierarchy();
-        final String underHierarchySearchString = userOfficeHierarchy + "%";
+        final String visibleOfficeIds = StringUtils.join(this.context.authenticatedUser().getVisibleOfficeIds(), ',');
 
         // if (searchParameters.isScopedByOfficeHierarchy()) {
         // this.context.validateAccessRights(searchParameters.getHierarchy());
         // underHierarchySearchString = searchParameters.getHierarchy() + "%";
         // }
 
+        final String orderByColumn = searchParameters.isOrderByRequested() ? searchParameters.getOrderBy() : "c.id";
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select SQL_CALC_FOUND_ROWS ");
+        if (searchParameters.isKeysetPaginationRequested()) {
+            sqlBuilder.append("select ").append(PaginationHelper.keysetColumns(orderByColumn, "c.id"));
+        } else {
+            sqlBuilder.append("select SQL_CALC_FOUND_ROWS ");
+        }
         sqlBuilder.append(this.clientMapper.schema());
-        sqlBuilder.append(" where (o.hierarchy like ? or transferToOffice.hierarchy like ?) ");
+        sqlBuilder.append(" where (c.office_id in (").append(visibleOfficeIds).append(") or c.transfer_to_office_id in (")
+                .append(visibleOfficeIds).append(")) ");
 
         final String extraCriteria = buildSqlStringFromClientCriteria(searchParameters);
 
@@ -130,6 +135,9 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
             sqlBuilder.append(" and (").append(extraCriteria).append(")");
         }
 
+        if (searchParameters.isKeysetPaginationRequested()) { return this.paginationHelper.fetchPageAfter(this.jdbcTemplate,
+                sqlBuilder.toString(), "and", new Object[] {}, orderByColumn, "c.id", searchParameters, this.clientMapper); }
+
         if (searchParameters.isOrderByRequested()) {
             sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
 
@@ -146,8 +154,8 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
         }
 
         final String sqlCountRows = "SELECT FOUND_ROWS()";
-        return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, sqlBuilder.toString(), new Object[] {
-                underHierarchySearchString, underHierarchySearchString }, this.clientMapper);
+        return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, sqlBuilder.toString(), new Object[] {},
+                this.clientMapper);
     }
 
     private String buildSqlStringFromClientCriteria(final SearchParameters searchParameters) {
@@ -201,13 +209,11 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
     @Override
     public ClientData retrieveOne(final Long clientId) {
         try {
-            final String hierarchy = this.context.officeHierarchy();
-            final String hierarchySearchString = hierarchy + "%";
+            final String visibleOfficeIds = StringUtils.join(this.context.authenticatedUser().getVisibleOfficeIds(), ',');
 
-            final String sql = "select " + this.clientMapper.schema()
-                    + " where ( o.hierarchy like ? or transferToOffice.hierarchy like ?) and c.id = ?";
-            final ClientData clientData = this.jdbcTemplate.queryForObject(sql, this.clientMapper, new Object[] { hierarchySearchString,
-                    hierarchySearchString, clientId });
+            final String sql = "select " + this.clientMapper.schema() + " where (c.office_id in (" + visibleOfficeIds
+                    + ") or c.transfer_to_office_id in (" + visibleOfficeIds + ")) and c.id = ?";
+            final ClientData clientData = this.jdbcTemplate.queryForObject(sql, this.clientMapper, new Object[] { clientId });
 
             final String clientGroupsSql = "select " + this.clientGroupsMapper.parentGroupsSchema();
 
@@ -245,26 +251,24 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
     public Collection<ClientData> retrieveClientMembersOfGroup(final Long groupId) {
 
         final AppUser currentUser = this.context.authenticatedUser();
-        final String hierarchy = currentUser.getOffice().getHierarchy();
-        final String hierarchySearchString = hierarchy + "%";
+        final String visibleOfficeIds = StringUtils.join(currentUser.getVisibleOfficeIds(), ',');
 
-        final String sql = "select " + this.membersOfGroupMapper.schema() + " where o.hierarchy like ? and pgc.group_id = ?";
+        final String sql = "select " + this.membersOfGroupMapper.schema() + " where c.office_id in (" + visibleOfficeIds
+                + ") and pgc.group_id = ?";
 
-        return this.jdbcTemplate.query(sql, this.membersOfGroupMapper, new Object[] { hierarchySearchString, groupId });
+        return this.jdbcTemplate.query(sql, this.membersOfGroupMapper, new Object[] { groupId });
     }
 
     @Override
     public Collection<ClientData> retrieveActiveClientMembersOfGroup(final Long groupId) {
 
         final AppUser currentUser = this.context.authenticatedUser();
-        final String hierarchy = currentUser.getOffice().getHierarchy();
-        final String hierarchySearchString = hierarchy + "%";
+        final String visibleOfficeIds = StringUtils.join(currentUser.getVisibleOfficeIds(), ',');
 
         final String sql = "select " + this.membersOfGroupMapper.schema()
-                + " where o.hierarchy like ? and pgc.group_id = ? and c.status_enum = ? ";
+                + " where c.office_id in (" + visibleOfficeIds + ") and pgc.group_id = ? and c.status_enum = ? ";
 
-        return this.jdbcTemplate.query(sql, this.membersOfGroupMapper,
-                new Object[] { hierarchySearchString, groupId, ClientStatus.ACTIVE.getValue() });
+        return this.jdbcTemplate.query(sql, this.membersOfGroupMapper, new Object[] { groupId, ClientStatus.ACTIVE.getValue() });
     }
 
     private static final class ClientMembersOfGroupMapper implements RowMapper<ClientData> {
@@ -407,15 +411,14 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
     public Collection<ClientData> retrieveActiveClientMembersOfCenter(final Long centerId) {
 
         final AppUser currentUser = this.context.authenticatedUser();
-        final String hierarchy = currentUser.getOffice().getHierarchy();
-        final String hierarchySearchString = hierarchy + "%";
+        final String visibleOfficeIds = StringUtils.join(currentUser.getVisibleOfficeIds(), ',');
 
         final String sql = "select "
                 + this.membersOfGroupMapper.schema()
-                + " left join m_group g on pgc.group_id=g.id where o.hierarchy like ? and g.parent_id = ? and c.status_enum = ? group by c.id";
+                + " left join m_group g on pgc.group_id=g.id where c.office_id in (" + visibleOfficeIds
+                + ") and g.parent_id = ? and c.status_enum = ? group by c.id";
 
-        return this.jdbcTemplate.query(sql, this.membersOfGroupMapper,
-                new Object[] { hierarchySearchString, centerId, ClientStatus.ACTIVE.getValue() });
+        return this.jdbcTemplate.query(sql, this.membersOfGroupMapper, new Object[] { centerId, ClientStatus.ACTIVE.getValue() });
     }
 
     private static final class ClientMapper implements RowMapper<ClientData> {
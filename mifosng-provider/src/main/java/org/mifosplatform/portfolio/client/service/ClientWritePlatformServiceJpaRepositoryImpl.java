@@ -59,6 +59,7 @@ import org.mifosplatform.portfolio.savings.domain.SavingsProductRepository;
 import org.mifosplatform.portfolio.savings.exception.SavingsAccountNotFoundException;
 import org.mifosplatform.portfolio.savings.exception.SavingsProductNotFoundException;
 import org.mifosplatform.portfolio.savings.service.SavingsApplicationProcessWritePlatformService;
+import org.mifosplatform.portfolio.search.service.SearchIndexWritePlatformService;
 import org.mifosplatform.useradministration.domain.AppUser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -88,6 +89,7 @@ public class ClientWritePlatformServiceJpaRepositoryImpl implements ClientWriteP
     private final CommandProcessingService commandProcessingService;
     private final ConfigurationDomainService configurationDomainService;
     private final AccountNumberFormatRepositoryWrapper accountNumberFormatRepository;
+    private final SearchIndexWritePlatformService searchIndexWritePlatformService;
 
     @Autowired
     public ClientWritePlatformServiceJpaRepositoryImpl(final PlatformSecurityContext context,
@@ -98,7 +100,8 @@ public class ClientWritePlatformServiceJpaRepositoryImpl implements ClientWriteP
             final SavingsAccountRepository savingsRepository, final SavingsProductRepository savingsProductRepository,
             final SavingsApplicationProcessWritePlatformService savingsApplicationProcessWritePlatformService,
             final CommandProcessingService commandProcessingService, final ConfigurationDomainService configurationDomainService,
-            final AccountNumberFormatRepositoryWrapper accountNumberFormatRepository) {
+            final AccountNumberFormatRepositoryWrapper accountNumberFormatRepository,
+            final SearchIndexWritePlatformService searchIndexWritePlatformService) {
         this.context = context;
         this.clientRepository = clientRepository;
         this.officeRepository = officeRepository;
@@ -115,6 +118,7 @@ public class ClientWritePlatformServiceJpaRepositoryImpl implements ClientWriteP
         this.commandProcessingService = commandProcessingService;
         this.configurationDomainService = configurationDomainService;
         this.accountNumberFormatRepository = accountNumberFormatRepository;
+        this.searchIndexWritePlatformService = searchIndexWritePlatformService;
     }
 
     @Transactional
@@ -129,6 +133,7 @@ public class ClientWritePlatformServiceJpaRepositoryImpl implements ClientWriteP
         this.noteRepository.deleteInBatch(relatedNotes);
 
         this.clientRepository.delete(client);
+        this.searchIndexWritePlatformService.indexClient(clientId);
 
         return new CommandProcessingResultBuilder() //
                 .withOfficeId(client.officeId()) //
@@ -243,6 +248,7 @@ public class ClientWritePlatformServiceJpaRepositoryImpl implements ClientWriteP
             if (result.getSavingsId() != null) {
                 this.clientRepository.save(newClient);
             }
+            this.searchIndexWritePlatformService.indexClient(newClient.getId());
 
             return new CommandProcessingResultBuilder() //
                     .withCommandId(command.commandId()) //
@@ -338,6 +344,7 @@ public class ClientWritePlatformServiceJpaRepositoryImpl implements ClientWriteP
 
             if (!changes.isEmpty()) {
                 this.clientRepository.saveAndFlush(clientForUpdate);
+                this.searchIndexWritePlatformService.indexClient(clientId);
             }
 
             return new CommandProcessingResultBuilder() //
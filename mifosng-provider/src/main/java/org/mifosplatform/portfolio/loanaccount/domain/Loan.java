@@ -2715,9 +2715,17 @@ public class Loan extends AbstractPersistable<Long> {
                 regenerateRepaymentScheduleWithInterestRecalculation(scheduleGeneratorDTO, currentUser);
             }
             final List<LoanTransaction> allNonContraTransactionsPostDisbursement = retreiveListOfTransactionsPostDisbursement();
-            changedTransactionDetail = loanRepaymentScheduleTransactionProcessor.handleTransaction(getDisbursementDate(),
-                    allNonContraTransactionsPostDisbursement, getCurrency(), this.repaymentScheduleInstallments, charges(),
-                    getLastUserTransactionForChargeCalc());
+            if (adjustedTransaction == null && !this.repaymentScheduleDetail().isInterestRecalculationEnabled()) {
+                // backdated and same day transactions end up here, the new
+                // transaction alone is applied if it is still processed last
+                changedTransactionDetail = loanRepaymentScheduleTransactionProcessor.handleNewTransaction(getDisbursementDate(),
+                        allNonContraTransactionsPostDisbursement, loanTransaction, getCurrency(), this.repaymentScheduleInstallments,
+                        charges(), getLastUserTransactionForChargeCalc());
+            } else {
+                changedTransactionDetail = loanRepaymentScheduleTransactionProcessor.handleTransaction(getDisbursementDate(),
+                        allNonContraTransactionsPostDisbursement, getCurrency(), this.repaymentScheduleInstallments, charges(),
+                        getLastUserTransactionForChargeCalc());
+            }
             for (final Map.Entry<Long, LoanTransaction> mapEntry : changedTransactionDetail.getNewTransactionMappings().entrySet()) {
                 mapEntry.getValue().updateLoan(this);
             }
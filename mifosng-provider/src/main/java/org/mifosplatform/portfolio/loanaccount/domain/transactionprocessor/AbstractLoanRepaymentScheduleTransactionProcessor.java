@@ -15,6 +15,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.joda.time.LocalDate;
+import org.mifosplatform.organisation.monetary.domain.FixedPointMoney;
 import org.mifosplatform.organisation.monetary.domain.MonetaryCurrency;
 import org.mifosplatform.organisation.monetary.domain.Money;
 import org.mifosplatform.portfolio.loanaccount.data.LoanChargePaidDetail;
@@ -25,6 +26,7 @@ import org.mifosplatform.portfolio.loanaccount.domain.LoanInstallmentCharge;
 import org.mifosplatform.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
 import org.mifosplatform.portfolio.loanaccount.domain.LoanRepaymentScheduleProcessingWrapper;
 import org.mifosplatform.portfolio.loanaccount.domain.LoanTransaction;
+import org.mifosplatform.portfolio.loanaccount.domain.LoanTransactionComparator;
 import org.mifosplatform.portfolio.loanaccount.domain.LoanTransactionType;
 import org.mifosplatform.portfolio.loanaccount.domain.transactionprocessor.impl.CreocoreLoanRepaymentScheduleTransactionProcessor;
 import org.mifosplatform.portfolio.loanaccount.domain.transactionprocessor.impl.HeavensFamilyLoanRepaymentScheduleTransactionProcessor;
@@ -42,6 +44,14 @@ import org.mifosplatform.portfolio.loanaccount.loanschedule.domain.Recalculation
  */
 public abstract class AbstractLoanRepaymentScheduleTransactionProcessor implements LoanRepaymentScheduleTransactionProcessor {
 
+    private static final Comparator<LoanRepaymentScheduleInstallment> INSTALLMENTS_BY_DUE_DATE = new Comparator<LoanRepaymentScheduleInstallment>() {
+
+        @Override
+        public int compare(final LoanRepaymentScheduleInstallment ord1, final LoanRepaymentScheduleInstallment ord2) {
+            return ord1.getDueDate().compareTo(ord2.getDueDate());
+        }
+    };
+
     /**
      * Provides support for passing all {@link LoanTransaction}'s so it will
      * completely re-process the entire loan schedule. This is required in cases
@@ -142,13 +152,7 @@ public abstract class AbstractLoanRepaymentScheduleTransactionProcessor implemen
         for (final LoanTransaction loanTransaction : transactionstoBeProcessed) {
         	
         	 if(!loanTransaction.getTypeOf().equals(LoanTransactionType.REFUND_FOR_ACTIVE_LOAN)) {
-                 final Comparator<LoanRepaymentScheduleInstallment> byDate = new Comparator<LoanRepaymentScheduleInstallment>() {
-                     @Override
-					public int compare(LoanRepaymentScheduleInstallment ord1, LoanRepaymentScheduleInstallment ord2) {
-                         return ord1.getDueDate().compareTo(ord2.getDueDate());
-                     }
-                 };
-                 Collections.sort(installments,byDate);
+                 Collections.sort(installments, INSTALLMENTS_BY_DUE_DATE);
              }
 
             if (loanTransaction.isRepayment() || loanTransaction.isInterestWaiver() || loanTransaction.isRecoveryRepayment()) {
@@ -193,6 +197,59 @@ public abstract class AbstractLoanRepaymentScheduleTransactionProcessor implemen
         return changedTransactionDetail;
     }
 
+    /**
+     * Provides support for processing a new repayment, recovery repayment or
+     * interest waiver without re-processing the entire loan schedule.
+     * 
+     * When re-processing all {@link LoanTransaction}'s would process the new
+     * transaction last, the installments (and loan charges) already reflect
+     * all earlier transactions, so only the new transaction is applied on top
+     * of them. Backdated transactions, transactions followed by a transaction
+     * on the same date and any other type of transaction re-process the entire
+     * loan schedule.
+     * 
+     * @param transactionsPostDisbursement
+     *            all transactions post disbursement including the new one,
+     *            sorted using {@link LoanTransactionComparator}
+     */
+    @Override
+    public ChangedTransactionDetail handleNewTransaction(final LocalDate disbursementDate,
+            final List<LoanTransaction> transactionsPostDisbursement, final LoanTransaction newTransaction,
+            final MonetaryCurrency currency, final List<LoanRepaymentScheduleInstallment> installments, final Set<LoanCharge> charges,
+            final LocalDate recalculateChargesFrom) {
+
+        if (!isLastTransactionToBeProcessed(newTransaction, transactionsPostDisbursement)) { return handleTransaction(disbursementDate,
+                transactionsPostDisbursement, currency, installments, charges, recalculateChargesFrom); }
+
+        Collections.sort(installments, INSTALLMENTS_BY_DUE_DATE);
+        handleTransaction(newTransaction, currency, installments, charges);
+        newTransaction.adjustInterestComponent(currency);
+
+        return new ChangedTransactionDetail();
+    }
+
+    /**
+     * Checks whether re-processing all transactions would process the new
+     * transaction after every other transaction that updates the installments.
+     * Charge payments are always processed before all other transactions and
+     * accruals do not update the installments.
+     */
+    private boolean isLastTransactionToBeProcessed(final LoanTransaction newTransaction,
+            final List<LoanTransaction> transactionsPostDisbursement) {
+        if (newTransaction.getId() != null) { return false; }
+        if (!(newTransaction.isRepayment() || newTransaction.isInterestWaiver() || newTransaction.isRecoveryRepayment())) { return false; }
+
+        boolean isNewTransactionFound = false;
+        for (final LoanTransaction loanTransaction : transactionsPostDisbursement) {
+            if (loanTransaction == newTransaction) {
+                isNewTransactionFound = true;
+            } else if (isNewTransactionFound && !loanTransaction.isChargePayment()
+                    && (loanTransaction.isRepayment() || loanTransaction.isInterestWaiver() || loanTransaction.isRecoveryRepayment()
+                            || loanTransaction.isWriteOff() || loanTransaction.isRefundForActiveLoan())) { return false; }
+        }
+        return isNewTransactionFound;
+    }
+
     /**
      * Provides support for processing the latest transaction (which should be
      * latest transaction) against the loan schedule.
@@ -385,25 +442,25 @@ public abstract class AbstractLoanRepaymentScheduleTransactionProcessor implemen
             final List<LoanRepaymentScheduleInstallment> installments) {
 
         final LocalDate transactionDate = loanTransaction.getTransactionDate();
-        Money principalPortion = Money.zero(currency);
-        Money interestPortion = Money.zero(currency);
-        Money feeChargesPortion = Money.zero(currency);
-        Money penaltychargesPortion = Money.zero(currency);
+        final FixedPointMoney principalPortion = FixedPointMoney.zero(currency);
+        final FixedPointMoney interestPortion = FixedPointMoney.zero(currency);
+        final FixedPointMoney feeChargesPortion = FixedPointMoney.zero(currency);
+        final FixedPointMoney penaltychargesPortion = FixedPointMoney.zero(currency);
 
         // determine how much is written off in total and breakdown for
         // principal, interest and charges
         for (final LoanRepaymentScheduleInstallment currentInstallment : installments) {
 
             if (currentInstallment.isNotFullyPaidOff()) {
-                principalPortion = principalPortion.plus(currentInstallment.writeOffOutstandingPrincipal(transactionDate, currency));
-                interestPortion = interestPortion.plus(currentInstallment.writeOffOutstandingInterest(transactionDate, currency));
-                feeChargesPortion = feeChargesPortion.plus(currentInstallment.writeOffOutstandingFeeCharges(transactionDate, currency));
-                penaltychargesPortion = penaltychargesPortion.plus(currentInstallment.writeOffOutstandingPenaltyCharges(transactionDate,
-                        currency));
+                principalPortion.plus(currentInstallment.writeOffOutstandingPrincipal(transactionDate, currency));
+                interestPortion.plus(currentInstallment.writeOffOutstandingInterest(transactionDate, currency));
+                feeChargesPortion.plus(currentInstallment.writeOffOutstandingFeeCharges(transactionDate, currency));
+                penaltychargesPortion.plus(currentInstallment.writeOffOutstandingPenaltyCharges(transactionDate, currency));
             }
         }
 
-        loanTransaction.updateComponentsAndTotal(principalPortion, interestPortion, feeChargesPortion, penaltychargesPortion);
+        loanTransaction.updateComponentsAndTotal(principalPortion.toMoney(), interestPortion.toMoney(), feeChargesPortion.toMoney(),
+                penaltychargesPortion.toMoney());
     }
 
     // abstract interface
@@ -26,6 +26,16 @@ public interface LoanRepaymentScheduleTransactionProcessor {
             MonetaryCurrency currency, List<LoanRepaymentScheduleInstallment> repaymentScheduleInstallments, Set<LoanCharge> charges,
             LocalDate recalculateChargesFrom);
 
+    /**
+     * Processes a new transaction added to <code>repaymentsOrWaivers</code>,
+     * giving the same result as
+     * {@link #handleTransaction(LocalDate, List, MonetaryCurrency, List, Set, LocalDate)}
+     * but only applying the new transaction when it is the latest one.
+     */
+    ChangedTransactionDetail handleNewTransaction(LocalDate disbursementDate, List<LoanTransaction> repaymentsOrWaivers,
+            LoanTransaction newTransaction, MonetaryCurrency currency, List<LoanRepaymentScheduleInstallment> repaymentScheduleInstallments,
+            Set<LoanCharge> charges, LocalDate recalculateChargesFrom);
+
     void handleWriteOff(LoanTransaction loanTransaction, MonetaryCurrency loanCurrency,
             List<LoanRepaymentScheduleInstallment> repaymentScheduleInstallments);
 
@@ -20,6 +20,7 @@ import java.util.TreeMap;
 import org.joda.time.Days;
 import org.joda.time.LocalDate;
 import org.mifosplatform.organisation.monetary.domain.ApplicationCurrency;
+import org.mifosplatform.organisation.monetary.domain.FixedPointMoney;
 import org.mifosplatform.organisation.monetary.domain.MonetaryCurrency;
 import org.mifosplatform.organisation.monetary.domain.Money;
 import org.mifosplatform.portfolio.calendar.domain.CalendarInstance;
@@ -1150,9 +1151,7 @@ public abstract class AbstractLoanScheduleGenerator implements LoanScheduleGener
             }
             loanRepaymentScheduleTransactionProcessor.applyTransaction(processTransactions, currency, installments);
 
-            Money principalUnprocessed = Money.zero(currency);
-            Money interestUnprocessed = Money.zero(currency);
-            Money feeUnprocessed = Money.zero(currency);
+            final FixedPointMoney interestUnprocessed = FixedPointMoney.zero(currency);
             boolean isBeforeFirstInstallment = false;
             if (scheduleInstallments.size() == 1) {
                 LoanRepaymentScheduleInstallment installment = scheduleInstallments.get(0);
@@ -1165,13 +1164,10 @@ public abstract class AbstractLoanScheduleGenerator implements LoanScheduleGener
             }
             if (!isBeforeFirstInstallment) {
                 for (LoanRepaymentScheduleInstallment installment : scheduleInstallments) {
-                    principalUnprocessed = principalUnprocessed.plus(installment.getPrincipalOutstanding(currency));
-                    interestUnprocessed = interestUnprocessed.plus(installment.getInterestOutstanding(currency));
-                    feeUnprocessed = feeUnprocessed.plus(installment.getFeeChargesOutstanding(currency));
-                    feeUnprocessed = feeUnprocessed.plus(installment.getPenaltyChargesOutstanding(currency));
+                    interestUnprocessed.plus(installment.getInterestOutstanding(currency));
                 }
             }
-            if (interestUnprocessed.isLessThan(loanTransaction.getAmount(currency))) {
+            if (interestUnprocessed.toMoney().isLessThan(loanTransaction.getAmount(currency))) {
                 LoanRepaymentScheduleInstallment lastProcessedInstallment = scheduleInstallments.get(scheduleInstallments.size() - 1);
                 LocalDate startDate = lastProcessedInstallment.getDueDate();
                 if (isBeforeFirstInstallment) {
@@ -18,7 +18,9 @@ import javax.annotation.PostConstruct;
 import org.joda.time.LocalDate;
 import org.joda.time.format.DateTimeFormat;
 import org.joda.time.format.DateTimeFormatter;
+import org.mifosplatform.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.mifosplatform.infrastructure.core.domain.JdbcSupport;
+import org.mifosplatform.infrastructure.core.service.DateUtils;
 import org.mifosplatform.infrastructure.core.service.RoutingDataSource;
 import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
 import org.mifosplatform.infrastructure.jobs.annotation.CronTarget;
@@ -40,21 +42,48 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Maintains <code>m_loan_arrears_aging</code> for active loans.
+ *
+ * A full update computes the ageing of every active loan into the shadow table
+ * <code>m_loan_arrears_aging_next</code>, one range of loan ids per
+ * transaction, and then swaps the two tables with a single
+ * <code>RENAME TABLE</code>, so readers never see a partially built table.
+ * Ageing changed by loan events while the shadow table is built is mirrored
+ * into it and kept over the rows computed by the run.
+ *
+ * When <code>arrears-ageing-delta-update</code> is enabled, the job instead
+ * recomputes in place only the loans with an instalment that fell overdue or a
+ * transaction submitted since its last run.
+ */
 @Service
 public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService, BusinessEventListner {
 
     private final static Logger logger = LoggerFactory.getLogger(ScheduledJobRunnerServiceImpl.class);
+
+    private final static String ARREARS_AGING_TABLE = "m_loan_arrears_aging";
+    private final static String ARREARS_AGING_SHADOW_TABLE = "m_loan_arrears_aging_next";
+    private final static int LOANS_PER_CHUNK = 1000;
+
     private final BusinessEventNotifierService businessEventNotifierService;
+    private final ConfigurationDomainService configurationDomainService;
+    private final TransactionTemplate transactionTemplate;
     private final DateTimeFormatter formatter = DateTimeFormat.forPattern("yyyy-MM-dd");
     private final JdbcTemplate jdbcTemplate;
 
     @Autowired
-    public LoanArrearsAgingServiceImpl(final RoutingDataSource dataSource, final BusinessEventNotifierService businessEventNotifierService) {
+    public LoanArrearsAgingServiceImpl(final RoutingDataSource dataSource, final BusinessEventNotifierService businessEventNotifierService,
+            final ConfigurationDomainService configurationDomainService, final TransactionTemplate transactionTemplate) {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
         this.businessEventNotifierService = businessEventNotifierService;
+        this.configurationDomainService = configurationDomainService;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @PostConstruct
@@ -71,17 +100,119 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService, Bus
         this.businessEventNotifierService.addBusinessEventPostListners(BUSINESS_EVENTS.LOAN_DISBURSAL, new DisbursementEventListner());
     }
 
-    @Transactional
     @Override
     @CronTarget(jobName = JobName.UPDATE_LOAN_ARREARS_AGEING)
     public void updateLoanArrearsAgeingDetails() {
 
-        this.jdbcTemplate.execute("truncate table m_loan_arrears_aging");
+        final LocalDate runDate = DateUtils.getLocalDateOfTenant();
+        final List<LocalDate> lastRunDates = this.jdbcTemplate.query("select last_run_date from m_loan_arrears_aging_run where id = 1",
+                new RowMapper<LocalDate>() {
+
+                    @Override
+                    public LocalDate mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+                        return JdbcSupport.getLocalDate(rs, "last_run_date");
+                    }
+                });
+        final LocalDate lastRunDate = lastRunDates.isEmpty() ? null : lastRunDates.get(0);
+
+        int result;
+        if (lastRunDate != null && this.configurationDomainService.isArrearsAgeingDeltaUpdateEnabled()) {
+            result = updateLoanArrearsAgeingDetailsSince(lastRunDate);
+        } else {
+            result = rebuildLoanArrearsAgeingDetails();
+        }
+
+        this.jdbcTemplate.update("update m_loan_arrears_aging_run set last_run_date = ? where id = 1", this.formatter.print(runDate));
+
+        logger.info(ThreadLocalContextUtil.getTenant().getName() + ": Results affected by update: " + result);
+    }
+
+    /**
+     * Builds the ageing of all active loans into the shadow table and swaps it
+     * in.
+     */
+    private int rebuildLoanArrearsAgeingDetails() {
+        this.jdbcTemplate.execute("truncate table " + ARREARS_AGING_SHADOW_TABLE);
+
+        final String sql = "select ml.id from m_loan ml where ml.loan_status_id = 300 and ml.id > ? order by ml.id limit ?";
+        int result = 0;
+        List<Long> loanIds = this.jdbcTemplate.queryForList(sql, Long.class, 0L, LOANS_PER_CHUNK);
+        while (!loanIds.isEmpty()) {
+            final Long fromLoanId = loanIds.get(0);
+            final Long toLoanId = loanIds.get(loanIds.size() - 1);
+            result += this.transactionTemplate.execute(new TransactionCallback<Integer>() {
+
+                @Override
+                public Integer doInTransaction(@SuppressWarnings("unused") final TransactionStatus status) {
+                    return insertLoanArrearsAgeingDetails(ARREARS_AGING_SHADOW_TABLE, " and ml.id between ? and ? ", new Object[] {
+                            fromLoanId, toLoanId });
+                }
+            });
+            loanIds = this.jdbcTemplate.queryForList(sql, Long.class, toLoanId, LOANS_PER_CHUNK);
+        }
 
+        this.jdbcTemplate.execute("rename table " + ARREARS_AGING_TABLE + " to m_loan_arrears_aging_previous, "
+                + ARREARS_AGING_SHADOW_TABLE + " to " + ARREARS_AGING_TABLE + ", m_loan_arrears_aging_previous to "
+                + ARREARS_AGING_SHADOW_TABLE);
+        return result;
+    }
+
+    /**
+     * Recomputes in place the ageing of active loans with an instalment that
+     * fell overdue or a transaction submitted on or after the last run date,
+     * and drops the ageing of loans which are no longer active.
+     */
+    private int updateLoanArrearsAgeingDetailsSince(final LocalDate lastRunDate) {
+        final String lastRunDateAsString = this.formatter.print(lastRunDate);
+
+        final StringBuilder sqlBuilder = new StringBuilder(900);
+        sqlBuilder.append("select ml.id from m_loan ml where ml.loan_status_id = 300 and ml.id > ? and (");
+        sqlBuilder.append(" exists (select mr.id from m_loan_repayment_schedule mr where mr.loan_id = ml.id and mr.completed_derived is false");
+        sqlBuilder.append(" and mr.duedate >= SUBDATE(?, INTERVAL ifnull(ml.grace_on_arrears_ageing,0) day)");
+        sqlBuilder.append(" and mr.duedate < SUBDATE(CURDATE(), INTERVAL ifnull(ml.grace_on_arrears_ageing,0) day))");
+        sqlBuilder.append(" or exists (select mrh.id from m_loan_repayment_schedule_history mrh where mrh.loan_id = ml.id");
+        sqlBuilder.append(" and mrh.duedate >= SUBDATE(?, INTERVAL ifnull(ml.grace_on_arrears_ageing,0) day)");
+        sqlBuilder.append(" and mrh.duedate < SUBDATE(CURDATE(), INTERVAL ifnull(ml.grace_on_arrears_ageing,0) day))");
+        sqlBuilder.append(" or exists (select tr.id from m_loan_transaction tr where tr.loan_id = ml.id and tr.submitted_on_date >= ?)");
+        sqlBuilder.append(") order by ml.id limit ?");
+        final String sql = sqlBuilder.toString();
+
+        int result = this.jdbcTemplate.update("delete mla from " + ARREARS_AGING_TABLE
+                + " mla join m_loan ml on ml.id = mla.loan_id where ml.loan_status_id <> 300");
+
+        List<Long> loanIds = this.jdbcTemplate.queryForList(sql, Long.class, 0L, lastRunDateAsString, lastRunDateAsString,
+                lastRunDateAsString, LOANS_PER_CHUNK);
+        while (!loanIds.isEmpty()) {
+            final List<Long> chunk = loanIds;
+            result += this.transactionTemplate.execute(new TransactionCallback<Integer>() {
+
+                @Override
+                public Integer doInTransaction(@SuppressWarnings("unused") final TransactionStatus status) {
+                    final String loanCondition = " and ml.id in (" + placeholders(chunk.size()) + ") ";
+                    final Object[] loanIdParams = chunk.toArray();
+                    LoanArrearsAgingServiceImpl.this.jdbcTemplate.update("delete from " + ARREARS_AGING_TABLE + " where loan_id in ("
+                            + placeholders(chunk.size()) + ")", loanIdParams);
+                    return insertLoanArrearsAgeingDetails(ARREARS_AGING_TABLE, loanCondition, loanIdParams);
+                }
+            });
+            loanIds = this.jdbcTemplate.queryForList(sql, Long.class, chunk.get(chunk.size() - 1), lastRunDateAsString,
+                    lastRunDateAsString, lastRunDateAsString, LOANS_PER_CHUNK);
+        }
+        return result;
+    }
+
+    /**
+     * Inserts the ageing of the active loans matching the condition into the
+     * table. Rows already present, mirrored there by loan events during a full
+     * update, are newer than the ones computed here and are kept.
+     */
+    private int insertLoanArrearsAgeingDetails(final String table, final String loanCondition, final Object[] loanConditionParams) {
         final StringBuilder updateSqlBuilder = new StringBuilder(900);
 
         updateSqlBuilder
-                .append("INSERT INTO m_loan_arrears_aging(`loan_id`,`principal_overdue_derived`,`interest_overdue_derived`,`fee_charges_overdue_derived`,`penalty_charges_overdue_derived`,`total_overdue_derived`,`overdue_since_date_derived`)");
+                .append("INSERT INTO ")
+                .append(table)
+                .append("(`loan_id`,`principal_overdue_derived`,`interest_overdue_derived`,`fee_charges_overdue_derived`,`penalty_charges_overdue_derived`,`total_overdue_derived`,`overdue_since_date_derived`)");
         updateSqlBuilder.append("select ml.id as loanId,");
         updateSqlBuilder
                 .append("SUM((ifnull(mr.principal_amount,0) - ifnull(mr.principal_completed_derived, 0))) as principal_overdue_derived,");
@@ -101,20 +232,42 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService, Bus
         updateSqlBuilder.append(" INNER JOIN m_loan_repayment_schedule mr on mr.loan_id = ml.id ");
         updateSqlBuilder.append(" left join m_product_loan_recalculation_details prd on prd.product_id = ml.product_id ");
         updateSqlBuilder.append(" WHERE ml.loan_status_id = 300 "); // active
+        updateSqlBuilder.append(loanCondition);
         updateSqlBuilder.append(" and mr.completed_derived is false ");
         updateSqlBuilder.append(" and mr.duedate < SUBDATE(CURDATE(),INTERVAL  ifnull(ml.grace_on_arrears_ageing,0) day) ");
         updateSqlBuilder.append(" and (prd.arrears_based_on_original_schedule = 0 or prd.arrears_based_on_original_schedule is null) ");
         updateSqlBuilder.append(" GROUP BY ml.id");
+        updateSqlBuilder.append(" ON DUPLICATE KEY UPDATE ").append(table).append(".loan_id = ").append(table).append(".loan_id");
 
-        List<String> insertStatements = updateLoanArrearsAgeingDetailsWithOriginalSchedule();
-        insertStatements.add(0, updateSqlBuilder.toString());
-        final int[] results = this.jdbcTemplate.batchUpdate(insertStatements.toArray(new String[0]));
-        int result = 0;
-        for (int i : results) {
-            result += i;
+        int result = this.jdbcTemplate.update(updateSqlBuilder.toString(), loanConditionParams);
+
+        final List<String> insertStatements = updateLoanArrearsAgeingDetailsWithOriginalSchedule(table, loanCondition,
+                loanConditionParams);
+        if (!insertStatements.isEmpty()) {
+            final int[] results = this.jdbcTemplate.batchUpdate(insertStatements.toArray(new String[0]));
+            for (int i : results) {
+                result += i;
+            }
         }
+        return result;
+    }
 
-        logger.info(ThreadLocalContextUtil.getTenant().getName() + ": Results affected by update: " + result);
+    private static String placeholders(final int count) {
+        final StringBuilder placeholders = new StringBuilder(count * 2);
+        for (int i = 0; i < count; i++) {
+            placeholders.append(i == 0 ? "?" : ",?");
+        }
+        return placeholders.toString();
+    }
+
+    /**
+     * Copies the ageing of the loan into the shadow table so that a full update
+     * running concurrently does not swap in ageing computed before the change.
+     */
+    private void mirrorToShadowTable(final Long loanId) {
+        this.jdbcTemplate.update("delete from " + ARREARS_AGING_SHADOW_TABLE + " where loan_id = ?", loanId);
+        this.jdbcTemplate.update("insert into " + ARREARS_AGING_SHADOW_TABLE + " select * from " + ARREARS_AGING_TABLE
+                + " where loan_id = ?", loanId);
     }
 
     @Override
@@ -128,13 +281,14 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService, Bus
         if (scheduleDate.size() > 0) {
             List<Map<String, Object>> transactions = getLoanSummary(loan.getId(), loan.getLoanSummary());
             updateSchheduleWithPaidDetail(scheduleDate, transactions);
-            createInsertStatements(updateStatement, scheduleDate, count == 0);
+            createInsertStatements(ARREARS_AGING_TABLE, updateStatement, scheduleDate, count == 0);
             if (updateStatement.size() == 1) {
                 this.jdbcTemplate.update(updateStatement.get(0));
             } else {
                 String deletestatement = "DELETE FROM `m_loan_arrears_aging` WHERE  `loan_id`=" + loan.getId();
                 this.jdbcTemplate.update(deletestatement);
             }
+            mirrorToShadowTable(loan.getId());
         }
     }
 
@@ -149,6 +303,7 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService, Bus
         } else {
             this.jdbcTemplate.update(updateStatement);
         }
+        mirrorToShadowTable(loan.getId());
     }
 
     private String constructUpdateStatement(final Loan loan, boolean isInsertStatement) {
@@ -174,8 +329,8 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService, Bus
         BigDecimal totalOverDue = principalOverdue.add(interestOverdue).add(feeOverdue).add(penaltyOverdue);
         if (totalOverDue.compareTo(BigDecimal.ZERO) == 1) {
             if (isInsertStatement) {
-                updateSql = constructInsertStatement(loan.getId(), principalOverdue, interestOverdue, feeOverdue, penaltyOverdue,
-                        overDueSince);
+                updateSql = constructInsertStatement(ARREARS_AGING_TABLE, loan.getId(), principalOverdue, interestOverdue, feeOverdue,
+                        penaltyOverdue, overDueSince);
             } else {
                 updateSql = constructUpdateStatement(loan.getId(), principalOverdue, interestOverdue, feeOverdue, penaltyOverdue,
                         overDueSince);
@@ -184,7 +339,8 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService, Bus
         return updateSql;
     }
 
-    private List<String> updateLoanArrearsAgeingDetailsWithOriginalSchedule() {
+    private List<String> updateLoanArrearsAgeingDetailsWithOriginalSchedule(final String table, final String loanCondition,
+            final Object[] loanConditionParams) {
         List<String> insertStatement = new ArrayList<>();
 
         final StringBuilder loanIdentifier = new StringBuilder();
@@ -193,8 +349,9 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService, Bus
         loanIdentifier
                 .append("inner join m_product_loan_recalculation_details prd on prd.product_id = ml.product_id and prd.arrears_based_on_original_schedule = 1  ");
         loanIdentifier
-                .append("WHERE ml.loan_status_id = 300  and mr.completed_derived is false  and mr.duedate < SUBDATE(CURDATE(),INTERVAL  ifnull(ml.grace_on_arrears_ageing,0) day) group by ml.id");
-        List<Long> loanIds = this.jdbcTemplate.queryForList(loanIdentifier.toString(), Long.class);
+                .append("WHERE ml.loan_status_id = 300  and mr.completed_derived is false  and mr.duedate < SUBDATE(CURDATE(),INTERVAL  ifnull(ml.grace_on_arrears_ageing,0) day) ");
+        loanIdentifier.append(loanCondition).append("group by ml.id");
+        List<Long> loanIds = this.jdbcTemplate.queryForList(loanIdentifier.toString(), Long.class, loanConditionParams);
         if (!loanIds.isEmpty()) {
             String loanIdsAsString = loanIds.toString();
             loanIdsAsString = loanIdsAsString.substring(1, loanIdsAsString.length() - 1);
@@ -204,7 +361,7 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService, Bus
 
             List<Map<String, Object>> loanSummary = getLoanSummary(loanIdsAsString);
             updateSchheduleWithPaidDetail(scheduleDate, loanSummary);
-            createInsertStatements(insertStatement, scheduleDate, true);
+            createInsertStatements(table, insertStatement, scheduleDate, true);
         }
 
         return insertStatement;
@@ -245,8 +402,8 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService, Bus
 
     }
 
-    private void createInsertStatements(List<String> insertStatement, Map<Long, List<LoanSchedulePeriodData>> scheduleDate,
-            boolean isInsertStatement) {
+    private void createInsertStatements(final String table, List<String> insertStatement,
+            Map<Long, List<LoanSchedulePeriodData>> scheduleDate, boolean isInsertStatement) {
         for (Map.Entry<Long, List<LoanSchedulePeriodData>> entry : scheduleDate.entrySet()) {
             final Long loanId = entry.getKey();
             BigDecimal principalOverdue = BigDecimal.ZERO;
@@ -274,8 +431,8 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService, Bus
             if (principalOverdue.compareTo(BigDecimal.ZERO) == 1) {
                 String sqlStatement = null;
                 if (isInsertStatement) {
-                    sqlStatement = constructInsertStatement(loanId, principalOverdue, interestOverdue, feeOverdue, penaltyOverdue,
-                            overDueSince);
+                    sqlStatement = constructInsertStatement(table, loanId, principalOverdue, interestOverdue, feeOverdue,
+                            penaltyOverdue, overDueSince);
                 } else {
                     sqlStatement = constructUpdateStatement(loanId, principalOverdue, interestOverdue, feeOverdue, penaltyOverdue,
                             overDueSince);
@@ -286,11 +443,11 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService, Bus
         }
     }
 
-    private String constructInsertStatement(final Long loanId, BigDecimal principalOverdue, BigDecimal interestOverdue,
-            BigDecimal feeOverdue, BigDecimal penaltyOverdue, LocalDate overDueSince) {
+    private String constructInsertStatement(final String table, final Long loanId, BigDecimal principalOverdue,
+            BigDecimal interestOverdue, BigDecimal feeOverdue, BigDecimal penaltyOverdue, LocalDate overDueSince) {
         final StringBuilder insertStatementBuilder = new StringBuilder(900);
         insertStatementBuilder
-                .append("INSERT INTO m_loan_arrears_aging(`loan_id`,`principal_overdue_derived`,`interest_overdue_derived`,")
+                .append("INSERT INTO ").append(table).append("(`loan_id`,`principal_overdue_derived`,`interest_overdue_derived`,")
                 .append("`fee_charges_overdue_derived`,`penalty_charges_overdue_derived`,`total_overdue_derived`,`overdue_since_date_derived`) VALUES(");
         insertStatementBuilder.append(loanId).append(",");
         insertStatementBuilder.append(principalOverdue).append(",");
@@ -300,6 +457,7 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService, Bus
         BigDecimal totalOverDue = principalOverdue.add(interestOverdue).add(feeOverdue).add(penaltyOverdue);
         insertStatementBuilder.append(totalOverDue).append(",'");
         insertStatementBuilder.append(this.formatter.print(overDueSince)).append("')");
+        insertStatementBuilder.append(" ON DUPLICATE KEY UPDATE ").append(table).append(".loan_id = ").append(table).append(".loan_id");
         return insertStatementBuilder.toString();
     }
 
@@ -0,0 +1,27 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.portfolio.loanaccount.service;
+
+public interface LoanSummaryMaintenanceService {
+
+    /**
+     * Marks the summary of the loan as needing to be recomputed by the next
+     * run of {@link #updateDirtyLoanSummaries()}.
+     */
+    void markLoanSummaryDirty(Long loanId);
+
+    /**
+     * Recomputes the derived summary columns of the loans marked dirty since
+     * the last run, returning the number of loans recomputed.
+     */
+    int updateDirtyLoanSummaries();
+
+    /**
+     * Recomputes the derived summary columns of every disbursed loan,
+     * returning the number of loans recomputed.
+     */
+    int rebuildLoanSummaries();
+}
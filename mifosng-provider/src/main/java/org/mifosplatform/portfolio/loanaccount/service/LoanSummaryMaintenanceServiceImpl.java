@@ -0,0 +1,265 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.portfolio.loanaccount.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+
+import org.mifosplatform.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.mifosplatform.infrastructure.core.service.RoutingDataSource;
+import org.mifosplatform.portfolio.common.BusinessEventNotificationConstants.BUSINESS_ENTITY;
+import org.mifosplatform.portfolio.common.BusinessEventNotificationConstants.BUSINESS_EVENTS;
+import org.mifosplatform.portfolio.common.service.BusinessEventListner;
+import org.mifosplatform.portfolio.common.service.BusinessEventNotifierService;
+import org.mifosplatform.portfolio.loanaccount.domain.Loan;
+import org.mifosplatform.portfolio.loanaccount.domain.LoanCharge;
+import org.mifosplatform.portfolio.loanaccount.domain.LoanTransaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the derived summary columns of <code>m_loan</code> in line with the
+ * repayment schedule and charges without rebuilding them for every loan.
+ *
+ * Loan write paths mark the loan dirty in <code>m_loan_summary_dirty</code>
+ * through the business events they already raise, in the same transaction as
+ * the change itself. {@link #updateDirtyLoanSummaries()} then recomputes only
+ * those loans, a batch of loans per transaction, and deletes a mark only if
+ * the loan was not marked again while it was being recomputed.
+ * {@link #rebuildLoanSummaries()} recomputes every disbursed loan in the same
+ * batches for reconciliation.
+ */
+@Service
+public class LoanSummaryMaintenanceServiceImpl implements LoanSummaryMaintenanceService, BusinessEventListner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BusinessEventNotifierService businessEventNotifierService;
+    private final ConfigurationDomainService configurationDomainService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public LoanSummaryMaintenanceServiceImpl(final RoutingDataSource dataSource,
+            final BusinessEventNotifierService businessEventNotifierService, final ConfigurationDomainService configurationDomainService,
+            final TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.businessEventNotifierService = businessEventNotifierService;
+        this.configurationDomainService = configurationDomainService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    public void registerForNotification() {
+        final BUSINESS_EVENTS[] summaryChangingEvents = { BUSINESS_EVENTS.LOAN_DISBURSAL, BUSINESS_EVENTS.LOAN_UNDO_DISBURSAL,
+                BUSINESS_EVENTS.LOAN_MAKE_REPAYMENT, BUSINESS_EVENTS.LOAN_ADJUST_TRANSACTION, BUSINESS_EVENTS.LOAN_REFUND,
+                BUSINESS_EVENTS.LOAN_WAIVE_INTEREST, BUSINESS_EVENTS.LOAN_WRITTEN_OFF, BUSINESS_EVENTS.LOAN_UNDO_WRITTEN_OFF,
+                BUSINESS_EVENTS.LOAN_CLOSE, BUSINESS_EVENTS.LOAN_CLOSE_AS_RESCHEDULE, BUSINESS_EVENTS.LOAN_ADD_CHARGE,
+                BUSINESS_EVENTS.LOAN_UPDATE_CHARGE, BUSINESS_EVENTS.LOAN_WAIVE_CHARGE, BUSINESS_EVENTS.LOAN_DELETE_CHARGE,
+                BUSINESS_EVENTS.LOAN_CHARGE_PAYMENT, BUSINESS_EVENTS.LOAN_APPLY_OVERDUE_CHARGE, BUSINESS_EVENTS.LOAN_INTEREST_RECALCULATION };
+        for (final BUSINESS_EVENTS businessEvent : summaryChangingEvents) {
+            this.businessEventNotifierService.addBusinessEventPostListners(businessEvent, this);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    @Override
+    public void businessEventToBeExecuted(final Map<BUSINESS_ENTITY, Object> businessEventEntity) {
+        // summaries are recomputed from the state after the event
+    }
+
+    @Override
+    public void businessEventWasExecuted(final Map<BUSINESS_ENTITY, Object> businessEventEntity) {
+        Loan loan = null;
+        final Object loanEntity = businessEventEntity.get(BUSINESS_ENTITY.LOAN);
+        final Object loanTransactionEntity = businessEventEntity.get(BUSINESS_ENTITY.LOAN_TRANSACTION);
+        final Object loanAdjustTransactionEntity = businessEventEntity.get(BUSINESS_ENTITY.LOAN_ADJUSTED_TRANSACTION);
+        final Object loanChargeEntity = businessEventEntity.get(BUSINESS_ENTITY.LOAN_CHARGE);
+        if (loanEntity != null) {
+            loan = (Loan) loanEntity;
+        } else if (loanTransactionEntity != null) {
+            loan = ((LoanTransaction) loanTransactionEntity).getLoan();
+        } else if (loanAdjustTransactionEntity != null) {
+            loan = ((LoanTransaction) loanAdjustTransactionEntity).getLoan();
+        } else if (loanChargeEntity != null) {
+            loan = ((LoanCharge) loanChargeEntity).getLoan();
+        }
+        if (loan != null && loan.getId() != null) {
+            markLoanSummaryDirty(loan.getId());
+        }
+    }
+
+    @Override
+    public void markLoanSummaryDirty(final Long loanId) {
+        this.jdbcTemplate.update("insert into m_loan_summary_dirty (loan_id, version) values (?, 1)"
+                + " on duplicate key update version = version + 1", loanId);
+    }
+
+    @Override
+    public int updateDirtyLoanSummaries() {
+        final int batchSize = this.configurationDomainService.retrieveLoanSummaryUpdateBatchSize();
+        final String sql = "select d.loan_id, d.version from m_loan_summary_dirty d where d.loan_id > ? order by d.loan_id limit ?";
+        final RowMapper<DirtyLoan> rowMapper = new RowMapper<DirtyLoan>() {
+
+            @Override
+            public DirtyLoan mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+                return new DirtyLoan(rs.getLong("loan_id"), rs.getInt("version"));
+            }
+        };
+
+        int updatedLoans = 0;
+        List<DirtyLoan> dirtyLoans = this.jdbcTemplate.query(sql, rowMapper, 0L, batchSize);
+        while (!dirtyLoans.isEmpty()) {
+            updatedLoans += updateDirtyLoanSummaries(dirtyLoans);
+            final Long lastLoanId = dirtyLoans.get(dirtyLoans.size() - 1).loanId;
+            dirtyLoans = this.jdbcTemplate.query(sql, rowMapper, lastLoanId, batchSize);
+        }
+        return updatedLoans;
+    }
+
+    private int updateDirtyLoanSummaries(final List<DirtyLoan> dirtyLoans) {
+        return this.transactionTemplate.execute(new TransactionCallback<Integer>() {
+
+            @Override
+            public Integer doInTransaction(@SuppressWarnings("unused") final TransactionStatus status) {
+                final List<Long> loanIds = new ArrayList<>(dirtyLoans.size());
+                final List<Object[]> marks = new ArrayList<>(dirtyLoans.size());
+                for (final DirtyLoan dirtyLoan : dirtyLoans) {
+                    loanIds.add(dirtyLoan.loanId);
+                    marks.add(new Object[] { dirtyLoan.loanId, dirtyLoan.version });
+                }
+
+                final int updatedLoans = updateLoanSummaries(loanIds);
+                LoanSummaryMaintenanceServiceImpl.this.jdbcTemplate.batchUpdate(
+                        "delete from m_loan_summary_dirty where loan_id = ? and version = ?", marks);
+                return updatedLoans;
+            }
+        });
+    }
+
+    @Override
+    public int rebuildLoanSummaries() {
+        final int batchSize = this.configurationDomainService.retrieveLoanSummaryUpdateBatchSize();
+        final String sql = "select ml.id from m_loan ml where ml.disbursedon_date is not null and ml.id > ? order by ml.id limit ?";
+
+        int updatedLoans = 0;
+        List<Long> loanIds = this.jdbcTemplate.queryForList(sql, Long.class, 0L, batchSize);
+        while (!loanIds.isEmpty()) {
+            final List<Long> batch = loanIds;
+            updatedLoans += this.transactionTemplate.execute(new TransactionCallback<Integer>() {
+
+                @Override
+                public Integer doInTransaction(@SuppressWarnings("unused") final TransactionStatus status) {
+                    return updateLoanSummaries(batch);
+                }
+            });
+            loanIds = this.jdbcTemplate.queryForList(sql, Long.class, batch.get(batch.size() - 1), batchSize);
+        }
+        return updatedLoans;
+    }
+
+    private int updateLoanSummaries(final List<Long> loanIds) {
+        return this.jdbcTemplate.update(loanSummaryUpdateSql(loanIds.size()), loanIds.toArray());
+    }
+
+    private static String loanSummaryUpdateSql(final int loanCount) {
+        final StringBuilder updateSqlBuilder = new StringBuilder(900);
+        updateSqlBuilder.append("update m_loan ");
+        updateSqlBuilder.append("join (");
+        updateSqlBuilder.append("SELECT ml.id AS loanId,");
+        updateSqlBuilder.append("SUM(mr.principal_amount) as principal_disbursed_derived, ");
+        updateSqlBuilder.append("SUM(IFNULL(mr.principal_completed_derived,0)) as principal_repaid_derived, ");
+        updateSqlBuilder.append("SUM(IFNULL(mr.principal_writtenoff_derived,0)) as principal_writtenoff_derived,");
+        updateSqlBuilder.append("SUM(IFNULL(mr.interest_amount,0)) as interest_charged_derived,");
+        updateSqlBuilder.append("SUM(IFNULL(mr.interest_completed_derived,0)) as interest_repaid_derived,");
+        updateSqlBuilder.append("SUM(IFNULL(mr.interest_waived_derived,0)) as interest_waived_derived,");
+        updateSqlBuilder.append("SUM(IFNULL(mr.interest_writtenoff_derived,0)) as interest_writtenoff_derived,");
+        updateSqlBuilder
+                .append("SUM(IFNULL(mr.fee_charges_amount,0)) + IFNULL((select SUM(lc.amount) from  m_loan_charge lc where lc.loan_id=ml.id and lc.is_active=1 and lc.charge_id=1),0) as fee_charges_charged_derived,");
+        updateSqlBuilder
+                .append("SUM(IFNULL(mr.fee_charges_completed_derived,0)) + IFNULL((select SUM(lc.amount_paid_derived) from  m_loan_charge lc where lc.loan_id=ml.id and lc.is_active=1 and lc.charge_id=1),0) as fee_charges_repaid_derived,");
+        updateSqlBuilder.append("SUM(IFNULL(mr.fee_charges_waived_derived,0)) as fee_charges_waived_derived,");
+        updateSqlBuilder.append("SUM(IFNULL(mr.fee_charges_writtenoff_derived,0)) as fee_charges_writtenoff_derived,");
+        updateSqlBuilder.append("SUM(IFNULL(mr.penalty_charges_amount,0)) as penalty_charges_charged_derived,");
+        updateSqlBuilder.append("SUM(IFNULL(mr.penalty_charges_completed_derived,0)) as penalty_charges_repaid_derived,");
+        updateSqlBuilder.append("SUM(IFNULL(mr.penalty_charges_waived_derived,0)) as penalty_charges_waived_derived,");
+        updateSqlBuilder.append("SUM(IFNULL(mr.penalty_charges_writtenoff_derived,0)) as penalty_charges_writtenoff_derived ");
+        updateSqlBuilder.append(" FROM m_loan ml ");
+        updateSqlBuilder.append("INNER JOIN m_loan_repayment_schedule mr on mr.loan_id = ml.id ");
+        updateSqlBuilder.append("WHERE ml.disbursedon_date is not null ");
+        updateSqlBuilder.append("and ml.id in (");
+        for (int i = 0; i < loanCount; i++) {
+            updateSqlBuilder.append(i == 0 ? "?" : ",?");
+        }
+        updateSqlBuilder.append(") ");
+        updateSqlBuilder.append("GROUP BY ml.id ");
+        updateSqlBuilder.append(") x on x.loanId = m_loan.id ");
+
+        updateSqlBuilder.append("SET m_loan.principal_disbursed_derived = x.principal_disbursed_derived,");
+        updateSqlBuilder.append("m_loan.principal_repaid_derived = x.principal_repaid_derived,");
+        updateSqlBuilder.append("m_loan.principal_writtenoff_derived = x.principal_writtenoff_derived,");
+        updateSqlBuilder
+                .append("m_loan.principal_outstanding_derived = (x.principal_disbursed_derived - (x.principal_repaid_derived + x.principal_writtenoff_derived)),");
+        updateSqlBuilder.append("m_loan.interest_charged_derived = x.interest_charged_derived,");
+        updateSqlBuilder.append("m_loan.interest_repaid_derived = x.interest_repaid_derived,");
+        updateSqlBuilder.append("m_loan.interest_waived_derived = x.interest_waived_derived,");
+        updateSqlBuilder.append("m_loan.interest_writtenoff_derived = x.interest_writtenoff_derived,");
+        updateSqlBuilder
+                .append("m_loan.interest_outstanding_derived = (x.interest_charged_derived - (x.interest_repaid_derived + x.interest_waived_derived + x.interest_writtenoff_derived)),");
+        updateSqlBuilder.append("m_loan.fee_charges_charged_derived = x.fee_charges_charged_derived,");
+        updateSqlBuilder.append("m_loan.fee_charges_repaid_derived = x.fee_charges_repaid_derived,");
+        updateSqlBuilder.append("m_loan.fee_charges_waived_derived = x.fee_charges_waived_derived,");
+        updateSqlBuilder.append("m_loan.fee_charges_writtenoff_derived = x.fee_charges_writtenoff_derived,");
+        updateSqlBuilder
+                .append("m_loan.fee_charges_outstanding_derived = (x.fee_charges_charged_derived - (x.fee_charges_repaid_derived + x.fee_charges_waived_derived + x.fee_charges_writtenoff_derived)),");
+        updateSqlBuilder.append("m_loan.penalty_charges_charged_derived = x.penalty_charges_charged_derived,");
+        updateSqlBuilder.append("m_loan.penalty_charges_repaid_derived = x.penalty_charges_repaid_derived,");
+        updateSqlBuilder.append("m_loan.penalty_charges_waived_derived = x.penalty_charges_waived_derived,");
+        updateSqlBuilder.append("m_loan.penalty_charges_writtenoff_derived = x.penalty_charges_writtenoff_derived,");
+        updateSqlBuilder
+                .append("m_loan.penalty_charges_outstanding_derived = (x.penalty_charges_charged_derived - (x.penalty_charges_repaid_derived + x.penalty_charges_waived_derived + x.penalty_charges_writtenoff_derived)),");
+        updateSqlBuilder
+                .append("m_loan.total_expected_repayment_derived = (x.principal_disbursed_derived + x.interest_charged_derived + x.fee_charges_charged_derived + x.penalty_charges_charged_derived),");
+        updateSqlBuilder
+                .append("m_loan.total_repayment_derived = (x.principal_repaid_derived + x.interest_repaid_derived + x.fee_charges_repaid_derived + x.penalty_charges_repaid_derived),");
+        updateSqlBuilder
+                .append("m_loan.total_expected_costofloan_derived = (x.interest_charged_derived + x.fee_charges_charged_derived + x.penalty_charges_charged_derived),");
+        updateSqlBuilder
+                .append("m_loan.total_costofloan_derived = (x.interest_repaid_derived + x.fee_charges_repaid_derived + x.penalty_charges_repaid_derived),");
+        updateSqlBuilder
+                .append("m_loan.total_waived_derived = (x.interest_waived_derived + x.fee_charges_waived_derived + x.penalty_charges_waived_derived),");
+        updateSqlBuilder
+                .append("m_loan.total_writtenoff_derived = (x.interest_writtenoff_derived +  x.fee_charges_writtenoff_derived + x.penalty_charges_writtenoff_derived),");
+        updateSqlBuilder.append("m_loan.total_outstanding_derived=");
+        updateSqlBuilder.append(" (x.principal_disbursed_derived - (x.principal_repaid_derived + x.principal_writtenoff_derived)) + ");
+        updateSqlBuilder
+                .append(" (x.interest_charged_derived - (x.interest_repaid_derived + x.interest_waived_derived + x.interest_writtenoff_derived)) +");
+        updateSqlBuilder
+                .append(" (x.fee_charges_charged_derived - (x.fee_charges_repaid_derived + x.fee_charges_waived_derived + x.fee_charges_writtenoff_derived)) +");
+        updateSqlBuilder
+                .append(" (x.penalty_charges_charged_derived - (x.penalty_charges_repaid_derived + x.penalty_charges_waived_derived + x.penalty_charges_writtenoff_derived))");
+        return updateSqlBuilder.toString();
+    }
+
+    private static final class DirtyLoan {
+
+        private final Long loanId;
+        private final Integer version;
+
+        public DirtyLoan(final Long loanId, final Integer version) {
+            this.loanId = loanId;
+            this.version = version;
+        }
+    }
+}
@@ -14,6 +14,7 @@ import static org.mifosplatform.portfolio.savings.SavingsApiConstants.digitsAfte
 import static org.mifosplatform.portfolio.savings.SavingsApiConstants.feeAmountParamName;
 import static org.mifosplatform.portfolio.savings.SavingsApiConstants.feeOnMonthDayParamName;
 import static org.mifosplatform.portfolio.savings.SavingsApiConstants.inMultiplesOfParamName;
+import static org.mifosplatform.portfolio.savings.SavingsApiConstants.incrementalInterestCalculationParamName;
 import static org.mifosplatform.portfolio.savings.SavingsApiConstants.interestCalculationDaysInYearTypeParamName;
 import static org.mifosplatform.portfolio.savings.SavingsApiConstants.interestCalculationTypeParamName;
 import static org.mifosplatform.portfolio.savings.SavingsApiConstants.interestCompoundingPeriodTypeParamName;
@@ -280,6 +281,13 @@ public class SavingsProductDataValidator {
                     .ignoreIfNull().zeroOrPositiveAmount();
         }
 
+        if (this.fromApiJsonHelper.parameterExists(incrementalInterestCalculationParamName, element)) {
+            final Boolean incrementalInterestCalculation = this.fromApiJsonHelper.extractBooleanNamed(
+                    incrementalInterestCalculationParamName, element);
+            baseDataValidator.reset().parameter(incrementalInterestCalculationParamName).value(incrementalInterestCalculation)
+                    .validateForBooleanValue();
+        }
+
         throwExceptionIfValidationWarningsExist(dataValidationErrors);
     }
 
@@ -445,6 +453,13 @@ public class SavingsProductDataValidator {
                     .ignoreIfNull().zeroOrPositiveAmount();
         }
 
+        if (this.fromApiJsonHelper.parameterExists(incrementalInterestCalculationParamName, element)) {
+            final Boolean incrementalInterestCalculation = this.fromApiJsonHelper.extractBooleanNamed(
+                    incrementalInterestCalculationParamName, element);
+            baseDataValidator.reset().parameter(incrementalInterestCalculationParamName).value(incrementalInterestCalculation)
+                    .validateForBooleanValue();
+        }
+
         throwExceptionIfValidationWarningsExist(dataValidationErrors);
     }
 
@@ -263,6 +263,9 @@ public class SavingsAccount extends AbstractPersistable<Long> {
     @Embedded
     protected SavingsAccountSummary summary;
 
+    @Embedded
+    protected SavingsAccountInterestLedger interestLedger;
+
     @OrderBy(value = "dateOf, createdDate, id")
     @LazyCollection(LazyCollectionOption.FALSE)
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "savingsAccount", orphanRemoval = true)
@@ -426,6 +429,9 @@ public class SavingsAccount extends AbstractPersistable<Long> {
     public void postInterest(final MathContext mc, final LocalDate interestPostingUpToDate, final boolean isInterestTransfer,
             final boolean isSavingsInterestPostingAtCurrentPeriodEnd, final Integer financialYearBeginningMonth) {
 
+        final boolean isInterestLedgerUsable = isInterestLedgerUsable(interestPostingUpToDate, isSavingsInterestPostingAtCurrentPeriodEnd,
+                financialYearBeginningMonth);
+
         final List<PostingPeriod> postingPeriods = calculateInterestUsing(mc, interestPostingUpToDate, isInterestTransfer,
                 isSavingsInterestPostingAtCurrentPeriodEnd, financialYearBeginningMonth);
 
@@ -462,17 +468,89 @@ public class SavingsAccount extends AbstractPersistable<Long> {
         }
 
         if (recalucateDailyBalanceDetails) {
-            // no openingBalance concept supported yet but probably will to
-            // allow
-            // for migrations.
-            final Money openingAccountBalance = Money.zero(this.currency);
-
-            // update existing transactions so derived balance fields are
-            // correct.
-            recalculateDailyBalances(openingAccountBalance, interestPostingUpToDate);
+            if (isInterestLedgerUsable) {
+                recalculateDailyBalancesSinceLastPosting(interestLedger().getPeriodStartDate(), interestPostingUpToDate);
+            } else {
+                // no openingBalance concept supported yet but probably will to
+                // allow
+                // for migrations.
+                final Money openingAccountBalance = Money.zero(this.currency);
+
+                // update existing transactions so derived balance fields are
+                // correct.
+                recalculateDailyBalances(openingAccountBalance, interestPostingUpToDate);
+            }
         }
 
         this.summary.updateSummary(this.currency, this.savingsAccountTransactionSummaryWrapper, this.transactions);
+
+        if (isIncrementalInterestCalculationEnabled()) {
+            final BigDecimal interestEarnedBeforeFirstPeriod = isInterestLedgerUsable ? interestLedger().getInterestEarned()
+                    : BigDecimal.ZERO;
+            updateInterestLedger(postingPeriods, interestEarnedBeforeFirstPeriod, interestPostingUpToDate,
+                    isSavingsInterestPostingAtCurrentPeriodEnd, financialYearBeginningMonth);
+        }
+    }
+
+    /**
+     * Moves the interest ledger forward to the start of the first posting
+     * period that has not been posted so that the next calculation only has to
+     * consider the periods from there on.
+     */
+    private void updateInterestLedger(final List<PostingPeriod> postingPeriods, final BigDecimal interestEarnedBeforeFirstPeriod,
+            final LocalDate interestPostingUpToDate, final boolean isSavingsInterestPostingAtCurrentPeriodEnd,
+            final Integer financialYearBeginningMonth) {
+
+        BigDecimal interestEarned = interestEarnedBeforeFirstPeriod;
+        BigDecimal interestEarnedToLastPostedPeriod = null;
+        PostingPeriod lastPostedPeriod = null;
+        for (final PostingPeriod postingPeriod : postingPeriods) {
+            if (postingPeriod.dateOfPostingTransaction().isAfter(interestPostingUpToDate)) {
+                break;
+            }
+            interestEarned = interestEarned.add(postingPeriod.getInterestEarned().getAmount());
+            interestEarnedToLastPostedPeriod = interestEarned;
+            lastPostedPeriod = postingPeriod;
+        }
+
+        if (lastPostedPeriod == null) { return; }
+
+        Long lastTransactionId = null;
+        for (final SavingsAccountTransaction transaction : this.transactions) {
+            if (transaction.getId() != null && (lastTransactionId == null || transaction.getId() > lastTransactionId)) {
+                lastTransactionId = transaction.getId();
+            }
+        }
+
+        if (lastTransactionId == null) { return; }
+
+        interestLedger().update(lastPostedPeriod.getPeriodInterval().endDate().plusDays(1), lastPostedPeriod.closingBalance(),
+                interestEarnedToLastPostedPeriod, lastTransactionId, isSavingsInterestPostingAtCurrentPeriodEnd,
+                financialYearBeginningMonth);
+    }
+
+    /**
+     * Incremental interest calculation is only supported for plain savings
+     * accounts whose interest stays on the account; deposit accounts override
+     * the interest calculation and posting themselves.
+     */
+    protected boolean isIncrementalInterestCalculationEnabled() {
+        return this.product.isIncrementalInterestCalculation() && DepositAccountType.SAVINGS_DEPOSIT.getValue().equals(this.depositType)
+                && !isTransferInterestToOtherAccount();
+    }
+
+    private boolean isInterestLedgerUsable(final LocalDate upToInterestCalculationDate,
+            final boolean isSavingsInterestPostingAtCurrentPeriodEnd, final Integer financialYearBeginningMonth) {
+        return isIncrementalInterestCalculationEnabled()
+                && interestLedger().isUsableFor(upToInterestCalculationDate, this.transactions, isSavingsInterestPostingAtCurrentPeriodEnd,
+                        financialYearBeginningMonth);
+    }
+
+    private SavingsAccountInterestLedger interestLedger() {
+        if (this.interestLedger == null) {
+            this.interestLedger = new SavingsAccountInterestLedger();
+        }
+        return this.interestLedger;
     }
 
     protected SavingsAccountTransaction findInterestPostingTransactionFor(final LocalDate postingDate) {
@@ -524,6 +602,11 @@ public class SavingsAccount extends AbstractPersistable<Long> {
     public List<PostingPeriod> calculateInterestUsing(final MathContext mc, final LocalDate upToInterestCalculationDate,
             boolean isInterestTransfer, final boolean isSavingsInterestPostingAtCurrentPeriodEnd, final Integer financialYearBeginningMonth) {
 
+        if (isInterestLedgerUsable(upToInterestCalculationDate, isSavingsInterestPostingAtCurrentPeriodEnd, financialYearBeginningMonth)) {
+            return calculateInterestSinceLastPosting(mc, upToInterestCalculationDate, isInterestTransfer,
+                    isSavingsInterestPostingAtCurrentPeriodEnd, financialYearBeginningMonth);
+        }
+
         // no openingBalance concept supported yet but probably will to allow
         // for migrations.
         final Money openingAccountBalance = Money.zero(this.currency);
@@ -600,6 +683,63 @@ public class SavingsAccount extends AbstractPersistable<Long> {
         return allPostingPeriods;
     }
 
+    /**
+     * Calculates interest only for the posting periods starting at the
+     * {@link SavingsAccountInterestLedger} period start date. Produces the same
+     * periods and amounts as a calculation over the entire account history as
+     * long as the ledger is usable.
+     */
+    private List<PostingPeriod> calculateInterestSinceLastPosting(final MathContext mc, final LocalDate upToInterestCalculationDate,
+            final boolean isInterestTransfer, final boolean isSavingsInterestPostingAtCurrentPeriodEnd,
+            final Integer financialYearBeginningMonth) {
+
+        final SavingsAccountInterestLedger ledger = interestLedger();
+        final LocalDate ledgerPeriodStartDate = ledger.getPeriodStartDate();
+
+        final List<SavingsAccountTransaction> orderedNonInterestPostingTransactions = recalculateDailyBalancesSinceLastPosting(
+                ledgerPeriodStartDate, upToInterestCalculationDate);
+
+        final SavingsPostingInterestPeriodType postingPeriodType = SavingsPostingInterestPeriodType.fromInt(this.interestPostingPeriodType);
+
+        final SavingsCompoundingInterestPeriodType compoundingPeriodType = SavingsCompoundingInterestPeriodType
+                .fromInt(this.interestCompoundingPeriodType);
+
+        final SavingsInterestCalculationDaysInYearType daysInYearType = SavingsInterestCalculationDaysInYearType
+                .fromInt(this.interestCalculationDaysInYearType);
+
+        final List<LocalDateInterval> postingPeriodIntervals = this.savingsHelper.determineInterestPostingPeriods(ledgerPeriodStartDate,
+                upToInterestCalculationDate, postingPeriodType, financialYearBeginningMonth);
+
+        final List<PostingPeriod> allPostingPeriods = new ArrayList<>();
+
+        Money periodStartingBalance = ledger.getOpeningBalance(this.currency);
+
+        final SavingsInterestCalculationType interestCalculationType = SavingsInterestCalculationType.fromInt(this.interestCalculationType);
+        final BigDecimal interestRateAsFraction = getEffectiveInterestRateAsFraction(mc, upToInterestCalculationDate);
+        final Collection<Long> interestPostTransactions = this.savingsHelper.fetchPostInterestTransactionIds(getId());
+        final Money minBalanceForInterestCalculation = Money.of(getCurrency(), minBalanceForInterestCalculation());
+
+        for (final LocalDateInterval periodInterval : postingPeriodIntervals) {
+
+            final PostingPeriod postingPeriod = PostingPeriod.createFrom(periodInterval, periodStartingBalance,
+                    orderedNonInterestPostingTransactions, this.currency, compoundingPeriodType, interestCalculationType,
+                    interestRateAsFraction, daysInYearType.getValue(), upToInterestCalculationDate, interestPostTransactions,
+                    isInterestTransfer, minBalanceForInterestCalculation, isSavingsInterestPostingAtCurrentPeriodEnd);
+
+            periodStartingBalance = postingPeriod.closingBalance();
+
+            allPostingPeriods.add(postingPeriod);
+        }
+
+        this.savingsHelper.calculateInterestForAllPostingPeriods(this.currency, allPostingPeriods, getLockedInUntilLocalDate(),
+                isTransferInterestToOtherAccount(), ledger.getInterestEarned());
+
+        this.summary.updateFromInterestPeriodSummaries(this.currency, ledger.getInterestEarned(), allPostingPeriods);
+        this.summary.updateSummary(this.currency, this.savingsAccountTransactionSummaryWrapper, this.transactions);
+
+        return allPostingPeriods;
+    }
+
     @SuppressWarnings("unused")
     protected BigDecimal getEffectiveInterestRateAsFraction(final MathContext mc, final LocalDate upToInterestCalculationDate) {
         return this.nominalAnnualInterestRate.divide(BigDecimal.valueOf(100l), mc);
@@ -630,9 +770,89 @@ public class SavingsAccount extends AbstractPersistable<Long> {
 
     protected void recalculateDailyBalances(final Money openingAccountBalance, final LocalDate interestPostingUpToDate) {
 
+        List<SavingsAccountTransaction> accountTransactionsSorted = retreiveListOfTransactions();
+        final boolean isTransactionsModified = recalculateRunningBalances(accountTransactionsSorted, openingAccountBalance);
+
+        if (isTransactionsModified) {
+            accountTransactionsSorted = retreiveListOfTransactions();
+        }
+        resetAccountTransactionsEndOfDayBalances(accountTransactionsSorted, interestPostingUpToDate);
+    }
+
+    /**
+     * Recalculates derived balances only for transactions dated on or after the
+     * last interest posting date of the {@link SavingsAccountInterestLedger};
+     * balances of earlier transactions are already correct whenever the ledger
+     * is usable.
+     * 
+     * @return the ordered non interest posting transactions needed to
+     *         calculate interest from the ledger period start date onwards.
+     */
+    private List<SavingsAccountTransaction> recalculateDailyBalancesSinceLastPosting(final LocalDate ledgerPeriodStartDate,
+            final LocalDate interestPostingUpToDate) {
+
+        final LocalDate lastPostingDate = ledgerPeriodStartDate.minusDays(1);
+        final SavingsAccountTransactionComparator transactionComparator = new SavingsAccountTransactionComparator();
+
+        SavingsAccountTransaction lastTransactionBeforePosting = null;
+        SavingsAccountTransaction lastNonInterestPostingTransactionBeforePosting = null;
+        for (final SavingsAccountTransaction transaction : this.transactions) {
+            if (transaction.isReversed() || !transaction.transactionLocalDate().isBefore(lastPostingDate)) {
+                continue;
+            }
+            if (lastTransactionBeforePosting == null || transactionComparator.compare(transaction, lastTransactionBeforePosting) >= 0) {
+                lastTransactionBeforePosting = transaction;
+            }
+            if (!transaction.isInterestPostingAndNotReversed()
+                    && (lastNonInterestPostingTransactionBeforePosting == null || transactionComparator.compare(transaction,
+                            lastNonInterestPostingTransactionBeforePosting) >= 0)) {
+                lastNonInterestPostingTransactionBeforePosting = transaction;
+            }
+        }
+
+        final Money openingBalance = lastTransactionBeforePosting == null ? Money.zero(this.currency) : lastTransactionBeforePosting
+                .getRunningBalance(this.currency);
+
+        List<SavingsAccountTransaction> transactionsSincePosting = retreiveListOfTransactionsFrom(lastPostingDate);
+        final boolean isTransactionsModified = recalculateRunningBalances(transactionsSincePosting, openingBalance);
+        if (isTransactionsModified) {
+            transactionsSincePosting = retreiveListOfTransactionsFrom(lastPostingDate);
+        }
+
+        final List<SavingsAccountTransaction> accountTransactionsSorted = new ArrayList<>();
+        if (lastNonInterestPostingTransactionBeforePosting != null) {
+            accountTransactionsSorted.add(lastNonInterestPostingTransactionBeforePosting);
+        }
+        accountTransactionsSorted.addAll(transactionsSincePosting);
+        resetAccountTransactionsEndOfDayBalances(accountTransactionsSorted, interestPostingUpToDate);
+
+        final List<SavingsAccountTransaction> orderedNonInterestPostingTransactions = new ArrayList<>();
+        for (final SavingsAccountTransaction transaction : accountTransactionsSorted) {
+            if (!transaction.isInterestPostingAndNotReversed() && transaction.isNotReversed()) {
+                orderedNonInterestPostingTransactions.add(transaction);
+            }
+        }
+        return orderedNonInterestPostingTransactions;
+    }
+
+    private List<SavingsAccountTransaction> retreiveListOfTransactionsFrom(final LocalDate fromDate) {
+        final List<SavingsAccountTransaction> listOfTransactionsSorted = new ArrayList<>();
+        for (final SavingsAccountTransaction transaction : this.transactions) {
+            if (!transaction.transactionLocalDate().isBefore(fromDate)) {
+                listOfTransactionsSorted.add(transaction);
+            }
+        }
+
+        final SavingsAccountTransactionComparator transactionComparator = new SavingsAccountTransactionComparator();
+        Collections.sort(listOfTransactionsSorted, transactionComparator);
+        return listOfTransactionsSorted;
+    }
+
+    private boolean recalculateRunningBalances(final List<SavingsAccountTransaction> accountTransactionsSorted,
+            final Money openingAccountBalance) {
+
         Money runningBalance = openingAccountBalance.copy();
 
-        List<SavingsAccountTransaction> accountTransactionsSorted = retreiveListOfTransactions();
         boolean isTransactionsModified = false;
         for (final SavingsAccountTransaction transaction : accountTransactionsSorted) {
             if (transaction.isReversed()) {
@@ -678,10 +898,7 @@ public class SavingsAccount extends AbstractPersistable<Long> {
             }
         }
 
-        if (isTransactionsModified) {
-            accountTransactionsSorted = retreiveListOfTransactions();
-        }
-        resetAccountTransactionsEndOfDayBalances(accountTransactionsSorted, interestPostingUpToDate);
+        return isTransactionsModified;
     }
 
     protected void resetAccountTransactionsEndOfDayBalances(final List<SavingsAccountTransaction> accountTransactionsSorted,
@@ -1592,6 +1809,7 @@ public class SavingsAccount extends AbstractPersistable<Long> {
         validateAttemptToUndoTransferRelatedTransactions(transactionToUndo);
         validateActivityNotBeforeClientOrGroupTransferDate(SavingsEvent.SAVINGS_UNDO_TRANSACTION, transactionToUndo.transactionLocalDate());
         transactionToUndo.reverse();
+        interestLedger().invalidateFrom(transactionToUndo.transactionLocalDate());
         if (transactionToUndo.isChargeTransaction() || transactionToUndo.isWaiveCharge()) {
             // undo charge
             final Set<SavingsAccountChargePaidBy> chargesPaidBy = transactionToUndo.getSavingsAccountChargesPaid();
@@ -0,0 +1,134 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.portfolio.savings.domain;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+import org.joda.time.LocalDate;
+import org.mifosplatform.organisation.monetary.domain.MonetaryCurrency;
+import org.mifosplatform.organisation.monetary.domain.Money;
+
+/**
+ * {@link SavingsAccountInterestLedger} records the state of interest
+ * calculation at the start of the first posting period that has not yet been
+ * posted on a {@link SavingsAccount}.
+ * 
+ * Together with the running balances already persisted on each
+ * {@link SavingsAccountTransaction} this allows interest to be calculated only
+ * for the posting periods since the last posting instead of from the beginning
+ * of the account. The ledger is only usable as long as no transaction dated
+ * before its period start date has been added or reversed since it was
+ * recorded.
+ */
+@Embeddable
+public final class SavingsAccountInterestLedger {
+
+    @Temporal(TemporalType.DATE)
+    @Column(name = "interest_ledger_period_start_date", nullable = true)
+    private Date periodStartDate;
+
+    /**
+     * Closing balance of the posting period ending the day before
+     * periodStartDate, excluding interest postings.
+     */
+    @Column(name = "interest_ledger_opening_balance", scale = 6, precision = 19, nullable = true)
+    private BigDecimal openingBalance;
+
+    /**
+     * Sum of the rounded interest earned in all posting periods before
+     * periodStartDate.
+     */
+    @Column(name = "interest_ledger_interest_earned", scale = 6, precision = 19, nullable = true)
+    private BigDecimal interestEarned;
+
+    @Column(name = "interest_ledger_last_transaction_id", nullable = true)
+    private Long lastTransactionId;
+
+    @Column(name = "interest_ledger_posting_at_period_end", nullable = true)
+    private Boolean interestPostingAtPeriodEnd;
+
+    @Column(name = "interest_ledger_financial_year_beginning_month", nullable = true)
+    private Integer financialYearBeginningMonth;
+
+    protected SavingsAccountInterestLedger() {
+        //
+    }
+
+    public boolean isUsableFor(final LocalDate upToInterestCalculationDate, final List<SavingsAccountTransaction> transactions,
+            final boolean isSavingsInterestPostingAtCurrentPeriodEnd, final Integer financialYearBeginningMonth) {
+
+        if (this.periodStartDate == null || this.lastTransactionId == null) { return false; }
+        if (!Boolean.valueOf(isSavingsInterestPostingAtCurrentPeriodEnd).equals(this.interestPostingAtPeriodEnd)) { return false; }
+        if (financialYearBeginningMonth == null || !financialYearBeginningMonth.equals(this.financialYearBeginningMonth)) { return false; }
+
+        final LocalDate startDate = getPeriodStartDate();
+        if (upToInterestCalculationDate.isBefore(startDate)) { return false; }
+
+        for (final SavingsAccountTransaction transaction : transactions) {
+            if (transaction.getId() != null && transaction.getId() <= this.lastTransactionId) {
+                continue;
+            }
+            // interest postings are only made by an interest posting, which
+            // records the ledger along with them; they get their ids after it
+            // when several periods are posted or earlier postings corrected
+            if (transaction.isInterestPosting()) {
+                continue;
+            }
+            if (transaction.transactionLocalDate().isBefore(startDate)) { return false; }
+        }
+
+        return true;
+    }
+
+    public void update(final LocalDate periodStartDate, final Money openingBalance, final BigDecimal interestEarned,
+            final Long lastTransactionId, final boolean isSavingsInterestPostingAtCurrentPeriodEnd,
+            final Integer financialYearBeginningMonth) {
+        this.periodStartDate = periodStartDate.toDate();
+        this.openingBalance = openingBalance.getAmount();
+        this.interestEarned = interestEarned;
+        this.lastTransactionId = lastTransactionId;
+        this.interestPostingAtPeriodEnd = isSavingsInterestPostingAtCurrentPeriodEnd;
+        this.financialYearBeginningMonth = financialYearBeginningMonth;
+    }
+
+    /**
+     * Called when a transaction dated before the period start date is
+     * reversed.
+     */
+    public void invalidateFrom(final LocalDate transactionDate) {
+        if (this.periodStartDate != null && transactionDate.isBefore(getPeriodStartDate())) {
+            invalidate();
+        }
+    }
+
+    public void invalidate() {
+        this.periodStartDate = null;
+        this.openingBalance = null;
+        this.interestEarned = null;
+        this.lastTransactionId = null;
+        this.interestPostingAtPeriodEnd = null;
+        this.financialYearBeginningMonth = null;
+    }
+
+    public LocalDate getPeriodStartDate() {
+        return new LocalDate(this.periodStartDate);
+    }
+
+    public Money getOpeningBalance(final MonetaryCurrency currency) {
+        return Money.of(currency, this.openingBalance);
+    }
+
+    public BigDecimal getInterestEarned() {
+        return this.interestEarned;
+    }
+}
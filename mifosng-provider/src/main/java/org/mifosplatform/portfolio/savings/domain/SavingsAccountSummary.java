@@ -80,8 +80,13 @@ public final class SavingsAccountSummary {
     }
 
     public void updateFromInterestPeriodSummaries(final MonetaryCurrency currency, final List<PostingPeriod> allPostingPeriods) {
+        updateFromInterestPeriodSummaries(currency, BigDecimal.ZERO, allPostingPeriods);
+    }
+
+    public void updateFromInterestPeriodSummaries(final MonetaryCurrency currency, final BigDecimal interestEarnedBeforeFirstPeriod,
+            final List<PostingPeriod> allPostingPeriods) {
 
-        Money totalEarned = Money.zero(currency);
+        Money totalEarned = Money.of(currency, interestEarnedBeforeFirstPeriod);
 
         for (final PostingPeriod period : allPostingPeriods) {
             Money interestEarned = period.interest();
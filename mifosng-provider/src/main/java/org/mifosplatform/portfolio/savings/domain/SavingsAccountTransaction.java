@@ -247,6 +247,10 @@ public final class SavingsAccountTransaction extends AbstractPersistable<Long> {
         return this.isDeposit() || this.isChargeTransaction();
     }
 
+    public boolean isInterestPosting() {
+        return SavingsAccountTransactionType.fromInt(this.typeOf).isInterestPosting();
+    }
+
     public boolean isInterestPostingAndNotReversed() {
         return SavingsAccountTransactionType.fromInt(this.typeOf).isInterestPosting() && isNotReversed();
     }
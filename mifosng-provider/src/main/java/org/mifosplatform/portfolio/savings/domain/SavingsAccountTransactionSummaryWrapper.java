@@ -8,8 +8,8 @@ package org.mifosplatform.portfolio.savings.domain;
 import java.math.BigDecimal;
 import java.util.List;
 
+import org.mifosplatform.organisation.monetary.domain.FixedPointMoney;
 import org.mifosplatform.organisation.monetary.domain.MonetaryCurrency;
-import org.mifosplatform.organisation.monetary.domain.Money;
 import org.springframework.stereotype.Component;
 
 /**
@@ -20,93 +20,93 @@ import org.springframework.stereotype.Component;
 public final class SavingsAccountTransactionSummaryWrapper {
 
     public BigDecimal calculateTotalDeposits(final MonetaryCurrency currency, final List<SavingsAccountTransaction> transactions) {
-        Money total = Money.zero(currency);
+        final FixedPointMoney total = FixedPointMoney.zero(currency);
         for (final SavingsAccountTransaction transaction : transactions) {
             if (transaction.isDeposit() && transaction.isNotReversed()) {
-                total = total.plus(transaction.getAmount(currency));
+                total.plus(transaction.getAmount(currency));
             }
         }
-        return total.getAmountDefaultedToNullIfZero();
+        return total.toMoney().getAmountDefaultedToNullIfZero();
     }
 
     public BigDecimal calculateTotalWithdrawals(final MonetaryCurrency currency, final List<SavingsAccountTransaction> transactions) {
-        Money total = Money.zero(currency);
+        final FixedPointMoney total = FixedPointMoney.zero(currency);
         for (final SavingsAccountTransaction transaction : transactions) {
             if (transaction.isWithdrawal() && transaction.isNotReversed()) {
-                total = total.plus(transaction.getAmount(currency));
+                total.plus(transaction.getAmount(currency));
             }
         }
-        return total.getAmountDefaultedToNullIfZero();
+        return total.toMoney().getAmountDefaultedToNullIfZero();
     }
 
     public BigDecimal calculateTotalInterestPosted(final MonetaryCurrency currency, final List<SavingsAccountTransaction> transactions) {
-        Money total = Money.zero(currency);
+        final FixedPointMoney total = FixedPointMoney.zero(currency);
         for (final SavingsAccountTransaction transaction : transactions) {
             if (transaction.isInterestPostingAndNotReversed() && transaction.isNotReversed()) {
-                total = total.plus(transaction.getAmount(currency));
+                total.plus(transaction.getAmount(currency));
             }
         }
-        return total.getAmountDefaultedToNullIfZero();
+        return total.toMoney().getAmountDefaultedToNullIfZero();
     }
 
     public BigDecimal calculateTotalWithdrawalFees(final MonetaryCurrency currency, final List<SavingsAccountTransaction> transactions) {
-        Money total = Money.zero(currency);
+        final FixedPointMoney total = FixedPointMoney.zero(currency);
         for (final SavingsAccountTransaction transaction : transactions) {
             if (transaction.isWithdrawalFeeAndNotReversed() && transaction.isNotReversed()) {
-                total = total.plus(transaction.getAmount(currency));
+                total.plus(transaction.getAmount(currency));
             }
         }
-        return total.getAmountDefaultedToNullIfZero();
+        return total.toMoney().getAmountDefaultedToNullIfZero();
     }
 
     public BigDecimal calculateTotalAnnualFees(final MonetaryCurrency currency, final List<SavingsAccountTransaction> transactions) {
-        Money total = Money.zero(currency);
+        final FixedPointMoney total = FixedPointMoney.zero(currency);
         for (final SavingsAccountTransaction transaction : transactions) {
             if (transaction.isAnnualFeeAndNotReversed() && transaction.isNotReversed()) {
-                total = total.plus(transaction.getAmount(currency));
+                total.plus(transaction.getAmount(currency));
             }
         }
-        return total.getAmountDefaultedToNullIfZero();
+        return total.toMoney().getAmountDefaultedToNullIfZero();
     }
 
     public BigDecimal calculateTotalFeesCharge(final MonetaryCurrency currency, final List<SavingsAccountTransaction> transactions) {
-        Money total = Money.zero(currency);
+        final FixedPointMoney total = FixedPointMoney.zero(currency);
         for (final SavingsAccountTransaction transaction : transactions) {
             if (transaction.isFeeChargeAndNotReversed()) {
-                total = total.plus(transaction.getAmount(currency));
+                total.plus(transaction.getAmount(currency));
             }
         }
-        return total.getAmountDefaultedToNullIfZero();
+        return total.toMoney().getAmountDefaultedToNullIfZero();
     }
 
     public BigDecimal calculateTotalFeesChargeWaived(final MonetaryCurrency currency, final List<SavingsAccountTransaction> transactions) {
-        Money total = Money.zero(currency);
+        final FixedPointMoney total = FixedPointMoney.zero(currency);
         for (final SavingsAccountTransaction transaction : transactions) {
             if (transaction.isWaiveFeeChargeAndNotReversed()) {
-                total = total.plus(transaction.getAmount(currency));
+                total.plus(transaction.getAmount(currency));
             }
         }
-        return total.getAmountDefaultedToNullIfZero();
+        return total.toMoney().getAmountDefaultedToNullIfZero();
     }
 
     public BigDecimal calculateTotalPenaltyCharge(final MonetaryCurrency currency, final List<SavingsAccountTransaction> transactions) {
-        Money total = Money.zero(currency);
+        final FixedPointMoney total = FixedPointMoney.zero(currency);
         for (final SavingsAccountTransaction transaction : transactions) {
             if (transaction.isPenaltyChargeAndNotReversed()) {
-                total = total.plus(transaction.getAmount(currency));
+                total.plus(transaction.getAmount(currency));
             }
         }
-        return total.getAmountDefaultedToNullIfZero();
+        return total.toMoney().getAmountDefaultedToNullIfZero();
     }
 
     public BigDecimal calculateTotalPenaltyChargeWaived(final MonetaryCurrency currency, final List<SavingsAccountTransaction> transactions) {
-        Money total = Money.zero(currency);
+        final FixedPointMoney total = FixedPointMoney.zero(currency);
         for (final SavingsAccountTransaction transaction : transactions) {
             if (transaction.isWaivePenaltyChargeAndNotReversed()) {
-                total = total.plus(transaction.getAmount(currency));
+                total.plus(transaction.getAmount(currency));
             }
         }
-        return total.getAmountDefaultedToNullIfZero();
+        return total.toMoney().getAmountDefaultedToNullIfZero();
     }
 
 }
\ No newline at end of file
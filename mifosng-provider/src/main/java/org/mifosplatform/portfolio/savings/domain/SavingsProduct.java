@@ -14,6 +14,7 @@ import static org.mifosplatform.portfolio.savings.SavingsApiConstants.descriptio
 import static org.mifosplatform.portfolio.savings.SavingsApiConstants.digitsAfterDecimalParamName;
 import static org.mifosplatform.portfolio.savings.SavingsApiConstants.enforceMinRequiredBalanceParamName;
 import static org.mifosplatform.portfolio.savings.SavingsApiConstants.inMultiplesOfParamName;
+import static org.mifosplatform.portfolio.savings.SavingsApiConstants.incrementalInterestCalculationParamName;
 import static org.mifosplatform.portfolio.savings.SavingsApiConstants.interestCalculationDaysInYearTypeParamName;
 import static org.mifosplatform.portfolio.savings.SavingsApiConstants.interestCalculationTypeParamName;
 import static org.mifosplatform.portfolio.savings.SavingsApiConstants.interestCompoundingPeriodTypeParamName;
@@ -159,6 +160,14 @@ public class SavingsProduct extends AbstractPersistable<Long> {
     @Column(name = "min_balance_for_interest_calculation", scale = 6, precision = 19, nullable = true)
     private BigDecimal minBalanceForInterestCalculation;
 
+    /**
+     * When set, interest for accounts of this product is calculated only for
+     * the posting periods since the last interest posting instead of over the
+     * entire account history.
+     */
+    @Column(name = "incremental_interest_calculation", nullable = false)
+    private boolean incrementalInterestCalculation;
+
     public static SavingsProduct createNew(final String name, final String shortName, final String description,
             final MonetaryCurrency currency, final BigDecimal interestRate,
             final SavingsCompoundingInterestPeriodType interestCompoundingPeriodType,
@@ -167,12 +176,14 @@ public class SavingsProduct extends AbstractPersistable<Long> {
             final Integer lockinPeriodFrequency, final SavingsPeriodFrequencyType lockinPeriodFrequencyType,
             final boolean withdrawalFeeApplicableForTransfer, final AccountingRuleType accountingRuleType, final Set<Charge> charges,
             final boolean allowOverdraft, final BigDecimal overdraftLimit, final boolean enforceMinRequiredBalance,
-            final BigDecimal minRequiredBalance, final BigDecimal minBalanceForInterestCalculation) {
+            final BigDecimal minRequiredBalance, final BigDecimal minBalanceForInterestCalculation,
+            final boolean incrementalInterestCalculation) {
 
         return new SavingsProduct(name, shortName, description, currency, interestRate, interestCompoundingPeriodType,
                 interestPostingPeriodType, interestCalculationType, interestCalculationDaysInYearType, minRequiredOpeningBalance,
                 lockinPeriodFrequency, lockinPeriodFrequencyType, withdrawalFeeApplicableForTransfer, accountingRuleType, charges,
-                allowOverdraft, overdraftLimit, enforceMinRequiredBalance, minRequiredBalance, minBalanceForInterestCalculation);
+                allowOverdraft, overdraftLimit, enforceMinRequiredBalance, minRequiredBalance, minBalanceForInterestCalculation,
+                incrementalInterestCalculation);
     }
 
     protected SavingsProduct() {
@@ -190,7 +201,7 @@ public class SavingsProduct extends AbstractPersistable<Long> {
         this(name, shortName, description, currency, interestRate, interestCompoundingPeriodType, interestPostingPeriodType,
                 interestCalculationType, interestCalculationDaysInYearType, minRequiredOpeningBalance, lockinPeriodFrequency,
                 lockinPeriodFrequencyType, withdrawalFeeApplicableForTransfer, accountingRuleType, charges, allowOverdraft, overdraftLimit,
-                false, null, minBalanceForInterestCalculation);
+                false, null, minBalanceForInterestCalculation, false);
     }
 
     protected SavingsProduct(final String name, final String shortName, final String description, final MonetaryCurrency currency,
@@ -200,7 +211,7 @@ public class SavingsProduct extends AbstractPersistable<Long> {
             final Integer lockinPeriodFrequency, final SavingsPeriodFrequencyType lockinPeriodFrequencyType,
             final boolean withdrawalFeeApplicableForTransfer, final AccountingRuleType accountingRuleType, final Set<Charge> charges,
             final boolean allowOverdraft, final BigDecimal overdraftLimit, final boolean enforceMinRequiredBalance,
-            final BigDecimal minRequiredBalance, BigDecimal minBalanceForInterestCalculation) {
+            final BigDecimal minRequiredBalance, BigDecimal minBalanceForInterestCalculation, final boolean incrementalInterestCalculation) {
 
         this.name = name;
         this.shortName = shortName;
@@ -239,6 +250,7 @@ public class SavingsProduct extends AbstractPersistable<Long> {
         this.enforceMinRequiredBalance = enforceMinRequiredBalance;
         this.minRequiredBalance = minRequiredBalance;
         this.minBalanceForInterestCalculation = minBalanceForInterestCalculation;
+        this.incrementalInterestCalculation = incrementalInterestCalculation;
     }
 
     public MonetaryCurrency currency() {
@@ -447,6 +459,12 @@ public class SavingsProduct extends AbstractPersistable<Long> {
             this.minBalanceForInterestCalculation = newValue;
         }
 
+        if (command.isChangeInBooleanParameterNamed(incrementalInterestCalculationParamName, this.incrementalInterestCalculation)) {
+            final boolean newValue = command.booleanPrimitiveValueOfParameterNamed(incrementalInterestCalculationParamName);
+            actualChanges.put(incrementalInterestCalculationParamName, newValue);
+            this.incrementalInterestCalculation = newValue;
+        }
+
         validateLockinDetails();
 
         return actualChanges;
@@ -553,6 +571,10 @@ public class SavingsProduct extends AbstractPersistable<Long> {
         return this.minBalanceForInterestCalculation;
     }
 
+    public boolean isIncrementalInterestCalculation() {
+        return this.incrementalInterestCalculation;
+    }
+
     public String getShortName() {
         return this.shortName;
     }
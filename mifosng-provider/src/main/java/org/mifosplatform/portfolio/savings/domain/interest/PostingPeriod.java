@@ -21,7 +21,6 @@ import org.mifosplatform.portfolio.savings.domain.SavingsAccountTransaction;
 
 public class PostingPeriod {
 
-    @SuppressWarnings("unused")
     private final LocalDateInterval periodInterval;
     private final MonetaryCurrency currency;
     private final SavingsCompoundingInterestPeriodType interestCompoundingType;
@@ -147,6 +146,10 @@ public class PostingPeriod {
         return this.dateOfPostingTransaction;
     }
 
+    public LocalDateInterval getPeriodInterval() {
+        return this.periodInterval;
+    }
+
     public Money closingBalance() {
         return this.closingBalance;
     }
@@ -74,6 +74,7 @@ import org.mifosplatform.portfolio.savings.domain.SavingsAccountRepositoryWrappe
 import org.mifosplatform.portfolio.savings.domain.SavingsProduct;
 import org.mifosplatform.portfolio.savings.domain.SavingsProductRepository;
 import org.mifosplatform.portfolio.savings.exception.SavingsProductNotFoundException;
+import org.mifosplatform.portfolio.search.service.SearchIndexWritePlatformService;
 import org.mifosplatform.useradministration.domain.AppUser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -106,6 +107,7 @@ public class DepositApplicationProcessWritePlatformServiceJpaRepositoryImpl impl
     private final CalendarInstanceRepository calendarInstanceRepository;
     private final ConfigurationDomainService configurationDomainService;
     private final AccountNumberFormatRepositoryWrapper accountNumberFormatRepository;
+    private final SearchIndexWritePlatformService searchIndexWritePlatformService;
 
     @Autowired
     public DepositApplicationProcessWritePlatformServiceJpaRepositoryImpl(final PlatformSecurityContext context,
@@ -120,7 +122,8 @@ public class DepositApplicationProcessWritePlatformServiceJpaRepositoryImpl impl
             final RecurringDepositAccountRepository recurringDepositAccountRepository,
             final AccountAssociationsRepository accountAssociationsRepository, final FromJsonHelper fromJsonHelper,
             final CalendarInstanceRepository calendarInstanceRepository, final ConfigurationDomainService configurationDomainService,
-            final AccountNumberFormatRepositoryWrapper accountNumberFormatRepository) {
+            final AccountNumberFormatRepositoryWrapper accountNumberFormatRepository,
+            final SearchIndexWritePlatformService searchIndexWritePlatformService) {
         this.context = context;
         this.savingAccountRepository = savingAccountRepository;
         this.depositAccountAssembler = depositAccountAssembler;
@@ -140,6 +143,7 @@ public class DepositApplicationProcessWritePlatformServiceJpaRepositoryImpl impl
         this.calendarInstanceRepository = calendarInstanceRepository;
         this.configurationDomainService = configurationDomainService;
         this.accountNumberFormatRepository = accountNumberFormatRepository;
+        this.searchIndexWritePlatformService = searchIndexWritePlatformService;
     }
 
     /*
@@ -211,6 +215,7 @@ public class DepositApplicationProcessWritePlatformServiceJpaRepositoryImpl impl
             }
 
             final Long savingsId = account.getId();
+            this.searchIndexWritePlatformService.indexSavingsAccount(savingsId);
 
             return new CommandProcessingResultBuilder() //
                     .withCommandId(command.commandId()) //
@@ -249,6 +254,7 @@ public class DepositApplicationProcessWritePlatformServiceJpaRepositoryImpl impl
             }
 
             final Long savingsId = account.getId();
+            this.searchIndexWritePlatformService.indexSavingsAccount(savingsId);
             final CalendarInstance calendarInstance = getCalendarInstance(command, account);
             this.calendarInstanceRepository.save(calendarInstance);
 
@@ -358,6 +364,7 @@ public class DepositApplicationProcessWritePlatformServiceJpaRepositoryImpl impl
                 account.updateMaturityDateAndAmountBeforeAccountActivation(mc, isPreMatureClosure,
                         isSavingsInterestPostingAtCurrentPeriodEnd, financialYearBeginningMonth);
                 this.savingAccountRepository.save(account);
+                this.searchIndexWritePlatformService.indexSavingsAccount(accountId);
             }
 
             boolean isLinkedAccRequired = command.booleanPrimitiveValueOfParameterNamed(transferInterestToSavingsParamName);
@@ -451,7 +458,7 @@ public class DepositApplicationProcessWritePlatformServiceJpaRepositoryImpl impl
                         financialYearBeginningMonth);
                 account.validateApplicableInterestRate();
                 this.savingAccountRepository.save(account);
-
+                this.searchIndexWritePlatformService.indexSavingsAccount(accountId);
             }
 
             // update calendar details
@@ -567,6 +574,7 @@ public class DepositApplicationProcessWritePlatformServiceJpaRepositoryImpl impl
         this.noteRepository.deleteInBatch(relatedNotes);
 
         this.savingAccountRepository.delete(account);
+        this.searchIndexWritePlatformService.indexSavingsAccount(savingsId);
 
         return new CommandProcessingResultBuilder() //
                 .withEntityId(savingsId) //
@@ -5,6 +5,7 @@
  */
 package org.mifosplatform.portfolio.savings.service;
 
+import java.util.Collection;
 import java.util.Set;
 
 import org.joda.time.LocalDate;
@@ -32,7 +33,7 @@ public interface SavingsAccountWritePlatformService {
 
     CommandProcessingResult undoTransaction(Long savingsId, Long transactionId, boolean allowAccountTransferModification);
 
-    void postInterestForAccounts();
+    void postInterestForAccounts(Collection<Long> savingsIds);
 
     CommandProcessingResult adjustSavingsTransaction(Long savingsId, Long transactionId, JsonCommand command);
 
@@ -0,0 +1,196 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.portfolio.savings.service;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.joda.time.LocalDate;
+import org.mifosplatform.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.core.service.DateUtils;
+import org.mifosplatform.infrastructure.core.service.RoutingDataSource;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.mifosplatform.infrastructure.jobs.annotation.CronTarget;
+import org.mifosplatform.infrastructure.jobs.exception.JobExecutionException;
+import org.mifosplatform.infrastructure.jobs.service.JobCheckpointService;
+import org.mifosplatform.infrastructure.jobs.service.JobName;
+import org.mifosplatform.infrastructure.jobs.service.JobRunProgressRecorder;
+import org.mifosplatform.portfolio.savings.domain.SavingsAccountStatusType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Posts interest for all active savings accounts in bounded chunks of account
+ * ids.
+ * 
+ * Chunks are handed to a worker pool and each chunk is posted in its own
+ * transaction through
+ * {@link SavingsAccountWritePlatformService#postInterestForAccounts(java.util.Collection)}
+ * , so only one chunk of accounts is held in a persistence context at a time.
+ * Chunks are completed in id order and after each one the highest id below
+ * which every chunk succeeded is checkpointed, so a run that is killed resumes
+ * from there when restarted on the same day. Once a chunk has failed the
+ * checkpoint stays at the last id before it and is kept at the end of the run,
+ * so the next run posts the failed accounts again.
+ */
+@Service
+public class SavingsInterestPostingJobServiceImpl implements SavingsInterestPostingJobService {
+
+    private final static Logger logger = LoggerFactory.getLogger(SavingsInterestPostingJobServiceImpl.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SavingsAccountWritePlatformService savingsAccountWritePlatformService;
+    private final ConfigurationDomainService configurationDomainService;
+    private final JobCheckpointService jobCheckpointService;
+
+    @Autowired
+    public SavingsInterestPostingJobServiceImpl(final RoutingDataSource dataSource,
+            final SavingsAccountWritePlatformService savingsAccountWritePlatformService,
+            final ConfigurationDomainService configurationDomainService, final JobCheckpointService jobCheckpointService) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.savingsAccountWritePlatformService = savingsAccountWritePlatformService;
+        this.configurationDomainService = configurationDomainService;
+        this.jobCheckpointService = jobCheckpointService;
+    }
+
+    @CronTarget(jobName = JobName.POST_INTEREST_FOR_SAVINGS)
+    @Override
+    public void postInterestForAccounts() throws JobExecutionException {
+
+        final JobName jobName = JobName.POST_INTEREST_FOR_SAVINGS;
+        final MifosPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        final LocalDate runDate = DateUtils.getLocalDateOfTenant();
+        final int chunkSize = this.configurationDomainService.retrieveSavingsInterestPostingChunkSize();
+        final int threadPoolSize = this.configurationDomainService.retrieveSavingsInterestPostingThreadPoolSize();
+
+        Long lastFetchedId = this.jobCheckpointService.retrieveLastProcessedId(jobName, runDate);
+        if (lastFetchedId == null) {
+            lastFetchedId = Long.valueOf(0);
+        } else {
+            JobRunProgressRecorder.record("Resuming after savings account id " + lastFetchedId);
+        }
+
+        final LinkedList<InterestPostingChunk> pendingChunks = new LinkedList<>();
+        final StringBuilder errorMsg = new StringBuilder();
+        int processedAccounts = 0;
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(threadPoolSize);
+        try {
+            List<Long> savingsIds = retrieveActiveSavingsIdsAfter(lastFetchedId, chunkSize);
+            while (!savingsIds.isEmpty()) {
+                final Future<Void> future = executorService.submit(new InterestPostingTask(tenant, savingsIds));
+                pendingChunks.add(new InterestPostingChunk(savingsIds, future));
+                lastFetchedId = savingsIds.get(savingsIds.size() - 1);
+
+                // keep a bounded number of chunks in flight
+                while (pendingChunks.size() >= threadPoolSize * 2) {
+                    processedAccounts += completeChunk(jobName, runDate, pendingChunks.removeFirst(), errorMsg);
+                }
+                savingsIds = retrieveActiveSavingsIdsAfter(lastFetchedId, chunkSize);
+            }
+
+            while (!pendingChunks.isEmpty()) {
+                processedAccounts += completeChunk(jobName, runDate, pendingChunks.removeFirst(), errorMsg);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        if (errorMsg.length() == 0) {
+            this.jobCheckpointService.clearCheckpoint(jobName);
+        }
+
+        logger.info(tenant.getName() + ": Savings accounts affected by interest posting: " + processedAccounts);
+
+        /*
+         * throw exception if any chunk failed.
+         */
+        if (errorMsg.length() > 0) { throw new JobExecutionException(errorMsg.toString()); }
+    }
+
+    List<Long> retrieveActiveSavingsIdsAfter(final Long lastFetchedId, final int chunkSize) {
+        final String sql = "select sa.id from m_savings_account sa where sa.status_enum = ? and sa.id > ? order by sa.id limit ?";
+        return this.jdbcTemplate.queryForList(sql, Long.class, SavingsAccountStatusType.ACTIVE.getValue(), lastFetchedId, chunkSize);
+    }
+
+    private int completeChunk(final JobName jobName, final LocalDate runDate, final InterestPostingChunk chunk, final StringBuilder errorMsg) {
+        final String chunkDescription = "Savings accounts " + chunk.firstId() + " - " + chunk.lastId() + " (" + chunk.size() + ")";
+        try {
+            chunk.future.get();
+            JobRunProgressRecorder.record(chunkDescription + ": interest posted");
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause() == null ? e : e.getCause();
+            logger.error("Post interest failed for " + chunkDescription, cause);
+            JobRunProgressRecorder.record(chunkDescription + ": failed with message " + cause.getMessage());
+            errorMsg.append("Post interest failed for ").append(chunkDescription).append(" with message ").append(cause.getMessage())
+                    .append("\n");
+            return 0;
+        }
+        // an earlier failed chunk holds the checkpoint, a restart must not
+        // skip its accounts
+        if (errorMsg.length() == 0) {
+            this.jobCheckpointService.updateLastProcessedId(jobName, runDate, chunk.lastId());
+        }
+        return chunk.size();
+    }
+
+    private static final class InterestPostingChunk {
+
+        private final List<Long> savingsIds;
+        private final Future<Void> future;
+
+        public InterestPostingChunk(final List<Long> savingsIds, final Future<Void> future) {
+            this.savingsIds = savingsIds;
+            this.future = future;
+        }
+
+        public Long firstId() {
+            return this.savingsIds.get(0);
+        }
+
+        public Long lastId() {
+            return this.savingsIds.get(this.savingsIds.size() - 1);
+        }
+
+        public int size() {
+            return this.savingsIds.size();
+        }
+    }
+
+    private final class InterestPostingTask implements Callable<Void> {
+
+        private final MifosPlatformTenant tenant;
+        private final List<Long> savingsIds;
+
+        public InterestPostingTask(final MifosPlatformTenant tenant, final List<Long> savingsIds) {
+            this.tenant = tenant;
+            this.savingsIds = savingsIds;
+        }
+
+        @Override
+        public Void call() {
+            ThreadLocalContextUtil.setTenant(this.tenant);
+            try {
+                SavingsInterestPostingJobServiceImpl.this.savingsAccountWritePlatformService.postInterestForAccounts(this.savingsIds);
+            } finally {
+                ThreadLocalContextUtil.clearTenant();
+            }
+            return null;
+        }
+    }
+}
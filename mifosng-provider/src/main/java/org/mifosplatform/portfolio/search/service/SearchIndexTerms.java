@@ -0,0 +1,70 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.portfolio.search.service;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * Derives the search index terms of an entity from its values.
+ *
+ * A query matches an entity when it is a prefix of one of its terms. Names are
+ * indexed as a whole and by word, so they match on the start of the name or of
+ * any of its words. Identifiers such as account numbers, external ids, mobile
+ * numbers and document keys are indexed by every suffix, so they match on any
+ * part of the identifier.
+ */
+public final class SearchIndexTerms {
+
+    static final int MAX_TERM_LENGTH = 100;
+
+    /**
+     * The terms by whether they are a whole value, which makes a query equal
+     * to them an exact match.
+     */
+    private final Map<String, Boolean> terms = new LinkedHashMap<>();
+
+    public static String normalize(final String value) {
+        if (value == null) { return null; }
+        final String normalized = value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ENGLISH);
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    public SearchIndexTerms addName(final String name) {
+        final String normalized = normalize(name);
+        if (normalized == null) { return this; }
+        add(normalized, true);
+        for (final String word : StringUtils.split(normalized, ' ')) {
+            add(word, false);
+        }
+        return this;
+    }
+
+    public SearchIndexTerms addIdentifier(final String identifier) {
+        final String normalized = normalize(identifier);
+        if (normalized == null) { return this; }
+        add(normalized, true);
+        for (int i = 1; i < normalized.length(); i++) {
+            if (normalized.charAt(i) != ' ') {
+                add(normalized.substring(i), false);
+            }
+        }
+        return this;
+    }
+
+    public Map<String, Boolean> getTerms() {
+        return this.terms;
+    }
+
+    private void add(final String term, final boolean wholeValue) {
+        final String indexedTerm = term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term;
+        final Boolean existing = this.terms.get(indexedTerm);
+        this.terms.put(indexedTerm, wholeValue || (existing != null && existing));
+    }
+}
@@ -0,0 +1,33 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.portfolio.search.service;
+
+/**
+ * Maintains the search index of the tenant, <code>m_search_index</code>, used
+ * by {@link SearchReadPlatformService#retriveMatchingData}.
+ *
+ * The index methods re-read the entity once the current transaction has
+ * committed, so they can be called anywhere in a create, update or delete
+ * path, and remove it from the index when it no longer exists.
+ */
+public interface SearchIndexWritePlatformService {
+
+    void indexClient(Long clientId);
+
+    void indexGroup(Long groupId);
+
+    void indexLoan(Long loanId);
+
+    void indexSavingsAccount(Long savingsAccountId);
+
+    void indexClientIdentifier(Long clientIdentifierId);
+
+    /**
+     * Rebuilds the index from the clients, groups, loans, savings accounts and
+     * client identifiers of the tenant, in chunks, and marks it as built.
+     */
+    void rebuildIndex();
+}
@@ -0,0 +1,286 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.portfolio.search.service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang.StringUtils;
+import org.mifosplatform.infrastructure.core.service.RoutingDataSource;
+import org.mifosplatform.infrastructure.jobs.annotation.CronTarget;
+import org.mifosplatform.infrastructure.jobs.service.JobName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps <code>m_search_index</code> up to date with the clients, groups,
+ * loans, savings accounts and client identifiers of the tenant.
+ *
+ * Each row holds a term of an entity, keyed by entity type and term, so a
+ * search is a range scan of the terms starting with the query. The entities
+ * changed in a transaction are re-indexed in a new transaction once it has
+ * committed; a failure there is logged and corrected by the next run of the
+ * {@link JobName#REBUILD_SEARCH_INDEX} job.
+ */
+@Service
+public class SearchIndexWritePlatformServiceImpl implements SearchIndexWritePlatformService {
+
+    private final static Logger logger = LoggerFactory.getLogger(SearchIndexWritePlatformServiceImpl.class);
+
+    private final static int REBUILD_CHUNK_SIZE = 1000;
+
+    private final static String INSERT_TERM_SQL = "insert into m_search_index (entity_type, term, entity_id, is_full_value) "
+            + "values (?, ?, ?, ?) on duplicate key update is_full_value = greatest(is_full_value, values(is_full_value))";
+
+    /**
+     * The indexed entities with their table, name columns and identifier
+     * columns; the name of the constant is the entity type in the index.
+     */
+    private static enum IndexedEntity {
+
+        CLIENT("m_client", new String[] { "display_name" }, new String[] { "account_no", "external_id", "mobile_no" }), //
+        GROUP("m_group", new String[] { "display_name" }, new String[] { "external_id" }), //
+        LOAN("m_loan", new String[] {}, new String[] { "account_no", "external_id" }), //
+        SAVING("m_savings_account", new String[] {}, new String[] { "account_no", "external_id" }), //
+        CLIENTIDENTIFIER("m_client_identifier", new String[] {}, new String[] { "document_key" });
+
+        private final String tableName;
+        private final String[] nameColumns;
+        private final String[] identifierColumns;
+
+        private IndexedEntity(final String tableName, final String[] nameColumns, final String[] identifierColumns) {
+            this.tableName = tableName;
+            this.nameColumns = nameColumns;
+            this.identifierColumns = identifierColumns;
+        }
+
+        public String selectSql() {
+            final StringBuilder sql = new StringBuilder("select e.id as id");
+            for (final String column : this.nameColumns) {
+                sql.append(", e.").append(column);
+            }
+            for (final String column : this.identifierColumns) {
+                sql.append(", e.").append(column);
+            }
+            return sql.append(" from ").append(this.tableName).append(" e").toString();
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public SearchIndexWritePlatformServiceImpl(final RoutingDataSource dataSource, final PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // the index is also written after the commit of a transaction whose
+        // resources are still bound, so it must not join it
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void indexClient(final Long clientId) {
+        indexAfterCommit(IndexedEntity.CLIENT, clientId);
+    }
+
+    @Override
+    public void indexGroup(final Long groupId) {
+        indexAfterCommit(IndexedEntity.GROUP, groupId);
+    }
+
+    @Override
+    public void indexLoan(final Long loanId) {
+        indexAfterCommit(IndexedEntity.LOAN, loanId);
+    }
+
+    @Override
+    public void indexSavingsAccount(final Long savingsAccountId) {
+        indexAfterCommit(IndexedEntity.SAVING, savingsAccountId);
+    }
+
+    @Override
+    public void indexClientIdentifier(final Long clientIdentifierId) {
+        indexAfterCommit(IndexedEntity.CLIENTIDENTIFIER, clientIdentifierId);
+    }
+
+    @Override
+    @CronTarget(jobName = JobName.REBUILD_SEARCH_INDEX)
+    public void rebuildIndex() {
+        for (final IndexedEntity entity : IndexedEntity.values()) {
+            Long lastId = 0L;
+            List<IndexedRow> rows;
+            do {
+                rows = this.jdbcTemplate.query(entity.selectSql() + " where e.id > ? order by e.id limit " + REBUILD_CHUNK_SIZE,
+                        new IndexedRowMapper(entity), lastId);
+                final Long fromId = lastId;
+                // the last chunk also removes the entities deleted after it
+                final Long toId = rows.size() < REBUILD_CHUNK_SIZE ? null : rows.get(rows.size() - 1).id;
+                writeChunk(entity, rows, fromId, toId);
+                lastId = toId;
+            } while (lastId != null);
+        }
+        this.jdbcTemplate.update("update m_search_index_status set last_rebuilt_date = now() where id = 1");
+    }
+
+    private void indexAfterCommit(final IndexedEntity entity, final Long entityId) {
+        if (entityId == null) { return; }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingReindexOfCurrentTransaction().add(entity, entityId);
+        } else {
+            reindexQuietly(entity, Collections.singleton(entityId));
+        }
+    }
+
+    private PendingReindex pendingReindexOfCurrentTransaction() {
+        for (final TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingReindex) { return (PendingReindex) synchronization; }
+        }
+        final PendingReindex pendingReindex = new PendingReindex();
+        TransactionSynchronizationManager.registerSynchronization(pendingReindex);
+        return pendingReindex;
+    }
+
+    private void reindexQuietly(final IndexedEntity entity, final Collection<Long> entityIds) {
+        try {
+            final String idList = StringUtils.join(entityIds, ',');
+            this.transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+
+                @Override
+                protected void doInTransactionWithoutResult(@SuppressWarnings("unused") final TransactionStatus status) {
+                    final JdbcTemplate jdbcTemplate = SearchIndexWritePlatformServiceImpl.this.jdbcTemplate;
+                    final List<IndexedRow> rows = jdbcTemplate.query(entity.selectSql() + " where e.id in (" + idList + ")",
+                            new IndexedRowMapper(entity));
+                    jdbcTemplate.update("delete from m_search_index where entity_type = ? and entity_id in (" + idList + ")",
+                            entity.name());
+                    insertTerms(entity, rows);
+                }
+            });
+        } catch (final RuntimeException e) {
+            logger.error("Could not update the search index for " + entity.name() + " " + entityIds
+                    + ", it will be corrected by the next index rebuild", e);
+        }
+    }
+
+    private void writeChunk(final IndexedEntity entity, final List<IndexedRow> rows, final Long fromId, final Long toId) {
+        this.transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+
+            @Override
+            protected void doInTransactionWithoutResult(@SuppressWarnings("unused") final TransactionStatus status) {
+                if (toId == null) {
+                    SearchIndexWritePlatformServiceImpl.this.jdbcTemplate.update(
+                            "delete from m_search_index where entity_type = ? and entity_id > ?", entity.name(), fromId);
+                } else {
+                    SearchIndexWritePlatformServiceImpl.this.jdbcTemplate.update(
+                            "delete from m_search_index where entity_type = ? and entity_id > ? and entity_id <= ?", entity.name(), fromId,
+                            toId);
+                }
+                insertTerms(entity, rows);
+            }
+        });
+    }
+
+    private void insertTerms(final IndexedEntity entity, final List<IndexedRow> rows) {
+        final List<Object[]> terms = new ArrayList<>();
+        for (final IndexedRow row : rows) {
+            for (final Map.Entry<String, Boolean> term : row.terms.entrySet()) {
+                terms.add(new Object[] { term.getKey(), row.id, term.getValue() });
+            }
+        }
+        if (terms.isEmpty()) { return; }
+
+        this.jdbcTemplate.batchUpdate(INSERT_TERM_SQL, new BatchPreparedStatementSetter() {
+
+            @Override
+            public void setValues(final PreparedStatement ps, final int i) throws SQLException {
+                final Object[] term = terms.get(i);
+                ps.setString(1, entity.name());
+                ps.setString(2, (String) term[0]);
+                ps.setLong(3, (Long) term[1]);
+                ps.setBoolean(4, (Boolean) term[2]);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return terms.size();
+            }
+        });
+    }
+
+    private final class PendingReindex extends TransactionSynchronizationAdapter {
+
+        private final Map<IndexedEntity, Set<Long>> entityIds = new EnumMap<>(IndexedEntity.class);
+
+        void add(final IndexedEntity entity, final Long entityId) {
+            Set<Long> ids = this.entityIds.get(entity);
+            if (ids == null) {
+                ids = new LinkedHashSet<>();
+                this.entityIds.put(entity, ids);
+            }
+            ids.add(entityId);
+        }
+
+        @Override
+        public void afterCommit() {
+            for (final Map.Entry<IndexedEntity, Set<Long>> entry : this.entityIds.entrySet()) {
+                reindexQuietly(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private static final class IndexedRow {
+
+        private final Long id;
+        private final Map<String, Boolean> terms;
+
+        IndexedRow(final Long id, final Map<String, Boolean> terms) {
+            this.id = id;
+            this.terms = terms;
+        }
+    }
+
+    private static final class IndexedRowMapper implements RowMapper<IndexedRow> {
+
+        private final IndexedEntity entity;
+
+        IndexedRowMapper(final IndexedEntity entity) {
+            this.entity = entity;
+        }
+
+        @Override
+        public IndexedRow mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+            final SearchIndexTerms terms = new SearchIndexTerms();
+            for (final String column : this.entity.nameColumns) {
+                terms.addName(rs.getString(column));
+            }
+            for (final String column : this.entity.identifierColumns) {
+                terms.addIdentifier(rs.getString(column));
+            }
+            return new IndexedRow(rs.getLong("id"), terms.getTerms());
+        }
+    }
+}
@@ -9,12 +9,19 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang.StringUtils;
 import org.mifosplatform.infrastructure.core.data.EnumOptionData;
 import org.mifosplatform.infrastructure.core.domain.JdbcSupport;
 import org.mifosplatform.infrastructure.core.service.RoutingDataSource;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
 import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
 import org.mifosplatform.organisation.office.data.OfficeData;
 import org.mifosplatform.organisation.office.service.OfficeReadPlatformService;
@@ -43,6 +50,7 @@ public class SearchReadPlatformServiceImpl implements SearchReadPlatformService
     private final PlatformSecurityContext context;
     private final LoanProductReadPlatformService loanProductReadPlatformService;
     private final OfficeReadPlatformService officeReadPlatformService;
+    private final Set<String> tenantsWithSearchIndex = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
 
     @Autowired
     public SearchReadPlatformServiceImpl(final PlatformSecurityContext context, final RoutingDataSource dataSource,
@@ -62,14 +70,101 @@ public class SearchReadPlatformServiceImpl implements SearchReadPlatformService
 
         final MapSqlParameterSource params = new MapSqlParameterSource();
         params.addValue("hierarchy", hierarchy + "%");
+
+        if (isSearchIndexBuilt()) {
+            final String search = SearchIndexTerms.normalize(searchConditions.getSearchQuery());
+            if (search == null) { return new ArrayList<>(); }
+            params.addValue("search", search);
+            params.addValue("prefixSearch", escapeLikeWildcards(search) + "%");
+            params.addValue("officeIds", currentUser.getVisibleOfficeIds());
+            return this.namedParameterjdbcTemplate.query(rm.indexedSearchSchema(searchConditions), params, rm);
+        }
+
+        // until the search index has been built for the first time
         params.addValue("search", searchConditions.getSearchQuery());
         params.addValue("partialSearch", "%" + searchConditions.getSearchQuery() + "%");
 
         return this.namedParameterjdbcTemplate.query(rm.searchSchema(searchConditions), params, rm);
     }
 
+    /**
+     * Whether the search index has been built; once it has, it stays built
+     * and is only kept up to date, so the answer is remembered per tenant.
+     */
+    private boolean isSearchIndexBuilt() {
+        final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        if (this.tenantsWithSearchIndex.contains(tenantIdentifier)) { return true; }
+
+        final List<Date> lastRebuiltDates = this.namedParameterjdbcTemplate.getJdbcOperations().queryForList(
+                "select last_rebuilt_date from m_search_index_status where id = 1 and last_rebuilt_date is not null", Date.class);
+        if (lastRebuiltDates.isEmpty()) { return false; }
+        this.tenantsWithSearchIndex.add(tenantIdentifier);
+        return true;
+    }
+
+    private static String escapeLikeWildcards(final String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     private static final class SearchMapper implements RowMapper<SearchData> {
 
+        /**
+         * Finds the entities with an indexed term starting with the query, in
+         * the offices visible to the user, exact matches first.
+         */
+        public String indexedSearchSchema(final SearchConditions searchConditions) {
+
+            final String matchingEntities = " (select si.entity_id, max(si.is_full_value = 1 and si.term = :search) as exactMatch "
+                    + " from m_search_index si where si.entity_type = '%s' and si.term like :prefixSearch group by si.entity_id) si ";
+
+            final String clientSql = " (select 'CLIENT' as entityType, c.id as entityId, c.display_name as entityName, c.external_id as entityExternalId, c.account_no as entityAccountNo "
+                    + " , c.office_id as parentId, o.name as parentName, c.status_enum as entityStatusEnum, si.exactMatch as exactMatch "
+                    + " from " + String.format(matchingEntities, "CLIENT")
+                    + " join m_client c on c.id = si.entity_id join m_office o on o.id = c.office_id where c.office_id in (:officeIds)) ";
+
+            final String loanSql = " (select 'LOAN' as entityType, l.id as entityId, pl.name as entityName, l.external_id as entityExternalId, l.account_no as entityAccountNo "
+                    + " , c.id as parentId, c.display_name as parentName, l.loan_status_id as entityStatusEnum, si.exactMatch as exactMatch "
+                    + " from " + String.format(matchingEntities, "LOAN")
+                    + " join m_loan l on l.id = si.entity_id join m_client c on l.client_id = c.id "
+                    + " join m_product_loan pl on pl.id=l.product_id where c.office_id in (:officeIds)) ";
+
+            final String savingSql = " (select 'SAVING' as entityType, s.id as entityId, sp.name as entityName, s.external_id as entityExternalId, s.account_no as entityAccountNo "
+                    + " , c.id as parentId, c.display_name as parentName, s.status_enum as entityStatusEnum, si.exactMatch as exactMatch "
+                    + " from " + String.format(matchingEntities, "SAVING")
+                    + " join m_savings_account s on s.id = si.entity_id join m_client c on s.client_id = c.id "
+                    + " join m_savings_product sp on sp.id=s.product_id where c.office_id in (:officeIds)) ";
+
+            final String clientIdentifierSql = " (select 'CLIENTIDENTIFIER' as entityType, ci.id as entityId, ci.document_key as entityName, "
+                    + " null as entityExternalId, null as entityAccountNo, c.id as parentId, c.display_name as parentName, c.status_enum as entityStatusEnum, "
+                    + " si.exactMatch as exactMatch from " + String.format(matchingEntities, "CLIENTIDENTIFIER")
+                    + " join m_client_identifier ci on ci.id = si.entity_id join m_client c on ci.client_id=c.id "
+                    + " where c.office_id in (:officeIds)) ";
+
+            final String groupSql = " (select IF(g.level_id=1,'CENTER','GROUP') as entityType, g.id as entityId, g.display_name as entityName, g.external_id as entityExternalId, NULL as entityAccountNo "
+                    + " , g.office_id as parentId, o.name as parentName, g.status_enum as entityStatusEnum, si.exactMatch as exactMatch "
+                    + " from " + String.format(matchingEntities, "GROUP")
+                    + " join m_group g on g.id = si.entity_id join m_office o on o.id = g.office_id where g.office_id in (:officeIds)) ";
+
+            final List<String> selects = new ArrayList<>();
+            if (searchConditions.isClientSearch()) {
+                selects.add(clientSql);
+            }
+            if (searchConditions.isLoanSeach()) {
+                selects.add(loanSql);
+            }
+            if (searchConditions.isSavingSeach()) {
+                selects.add(savingSql);
+            }
+            if (searchConditions.isClientIdentifierSearch()) {
+                selects.add(clientIdentifierSql);
+            }
+            if (searchConditions.isGroupSearch()) {
+                selects.add(groupSql);
+            }
+
+            return StringUtils.join(selects, " union all ") + " order by exactMatch desc";
+        }
+
         public String searchSchema(final SearchConditions searchConditions) {
 
             final String union = " union ";
@@ -11,6 +11,8 @@ public interface ScheduledJobRunnerService {
 
     void updateLoanSummaryDetails();
 
+    void rebuildLoanSummaryDetails();
+
     void updateLoanPaidInAdvance();
 
     void applyAnnualFeeForSavings();
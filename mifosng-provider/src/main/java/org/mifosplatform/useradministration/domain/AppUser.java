@@ -24,6 +24,7 @@ import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
+import javax.persistence.Transient;
 import javax.persistence.UniqueConstraint;
 
 import org.mifosplatform.infrastructure.core.api.JsonCommand;
@@ -97,6 +98,9 @@ public class AppUser extends AbstractPersistable<Long> implements PlatformUser {
     @Temporal(TemporalType.DATE)
     private Date lastTimePasswordUpdated;
 
+    @Transient
+    private Set<Long> visibleOfficeIds;
+
     public static AppUser fromJson(final Office userOffice, final Staff linkedStaff, final Set<Role> allRoles, final JsonCommand command) {
 
         final String username = command.stringValueOfParameterNamed("username");
@@ -347,6 +351,18 @@ public class AppUser extends AbstractPersistable<Long> implements PlatformUser {
         return this.office;
     }
 
+    /**
+     * The ids of the office of the user and of all offices under it, resolved
+     * when the user is retrieved from the security context.
+     */
+    public Set<Long> getVisibleOfficeIds() {
+        return this.visibleOfficeIds;
+    }
+
+    public void updateVisibleOfficeIds(final Set<Long> visibleOfficeIds) {
+        this.visibleOfficeIds = visibleOfficeIds;
+    }
+
     public Staff getStaff() {
         return this.staff;
     }
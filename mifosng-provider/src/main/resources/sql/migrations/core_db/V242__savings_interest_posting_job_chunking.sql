@@ -0,0 +1,18 @@
+CREATE TABLE `job_checkpoint` (
+	`job_name` VARCHAR(50) NOT NULL,
+	`run_date` DATE NOT NULL,
+	`last_processed_id` BIGINT(20) NOT NULL,
+	`updated_time` DATETIME NOT NULL,
+	PRIMARY KEY (`job_name`)
+)
+COLLATE='utf8_general_ci'
+ENGINE=InnoDB;
+
+ALTER TABLE `job_run_history`
+	ADD COLUMN `progress_log` TEXT NULL DEFAULT NULL AFTER `error_log`;
+
+INSERT INTO `c_configuration` (`id`, `name`, `value`, `enabled`, `description`)
+VALUES (NULL, 'savings-interest-posting-chunk-size', '500', '1', "Number of savings accounts processed in one transaction by the Post Interest For Savings job.");
+
+INSERT INTO `c_configuration` (`id`, `name`, `value`, `enabled`, `description`)
+VALUES (NULL, 'savings-interest-posting-thread-pool-size', '4', '1', "Number of worker threads used by the Post Interest For Savings job to process chunks of savings accounts in parallel.");
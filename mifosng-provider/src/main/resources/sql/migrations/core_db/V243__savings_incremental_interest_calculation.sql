@@ -0,0 +1,10 @@
+ALTER TABLE `m_savings_product`
+	ADD COLUMN `incremental_interest_calculation` TINYINT(1) NOT NULL DEFAULT '0';
+
+ALTER TABLE `m_savings_account`
+	ADD COLUMN `interest_ledger_period_start_date` DATE NULL DEFAULT NULL,
+	ADD COLUMN `interest_ledger_opening_balance` DECIMAL(19,6) NULL DEFAULT NULL,
+	ADD COLUMN `interest_ledger_interest_earned` DECIMAL(19,6) NULL DEFAULT NULL,
+	ADD COLUMN `interest_ledger_last_transaction_id` BIGINT(20) NULL DEFAULT NULL,
+	ADD COLUMN `interest_ledger_posting_at_period_end` TINYINT(1) NULL DEFAULT NULL,
+	ADD COLUMN `interest_ledger_financial_year_beginning_month` INT(2) NULL DEFAULT NULL;
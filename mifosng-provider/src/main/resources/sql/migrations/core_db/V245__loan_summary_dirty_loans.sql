@@ -0,0 +1,12 @@
+CREATE TABLE `m_loan_summary_dirty` (
+	`loan_id` BIGINT(20) NOT NULL,
+	`version` INT(11) NOT NULL DEFAULT '1',
+	PRIMARY KEY (`loan_id`)
+)
+COLLATE='utf8_general_ci'
+ENGINE=InnoDB;
+
+INSERT INTO `job` (`name`, `display_name`, `cron_expression`, `create_time`, `task_priority`, `group_name`, `previous_run_start_time`, `next_run_time`, `job_key`, `initializing_errorlog`, `is_active`, `currently_running`, `updates_allowed`, `scheduler_group`, `is_misfired`) VALUES ('Rebuild Loan Summary', 'Rebuild Loan Summary', '0 0 23 ? * SUN *', now(), 5, NULL, NULL, NULL, NULL, NULL, 0, 0, 1, 0, 0);
+
+INSERT INTO `c_configuration` (`id`, `name`, `value`, `enabled`, `description`)
+VALUES (NULL, 'loan-summary-update-batch-size', '200', '1', "Number of loans whose summary is recomputed in one transaction by the Update loan Summary and Rebuild Loan Summary jobs.");
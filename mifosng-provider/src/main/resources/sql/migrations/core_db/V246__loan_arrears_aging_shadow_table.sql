@@ -0,0 +1,17 @@
+ALTER TABLE `m_loan_arrears_aging`
+	DROP FOREIGN KEY `m_loan_arrears_aging_ibfk_1`;
+
+CREATE TABLE `m_loan_arrears_aging_next` LIKE `m_loan_arrears_aging`;
+
+CREATE TABLE `m_loan_arrears_aging_run` (
+	`id` TINYINT(4) NOT NULL,
+	`last_run_date` DATE NULL DEFAULT NULL,
+	PRIMARY KEY (`id`)
+)
+COLLATE='utf8_general_ci'
+ENGINE=InnoDB;
+
+INSERT INTO `m_loan_arrears_aging_run` (`id`, `last_run_date`) VALUES (1, NULL);
+
+INSERT INTO `c_configuration` (`id`, `name`, `value`, `enabled`, `description`)
+VALUES (NULL, 'arrears-ageing-delta-update', NULL, '0', "If enabled, the Update Loan Arrears Ageing job recomputes only the loans with an instalment fallen overdue or a transaction submitted since its last run instead of rebuilding the ageing of all active loans.");
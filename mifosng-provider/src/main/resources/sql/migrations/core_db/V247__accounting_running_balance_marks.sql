@@ -0,0 +1,15 @@
+CREATE TABLE `acc_gl_running_balance_mark` (
+	`account_id` BIGINT(20) NOT NULL,
+	`office_id` BIGINT(20) NOT NULL COMMENT '0 for the organization running balance of the account',
+	`entry_date` DATE NOT NULL,
+	`journal_entry_id` BIGINT(20) NOT NULL,
+	`running_balance` DECIMAL(19,6) NOT NULL,
+	PRIMARY KEY (`account_id`, `office_id`)
+)
+COLLATE='utf8_general_ci'
+ENGINE=InnoDB;
+
+ALTER TABLE `acc_gl_journal_entry`
+	ADD INDEX `idx_running_balance_pending` (`is_running_balance_calculated`, `account_id`, `office_id`),
+	ADD INDEX `idx_running_balance_account` (`account_id`, `entry_date`, `id`),
+	ADD INDEX `idx_running_balance_office_account` (`office_id`, `account_id`, `entry_date`, `id`);
@@ -0,0 +1,40 @@
+CREATE TABLE `acc_gl_daily_balance` (
+	`office_id` BIGINT(20) NOT NULL,
+	`account_id` BIGINT(20) NOT NULL,
+	`currency_code` VARCHAR(3) NOT NULL,
+	`entry_date` DATE NOT NULL,
+	`debit_amount` DECIMAL(19,6) NOT NULL DEFAULT '0.000000',
+	`credit_amount` DECIMAL(19,6) NOT NULL DEFAULT '0.000000',
+	PRIMARY KEY (`office_id`, `account_id`, `currency_code`, `entry_date`),
+	INDEX `idx_daily_balance_entry_date` (`entry_date`)
+)
+COMMENT='Debits and credits posted per office, GL account and currency on each entry date'
+COLLATE='utf8_general_ci'
+ENGINE=InnoDB;
+
+CREATE TABLE `acc_gl_month_end_balance` (
+	`office_id` BIGINT(20) NOT NULL,
+	`account_id` BIGINT(20) NOT NULL,
+	`currency_code` VARCHAR(3) NOT NULL,
+	`month_end_date` DATE NOT NULL,
+	`debit_amount` DECIMAL(19,6) NOT NULL DEFAULT '0.000000',
+	`credit_amount` DECIMAL(19,6) NOT NULL DEFAULT '0.000000',
+	PRIMARY KEY (`office_id`, `account_id`, `currency_code`, `month_end_date`),
+	INDEX `idx_month_end_balance_date` (`month_end_date`)
+)
+COMMENT='Total debits and credits posted up to the end of each month with postings, per office, GL account and currency'
+COLLATE='utf8_general_ci'
+ENGINE=InnoDB;
+
+INSERT INTO `acc_gl_daily_balance` (`office_id`, `account_id`, `currency_code`, `entry_date`, `debit_amount`, `credit_amount`)
+SELECT je.office_id, je.account_id, je.currency_code, je.entry_date,
+	SUM(IF(je.type_enum = 2, je.amount, 0)), SUM(IF(je.type_enum = 1, je.amount, 0))
+FROM acc_gl_journal_entry je
+GROUP BY je.office_id, je.account_id, je.currency_code, je.entry_date;
+
+INSERT INTO `acc_gl_month_end_balance` (`office_id`, `account_id`, `currency_code`, `month_end_date`, `debit_amount`, `credit_amount`)
+SELECT me.office_id, me.account_id, me.currency_code, me.month_end_date, SUM(db.debit_amount), SUM(db.credit_amount)
+FROM (SELECT DISTINCT office_id, account_id, currency_code, LAST_DAY(entry_date) AS month_end_date FROM acc_gl_daily_balance) me
+JOIN acc_gl_daily_balance db ON db.office_id = me.office_id AND db.account_id = me.account_id
+	AND db.currency_code = me.currency_code AND db.entry_date <= me.month_end_date
+GROUP BY me.office_id, me.account_id, me.currency_code, me.month_end_date;
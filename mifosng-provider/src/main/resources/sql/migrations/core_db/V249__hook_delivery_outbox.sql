@@ -0,0 +1,25 @@
+CREATE TABLE `m_hook_delivery` (
+	`id` BIGINT(20) NOT NULL AUTO_INCREMENT,
+	`hook_id` BIGINT(20) NOT NULL,
+	`entity_name` VARCHAR(45) NOT NULL,
+	`action_name` VARCHAR(45) NOT NULL,
+	`payload` LONGTEXT NOT NULL,
+	`app_user_id` BIGINT(20) NULL DEFAULT NULL,
+	`status_enum` SMALLINT(5) NOT NULL,
+	`attempts` INT(11) NOT NULL DEFAULT '0',
+	`next_attempt_time` DATETIME NOT NULL,
+	`locked_until` DATETIME NULL DEFAULT NULL,
+	`last_error` VARCHAR(1000) NULL DEFAULT NULL,
+	`created_date` DATETIME NOT NULL,
+	PRIMARY KEY (`id`),
+	INDEX `idx_hook_delivery_due` (`status_enum`, `next_attempt_time`),
+	INDEX `fk_hook_delivery_hook` (`hook_id`),
+	CONSTRAINT `fk_hook_delivery_hook` FOREIGN KEY (`hook_id`) REFERENCES `m_hook` (`id`) ON DELETE CASCADE
+)
+COLLATE='utf8_general_ci'
+ENGINE=InnoDB;
+
+INSERT INTO `job` (`name`, `display_name`, `cron_expression`, `create_time`, `task_priority`, `group_name`, `previous_run_start_time`, `next_run_time`, `job_key`, `initializing_errorlog`, `is_active`, `currently_running`, `updates_allowed`, `scheduler_group`, `is_misfired`) VALUES ('Deliver Hook Events', 'Deliver Hook Events', '0 0/1 * 1/1 * ? *', now(), 5, NULL, NULL, NULL, NULL, NULL, 1, 0, 1, 0, 0);
+
+INSERT INTO `c_configuration` (`id`, `name`, `value`, `enabled`, `description`)
+VALUES (NULL, 'hook-delivery-max-attempts', '8', '1', "Number of attempts to deliver a hook event before it is moved to the dead letters of its hook.");
@@ -0,0 +1,22 @@
+CREATE TABLE `m_search_index` (
+	`entity_type` VARCHAR(20) NOT NULL,
+	`term` VARCHAR(100) NOT NULL,
+	`entity_id` BIGINT(20) NOT NULL,
+	`is_full_value` TINYINT(1) NOT NULL DEFAULT '0',
+	PRIMARY KEY (`entity_type`, `term`, `entity_id`),
+	INDEX `idx_search_index_entity` (`entity_type`, `entity_id`)
+)
+COLLATE='utf8_general_ci'
+ENGINE=InnoDB;
+
+CREATE TABLE `m_search_index_status` (
+	`id` INT(11) NOT NULL,
+	`last_rebuilt_date` DATETIME NULL DEFAULT NULL,
+	PRIMARY KEY (`id`)
+)
+COLLATE='utf8_general_ci'
+ENGINE=InnoDB;
+
+INSERT INTO `m_search_index_status` (`id`, `last_rebuilt_date`) VALUES (1, NULL);
+
+INSERT INTO `job` (`name`, `display_name`, `cron_expression`, `create_time`, `task_priority`, `group_name`, `previous_run_start_time`, `next_run_time`, `job_key`, `initializing_errorlog`, `is_active`, `currently_running`, `updates_allowed`, `scheduler_group`, `is_misfired`) VALUES ('Rebuild Search Index', 'Rebuild Search Index', '0 0 1 1/1 * ? *', now(), 5, NULL, NULL, NULL, NULL, NULL, 1, 0, 1, 0, 0);
@@ -0,0 +1,10 @@
+CREATE TABLE `cache_eviction_messages` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `node_id` varchar(36) NOT NULL,
+  `cache_name` varchar(100) DEFAULT NULL,
+  `cache_key` varchar(500) DEFAULT NULL,
+  `cache_type_enum` tinyint(1) DEFAULT NULL,
+  `created_date` datetime NOT NULL,
+  PRIMARY KEY (`id`),
+  KEY `created_date` (`created_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
@@ -0,0 +1,6 @@
+ALTER TABLE `tenants`
+  ALTER COLUMN `pool_min_idle` SET DEFAULT 5,
+  ALTER COLUMN `pool_max_idle` SET DEFAULT 20;
+
+UPDATE `tenants` SET `pool_min_idle` = 5, `pool_max_idle` = 20 WHERE `pool_min_idle` = 20 AND `pool_max_idle` = 10;
+UPDATE `tenants` SET `pool_min_idle` = `pool_max_idle` WHERE `pool_min_idle` > `pool_max_idle`;
@@ -0,0 +1,313 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.accounting.journalentry.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.joda.time.LocalDate;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Checks the snapshots kept by {@link GLBalanceSnapshotServiceImpl} against
+ * totals recomputed from every posting, with the two snapshot tables held in
+ * memory.
+ */
+public class GLBalanceSnapshotServiceImplTest {
+
+    private static final Long OFFICE_ID = 1L;
+    private static final String CURRENCY_CODE = "USD";
+
+    private final InMemorySnapshotTables tables = new InMemorySnapshotTables();
+    private final GLBalanceSnapshotServiceImpl service = new GLBalanceSnapshotServiceImpl(this.tables);
+    private final List<Posting> postings = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void postingsInDateOrderMatchFullRecompute() {
+        post(10L, new LocalDate(2014, 1, 5), "100", "0");
+        post(10L, new LocalDate(2014, 1, 20), "0", "30");
+        post(10L, new LocalDate(2014, 1, 31), "12.5", "0");
+        post(10L, new LocalDate(2014, 3, 1), "0", "50");
+        post(10L, new LocalDate(2014, 3, 31), "7", "3");
+
+        assertSnapshotsMatchFullRecompute();
+    }
+
+    @Test
+    public void backdatedPostingsMatchFullRecompute() {
+        post(10L, new LocalDate(2014, 5, 10), "100", "0");
+        post(10L, new LocalDate(2014, 7, 10), "0", "40");
+        // into a month with a total, before a later one
+        post(10L, new LocalDate(2014, 5, 1), "5", "0");
+        // into a month without a total between two months with totals
+        post(10L, new LocalDate(2014, 6, 15), "0", "25");
+        // before the first month with a total
+        post(10L, new LocalDate(2014, 2, 28), "60", "0");
+
+        assertSnapshotsMatchFullRecompute();
+    }
+
+    @Test
+    public void randomPostingsMatchFullRecompute() {
+        final Random random = new Random(42);
+        final LocalDate firstDate = new LocalDate(2013, 1, 1);
+        for (int i = 0; i < 300; i++) {
+            final Long accountId = Long.valueOf(10 + random.nextInt(3));
+            final LocalDate entryDate = firstDate.plusDays(random.nextInt(730));
+            final String amount = BigDecimal.valueOf(random.nextInt(100000), 2).toPlainString();
+            if (random.nextBoolean()) {
+                post(accountId, entryDate, amount, "0");
+            } else {
+                post(accountId, entryDate, "0", amount);
+            }
+            assertSnapshotsMatchFullRecompute();
+        }
+    }
+
+    @Test
+    public void dailyBalancesAreOnlySummedByTheFirstPostingOfAMonth() {
+        post(10L, new LocalDate(2014, 1, 5), "100", "0");
+        post(10L, new LocalDate(2014, 1, 6), "100", "0");
+        post(10L, new LocalDate(2014, 2, 6), "100", "0");
+        post(10L, new LocalDate(2014, 2, 7), "0", "10");
+        post(10L, new LocalDate(2014, 1, 7), "0", "10");
+
+        assertEquals(2, this.tables.dailyTotalQueries);
+        assertSnapshotsMatchFullRecompute();
+    }
+
+    @Test
+    public void postingsOfATransactionAreAppliedWhenItCommitsInKeyOrder() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        post(12L, new LocalDate(2014, 1, 5), "100", "0");
+        post(10L, new LocalDate(2014, 1, 9), "0", "40");
+        post(11L, new LocalDate(2014, 1, 5), "0", "60");
+        post(10L, new LocalDate(2014, 1, 2), "40", "0");
+        post(12L, new LocalDate(2014, 1, 5), "0", "100");
+        post(10L, new LocalDate(2014, 1, 9), "15", "0");
+
+        assertTrue(this.tables.dailyBalances.isEmpty());
+        assertTrue(this.tables.monthEndBalances.isEmpty());
+
+        for (final TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.beforeCommit(false);
+        }
+
+        assertEquals(Arrays.<List<Object>> asList(key(10L, new LocalDate(2014, 1, 2)), key(10L, new LocalDate(2014, 1, 9)),
+                key(11L, new LocalDate(2014, 1, 5)), key(12L, new LocalDate(2014, 1, 5))), this.tables.dailyUpserts);
+        assertSnapshotsMatchFullRecompute();
+    }
+
+    private void post(final Long accountId, final LocalDate entryDate, final String debitAmount, final String creditAmount) {
+        final Posting posting = new Posting(accountId, entryDate, new BigDecimal(debitAmount), new BigDecimal(creditAmount));
+        this.postings.add(posting);
+        this.service.addPostedAmounts(OFFICE_ID, accountId, CURRENCY_CODE, entryDate.toDate(), posting.debitAmount,
+                posting.creditAmount);
+    }
+
+    private void assertSnapshotsMatchFullRecompute() {
+        final Map<List<Object>, BigDecimal[]> expectedDailyBalances = new TreeMap<>(KEY_ORDER);
+        final Map<List<Object>, BigDecimal[]> expectedMonthEndBalances = new TreeMap<>(KEY_ORDER);
+        for (final Posting posting : this.postings) {
+            addTo(expectedDailyBalances, key(posting.accountId, posting.entryDate), posting.debitAmount, posting.creditAmount);
+            expectedMonthEndBalances.put(key(posting.accountId, posting.entryDate.dayOfMonth().withMaximumValue()), null);
+        }
+        for (final Map.Entry<List<Object>, BigDecimal[]> monthEnd : expectedMonthEndBalances.entrySet()) {
+            final LocalDate monthEndDate = (LocalDate) monthEnd.getKey().get(3);
+            BigDecimal debitTotal = BigDecimal.ZERO;
+            BigDecimal creditTotal = BigDecimal.ZERO;
+            for (final Posting posting : this.postings) {
+                if (monthEnd.getKey().get(1).equals(posting.accountId) && !posting.entryDate.isAfter(monthEndDate)) {
+                    debitTotal = debitTotal.add(posting.debitAmount);
+                    creditTotal = creditTotal.add(posting.creditAmount);
+                }
+            }
+            monthEnd.setValue(new BigDecimal[] { debitTotal, creditTotal });
+        }
+
+        assertSameBalances(expectedDailyBalances, this.tables.dailyBalances);
+        assertSameBalances(expectedMonthEndBalances, this.tables.monthEndBalances);
+    }
+
+    private static void assertSameBalances(final Map<List<Object>, BigDecimal[]> expected, final Map<List<Object>, BigDecimal[]> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        for (final Map.Entry<List<Object>, BigDecimal[]> balance : expected.entrySet()) {
+            final BigDecimal[] actualAmounts = actual.get(balance.getKey());
+            assertEquals("debits of " + balance.getKey(), 0, balance.getValue()[0].compareTo(actualAmounts[0]));
+            assertEquals("credits of " + balance.getKey(), 0, balance.getValue()[1].compareTo(actualAmounts[1]));
+        }
+    }
+
+    private static List<Object> key(final Long accountId, final LocalDate date) {
+        return Arrays.<Object> asList(OFFICE_ID, accountId, CURRENCY_CODE, date);
+    }
+
+    private static void addTo(final Map<List<Object>, BigDecimal[]> balances, final List<Object> key, final BigDecimal debitAmount,
+            final BigDecimal creditAmount) {
+        final BigDecimal[] amounts = balances.get(key);
+        if (amounts == null) {
+            balances.put(key, new BigDecimal[] { debitAmount, creditAmount });
+        } else {
+            amounts[0] = amounts[0].add(debitAmount);
+            amounts[1] = amounts[1].add(creditAmount);
+        }
+    }
+
+    private static final Comparator<List<Object>> KEY_ORDER = new Comparator<List<Object>>() {
+
+        @Override
+        public int compare(final List<Object> first, final List<Object> second) {
+            int result = ((Long) first.get(0)).compareTo((Long) second.get(0));
+            if (result == 0) {
+                result = ((Long) first.get(1)).compareTo((Long) second.get(1));
+            }
+            if (result == 0) {
+                result = ((String) first.get(2)).compareTo((String) second.get(2));
+            }
+            if (result == 0) {
+                result = ((LocalDate) first.get(3)).compareTo((LocalDate) second.get(3));
+            }
+            return result;
+        }
+    };
+
+    private static final class Posting {
+
+        private final Long accountId;
+        private final LocalDate entryDate;
+        private final BigDecimal debitAmount;
+        private final BigDecimal creditAmount;
+
+        Posting(final Long accountId, final LocalDate entryDate, final BigDecimal debitAmount, final BigDecimal creditAmount) {
+            this.accountId = accountId;
+            this.entryDate = entryDate;
+            this.debitAmount = debitAmount;
+            this.creditAmount = creditAmount;
+        }
+    }
+
+    /**
+     * Runs the statements of {@link GLBalanceSnapshotServiceImpl} against the
+     * two snapshot tables held in sorted maps.
+     */
+    private static final class InMemorySnapshotTables extends JdbcTemplate {
+
+        private final Map<List<Object>, BigDecimal[]> dailyBalances = new TreeMap<>(KEY_ORDER);
+        private final Map<List<Object>, BigDecimal[]> monthEndBalances = new TreeMap<>(KEY_ORDER);
+        private final List<List<Object>> dailyUpserts = new ArrayList<>();
+        private int dailyTotalQueries;
+
+        @Override
+        public int update(final String sql, final Object... args) {
+            if (sql.startsWith("insert into acc_gl_daily_balance")) {
+                final List<Object> key = rowKey(args, 0);
+                this.dailyUpserts.add(key);
+                addTo(this.dailyBalances, key, (BigDecimal) args[4], (BigDecimal) args[5]);
+                return 1;
+            }
+            if (sql.startsWith("insert ignore into acc_gl_month_end_balance")) {
+                final List<Object> key = rowKey(args, 0);
+                if (this.monthEndBalances.containsKey(key)) { return 0; }
+                this.monthEndBalances.put(key, new BigDecimal[] { (BigDecimal) args[4], (BigDecimal) args[5] });
+                return 1;
+            }
+            if (sql.startsWith("update acc_gl_month_end_balance")) {
+                final List<Object> key = rowKey(args, 2);
+                final boolean laterMonthEnds = sql.endsWith("month_end_date >= ?");
+                int updated = 0;
+                for (final Map.Entry<List<Object>, BigDecimal[]> monthEnd : this.monthEndBalances.entrySet()) {
+                    final int order = KEY_ORDER.compare(monthEnd.getKey(), key);
+                    if (sameAccount(monthEnd.getKey(), key) && (order == 0 || (laterMonthEnds && order > 0))) {
+                        monthEnd.getValue()[0] = monthEnd.getValue()[0].add((BigDecimal) args[0]);
+                        monthEnd.getValue()[1] = monthEnd.getValue()[1].add((BigDecimal) args[1]);
+                        updated++;
+                    }
+                }
+                return updated;
+            }
+            throw new IllegalArgumentException(sql);
+        }
+
+        @Override
+        public <T> T queryForObject(final String sql, final Class<T> requiredType, final Object... args) {
+            if (sql.startsWith("select count(*) from acc_gl_month_end_balance")) { return requiredType.cast(Integer
+                    .valueOf(this.monthEndBalances.containsKey(rowKey(args, 0)) ? 1 : 0)); }
+            throw new IllegalArgumentException(sql);
+        }
+
+        @Override
+        public List<Map<String, Object>> queryForList(final String sql, final Object... args) {
+            if (!sql.startsWith("select month_end_date, debit_amount, credit_amount")) { throw new IllegalArgumentException(sql); }
+            final List<Object> key = rowKey(args, 0);
+            List<Object> previousKey = null;
+            for (final List<Object> monthEndKey : this.monthEndBalances.keySet()) {
+                if (sameAccount(monthEndKey, key) && KEY_ORDER.compare(monthEndKey, key) < 0) {
+                    previousKey = monthEndKey;
+                }
+            }
+            if (previousKey == null) { return Collections.emptyList(); }
+            final Map<String, Object> row = new HashMap<>();
+            row.put("month_end_date", ((LocalDate) previousKey.get(3)).toDate());
+            row.put("debit_amount", this.monthEndBalances.get(previousKey)[0]);
+            row.put("credit_amount", this.monthEndBalances.get(previousKey)[1]);
+            return Collections.singletonList(row);
+        }
+
+        @Override
+        public Map<String, Object> queryForMap(final String sql, final Object... args) {
+            if (!sql.startsWith("select ifnull(sum(debit_amount), 0)")) { throw new IllegalArgumentException(sql); }
+            this.dailyTotalQueries++;
+            final List<Object> key = rowKey(args, 0);
+            final LocalDate after = args.length > 4 ? LocalDate.fromDateFields((Date) args[4]) : null;
+            BigDecimal debitTotal = BigDecimal.ZERO;
+            BigDecimal creditTotal = BigDecimal.ZERO;
+            for (final Map.Entry<List<Object>, BigDecimal[]> daily : this.dailyBalances.entrySet()) {
+                final LocalDate entryDate = (LocalDate) daily.getKey().get(3);
+                if (sameAccount(daily.getKey(), key) && KEY_ORDER.compare(daily.getKey(), key) <= 0
+                        && (after == null || entryDate.isAfter(after))) {
+                    debitTotal = debitTotal.add(daily.getValue()[0]);
+                    creditTotal = creditTotal.add(daily.getValue()[1]);
+                }
+            }
+            final Map<String, Object> row = new HashMap<>();
+            row.put("debit_amount", debitTotal);
+            row.put("credit_amount", creditTotal);
+            return row;
+        }
+
+        private static List<Object> rowKey(final Object[] args, final int from) {
+            return Arrays.<Object> asList(args[from], args[from + 1], args[from + 2], LocalDate.fromDateFields((Date) args[from + 3]));
+        }
+
+        private static boolean sameAccount(final List<Object> first, final List<Object> second) {
+            return first.subList(0, 3).equals(second.subList(0, 3));
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.accounting.journalentry.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.joda.time.LocalDate;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mifosplatform.accounting.journalentry.domain.JournalEntryType;
+import org.mifosplatform.useradministration.domain.AppUser;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@RunWith(MockitoJUnitRunner.class)
+public class JournalEntryPostingServiceImplTest {
+
+    private static final Date ENTRY_DATE = new LocalDate(2014, 3, 15).toDate();
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private AuditorAware<AppUser> auditorAware;
+    @Mock
+    private AppUser appUser;
+    @Mock
+    private GLBalanceSnapshotService glBalanceSnapshotService;
+
+    private JournalEntryPostingServiceImpl journalEntryPostingService;
+
+    /**
+     * The number of entries in each batch inserted, as they are posted.
+     */
+    private final List<Integer> batchSizes = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        when(this.auditorAware.getCurrentAuditor()).thenReturn(this.appUser);
+        when(this.appUser.getId()).thenReturn(1L);
+        doAnswer(new Answer<int[]>() {
+
+            @Override
+            public int[] answer(final InvocationOnMock invocation) {
+                final BatchPreparedStatementSetter setter = (BatchPreparedStatementSetter) invocation.getArguments()[1];
+                JournalEntryPostingServiceImplTest.this.batchSizes.add(setter.getBatchSize());
+                return new int[setter.getBatchSize()];
+            }
+        }).when(this.jdbcTemplate).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+
+        this.journalEntryPostingService = new JournalEntryPostingServiceImpl(this.jdbcTemplate, this.auditorAware,
+                this.glBalanceSnapshotService);
+    }
+
+    @After
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void entriesAreInsertedRightAwayOutsideOfATransaction() {
+        addEntry(20L, JournalEntryType.DEBIT, "100");
+        addEntry(21L, JournalEntryType.CREDIT, "100");
+
+        assertEquals(Arrays.asList(1, 1), this.batchSizes);
+    }
+
+    @Test
+    public void entriesOfATransactionAreInsertedAsOneBatchBeforeItCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        addEntry(20L, JournalEntryType.DEBIT, "100");
+        addEntry(21L, JournalEntryType.CREDIT, "60");
+        addEntry(22L, JournalEntryType.CREDIT, "40");
+
+        assertEquals(Collections.<Integer> emptyList(), this.batchSizes);
+
+        beforeCommit();
+
+        assertEquals(Arrays.asList(3), this.batchSizes);
+    }
+
+    @Test
+    public void largeTransactionsAreInsertedEveryBatchSizeEntries() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        for (int i = 0; i < JournalEntryPostingServiceImpl.BATCH_SIZE - 1; i++) {
+            addEntry(20L, JournalEntryType.DEBIT, "1");
+        }
+        assertEquals(Collections.<Integer> emptyList(), this.batchSizes);
+
+        addEntry(21L, JournalEntryType.CREDIT, "1");
+        assertEquals(Arrays.asList(JournalEntryPostingServiceImpl.BATCH_SIZE), this.batchSizes);
+
+        for (int i = 0; i < 10; i++) {
+            addEntry(20L, JournalEntryType.DEBIT, "1");
+        }
+        beforeCommit();
+
+        assertEquals(Arrays.asList(JournalEntryPostingServiceImpl.BATCH_SIZE, 10), this.batchSizes);
+    }
+
+    @Test
+    public void rolledBackTransactionInsertsNothing() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        addEntry(20L, JournalEntryType.DEBIT, "100");
+        addEntry(21L, JournalEntryType.CREDIT, "100");
+        for (final TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        verify(this.jdbcTemplate, never()).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+    }
+
+    @Test
+    public void amountsAreHandedToTheSnapshotsAsEntriesAreAdded() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        addEntry(20L, JournalEntryType.DEBIT, "100");
+        addEntry(21L, JournalEntryType.CREDIT, "100");
+
+        verify(this.glBalanceSnapshotService).addPostedAmounts(1L, 20L, "USD", ENTRY_DATE, new BigDecimal("100"), BigDecimal.ZERO);
+        verify(this.glBalanceSnapshotService).addPostedAmounts(1L, 21L, "USD", ENTRY_DATE, BigDecimal.ZERO, new BigDecimal("100"));
+    }
+
+    @Test
+    public void batchSetsTheColumnsOfEachEntry() throws Exception {
+        final List<BatchPreparedStatementSetter> setters = new ArrayList<>();
+        doAnswer(new Answer<int[]>() {
+
+            @Override
+            public int[] answer(final InvocationOnMock invocation) {
+                setters.add((BatchPreparedStatementSetter) invocation.getArguments()[1]);
+                return new int[1];
+            }
+        }).when(this.jdbcTemplate).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+
+        addEntry(20L, JournalEntryType.CREDIT, "75.5");
+
+        final PreparedStatement ps = mock(PreparedStatement.class);
+        setters.get(0).setValues(ps, 0);
+        verify(ps).setLong(1, 20L);
+        verify(ps).setLong(2, 1L);
+        verify(ps).setString(3, "USD");
+        verify(ps).setString(4, "L42");
+        verify(ps).setLong(5, 42L);
+        verify(ps).setInt(8, JournalEntryType.CREDIT.getValue());
+        verify(ps).setBigDecimal(eq(9), eq(new BigDecimal("75.5")));
+    }
+
+    private void addEntry(final Long accountId, final JournalEntryType type, final String amount) {
+        this.journalEntryPostingService.addEntry(1L, accountId, "USD", "L42", 42L, null, ENTRY_DATE, type, new BigDecimal(amount), 1,
+                7L);
+    }
+
+    private static void beforeCommit() {
+        for (final TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.beforeCommit(false);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.accounting.journalentry.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mifosplatform.accounting.glaccount.service.GLAccountReadPlatformService;
+import org.mifosplatform.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.mifosplatform.infrastructure.core.service.RoutingDataSource;
+import org.mifosplatform.infrastructure.dataqueries.service.CsvGenericResultsetWriter;
+import org.mifosplatform.infrastructure.dataqueries.service.GenericDataServiceImpl;
+import org.mifosplatform.infrastructure.dataqueries.service.NdjsonGenericResultsetWriter;
+import org.mifosplatform.organisation.office.service.OfficeReadPlatformService;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+/**
+ * Streams the journal entry export from a driver that, like Connector/J, gives
+ * the underlying column as the column name and the alias as the column label.
+ */
+public class JournalEntryReadPlatformServiceImplTest {
+
+    private static final List<String> EXPORT_COLUMNS = Arrays.asList("id", "officeId", "officeName", "glAccountId", "glAccountCode",
+            "glAccountName", "transactionDate", "transactionId", "currencyCode", "entryType", "amount", "manualEntry", "reversed",
+            "entityType", "entityId", "referenceNumber", "comments", "createdByUserId", "createdDate");
+
+    /**
+     * A selected expression and its alias; the column name is what follows
+     * the table alias of a plain column, the alias otherwise.
+     */
+    private static final Pattern SELECTED_COLUMN = Pattern.compile("(\\S+) as (\\w+)");
+
+    private JournalEntryReadPlatformServiceImpl journalEntryReadPlatformService;
+
+    @Before
+    public void setUp() throws SQLException {
+        final RoutingDataSource dataSource = mock(RoutingDataSource.class);
+        final Connection connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenAnswer(new Answer<PreparedStatement>() {
+
+            @Override
+            public PreparedStatement answer(final InvocationOnMock invocation) throws SQLException {
+                final PreparedStatement statement = mock(PreparedStatement.class);
+                final ResultSet rs = oneRowResultSet((String) invocation.getArguments()[0]);
+                when(statement.executeQuery()).thenReturn(rs);
+                return statement;
+            }
+        });
+
+        this.journalEntryReadPlatformService = new JournalEntryReadPlatformServiceImpl(dataSource,
+                mock(ConfigurationDomainService.class), mock(GLAccountReadPlatformService.class), mock(OfficeReadPlatformService.class),
+                new GenericDataServiceImpl(dataSource));
+    }
+
+    @Test
+    public void csvExportHeaderHasTheColumnAliases() throws IOException {
+        final StringWriter out = new StringWriter();
+
+        final int rowCount = this.journalEntryReadPlatformService.exportJournalEntries(null, null, null, null,
+                new CsvGenericResultsetWriter(out));
+
+        assertEquals(1, rowCount);
+        final String header = out.toString().substring(0, out.toString().indexOf('\n'));
+        final List<String> columns = new ArrayList<>();
+        for (final String column : header.split(",")) {
+            columns.add(column.replace("\"", ""));
+        }
+        assertEquals(EXPORT_COLUMNS, columns);
+    }
+
+    @Test
+    public void ndjsonExportKeysAreTheColumnAliases() throws IOException {
+        final StringWriter out = new StringWriter();
+
+        this.journalEntryReadPlatformService.exportJournalEntries(1L, null, null, 100L, new NdjsonGenericResultsetWriter(out));
+
+        final List<String> keys = new ArrayList<>();
+        for (final Map.Entry<String, JsonElement> entry : new JsonParser().parse(out.toString().trim()).getAsJsonObject().entrySet()) {
+            keys.add(entry.getKey());
+        }
+        assertEquals(EXPORT_COLUMNS, keys);
+    }
+
+    private static ResultSet oneRowResultSet(final String sql) throws SQLException {
+        final ResultSetMetaData rsmd = mock(ResultSetMetaData.class);
+        final ResultSet rs = mock(ResultSet.class);
+        final Matcher selectedColumn = SELECTED_COLUMN.matcher(sql.substring(0, sql.indexOf(" from ")));
+        int column = 0;
+        while (selectedColumn.find()) {
+            column++;
+            final String expression = selectedColumn.group(1);
+            final String alias = selectedColumn.group(2);
+            final int dot = expression.indexOf('.');
+            final boolean plainColumn = dot > 0 && expression.matches("\\w+\\.\\w+");
+            when(rsmd.getColumnName(column)).thenReturn(plainColumn ? expression.substring(dot + 1) : alias);
+            when(rsmd.getColumnLabel(column)).thenReturn(alias);
+            when(rsmd.getColumnTypeName(column)).thenReturn("VARCHAR");
+            when(rs.getString(column)).thenReturn("value" + column);
+        }
+        when(rsmd.getColumnCount()).thenReturn(column);
+        when(rs.getMetaData()).thenReturn(rsmd);
+        when(rs.next()).thenReturn(true, false);
+        return rs;
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.batch.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import javax.ws.rs.core.UriInfo;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mifosplatform.batch.command.CommandContext;
+import org.mifosplatform.batch.command.CommandStrategy;
+import org.mifosplatform.batch.command.CommandStrategyProvider;
+import org.mifosplatform.batch.domain.BatchRequest;
+import org.mifosplatform.batch.domain.BatchResponse;
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.core.exception.UnsupportedParameterException;
+import org.mifosplatform.infrastructure.core.serialization.FromJsonHelper;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BatchApiServiceImplTest {
+
+    @Mock
+    private CommandStrategyProvider strategyProvider;
+
+    @Mock
+    private MifosPlatformTenant tenant;
+
+    private BatchApiServiceImpl batchApiService;
+
+    @Before
+    public void setUp() {
+        this.batchApiService = new BatchApiServiceImpl(this.strategyProvider, new ResolutionHelper(new FromJsonHelper()),
+                mock(TransactionTemplate.class));
+        ThreadLocalContextUtil.setTenant(this.tenant);
+    }
+
+    @After
+    public void tearDown() {
+        this.batchApiService.shutdownParallelExecutor();
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    public void shouldRunRequestsInParallelWithTenantAndRespondInRequestOrder() {
+        final List<MifosPlatformTenant> tenantsSeen = new ArrayList<>();
+        when(this.strategyProvider.getCommandStrategy(any(CommandContext.class))).thenReturn(new CommandStrategy() {
+
+            private final Random random = new Random();
+
+            @Override
+            public BatchResponse execute(final BatchRequest request, @SuppressWarnings("unused") final UriInfo uriInfo) {
+                try {
+                    Thread.sleep(this.random.nextInt(5));
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                synchronized (tenantsSeen) {
+                    tenantsSeen.add(ThreadLocalContextUtil.getTenant());
+                }
+                final BatchResponse response = new BatchResponse();
+                response.setRequestId(request.getRequestId());
+                response.setStatusCode(200);
+                response.setBody("{}");
+                return response;
+            }
+        });
+
+        final List<BatchRequest> requests = new ArrayList<>();
+        for (long requestId = 1; requestId <= 100; requestId++) {
+            requests.add(new BatchRequest(requestId, "clients", "POST", null, null, "{}"));
+        }
+
+        final List<BatchResponse> responses = this.batchApiService.handleBatchRequestsInParallel(requests, mock(UriInfo.class));
+
+        assertEquals(100, responses.size());
+        for (int i = 0; i < responses.size(); i++) {
+            assertEquals(Long.valueOf(i + 1), responses.get(i).getRequestId());
+        }
+        assertEquals(100, tenantsSeen.size());
+        for (final MifosPlatformTenant tenantSeen : tenantsSeen) {
+            assertSame(this.tenant, tenantSeen);
+        }
+    }
+
+    @Test
+    public void shouldFailOnlyTheTreeOfAFailingRootRequest() {
+        when(this.strategyProvider.getCommandStrategy(any(CommandContext.class))).thenReturn(new CommandStrategy() {
+
+            @Override
+            public BatchResponse execute(final BatchRequest request, @SuppressWarnings("unused") final UriInfo uriInfo) {
+                if (request.getRequestId().equals(1L)) { throw new UnsupportedParameterException(Arrays.asList("unknown")); }
+                final BatchResponse response = new BatchResponse();
+                response.setRequestId(request.getRequestId());
+                response.setStatusCode(200);
+                response.setBody("{}");
+                return response;
+            }
+        });
+
+        final List<BatchRequest> requests = new ArrayList<>();
+        requests.add(new BatchRequest(1L, "clients", "POST", null, null, "{}"));
+        requests.add(new BatchRequest(2L, "loans", "POST", null, 1L, "{}"));
+        requests.add(new BatchRequest(3L, "clients", "POST", null, null, "{}"));
+
+        final List<BatchResponse> responses = this.batchApiService.handleBatchRequestsInParallel(requests, mock(UriInfo.class));
+
+        assertEquals(3, responses.size());
+        assertEquals(Integer.valueOf(400), responses.get(0).getStatusCode());
+        assertEquals(Integer.valueOf(409), responses.get(1).getStatusCode());
+        assertEquals(Integer.valueOf(200), responses.get(2).getStatusCode());
+    }
+}
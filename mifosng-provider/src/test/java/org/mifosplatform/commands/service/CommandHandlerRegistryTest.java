@@ -0,0 +1,92 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.commands.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+import org.mifosplatform.commands.annotation.CommandType;
+import org.mifosplatform.commands.domain.CommandWrapper;
+import org.mifosplatform.commands.exception.UnsupportedCommandException;
+import org.mifosplatform.commands.handler.NewCommandSourceHandler;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+
+public class CommandHandlerRegistryTest {
+
+    @Test
+    public void shouldKeyCommandsLikePermissionCodes() {
+        assertEquals("REPAYMENT_LOAN", CommandHandlerRegistry.keyFor(new CommandWrapperBuilder().loanRepaymentTransaction(1L).build()));
+        assertEquals("CREATE_CLIENT", CommandHandlerRegistry.keyFor(new CommandWrapperBuilder().createClient().build()));
+    }
+
+    @Test
+    public void shouldKeyDatatableCommandsByPseudoEntity() {
+        assertEquals("CREATE_DATATABLE_ENTRY",
+                CommandHandlerRegistry.keyFor(new CommandWrapperBuilder().createDatatable("extra_details", 1L, null).build()));
+        assertEquals("UPDATE_DATATABLE_ENTRY",
+                CommandHandlerRegistry.keyFor(new CommandWrapperBuilder().updateDatatable("extra_details", 1L, null).build()));
+        assertEquals("UPDATE_DATATABLE_MULTIROW_ENTRY",
+                CommandHandlerRegistry.keyFor(new CommandWrapperBuilder().updateDatatable("extra_details", 1L, 2L).build()));
+        assertEquals("DELETE_DATATABLE_MULTIROW_ENTRY",
+                CommandHandlerRegistry.keyFor(new CommandWrapperBuilder().deleteDatatable("extra_details", 1L, 2L).build()));
+        assertEquals("REGISTER_DATATABLE",
+                CommandHandlerRegistry.keyFor(new CommandWrapperBuilder().registerDBDatatable("extra_details", "m_client").build()));
+    }
+
+    @Test
+    public void shouldKeySurveyCommandsBySurveyEntity() {
+        assertEquals("CREATE_SURVEY", CommandHandlerRegistry.keyFor(new CommandWrapperBuilder().fullFilSurvey("ppi_kenya", 1L).build()));
+        assertEquals("REGISTER_SURVEY",
+                CommandHandlerRegistry.keyFor(new CommandWrapperBuilder().registerSurvey("ppi_kenya", "m_client").build()));
+    }
+
+    @Test
+    public void shouldFindRegisteredHandler() {
+        final NewCommandSourceHandler handler = mock(NewCommandSourceHandler.class);
+        final Map<String, NewCommandSourceHandler> dispatchTable = new HashMap<>();
+        dispatchTable.put("REPAYMENT_LOAN", handler);
+
+        final CommandHandlerRegistry registry = new CommandHandlerRegistry(dispatchTable);
+
+        assertSame(handler, registry.findCommandHandler(new CommandWrapperBuilder().loanRepaymentTransaction(1L).build()));
+    }
+
+    @Test(expected = UnsupportedCommandException.class)
+    public void shouldRejectUnregisteredCommand() {
+        final CommandHandlerRegistry registry = new CommandHandlerRegistry(new HashMap<String, NewCommandSourceHandler>());
+
+        registry.findCommandHandler(new CommandWrapperBuilder().createClient().build());
+    }
+
+    @Test
+    public void shouldDeclareEveryCommandOnlyOnce() throws ClassNotFoundException {
+        final ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(CommandType.class));
+
+        final Set<String> keys = new HashSet<>();
+        for (final BeanDefinition definition : scanner.findCandidateComponents("org.mifosplatform")) {
+            final Class<?> handlerClass = Class.forName(definition.getBeanClassName());
+            assertTrue(handlerClass.getName(), NewCommandSourceHandler.class.isAssignableFrom(handlerClass));
+
+            final CommandType commandType = handlerClass.getAnnotation(CommandType.class);
+            for (final String entityName : commandType.entity()) {
+                final String key = CommandHandlerRegistry.keyFor(entityName, commandType.action());
+                assertTrue(key + " is declared twice", keys.add(key));
+            }
+        }
+        assertTrue(keys.contains("REPAYMENT_LOAN"));
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.cache.service;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import javax.sql.DataSource;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mifosplatform.infrastructure.cache.domain.CacheType;
+
+public class JdbcPollingCacheEvictionTransportTest {
+
+    private final DataSource dataSource = mock(DataSource.class);
+    private JdbcPollingCacheEvictionTransport transport;
+
+    @After
+    public void tearDown() {
+        this.transport.stop();
+    }
+
+    @Test
+    public void disabledTransportNeitherPollsNorPublishes() {
+        this.transport = new JdbcPollingCacheEvictionTransport(this.dataSource, false);
+
+        this.transport.subscribe(mock(CacheEvictionListener.class));
+        this.transport.publishEviction("codes", "defaultCD");
+        this.transport.publishCacheSwitch(CacheType.SINGLE_NODE);
+
+        assertFalse(this.transport.isPolling());
+        verifyZeroInteractions(this.dataSource);
+    }
+
+    @Test
+    public void enabledTransportPollsOnceSubscribedUntilStopped() {
+        this.transport = new JdbcPollingCacheEvictionTransport(this.dataSource, true);
+        assertFalse(this.transport.isPolling());
+
+        this.transport.subscribe(mock(CacheEvictionListener.class));
+        assertTrue(this.transport.isPolling());
+
+        this.transport.stop();
+        assertFalse(this.transport.isPolling());
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.cache.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MultiNodeCacheManagerTest {
+
+    @Mock
+    private CacheEvictionTransport cacheEvictionTransport;
+
+    private ConcurrentMapCacheManager localCacheManager;
+    private MultiNodeCacheManager multiNodeCacheManager;
+
+    @Before
+    public void setUp() {
+        this.localCacheManager = new ConcurrentMapCacheManager("codes", "users");
+        this.multiNodeCacheManager = new MultiNodeCacheManager(this.localCacheManager, this.cacheEvictionTransport);
+    }
+
+    @Test
+    public void shouldCacheLocallyWithoutPublishing() {
+        final Cache cache = this.multiNodeCacheManager.getCache("codes");
+        cache.put("defaultCD", "value");
+
+        assertEquals("value", this.localCacheManager.getCache("codes").get("defaultCD").get());
+        assertEquals("value", cache.get("defaultCD").get());
+        verifyZeroInteractions(this.cacheEvictionTransport);
+    }
+
+    @Test
+    public void shouldPublishEvictedStringKeys() {
+        final Cache cache = this.multiNodeCacheManager.getCache("codes");
+        cache.put("defaultCD", "value");
+        cache.evict("defaultCD");
+
+        assertNull(this.localCacheManager.getCache("codes").get("defaultCD"));
+        verify(this.cacheEvictionTransport).publishEviction("codes", "defaultCD");
+    }
+
+    @Test
+    public void shouldPublishClearForKeysOtherNodesCannotMatch() {
+        this.multiNodeCacheManager.getCache("users").evict(Arrays.asList("default", 1L));
+
+        verify(this.cacheEvictionTransport).publishEviction("users", null);
+    }
+
+    @Test
+    public void shouldPublishClear() {
+        this.multiNodeCacheManager.getCache("users").clear();
+
+        verify(this.cacheEvictionTransport).publishEviction("users", null);
+    }
+
+    @Test
+    public void shouldApplyEvictionsFromOtherNodesWithoutPublishing() {
+        this.localCacheManager.getCache("codes").put("defaultCD", "value");
+        this.localCacheManager.getCache("codes").put("defaultcv", "value");
+
+        this.multiNodeCacheManager.evictLocally("codes", "defaultCD");
+        assertNull(this.localCacheManager.getCache("codes").get("defaultCD"));
+        assertEquals("value", this.localCacheManager.getCache("codes").get("defaultcv").get());
+
+        this.multiNodeCacheManager.evictLocally("codes", null);
+        assertNull(this.localCacheManager.getCache("codes").get("defaultcv"));
+
+        verifyZeroInteractions(this.cacheEvictionTransport);
+    }
+}
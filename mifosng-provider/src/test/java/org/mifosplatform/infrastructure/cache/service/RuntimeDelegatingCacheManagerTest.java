@@ -0,0 +1,88 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.cache.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+
+import net.sf.ehcache.CacheManager;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mifosplatform.infrastructure.cache.domain.CacheType;
+import org.mifosplatform.infrastructure.core.exception.PlatformDataIntegrityException;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.cache.ehcache.EhCacheCacheManager;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RuntimeDelegatingCacheManagerTest {
+
+    @Mock
+    private EhCacheCacheManager ehCacheCacheManager;
+    @Mock
+    private CacheEvictionTransport cacheEvictionTransport;
+
+    private RuntimeDelegatingCacheManager cacheManager;
+
+    @Before
+    public void setUp() {
+        when(this.ehCacheCacheManager.getCacheManager()).thenReturn(mock(CacheManager.class));
+        this.cacheManager = new RuntimeDelegatingCacheManager(this.ehCacheCacheManager, this.cacheEvictionTransport);
+    }
+
+    @Test
+    public void switchToMultiNodeIsRefusedWithoutAnEnabledTransport() {
+        when(this.cacheEvictionTransport.isEnabled()).thenReturn(false);
+
+        try {
+            this.cacheManager.switchToCache(CacheType.NO_CACHE, CacheType.MULTI_NODE);
+            fail("Expected PlatformDataIntegrityException");
+        } catch (final PlatformDataIntegrityException e) {
+            assertEquals("error.msg.cache.multi.node.not.enabled", e.getGlobalisationMessageCode());
+        }
+        assertRunsWithoutCache();
+        verify(this.cacheEvictionTransport, never()).publishCacheSwitch(any(CacheType.class));
+    }
+
+    @Test
+    public void persistedMultiNodeRunsWithoutCacheWithoutAnEnabledTransport() {
+        when(this.cacheEvictionTransport.isEnabled()).thenReturn(false);
+
+        final Map<String, Object> changes = this.cacheManager.switchToCache(CacheType.MULTI_NODE, CacheType.MULTI_NODE);
+
+        assertTrue(changes.isEmpty());
+        assertRunsWithoutCache();
+    }
+
+    @Test
+    public void switchToMultiNodeIsSentToTheOtherNodes() {
+        when(this.cacheEvictionTransport.isEnabled()).thenReturn(true);
+
+        final Map<String, Object> changes = this.cacheManager.switchToCache(CacheType.NO_CACHE, CacheType.MULTI_NODE);
+
+        assertFalse(changes.isEmpty());
+        this.cacheManager.getCache("codes");
+        verify(this.ehCacheCacheManager).getCache("codes");
+        verify(this.cacheEvictionTransport).publishCacheSwitch(CacheType.MULTI_NODE);
+    }
+
+    private void assertRunsWithoutCache() {
+        assertNotNull(this.cacheManager.getCache("codes"));
+        verify(this.ehCacheCacheManager, never()).getCache("codes");
+    }
+}
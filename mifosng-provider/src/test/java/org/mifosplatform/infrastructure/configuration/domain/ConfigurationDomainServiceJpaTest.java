@@ -0,0 +1,80 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.configuration.domain;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mifosplatform.infrastructure.cache.domain.CacheType;
+import org.mifosplatform.infrastructure.cache.domain.PlatformCacheRepository;
+import org.mifosplatform.useradministration.exception.PermissionNotFoundException;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConfigurationDomainServiceJpaTest {
+
+    @Mock
+    private ConfigurationSnapshotService configurationSnapshotService;
+    @Mock
+    private PlatformCacheRepository cacheTypeRepository;
+
+    private ConfigurationDomainServiceJpa configurationDomainService;
+
+    @Before
+    public void setUp() {
+        this.configurationDomainService = new ConfigurationDomainServiceJpa(this.configurationSnapshotService, this.cacheTypeRepository);
+    }
+
+    @Test
+    public void shouldReadMakerCheckerFromSnapshot() {
+        when(this.configurationSnapshotService.retrieveSnapshot()).thenReturn(snapshot(true, "CREATE_CLIENT"));
+
+        assertTrue(this.configurationDomainService.isMakerCheckerEnabledForTask("CREATE_CLIENT"));
+        verify(this.configurationSnapshotService, never()).invalidateLocalSnapshot();
+    }
+
+    @Test
+    public void shouldReloadSnapshotForPermissionAddedLater() {
+        when(this.configurationSnapshotService.retrieveSnapshot()).thenReturn(snapshot(true), snapshot(true, "CREATE_DATATABLE"));
+
+        assertTrue(this.configurationDomainService.isMakerCheckerEnabledForTask("CREATE_DATATABLE"));
+        verify(this.configurationSnapshotService).invalidateLocalSnapshot();
+    }
+
+    @Test(expected = PermissionNotFoundException.class)
+    public void shouldRejectUnknownPermission() {
+        when(this.configurationSnapshotService.retrieveSnapshot()).thenReturn(snapshot(true));
+
+        this.configurationDomainService.isMakerCheckerEnabledForTask("UNKNOWN_TASK");
+    }
+
+    @Test
+    public void shouldIgnorePermissionFlagWhenMakerCheckerIsDisabled() {
+        when(this.configurationSnapshotService.retrieveSnapshot()).thenReturn(snapshot(false, "CREATE_CLIENT"));
+
+        assertFalse(this.configurationDomainService.isMakerCheckerEnabledForTask("CREATE_CLIENT"));
+    }
+
+    private ConfigurationSnapshot snapshot(final boolean makerCheckerEnabled, final String... makerCheckerPermissionCodes) {
+        final Map<String, ConfigurationSnapshot.Property> properties = new HashMap<>();
+        properties.put("maker-checker", new ConfigurationSnapshot.Property(makerCheckerEnabled, null));
+        final Map<String, Boolean> permissions = new HashMap<>();
+        for (final String code : makerCheckerPermissionCodes) {
+            permissions.put(code, Boolean.TRUE);
+        }
+        return new ConfigurationSnapshot(0, properties, permissions, CacheType.NO_CACHE);
+    }
+}
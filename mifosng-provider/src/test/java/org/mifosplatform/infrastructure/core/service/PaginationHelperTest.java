@@ -0,0 +1,97 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.core.service;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mifosplatform.infrastructure.core.exception.UnrecognizedQueryParamException;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+public class PaginationHelperTest {
+
+    private final PaginationHelper<Long> paginationHelper = new PaginationHelper<>();
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private final RowMapper<Long> idMapper = new RowMapper<Long>() {
+
+        @Override
+        public Long mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws java.sql.SQLException {
+            return rs.getLong("keysetId");
+        }
+    };
+
+    private String lastSql;
+    private Object[] lastArgs;
+    private int rowsReturned;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        when(this.jdbcTemplate.query(anyString(), any(Object[].class), any(RowMapper.class))).thenAnswer(new Answer<List<Long>>() {
+
+            @Override
+            public List<Long> answer(final InvocationOnMock invocation) throws Throwable {
+                PaginationHelperTest.this.lastSql = (String) invocation.getArguments()[0];
+                PaginationHelperTest.this.lastArgs = (Object[]) invocation.getArguments()[1];
+                final RowMapper<Long> rowMapper = (RowMapper<Long>) invocation.getArguments()[2];
+                final List<Long> rows = new ArrayList<>();
+                for (int row = 0; row < PaginationHelperTest.this.rowsReturned; row++) {
+                    final ResultSet rs = mock(ResultSet.class);
+                    when(rs.getObject("keysetValue")).thenReturn(Date.valueOf("2014-06-0" + (row + 1)));
+                    when(rs.getLong("keysetId")).thenReturn(Long.valueOf(100 + row));
+                    rows.add(rowMapper.mapRow(rs, row));
+                }
+                return rows;
+            }
+        });
+    }
+
+    @Test
+    public void shouldReturnCursorOfLastRowOfAFullPageAndReadTheNextPageAfterIt() {
+        this.rowsReturned = 2;
+        final Page<Long> firstPage = this.paginationHelper.fetchPageAfter(this.jdbcTemplate, "select * from t where t.x = ?", "and",
+                new Object[] { "x" }, "t.entry_date", "t.id", SearchParameters.forJournalEntries(null, null, 2, null, null, ""),
+                this.idMapper);
+
+        assertNull(firstPage.getTotalFilteredRecords());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals("select * from t where t.x = ? order by t.entry_date, t.id limit 2", this.lastSql);
+
+        this.rowsReturned = 1;
+        final Page<Long> secondPage = this.paginationHelper.fetchPageAfter(this.jdbcTemplate, "select * from t where t.x = ?", "and",
+                new Object[] { "x" }, "t.entry_date", "t.id",
+                SearchParameters.forJournalEntries(null, null, 2, null, null, firstPage.getNextCursor()), this.idMapper);
+
+        assertEquals("select * from t where t.x = ? and (t.entry_date > ? or (t.entry_date = ? and t.id > ?)) "
+                + "order by t.entry_date, t.id limit 2", this.lastSql);
+        assertArrayEquals(new Object[] { "x", Date.valueOf("2014-06-02"), Date.valueOf("2014-06-02"), Long.valueOf(101) }, this.lastArgs);
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test(expected = UnrecognizedQueryParamException.class)
+    public void shouldRejectAMalformedCursor() {
+        this.paginationHelper.fetchPageAfter(this.jdbcTemplate, "select * from t", "where", new Object[0], "t.id", "t.id",
+                SearchParameters.forJournalEntries(null, null, 2, null, null, "not-a-cursor"), this.idMapper);
+    }
+}
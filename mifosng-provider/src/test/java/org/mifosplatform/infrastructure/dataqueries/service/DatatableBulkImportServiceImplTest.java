@@ -0,0 +1,221 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.dataqueries.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mifosplatform.commands.domain.CommandSource;
+import org.mifosplatform.commands.domain.CommandSourceRepository;
+import org.mifosplatform.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.mifosplatform.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.mifosplatform.infrastructure.core.exception.PlatformDataIntegrityException;
+import org.mifosplatform.infrastructure.core.serialization.FromJsonHelper;
+import org.mifosplatform.infrastructure.dataqueries.exception.DatatableBulkImportFailedException;
+import org.mifosplatform.infrastructure.dataqueries.exception.DatatableNotFoundException;
+import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
+import org.mifosplatform.useradministration.domain.AppUser;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DatatableBulkImportServiceImplTest {
+
+    private static final String DATATABLE = "client_notes";
+
+    @Mock
+    private PlatformSecurityContext context;
+    @Mock
+    private AppUser maker;
+    @Mock
+    private ReadWriteNonCoreDataService readWriteNonCoreDataService;
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+    @Mock
+    private CommandSourceRepository commandSourceRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<List<Map<String, String>>> importedChunks = new ArrayList<>();
+
+    private DatatableBulkImportServiceImpl datatableBulkImportService;
+
+    @Before
+    public void setUp() {
+        when(this.context.authenticatedUser()).thenReturn(this.maker);
+        doAnswer(new Answer<Integer>() {
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public Integer answer(final InvocationOnMock invocation) {
+                final List<Map<String, String>> chunk = (List<Map<String, String>>) invocation.getArguments()[1];
+                DatatableBulkImportServiceImplTest.this.importedChunks.add(new ArrayList<>(chunk));
+                return chunk.size();
+            }
+        }).when(this.readWriteNonCoreDataService).createDatatableEntries(eq(DATATABLE), anyEntries());
+
+        this.datatableBulkImportService = new DatatableBulkImportServiceImpl(this.context, this.readWriteNonCoreDataService,
+                this.configurationDomainService, this.commandSourceRepository, new FromJsonHelper(), new TransactionTemplate(
+                        this.transactionManager));
+    }
+
+    @Test
+    public void csvEntriesAreImportedChunkByChunkWithOneAuditEntryEach() {
+        final InputStream csv = stream("client_id,note\n1,first\n2,\"second, with a comma\"\n3,third\n4,fourth\n5,fifth\n");
+
+        this.datatableBulkImportService.importEntries(DATATABLE, DatatableBulkImportService.CSV, csv, 2, "en", "dd MMMM yyyy");
+
+        assertEquals(3, this.importedChunks.size());
+        assertEquals(2, this.importedChunks.get(0).size());
+        assertEquals(2, this.importedChunks.get(1).size());
+        assertEquals(1, this.importedChunks.get(2).size());
+
+        final Map<String, String> second = this.importedChunks.get(0).get(1);
+        assertEquals("2", second.get("client_id"));
+        assertEquals("second, with a comma", second.get("note"));
+        assertEquals("en", second.get("locale"));
+        assertEquals("dd MMMM yyyy", second.get("dateFormat"));
+        verify(this.commandSourceRepository, times(3)).save(any(CommandSource.class));
+        verify(this.transactionManager, times(3)).commit(any(TransactionStatus.class));
+    }
+
+    @Test
+    public void ndjsonEntriesKeepTheirOwnLocaleAndSkipBlankLines() {
+        final InputStream ndjson = stream("{\"client_id\": \"1\", \"note\": \"first\"}\n\n"
+                + "{\"client_id\": \"2\", \"note\": \"second\", \"locale\": \"fr\"}\n   \n");
+
+        this.datatableBulkImportService.importEntries(DATATABLE, DatatableBulkImportService.NDJSON, ndjson, null, "en", null);
+
+        assertEquals(1, this.importedChunks.size());
+        final List<Map<String, String>> chunk = this.importedChunks.get(0);
+        assertEquals(2, chunk.size());
+        assertEquals("first", chunk.get(0).get("note"));
+        assertEquals("en", chunk.get(0).get("locale"));
+        assertEquals("fr", chunk.get(1).get("locale"));
+        assertNull(chunk.get(1).get("dateFormat"));
+        verify(this.commandSourceRepository).save(any(CommandSource.class));
+    }
+
+    @Test
+    public void entriesFitInTheDefaultChunkSizeUnlessAChunkSizeIsGiven() {
+        this.datatableBulkImportService.importEntries(DATATABLE, DatatableBulkImportService.CSV, csvWithEntries(501), null, null, null);
+
+        assertEquals(2, this.importedChunks.size());
+        assertEquals(500, this.importedChunks.get(0).size());
+        assertEquals(1, this.importedChunks.get(1).size());
+    }
+
+    @Test
+    public void chunkSizeIsAcceptedAtItsBounds() {
+        this.datatableBulkImportService.importEntries(DATATABLE, DatatableBulkImportService.CSV, csvWithEntries(3), 1, null, null);
+        assertEquals(3, this.importedChunks.size());
+
+        this.importedChunks.clear();
+        this.datatableBulkImportService.importEntries(DATATABLE, DatatableBulkImportService.CSV, csvWithEntries(5001), 5000, null, null);
+        assertEquals(2, this.importedChunks.size());
+        assertEquals(5000, this.importedChunks.get(0).size());
+    }
+
+    @Test
+    public void chunkSizeOutsideItsBoundsIsRejectedBeforeAnyEntryIsImported() {
+        for (final int chunkSize : new int[] { 0, 5001 }) {
+            try {
+                this.datatableBulkImportService.importEntries(DATATABLE, DatatableBulkImportService.CSV, csvWithEntries(1), chunkSize,
+                        null, null);
+                fail("Expected PlatformApiDataValidationException for chunk size " + chunkSize);
+            } catch (final PlatformApiDataValidationException e) {
+                assertEquals("chunkSize", e.getErrors().get(0).getParameterName());
+            }
+        }
+        verify(this.readWriteNonCoreDataService, never()).createDatatableEntries(anyString(), anyEntries());
+    }
+
+    @Test
+    public void datatableWithMakerCheckerOnCreateIsRefused() {
+        when(this.configurationDomainService.isMakerCheckerEnabledForTask("CREATE_" + DATATABLE)).thenReturn(true);
+
+        try {
+            this.datatableBulkImportService.importEntries(DATATABLE, DatatableBulkImportService.CSV, csvWithEntries(1), null, null, null);
+            fail("Expected PlatformDataIntegrityException");
+        } catch (final PlatformDataIntegrityException e) {
+            assertEquals("error.msg.datatable.bulk.import.maker.checker.enabled", e.getGlobalisationMessageCode());
+        }
+        verify(this.maker).validateHasPermissionTo("CREATE_" + DATATABLE);
+        verify(this.readWriteNonCoreDataService, never()).createDatatableEntries(anyString(), anyEntries());
+        verify(this.commandSourceRepository, never()).save(any(CommandSource.class));
+    }
+
+    @Test
+    public void chunkOutsideTheUsersScopeFailsTheImportAfterTheChunksBeforeIt() {
+        doAnswer(new Answer<Integer>() {
+
+            private int calls;
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public Integer answer(final InvocationOnMock invocation) {
+                if (++this.calls == 2) { throw new DatatableNotFoundException("m_client", 4L); }
+                final List<Map<String, String>> chunk = (List<Map<String, String>>) invocation.getArguments()[1];
+                DatatableBulkImportServiceImplTest.this.importedChunks.add(new ArrayList<>(chunk));
+                return chunk.size();
+            }
+        }).when(this.readWriteNonCoreDataService).createDatatableEntries(eq(DATATABLE), anyEntries());
+
+        try {
+            this.datatableBulkImportService.importEntries(DATATABLE, DatatableBulkImportService.CSV, csvWithEntries(6), 2, null, null);
+            fail("Expected DatatableBulkImportFailedException");
+        } catch (final DatatableBulkImportFailedException e) {
+            assertEquals("error.msg.datatable.bulk.import.failed", e.getGlobalisationMessageCode());
+            assertEquals(Long.valueOf(3), e.getDefaultUserMessageArgs()[1]);
+            assertEquals(Long.valueOf(2), e.getDefaultUserMessageArgs()[2]);
+        }
+        assertEquals(1, this.importedChunks.size());
+        verify(this.commandSourceRepository, times(1)).save(any(CommandSource.class));
+        verify(this.transactionManager).rollback(any(TransactionStatus.class));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static List<Map<String, String>> anyEntries() {
+        return (List) anyListOf(Map.class);
+    }
+
+    private static InputStream csvWithEntries(final int entries) {
+        final StringBuilder csv = new StringBuilder("client_id,note\n");
+        for (int i = 1; i <= entries; i++) {
+            csv.append(i).append(",note ").append(i).append('\n');
+        }
+        return stream(csv.toString());
+    }
+
+    private static InputStream stream(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.dataqueries.service;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.mifosplatform.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+
+public class GenericResultsetWriterTest {
+
+    private final List<ResultsetColumnHeaderData> columnHeaders = Arrays.asList(ResultsetColumnHeaderData.basic("id", "INT"),
+            ResultsetColumnHeaderData.basic("name", "VARCHAR"), ResultsetColumnHeaderData.basic("joined", "DATE"));
+
+    @Test
+    public void shouldWriteCsvRowsAsTheyArrive() throws IOException {
+        final StringWriter out = new StringWriter();
+        final GenericResultsetWriter writer = new CsvGenericResultsetWriter(out);
+
+        writer.writeColumnHeaders(this.columnHeaders);
+        writer.writeRow(Arrays.asList("1", "Jane \"JJ\" Doe", "2014-01-31"));
+        writer.writeRow(Arrays.asList("2", null, null));
+        writer.finish();
+
+        assertEquals("\"id\",\"name\",\"joined\"\n1,\"Jane \"\"JJ\"\" Doe\",\"2014-01-31\"\n2,,\n", out.toString());
+    }
+
+    @Test
+    public void shouldWriteJsonRowsAsTheyArrive() throws IOException {
+        final StringWriter out = new StringWriter();
+        final GenericResultsetWriter writer = new JsonGenericResultsetWriter(out);
+
+        writer.writeColumnHeaders(this.columnHeaders);
+        writer.writeRow(Arrays.asList("1", "Jane \"JJ\" Doe", "2014-01-31"));
+        writer.writeRow(Arrays.asList("2", null, null));
+        writer.finish();
+
+        assertEquals("[\n{\"id\": 1,\n\"name\": \"Jane \\\"JJ\\\" Doe\",\n\"joined\": [2014, 1, 31]},"
+                + "\n{\"id\": 2,\n\"name\": null,\n\"joined\": null}\n]", out.toString());
+    }
+
+    @Test
+    public void shouldWriteEmptyJsonArrayWithoutRows() throws IOException {
+        final StringWriter out = new StringWriter();
+        final GenericResultsetWriter writer = new JsonGenericResultsetWriter(out);
+
+        writer.writeColumnHeaders(this.columnHeaders);
+        writer.finish();
+
+        assertEquals("[\n]", out.toString());
+    }
+
+    @Test
+    public void shouldWriteOneJsonObjectPerLine() throws IOException {
+        final StringWriter out = new StringWriter();
+        final GenericResultsetWriter writer = new NdjsonGenericResultsetWriter(out);
+
+        writer.writeColumnHeaders(this.columnHeaders);
+        writer.writeRow(Arrays.asList("1", "Jane \"JJ\" Doe\n", "2014-01-31"));
+        writer.writeRow(Arrays.asList("2", null, null));
+        writer.finish();
+
+        assertEquals("{\"id\":1,\"name\":\"Jane \\\"JJ\\\" Doe\\n\",\"joined\":\"2014-01-31\"}\n"
+                + "{\"id\":2,\"name\":null,\"joined\":null}\n", out.toString());
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.dataqueries.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import org.junit.Test;
+import org.mifosplatform.infrastructure.core.exception.PlatformServiceUnavailableException;
+
+import com.sun.jersey.spi.CloseableService;
+
+public class PentahoRenderPermitsTest {
+
+    private final PentahoRenderPermits permits = new PentahoRenderPermits(2, 10);
+    private final RequestCompletion requestCompletion = new RequestCompletion();
+
+    @Test
+    public void permitIsHeldFromAcquireUntilTheOutputIsWritten() throws IOException {
+        final StreamingOutput output = this.permits.acquireFor(write("report"), this.requestCompletion);
+        assertEquals(1, this.permits.availablePermits());
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        output.write(out);
+
+        assertEquals("report", new String(out.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(2, this.permits.availablePermits());
+    }
+
+    @Test
+    public void exhaustedPermitsFailBeforeAnOutputIsReturned() {
+        this.permits.acquireFor(write("first"), this.requestCompletion);
+        this.permits.acquireFor(write("second"), this.requestCompletion);
+
+        try {
+            this.permits.acquireFor(write("third"), this.requestCompletion);
+            fail("Expected PlatformServiceUnavailableException");
+        } catch (final PlatformServiceUnavailableException e) {
+            assertEquals("error.msg.reporting.busy", e.getGlobalisationMessageCode());
+        }
+        assertEquals(0, this.permits.availablePermits());
+    }
+
+    @Test
+    public void permitIsReleasedWhenRenderingFails() {
+        final StreamingOutput output = this.permits.acquireFor(new StreamingOutput() {
+
+            @Override
+            public void write(@SuppressWarnings("unused") final OutputStream out) throws IOException {
+                throw new IOException("client went away");
+            }
+        }, this.requestCompletion);
+
+        try {
+            output.write(new ByteArrayOutputStream());
+            fail("Expected IOException");
+        } catch (final IOException e) {
+            assertEquals("client went away", e.getMessage());
+        }
+        assertEquals(2, this.permits.availablePermits());
+    }
+
+    @Test
+    public void permitIsReleasedOnlyOnceWhenTheOutputIsWrittenAgain() throws IOException {
+        final StreamingOutput output = this.permits.acquireFor(write("report"), this.requestCompletion);
+
+        output.write(new ByteArrayOutputStream());
+        output.write(new ByteArrayOutputStream());
+
+        assertEquals(2, this.permits.availablePermits());
+    }
+
+    @Test
+    public void releasedPermitCanBeAcquiredAgain() throws IOException {
+        this.permits.acquireFor(write("first"), this.requestCompletion);
+        final StreamingOutput second = this.permits.acquireFor(write("second"), this.requestCompletion);
+        second.write(new ByteArrayOutputStream());
+
+        this.permits.acquireFor(write("third"), this.requestCompletion);
+
+        assertEquals(0, this.permits.availablePermits());
+    }
+
+    @Test
+    public void permitOfAnOutputThatIsNeverWrittenIsReleasedWhenTheRequestCompletes() throws IOException {
+        this.permits.acquireFor(write("report"), this.requestCompletion);
+        assertEquals(1, this.permits.availablePermits());
+
+        this.requestCompletion.complete();
+
+        assertEquals(2, this.permits.availablePermits());
+    }
+
+    @Test
+    public void permitIsReleasedOnlyOnceWhenTheRequestCompletesAfterTheOutputIsWritten() throws IOException {
+        this.permits.acquireFor(write("first"), this.requestCompletion);
+        final StreamingOutput second = this.permits.acquireFor(write("second"), this.requestCompletion);
+        second.write(new ByteArrayOutputStream());
+
+        this.requestCompletion.complete();
+        this.requestCompletion.complete();
+
+        assertEquals(2, this.permits.availablePermits());
+    }
+
+    /**
+     * Closes what was added once the request is done, like Jersey does.
+     */
+    private static final class RequestCompletion implements CloseableService {
+
+        private final List<Closeable> closeables = new ArrayList<>();
+
+        @Override
+        public void add(final Closeable closeable) {
+            this.closeables.add(closeable);
+        }
+
+        void complete() throws IOException {
+            for (final Closeable closeable : this.closeables) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static StreamingOutput write(final String content) {
+        return new StreamingOutput() {
+
+            @Override
+            public void write(final OutputStream out) throws IOException {
+                out.write(content.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+    }
+}
@@ -0,0 +1,245 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.dataqueries.service;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mifosplatform.infrastructure.codes.service.CodeReadPlatformService;
+import org.mifosplatform.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.mifosplatform.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.mifosplatform.infrastructure.core.serialization.DatatableCommandFromApiJsonDeserializer;
+import org.mifosplatform.infrastructure.core.serialization.FromJsonHelper;
+import org.mifosplatform.infrastructure.dataqueries.data.DataTableValidator;
+import org.mifosplatform.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.mifosplatform.infrastructure.dataqueries.data.ResultsetColumnValueData;
+import org.mifosplatform.infrastructure.dataqueries.exception.DatatableNotFoundException;
+import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
+import org.mifosplatform.organisation.office.domain.Office;
+import org.mifosplatform.useradministration.domain.AppUser;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.rowset.SqlRowSet;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReadWriteNonCoreDataServiceImplTest {
+
+    private static final String DATATABLE = "client_notes";
+
+    /**
+     * The foreign key and both columns of the datatable.
+     */
+    private static final int PLACEHOLDERS_PER_ROW = 3;
+    private static final int ROWS_PER_STATEMENT = 65535 / PLACEHOLDERS_PER_ROW;
+
+    @Mock
+    private PlatformSecurityContext context;
+    @Mock
+    private GenericDataService genericDataService;
+
+    private final DatatableJdbcTemplate jdbcTemplate = new DatatableJdbcTemplate();
+
+    private ReadWriteNonCoreDataServiceImpl readWriteNonCoreDataService;
+
+    @Before
+    public void setUp() {
+        final Office office = mock(Office.class);
+        when(office.getHierarchy()).thenReturn(".1.");
+        final AppUser user = mock(AppUser.class);
+        when(user.getOffice()).thenReturn(office);
+        when(this.context.authenticatedUser()).thenReturn(user);
+
+        when(this.genericDataService.retrieveApplicationTableName(DATATABLE)).thenReturn("m_client");
+        final List<ResultsetColumnValueData> noColumnValues = Collections.emptyList();
+        when(this.genericDataService.fillResultsetColumnHeaders(DATATABLE)).thenReturn(
+                Arrays.asList(ResultsetColumnHeaderData.detailed("note", "varchar", 50L, true, false, noColumnValues, null),
+                        ResultsetColumnHeaderData.detailed("followed_up", "bit", null, true, false, noColumnValues, null)));
+        when(this.genericDataService.replace(anyString(), anyString(), anyString())).thenAnswer(new Answer<String>() {
+
+            @Override
+            public String answer(final InvocationOnMock invocation) {
+                final Object[] args = invocation.getArguments();
+                return ((String) args[0]).replace((String) args[1], (String) args[2]);
+            }
+        });
+
+        this.readWriteNonCoreDataService = new ReadWriteNonCoreDataServiceImpl(this.jdbcTemplate, this.context, new FromJsonHelper(),
+                this.genericDataService, mock(DatatableCommandFromApiJsonDeserializer.class), mock(CodeReadPlatformService.class),
+                mock(ConfigurationDomainService.class), mock(DataTableValidator.class));
+    }
+
+    @Test
+    public void entriesWithTheSameColumnsAreInsertedWithOneStatement() {
+        this.jdbcTemplate.clientsInScope(1L, 2L);
+
+        final int created = this.readWriteNonCoreDataService.createDatatableEntries(DATATABLE,
+                Arrays.asList(entry("1", "first", "true"), entry("2", "second", null), entry("1", "third", "false")));
+
+        assertEquals(3, created);
+        assertEquals(2, this.jdbcTemplate.inserts.size());
+
+        final Insert withFollowUp = this.jdbcTemplate.inserts.get(0);
+        assertEquals("insert into `client_notes` (`client_id`, `note`, `followed_up`) values (?, ?, ?), (?, ?, ?)", withFollowUp.sql);
+        assertArrayEquals(new Object[] { 1L, "first", 1, 1L, "third", 0 }, withFollowUp.args);
+
+        final Insert withoutFollowUp = this.jdbcTemplate.inserts.get(1);
+        assertEquals("insert into `client_notes` (`client_id`, `note`) values (?, ?)", withoutFollowUp.sql);
+        assertArrayEquals(new Object[] { 2L, "second" }, withoutFollowUp.args);
+    }
+
+    @Test
+    public void rowsUpToThePlaceholderLimitShareOneStatement() {
+        this.jdbcTemplate.clientsInScope(1L);
+
+        this.readWriteNonCoreDataService.createDatatableEntries(DATATABLE, entriesForClient1(ROWS_PER_STATEMENT));
+
+        assertEquals(1, this.jdbcTemplate.inserts.size());
+        assertEquals(65535, this.jdbcTemplate.inserts.get(0).args.length);
+    }
+
+    @Test
+    public void rowOverThePlaceholderLimitStartsASecondStatement() {
+        this.jdbcTemplate.clientsInScope(1L);
+
+        this.readWriteNonCoreDataService.createDatatableEntries(DATATABLE, entriesForClient1(ROWS_PER_STATEMENT + 1));
+
+        assertEquals(2, this.jdbcTemplate.inserts.size());
+        assertEquals(65535, this.jdbcTemplate.inserts.get(0).args.length);
+        assertEquals(PLACEHOLDERS_PER_ROW, this.jdbcTemplate.inserts.get(1).args.length);
+        assertEquals("insert into `client_notes` (`client_id`, `note`, `followed_up`) values (?, ?, ?)",
+                this.jdbcTemplate.inserts.get(1).sql);
+    }
+
+    @Test
+    public void entriesOutsideTheUsersScopeAreRejectedBeforeAnyInsert() {
+        this.jdbcTemplate.clientsInScope(1L);
+
+        try {
+            this.readWriteNonCoreDataService.createDatatableEntries(DATATABLE,
+                    Arrays.asList(entry("1", "first", null), entry("2", "second", null)));
+            fail("Expected DatatableNotFoundException");
+        } catch (final DatatableNotFoundException e) {
+            assertEquals("m_client  Id:2", e.getDefaultUserMessageArgs()[0]);
+        }
+
+        assertEquals(1, this.jdbcTemplate.scopeQueries.size());
+        final String scopeQuery = this.jdbcTemplate.scopeQueries.get(0);
+        assertTrue(scopeQuery, scopeQuery.contains("o.hierarchy like '.1.%'"));
+        assertTrue(scopeQuery, scopeQuery.contains("where c.id in (1,2)"));
+        assertEquals(Collections.emptyList(), this.jdbcTemplate.inserts);
+    }
+
+    @Test
+    public void entryWithoutTheApplicationTableIdIsRejectedBeforeAnyInsert() {
+        this.jdbcTemplate.clientsInScope(1L);
+
+        try {
+            this.readWriteNonCoreDataService.createDatatableEntries(DATATABLE,
+                    Arrays.asList(entry("1", "first", null), entry(" ", "second", null)));
+            fail("Expected PlatformApiDataValidationException");
+        } catch (final PlatformApiDataValidationException e) {
+            assertEquals("client_id", e.getErrors().get(0).getParameterName());
+        }
+        assertEquals(Collections.emptyList(), this.jdbcTemplate.inserts);
+    }
+
+    private static List<Map<String, String>> entriesForClient1(final int count) {
+        final List<Map<String, String>> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(entry("1", "note " + i, "true"));
+        }
+        return entries;
+    }
+
+    private static Map<String, String> entry(final String clientId, final String note, final String followedUp) {
+        final Map<String, String> entry = new HashMap<>();
+        entry.put("client_id", clientId);
+        entry.put("note", note);
+        if (followedUp != null) {
+            entry.put("followed_up", followedUp);
+        }
+        return entry;
+    }
+
+    private static final class Insert {
+
+        private final String sql;
+        private final Object[] args;
+
+        Insert(final String sql, final Object[] args) {
+            this.sql = sql;
+            this.args = args;
+        }
+    }
+
+    /**
+     * Records inserts and answers the data scope query with the clients the
+     * user may see.
+     */
+    private static final class DatatableJdbcTemplate extends JdbcTemplate {
+
+        private final List<Insert> inserts = new ArrayList<>();
+        private final List<String> scopeQueries = new ArrayList<>();
+        private final Set<Long> clientsInScope = new HashSet<>();
+
+        void clientsInScope(final Long... clientIds) {
+            this.clientsInScope.addAll(Arrays.asList(clientIds));
+        }
+
+        @Override
+        public int update(final String sql, final Object... args) {
+            this.inserts.add(new Insert(sql, args));
+            return args.length;
+        }
+
+        @Override
+        public SqlRowSet queryForRowSet(final String sql) {
+            this.scopeQueries.add(sql);
+
+            final Iterator<Long> clientIds = new ArrayList<>(this.clientsInScope).iterator();
+            final Long[] current = new Long[1];
+            final SqlRowSet rs = mock(SqlRowSet.class);
+            when(rs.next()).thenAnswer(new Answer<Boolean>() {
+
+                @Override
+                public Boolean answer(@SuppressWarnings("unused") final InvocationOnMock invocation) {
+                    if (!clientIds.hasNext()) { return false; }
+                    current[0] = clientIds.next();
+                    return true;
+                }
+            });
+            when(rs.getLong("clientId")).thenAnswer(new Answer<Long>() {
+
+                @Override
+                public Long answer(@SuppressWarnings("unused") final InvocationOnMock invocation) {
+                    return current[0];
+                }
+            });
+            return rs;
+        }
+    }
+}
@@ -0,0 +1,476 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.hooks.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mifosplatform.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.mifosplatform.infrastructure.hooks.domain.Hook;
+import org.mifosplatform.infrastructure.hooks.domain.HookConfiguration;
+import org.mifosplatform.infrastructure.hooks.domain.HookDeliveryStatus;
+import org.mifosplatform.infrastructure.hooks.domain.HookRepository;
+import org.mifosplatform.infrastructure.hooks.domain.HookTemplate;
+import org.mifosplatform.infrastructure.hooks.event.HookEvent;
+import org.mifosplatform.infrastructure.hooks.event.HookEventSource;
+import org.mifosplatform.infrastructure.hooks.processor.HookProcessor;
+import org.mifosplatform.infrastructure.hooks.processor.HookProcessorProvider;
+import org.mifosplatform.useradministration.domain.AppUser;
+import org.mifosplatform.useradministration.domain.AppUserRepository;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HookDeliveryServiceImplTest {
+
+    private static final Long HOOK_ID = 7L;
+
+    @Mock
+    private HookReadPlatformService hookReadPlatformService;
+    @Mock
+    private HookRepository hookRepository;
+    @Mock
+    private HookProcessorProvider hookProcessorProvider;
+    @Mock
+    private AppUserRepository appUserRepository;
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private ScheduledExecutorService retryScheduler;
+    @Mock
+    private MifosPlatformTenant tenant;
+    @Mock
+    private Hook hook;
+    @Mock
+    private HookTemplate hookTemplate;
+    @Mock
+    private HookProcessor processor;
+
+    private final InMemoryOutbox outbox = new InMemoryOutbox();
+    private final QueuedExecutor deliveryExecutor = new QueuedExecutor();
+
+    /**
+     * The delay in seconds of each retry scheduled, and the retry itself.
+     */
+    private final List<Long> retryDelays = new ArrayList<>();
+    private final List<Runnable> retries = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(this.tenant);
+        when(this.tenant.getTenantIdentifier()).thenReturn("default");
+
+        when(this.hook.getId()).thenReturn(HOOK_ID);
+        when(this.hook.getHookConfig()).thenReturn(Collections.<HookConfiguration> emptySet());
+        when(this.hook.getHookTemplate()).thenReturn(this.hookTemplate);
+        when(this.hookTemplate.getName()).thenReturn("Web");
+        when(this.hookRepository.findOne(HOOK_ID)).thenReturn(this.hook);
+        when(this.hookReadPlatformService.retrieveHooksByEvent(anyString(), anyString())).thenReturn(Arrays.asList(this.hook));
+        when(this.hookProcessorProvider.getProcessor(this.hook)).thenReturn(this.processor);
+        when(this.configurationDomainService.retrieveHookDeliveryMaxAttempts()).thenReturn(5);
+
+        when(this.transactionTemplate.execute(any(TransactionCallback.class))).thenAnswer(new Answer<Object>() {
+
+            @Override
+            public Object answer(final InvocationOnMock invocation) {
+                return ((TransactionCallback<?>) invocation.getArguments()[0]).doInTransaction(null);
+            }
+        });
+        when(this.retryScheduler.schedule(any(Runnable.class), anyLong(), eq(TimeUnit.SECONDS))).thenAnswer(new Answer<Object>() {
+
+            @Override
+            public Object answer(final InvocationOnMock invocation) {
+                HookDeliveryServiceImplTest.this.retries.add((Runnable) invocation.getArguments()[0]);
+                HookDeliveryServiceImplTest.this.retryDelays.add((Long) invocation.getArguments()[1]);
+                return null;
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    public void deliveredEventIsRemovedFromTheOutbox() {
+        final HookDeliveryServiceImpl deliveryService = deliveryService(2);
+
+        deliveryService.saveForDelivery(event("token"));
+        assertEquals(1, this.outbox.rows.size());
+
+        runQueuedDeliveries();
+
+        verify(this.processor).process(this.hook, null, "{}", "CLIENT", "CREATE", "default", null);
+        assertTrue(this.outbox.rows.isEmpty());
+    }
+
+    @Test
+    public void failedDeliveryIsRetriedWithExponentialBackoff() {
+        doThrow(new IllegalStateException("receiver down")).when(this.processor).process(any(Hook.class), any(AppUser.class),
+                anyString(), anyString(), anyString(), anyString(), anyString());
+        final HookDeliveryServiceImpl deliveryService = deliveryService(2);
+
+        deliveryService.saveForDelivery(event(null));
+        runQueuedDeliveries();
+        for (int i = 0; i < 3; i++) {
+            this.retries.get(i).run();
+            runQueuedDeliveries();
+        }
+
+        assertEquals(Arrays.asList(30L, 60L, 120L, 240L), this.retryDelays);
+        final OutboxRow row = this.outbox.rows.values().iterator().next();
+        assertEquals(4, row.attempts);
+        assertEquals(HookDeliveryStatus.PENDING.getValue(), row.status);
+        assertEquals("IllegalStateException: receiver down", row.lastError);
+    }
+
+    @Test
+    public void eventIsDeadLetteredOnceTheAttemptsAreUsedUp() {
+        when(this.configurationDomainService.retrieveHookDeliveryMaxAttempts()).thenReturn(2);
+        when(this.processor.requiresAuthToken()).thenReturn(true);
+        doThrow(new IllegalStateException("receiver down")).when(this.processor).process(any(Hook.class), any(AppUser.class),
+                anyString(), anyString(), anyString(), anyString(), anyString());
+        final HookDeliveryServiceImpl deliveryService = deliveryService(2);
+
+        deliveryService.saveForDelivery(event("token"));
+        runQueuedDeliveries();
+        this.retries.get(0).run();
+        runQueuedDeliveries();
+
+        assertEquals(Arrays.asList(30L), this.retryDelays);
+        final OutboxRow row = this.outbox.rows.values().iterator().next();
+        assertEquals(2, row.attempts);
+        assertEquals(HookDeliveryStatus.DEAD.getValue(), row.status);
+
+        deliveryService.deliverDueEvents();
+        assertTrue(this.deliveryExecutor.tasks.isEmpty());
+    }
+
+    @Test
+    public void eventsBeyondThePerHookLimitAreParkedUnreadAndDeliveredByTheBusyWorker() {
+        final HookDeliveryServiceImpl deliveryService = deliveryService(1);
+        final List<Integer> readsWhileDelivering = new ArrayList<>();
+        doAnswer(new Answer<Void>() {
+
+            @Override
+            public Void answer(@SuppressWarnings("unused") final InvocationOnMock invocation) {
+                // another worker picks up the second event while the first is delivered
+                final Runnable second = HookDeliveryServiceImplTest.this.deliveryExecutor.tasks.poll();
+                if (second != null) {
+                    second.run();
+                    readsWhileDelivering.add(HookDeliveryServiceImplTest.this.outbox.reads);
+                }
+                return null;
+            }
+        }).when(this.processor).process(any(Hook.class), any(AppUser.class), anyString(), anyString(), anyString(), anyString(),
+                anyString());
+
+        deliveryService.saveForDelivery(event(null));
+        deliveryService.saveForDelivery(event(null));
+        runQueuedDeliveries();
+
+        assertEquals(Arrays.asList(1), readsWhileDelivering);
+        assertEquals(2, this.outbox.reads);
+        assertTrue(this.outbox.rows.isEmpty());
+        verify(this.retryScheduler, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void authTokenIsNeverWrittenToTheOutbox() {
+        when(this.processor.requiresAuthToken()).thenReturn(true);
+        final HookDeliveryServiceImpl deliveryService = deliveryService(2);
+
+        deliveryService.saveForDelivery(event("token"));
+
+        final OutboxRow row = this.outbox.rows.values().iterator().next();
+        assertFalse(row.insertedValues.contains("token"));
+    }
+
+    @Test
+    public void eventsLeftForTheJobAreDeliveredWithTheAuthTokenHeldByTheNode() {
+        when(this.processor.requiresAuthToken()).thenReturn(true);
+        final HookDeliveryServiceImpl deliveryService = deliveryService(2);
+
+        deliveryService.saveForDelivery(event("token"));
+        // the workers were busy, the job picks the event up
+        this.deliveryExecutor.tasks.clear();
+        deliveryService.deliverDueEvents();
+        runQueuedDeliveries();
+
+        verify(this.processor).process(this.hook, null, "{}", "CLIENT", "CREATE", "default", "token");
+        assertTrue(this.outbox.rows.isEmpty());
+    }
+
+    @Test
+    public void nodeWithoutTheAuthTokenLeavesTheEventForTheNodeHoldingIt() {
+        when(this.processor.requiresAuthToken()).thenReturn(true);
+        final HookDeliveryServiceImpl holdingNode = deliveryService(2);
+        final HookDeliveryServiceImpl otherNode = deliveryService(2);
+
+        holdingNode.saveForDelivery(event("token"));
+        this.deliveryExecutor.tasks.clear();
+        otherNode.deliverDueEvents();
+        runQueuedDeliveries();
+
+        verify(this.processor, never()).process(any(Hook.class), any(AppUser.class), anyString(), anyString(), anyString(),
+                anyString(), anyString());
+        final OutboxRow row = this.outbox.rows.values().iterator().next();
+        assertEquals(HookDeliveryStatus.PENDING.getValue(), row.status);
+        assertEquals(0, row.attempts);
+        assertTrue(row.postponed);
+
+        holdingNode.deliverDueEvents();
+        runQueuedDeliveries();
+
+        verify(this.processor).process(this.hook, null, "{}", "CLIENT", "CREATE", "default", "token");
+        assertTrue(this.outbox.rows.isEmpty());
+    }
+
+    @Test
+    public void eventWaitingTooLongForItsAuthTokenIsGivenUp() {
+        when(this.processor.requiresAuthToken()).thenReturn(true);
+        final HookDeliveryServiceImpl deliveryService = deliveryService(2);
+
+        deliveryService.saveForDelivery(event("token"));
+        this.deliveryExecutor.tasks.clear();
+        final OutboxRow row = this.outbox.rows.values().iterator().next();
+        row.waitedForAuthTokenTooLong = true;
+        deliveryService(2).deliverDueEvents();
+        runQueuedDeliveries();
+
+        assertEquals(HookDeliveryStatus.DEAD.getValue(), row.status);
+        assertFalse(row.postponed);
+    }
+
+    private HookDeliveryServiceImpl deliveryService(final int maxConcurrentDeliveriesPerHook) {
+        return new HookDeliveryServiceImpl(this.outbox, this.hookReadPlatformService, this.hookRepository, this.hookProcessorProvider,
+                this.appUserRepository, this.configurationDomainService, this.transactionTemplate, this.deliveryExecutor,
+                this.retryScheduler, maxConcurrentDeliveriesPerHook);
+    }
+
+    private static HookEvent event(final String authToken) {
+        return new HookEvent(new HookEventSource("CLIENT", "CREATE"), "{}", "default", null, authToken);
+    }
+
+    /**
+     * Runs the deliveries handed to the workers on this thread, which the
+     * workers leave without a tenant.
+     */
+    private void runQueuedDeliveries() {
+        Runnable task;
+        while ((task = this.deliveryExecutor.tasks.poll()) != null) {
+            task.run();
+        }
+        ThreadLocalContextUtil.setTenant(this.tenant);
+    }
+
+    private static final class QueuedExecutor extends AbstractExecutorService {
+
+        private final LinkedList<Runnable> tasks = new LinkedList<>();
+
+        @Override
+        public void execute(final Runnable command) {
+            this.tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+            // nothing to stop
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(@SuppressWarnings("unused") final long timeout, @SuppressWarnings("unused") final TimeUnit unit) {
+            return true;
+        }
+    }
+
+    private static final class OutboxRow {
+
+        private final Long id;
+        private final List<Object> insertedValues = new ArrayList<>();
+        private int attempts;
+        private Integer status = HookDeliveryStatus.PENDING.getValue();
+        private String lastError;
+        private boolean postponed;
+        private boolean waitedForAuthTokenTooLong;
+
+        OutboxRow(final Long id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Runs the statements of the delivery service against
+     * <code>m_hook_delivery</code> rows, counting how often an event is read
+     * for delivery. The job selects the pending rows, leases are not expired
+     * by time and a row has only waited too long when a test says so.
+     */
+    private static final class InMemoryOutbox extends JdbcTemplate {
+
+        private final Map<Long, OutboxRow> rows = new TreeMap<>();
+        private long nextId = 1;
+        private int reads;
+
+        @Override
+        public int update(final PreparedStatementCreator creator, final KeyHolder keyHolder) {
+            final OutboxRow row = new OutboxRow(this.nextId++);
+            final Answer<Void> recordValue = new Answer<Void>() {
+
+                @Override
+                public Void answer(final InvocationOnMock invocation) {
+                    row.insertedValues.add(invocation.getArguments()[1]);
+                    return null;
+                }
+            };
+            try {
+                final PreparedStatement ps = mock(PreparedStatement.class);
+                doAnswer(recordValue).when(ps).setLong(anyInt(), anyLong());
+                doAnswer(recordValue).when(ps).setInt(anyInt(), anyInt());
+                doAnswer(recordValue).when(ps).setString(anyInt(), anyString());
+                doAnswer(recordValue).when(ps).setObject(anyInt(), any());
+                final Connection connection = mock(Connection.class);
+                when(connection.prepareStatement(anyString(), anyInt())).thenReturn(ps);
+                creator.createPreparedStatement(connection);
+            } catch (final SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            final Long id = row.id;
+            this.rows.put(id, row);
+            keyHolder.getKeyList().add(Collections.<String, Object> singletonMap("GENERATED_KEY", id));
+            return 1;
+        }
+
+        @Override
+        public <T> T queryForObject(final String sql, final RowMapper<T> rowMapper, final Object... args) {
+            this.reads++;
+            final OutboxRow row = this.rows.get(args[0]);
+            if (row == null || !row.status.equals(args[1])) { throw new EmptyResultDataAccessException(1); }
+            try {
+                final ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong("id")).thenReturn(row.id);
+                when(rs.getLong("hookId")).thenReturn(HOOK_ID);
+                when(rs.getString("entityName")).thenReturn("CLIENT");
+                when(rs.getString("actionName")).thenReturn("CREATE");
+                when(rs.getString("payload")).thenReturn("{}");
+                when(rs.wasNull()).thenReturn(true);
+                when(rs.getInt("attempts")).thenReturn(row.attempts);
+                return rowMapper.mapRow(rs, 0);
+            } catch (final SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public <T> List<T> query(final String sql, final RowMapper<T> rowMapper, final Object... args) {
+            final List<T> result = new ArrayList<>();
+            try {
+                for (final OutboxRow row : this.rows.values()) {
+                    if (!row.status.equals(args[0])) {
+                        continue;
+                    }
+                    final ResultSet rs = mock(ResultSet.class);
+                    when(rs.getLong("id")).thenReturn(row.id);
+                    when(rs.getLong("hookId")).thenReturn(HOOK_ID);
+                    result.add(rowMapper.mapRow(rs, result.size()));
+                }
+            } catch (final SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            return result;
+        }
+
+        @Override
+        public int update(final String sql, final Object... args) {
+            if (sql.startsWith("update m_hook_delivery set locked_until")) { return this.rows.containsKey(args[1]) ? 1 : 0; }
+            if (sql.startsWith("delete from m_hook_delivery")) { return this.rows.remove(args[0]) == null ? 0 : 1; }
+            if (sql.startsWith("update m_hook_delivery set attempts")) {
+                final OutboxRow row = this.rows.get(args[3]);
+                row.attempts = (Integer) args[0];
+                row.lastError = (String) args[1];
+                return 1;
+            }
+            if (sql.startsWith("update m_hook_delivery set status_enum = ?, attempts = ?")) {
+                final OutboxRow row = this.rows.get(args[3]);
+                row.status = (Integer) args[0];
+                row.attempts = (Integer) args[1];
+                row.lastError = (String) args[2];
+                return 1;
+            }
+            if (sql.contains("and created_date < date_sub(now(), interval ? hour)")) {
+                final OutboxRow row = this.rows.get(args[2]);
+                if (!row.waitedForAuthTokenTooLong) { return 0; }
+                row.status = (Integer) args[0];
+                row.lastError = (String) args[1];
+                return 1;
+            }
+            if (sql.startsWith("update m_hook_delivery set next_attempt_time")) {
+                this.rows.get(args[1]).postponed = true;
+                return 1;
+            }
+            throw new IllegalArgumentException(sql);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.infrastructure.security.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.mifosplatform.useradministration.domain.AppUser;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+public class SessionTokenServiceImplTest {
+
+    private final SessionTokenServiceImpl sessionTokenService = new SessionTokenServiceImpl();
+
+    @Before
+    public void setUp() {
+        useTenant("default");
+    }
+
+    @After
+    public void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    public void createdTokenResolvesToThePrincipalWithoutCredentials() {
+        final AppUser user = user(1L);
+        final String token = this.sessionTokenService.createToken(authentication(user));
+
+        final Authentication resolved = this.sessionTokenService.resolveToken(token);
+
+        assertNotNull(resolved);
+        assertEquals(user, resolved.getPrincipal());
+        assertNull(resolved.getCredentials());
+    }
+
+    @Test
+    public void tokenDoesNotResolveForAnotherTenant() {
+        final String token = this.sessionTokenService.createToken(authentication(user(1L)));
+
+        useTenant("other");
+
+        assertNull(this.sessionTokenService.resolveToken(token));
+    }
+
+    @Test
+    public void revokedTokenNoLongerResolves() {
+        final String token = this.sessionTokenService.createToken(authentication(user(1L)));
+
+        this.sessionTokenService.revokeToken(token);
+
+        assertNull(this.sessionTokenService.resolveToken(token));
+    }
+
+    @Test
+    public void revokingTheTokensOfAUserKeepsTheTokensOfOtherUsers() {
+        final String revoked = this.sessionTokenService.createToken(authentication(user(1L)));
+        final String kept = this.sessionTokenService.createToken(authentication(user(2L)));
+
+        this.sessionTokenService.revokeTokensOfUser(1L);
+
+        assertNull(this.sessionTokenService.resolveToken(revoked));
+        assertNotNull(this.sessionTokenService.resolveToken(kept));
+    }
+
+    @Test
+    public void revokingTheTokensOfATenantKeepsTheTokensOfOtherTenants() {
+        final String revoked = this.sessionTokenService.createToken(authentication(user(1L)));
+        useTenant("other");
+        final String kept = this.sessionTokenService.createToken(authentication(user(1L)));
+
+        useTenant("default");
+        this.sessionTokenService.revokeTokensOfTenant();
+
+        assertNull(this.sessionTokenService.resolveToken(revoked));
+        useTenant("other");
+        assertNotNull(this.sessionTokenService.resolveToken(kept));
+    }
+
+    private static void useTenant(final String tenantIdentifier) {
+        final MifosPlatformTenant tenant = mock(MifosPlatformTenant.class);
+        when(tenant.getTenantIdentifier()).thenReturn(tenantIdentifier);
+        ThreadLocalContextUtil.setTenant(tenant);
+    }
+
+    private static AppUser user(final Long id) {
+        final AppUser user = mock(AppUser.class);
+        when(user.getId()).thenReturn(id);
+        return user;
+    }
+
+    private static Authentication authentication(final AppUser user) {
+        return new UsernamePasswordAuthenticationToken(user, "password", Collections.<GrantedAuthority> emptyList());
+    }
+}
@@ -12,7 +12,7 @@ import java.util.ArrayList;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mifosplatform.infrastructure.core.service.RoutingDataSource;
+import org.mifosplatform.accounting.journalentry.service.GLBalanceSnapshotService;
 import org.mifosplatform.mix.service.XBRLResultServiceImpl;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -24,8 +24,8 @@ public class ReadTaxonomyMappingServiceImplTest {
 
     @Before
     public void setUp() throws Exception {
-        final RoutingDataSource dataSource = Mockito.mock(RoutingDataSource.class);
-        this.readService = new XBRLResultServiceImpl(dataSource, null, null);
+        final GLBalanceSnapshotService glBalanceSnapshotService = Mockito.mock(GLBalanceSnapshotService.class);
+        this.readService = new XBRLResultServiceImpl(glBalanceSnapshotService, null, null);
 
     }
 
@@ -0,0 +1,59 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.organisation.monetary.domain;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class FixedPointMoneyTest {
+
+    private final MonetaryCurrency usDollars = new MonetaryCurrency("USD", 2, null);
+    private final MonetaryCurrency francsInMultiplesOfFifty = new MonetaryCurrency("XOF", 0, 50);
+
+    @Test
+    public void givenRandomAmountsShouldTotalSameAsMoney() {
+        assertSameTotalsAsMoney(this.usDollars, 2);
+        assertSameTotalsAsMoney(this.francsInMultiplesOfFifty, 0);
+    }
+
+    @Test
+    public void givenCurrencyInMultiplesShouldRoundPositiveTotalsLikeMoney() {
+        final Money hundred = Money.of(this.francsInMultiplesOfFifty, BigDecimal.valueOf(100));
+        final Money minusThirty = Money.of(this.francsInMultiplesOfFifty, BigDecimal.valueOf(-30));
+
+        final FixedPointMoney total = FixedPointMoney.zero(this.francsInMultiplesOfFifty);
+        total.plus(hundred).plus(minusThirty);
+
+        assertEquals(50L, total.getMinorUnits());
+        assertEquals(hundred.plus(minusThirty).getAmount(), total.toMoney().getAmount());
+
+        total.minus(hundred);
+        assertEquals(-50L, total.getMinorUnits());
+    }
+
+    private void assertSameTotalsAsMoney(final MonetaryCurrency currency, final int scaleOfAmounts) {
+        final Random random = new Random(7);
+
+        Money expected = Money.zero(currency);
+        final FixedPointMoney actual = FixedPointMoney.zero(currency);
+        for (int i = 0; i < 1000; i++) {
+            final BigDecimal amount = BigDecimal.valueOf(random.nextInt(100000000) - 10000000, scaleOfAmounts);
+            final Money money = Money.of(currency, amount);
+            if (random.nextBoolean()) {
+                expected = expected.plus(money);
+                actual.plus(money);
+            } else {
+                expected = expected.minus(money);
+                actual.minus(money);
+            }
+            assertEquals(expected.getAmount(), actual.toMoney().getAmount());
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.organisation.office.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Maintains an office hierarchy in an in-memory closure table and checks the
+ * visible office ids read back from it.
+ *
+ * <pre>
+ * 1
+ * +-- 2
+ * |   +-- 3
+ * |       +-- 4
+ * +-- 5
+ * </pre>
+ */
+public class OfficeHierarchyWritePlatformServiceImplTest {
+
+    private final InMemoryOfficeTables tables = new InMemoryOfficeTables();
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(
+            OfficeHierarchyWritePlatformServiceImpl.VISIBLE_OFFICE_IDS_CACHE);
+    private final OfficeHierarchyWritePlatformServiceImpl writeService = new OfficeHierarchyWritePlatformServiceImpl(this.tables,
+            this.cacheManager);
+    private final OfficeHierarchyReadPlatformServiceImpl readService = new OfficeHierarchyReadPlatformServiceImpl(this.tables);
+
+    @Before
+    public void setUp() {
+        addOffice(1L, null, ".");
+        addOffice(2L, 1L, ".2.");
+        addOffice(3L, 2L, ".2.3.");
+        addOffice(4L, 3L, ".2.3.4.");
+        addOffice(5L, 1L, ".5.");
+    }
+
+    @After
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void addedOfficesAreVisibleFromAllTheirAncestors() {
+        assertVisibleOfficeIds(1L, 1L, 2L, 3L, 4L, 5L);
+        assertVisibleOfficeIds(2L, 2L, 3L, 4L);
+        assertVisibleOfficeIds(3L, 3L, 4L);
+        assertVisibleOfficeIds(4L, 4L);
+        assertVisibleOfficeIds(5L, 5L);
+
+        addOffice(6L, 4L, ".2.3.4.6.");
+
+        assertVisibleOfficeIds(1L, 1L, 2L, 3L, 4L, 5L, 6L);
+        assertVisibleOfficeIds(2L, 2L, 3L, 4L, 6L);
+        assertVisibleOfficeIds(4L, 4L, 6L);
+        assertVisibleOfficeIds(5L, 5L);
+        assertEquals(Integer.valueOf(4), this.tables.depth(1L, 6L));
+    }
+
+    @Test
+    public void movedOfficeTakesItsSubtreeToTheNewParent() {
+        moveOffice(3L, 5L, ".5.3.");
+
+        assertVisibleOfficeIds(1L, 1L, 2L, 3L, 4L, 5L);
+        assertVisibleOfficeIds(2L, 2L);
+        assertVisibleOfficeIds(3L, 3L, 4L);
+        assertVisibleOfficeIds(5L, 3L, 4L, 5L);
+
+        assertEquals(Integer.valueOf(1), this.tables.depth(5L, 3L));
+        assertEquals(Integer.valueOf(2), this.tables.depth(5L, 4L));
+        assertEquals(Integer.valueOf(3), this.tables.depth(1L, 4L));
+        assertNull(this.tables.depth(2L, 4L));
+        assertEquals(".5.3.4.", this.tables.hierarchies.get(4L));
+    }
+
+    @Test
+    public void officeMovedUpAndBackEndsWithTheOriginalClosure() {
+        final Set<List<Object>> originalClosure = new LinkedHashSet<>(this.tables.closure);
+
+        moveOffice(3L, 1L, ".3.");
+        assertVisibleOfficeIds(2L, 2L);
+        assertVisibleOfficeIds(1L, 1L, 2L, 3L, 4L, 5L);
+        assertEquals(".3.4.", this.tables.hierarchies.get(4L));
+
+        moveOffice(3L, 2L, ".2.3.");
+        assertEquals(originalClosure, new LinkedHashSet<>(this.tables.closure));
+        assertEquals(".2.3.4.", this.tables.hierarchies.get(4L));
+    }
+
+    @Test
+    public void cachedVisibleOfficeIdsAreOnlyClearedOnceTheMoveIsCommitted() {
+        final Cache cache = this.cacheManager.getCache(OfficeHierarchyWritePlatformServiceImpl.VISIBLE_OFFICE_IDS_CACHE);
+        cache.put("default2", this.readService.retrieveVisibleOfficeIds(2L));
+
+        TransactionSynchronizationManager.initSynchronization();
+        moveOffice(3L, 5L, ".5.3.");
+        assertNotNull(cache.get("default2"));
+
+        for (final TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        assertNull(cache.get("default2"));
+    }
+
+    @Test
+    public void cachedVisibleOfficeIdsAreKeptWhenTheMoveIsRolledBack() {
+        final Cache cache = this.cacheManager.getCache(OfficeHierarchyWritePlatformServiceImpl.VISIBLE_OFFICE_IDS_CACHE);
+        cache.put("default2", this.readService.retrieveVisibleOfficeIds(2L));
+
+        TransactionSynchronizationManager.initSynchronization();
+        addOffice(6L, 2L, ".2.6.");
+        for (final TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        assertNotNull(cache.get("default2"));
+    }
+
+    @Test
+    public void cachedVisibleOfficeIdsAreClearedRightAwayOutsideOfATransaction() {
+        final Cache cache = this.cacheManager.getCache(OfficeHierarchyWritePlatformServiceImpl.VISIBLE_OFFICE_IDS_CACHE);
+        cache.put("default2", this.readService.retrieveVisibleOfficeIds(2L));
+
+        addOffice(6L, 2L, ".2.6.");
+
+        assertNull(cache.get("default2"));
+    }
+
+    private void addOffice(final Long officeId, final Long parentId, final String hierarchy) {
+        this.tables.hierarchies.put(officeId, hierarchy);
+        this.writeService.addOffice(officeId, parentId);
+    }
+
+    /**
+     * Moves the office the way the office write service does: its own
+     * hierarchy is saved first, then the closure and the offices under it
+     * follow.
+     */
+    private void moveOffice(final Long officeId, final Long parentId, final String hierarchy) {
+        final String previousHierarchy = this.tables.hierarchies.put(officeId, hierarchy);
+        this.writeService.moveOffice(officeId, previousHierarchy, parentId);
+    }
+
+    private void assertVisibleOfficeIds(final Long officeId, final Long... expectedOfficeIds) {
+        assertEquals(new TreeSet<>(Arrays.asList(expectedOfficeIds)), new TreeSet<>(this.readService.retrieveVisibleOfficeIds(officeId)));
+    }
+
+    /**
+     * Runs the statements of the office hierarchy services against
+     * <code>m_office_closure</code> rows of ancestor, descendant and depth,
+     * and the <code>hierarchy</code> column of <code>m_office</code>.
+     */
+    private static final class InMemoryOfficeTables extends JdbcTemplate {
+
+        private final List<List<Object>> closure = new ArrayList<>();
+        private final Map<Long, String> hierarchies = new HashMap<>();
+
+        @Override
+        public int update(final String sql, final Object... args) {
+            if (sql.contains("values (?, ?, 0)")) {
+                this.closure.add(row((Long) args[0], (Long) args[1], 0));
+                return 1;
+            }
+            if (sql.contains("select oc.ancestor_id, ?, oc.depth + 1")) {
+                final List<List<Object>> inserted = new ArrayList<>();
+                for (final List<Object> row : this.closure) {
+                    if (row.get(1).equals(args[1])) {
+                        inserted.add(row((Long) row.get(0), (Long) args[0], (Integer) row.get(2) + 1));
+                    }
+                }
+                this.closure.addAll(inserted);
+                return inserted.size();
+            }
+            if (sql.startsWith("delete link from m_office_closure")) {
+                final Set<Object> subtree = new LinkedHashSet<>();
+                final Set<Object> ancestors = new LinkedHashSet<>();
+                for (final List<Object> row : this.closure) {
+                    if (row.get(0).equals(args[0])) {
+                        subtree.add(row.get(1));
+                    }
+                    if (row.get(1).equals(args[1]) && (Integer) row.get(2) > 0) {
+                        ancestors.add(row.get(0));
+                    }
+                }
+                final List<List<Object>> deleted = new ArrayList<>();
+                for (final List<Object> row : this.closure) {
+                    if (ancestors.contains(row.get(0)) && subtree.contains(row.get(1))) {
+                        deleted.add(row);
+                    }
+                }
+                this.closure.removeAll(deleted);
+                return deleted.size();
+            }
+            if (sql.contains("select supertree.ancestor_id, subtree.descendant_id")) {
+                final List<List<Object>> inserted = new ArrayList<>();
+                for (final List<Object> supertree : this.closure) {
+                    if (!supertree.get(1).equals(args[0])) {
+                        continue;
+                    }
+                    for (final List<Object> subtree : this.closure) {
+                        if (subtree.get(0).equals(args[1])) {
+                            inserted.add(row((Long) supertree.get(0), (Long) subtree.get(1),
+                                    (Integer) supertree.get(2) + (Integer) subtree.get(2) + 1));
+                        }
+                    }
+                }
+                this.closure.addAll(inserted);
+                return inserted.size();
+            }
+            if (sql.startsWith("update m_office d")) {
+                final int from = (Integer) args[0];
+                final String officeHierarchy = this.hierarchies.get(args[1]);
+                int updated = 0;
+                for (final List<Object> row : this.closure) {
+                    if (row.get(0).equals(args[1]) && (Integer) row.get(2) > 0) {
+                        final Long descendantId = (Long) row.get(1);
+                        this.hierarchies.put(descendantId, officeHierarchy + this.hierarchies.get(descendantId).substring(from - 1));
+                        updated++;
+                    }
+                }
+                return updated;
+            }
+            throw new IllegalArgumentException(sql);
+        }
+
+        @Override
+        public <T> List<T> queryForList(final String sql, final Class<T> elementType, final Object... args) {
+            if (!sql.startsWith("select oc.descendant_id from m_office_closure oc")) { throw new IllegalArgumentException(sql); }
+            final Set<Long> descendantIds = new TreeSet<>();
+            for (final List<Object> row : this.closure) {
+                if (row.get(0).equals(args[0])) {
+                    descendantIds.add((Long) row.get(1));
+                }
+            }
+            final List<T> result = new ArrayList<>();
+            for (final Long descendantId : descendantIds) {
+                result.add(elementType.cast(descendantId));
+            }
+            return result;
+        }
+
+        Integer depth(final Long ancestorId, final Long descendantId) {
+            for (final List<Object> row : this.closure) {
+                if (row.get(0).equals(ancestorId) && row.get(1).equals(descendantId)) { return (Integer) row.get(2); }
+            }
+            return null;
+        }
+
+        private static List<Object> row(final Long ancestorId, final Long descendantId, final int depth) {
+            return Arrays.<Object> asList(ancestorId, descendantId, depth);
+        }
+    }
+}
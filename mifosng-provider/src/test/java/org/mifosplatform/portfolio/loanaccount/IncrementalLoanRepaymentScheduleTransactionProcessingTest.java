@@ -0,0 +1,195 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.portfolio.loanaccount;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.junit.Test;
+import org.mifosplatform.organisation.monetary.domain.MonetaryCurrency;
+import org.mifosplatform.organisation.monetary.domain.Money;
+import org.mifosplatform.portfolio.loanaccount.domain.LoanCharge;
+import org.mifosplatform.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.mifosplatform.portfolio.loanaccount.domain.LoanTransaction;
+import org.mifosplatform.portfolio.loanaccount.domain.LoanTransactionComparator;
+import org.mifosplatform.portfolio.loanaccount.domain.transactionprocessor.LoanRepaymentScheduleTransactionProcessor;
+import org.mifosplatform.portfolio.loanaccount.domain.transactionprocessor.impl.CreocoreLoanRepaymentScheduleTransactionProcessor;
+import org.mifosplatform.portfolio.loanaccount.domain.transactionprocessor.impl.EarlyPaymentLoanRepaymentScheduleTransactionProcessor;
+import org.mifosplatform.portfolio.loanaccount.domain.transactionprocessor.impl.HeavensFamilyLoanRepaymentScheduleTransactionProcessor;
+import org.mifosplatform.portfolio.loanaccount.domain.transactionprocessor.impl.InterestPrincipalPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor;
+import org.mifosplatform.portfolio.loanaccount.domain.transactionprocessor.impl.MifosStyleLoanRepaymentScheduleTransactionProcessor;
+import org.mifosplatform.portfolio.loanaccount.domain.transactionprocessor.impl.PrincipalInterestPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor;
+import org.mifosplatform.portfolio.loanaccount.domain.transactionprocessor.impl.RBILoanRepaymentScheduleTransactionProcessor;
+
+/**
+ * Differential test: processing each new transaction with
+ * {@link LoanRepaymentScheduleTransactionProcessor#handleNewTransaction} must
+ * leave installments and transactions in the same state as re-processing all
+ * transactions in one go.
+ */
+public class IncrementalLoanRepaymentScheduleTransactionProcessingTest {
+
+    private final LocalDate disbursementDate = new LocalDate(2014, 1, 2);
+    private final MonetaryCurrency usDollars = new MonetaryCurrencyBuilder().withCode("USD").withDigitsAfterDecimal(2).build();
+
+    private final List<LoanRepaymentScheduleTransactionProcessor> processors = Arrays.asList(
+            new CreocoreLoanRepaymentScheduleTransactionProcessor(), new EarlyPaymentLoanRepaymentScheduleTransactionProcessor(),
+            new HeavensFamilyLoanRepaymentScheduleTransactionProcessor(),
+            new InterestPrincipalPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor(),
+            new MifosStyleLoanRepaymentScheduleTransactionProcessor(),
+            new PrincipalInterestPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor(),
+            new RBILoanRepaymentScheduleTransactionProcessor());
+
+    @Test
+    public void givenTransactionsInDateOrderShouldMatchFullReprocessing() {
+        for (final LoanRepaymentScheduleTransactionProcessor processor : this.processors) {
+            for (int seed = 0; seed < 20; seed++) {
+                final List<TransactionSpecification> specifications = randomTransactions(new Random(seed), 60, false);
+                assertIncrementalProcessingMatchesFullReprocessing(processor, specifications);
+            }
+        }
+    }
+
+    @Test
+    public void givenBackdatedTransactionsAndWaiversShouldMatchFullReprocessing() {
+        for (final LoanRepaymentScheduleTransactionProcessor processor : this.processors) {
+            for (int seed = 0; seed < 20; seed++) {
+                final List<TransactionSpecification> specifications = randomTransactions(new Random(seed), 60, true);
+                assertIncrementalProcessingMatchesFullReprocessing(processor, specifications);
+            }
+        }
+    }
+
+    private void assertIncrementalProcessingMatchesFullReprocessing(final LoanRepaymentScheduleTransactionProcessor processor,
+            final List<TransactionSpecification> specifications) {
+
+        // one transaction at a time, as transactions are added to a loan
+        final List<LoanRepaymentScheduleInstallment> incrementalInstallments = createMonthlySchedule();
+        final List<LoanTransaction> incrementalTransactions = new ArrayList<>();
+        for (final TransactionSpecification specification : specifications) {
+            final LoanTransaction newTransaction = specification.create(this.usDollars);
+            incrementalTransactions.add(newTransaction);
+            processor.handleNewTransaction(this.disbursementDate, sorted(incrementalTransactions), newTransaction, this.usDollars,
+                    incrementalInstallments, new HashSet<LoanCharge>(), null);
+        }
+
+        // all transactions at once
+        final List<LoanRepaymentScheduleInstallment> reprocessedInstallments = createMonthlySchedule();
+        final List<LoanTransaction> reprocessedTransactions = new ArrayList<>();
+        for (final TransactionSpecification specification : specifications) {
+            reprocessedTransactions.add(specification.create(this.usDollars));
+        }
+        processor.handleTransaction(this.disbursementDate, sorted(reprocessedTransactions), this.usDollars, reprocessedInstallments,
+                new HashSet<LoanCharge>(), null);
+
+        final String processorName = processor.getClass().getSimpleName();
+        for (int i = 0; i < reprocessedInstallments.size(); i++) {
+            assertThatInstallmentsMatch(processorName + " installment " + i, reprocessedInstallments.get(i), incrementalInstallments.get(i));
+        }
+        for (int i = 0; i < reprocessedTransactions.size(); i++) {
+            assertThatTransactionsMatch(processorName + " transaction " + i, reprocessedTransactions.get(i),
+                    incrementalTransactions.get(i));
+        }
+    }
+
+    private List<LoanRepaymentScheduleInstallment> createMonthlySchedule() {
+        final List<LoanRepaymentScheduleInstallment> installments = new ArrayList<>();
+        for (int i = 1; i <= 12; i++) {
+            installments.add(new LoanRepaymentScheduleInstallmentBuilder(this.usDollars).withInstallmentNumber(i)
+                    .withDueDate(this.disbursementDate.plusMonths(i)).withPrincipal("1000.00").withInterest("120.00").build());
+        }
+        return installments;
+    }
+
+    /**
+     * Transactions mostly in date order, often several on the same day.
+     * Together they overpay the loan to exercise overpayments.
+     */
+    private List<TransactionSpecification> randomTransactions(final Random random, final int numberOfTransactions,
+            final boolean withBackdatedTransactionsAndWaivers) {
+        final List<TransactionSpecification> specifications = new ArrayList<>();
+        LocalDate transactionDate = this.disbursementDate;
+        for (int i = 0; i < numberOfTransactions; i++) {
+            transactionDate = transactionDate.plusDays(random.nextInt(3) == 0 ? 0 : random.nextInt(20));
+            LocalDate date = transactionDate;
+            if (withBackdatedTransactionsAndWaivers && random.nextInt(5) == 0) {
+                date = transactionDate.minusDays(random.nextInt(30));
+                if (date.isBefore(this.disbursementDate)) {
+                    date = this.disbursementDate;
+                }
+            }
+            final boolean waiver = withBackdatedTransactionsAndWaivers && random.nextInt(6) == 0;
+            final BigDecimal amount = BigDecimal.valueOf(random.nextInt(50000) + 1, 2);
+            specifications.add(new TransactionSpecification(date, waiver ? amount.divide(BigDecimal.TEN).setScale(2,
+                    BigDecimal.ROUND_HALF_EVEN) : amount, waiver));
+        }
+        return specifications;
+    }
+
+    private List<LoanTransaction> sorted(final List<LoanTransaction> transactions) {
+        final List<LoanTransaction> sorted = new ArrayList<>(transactions);
+        Collections.sort(sorted, new LoanTransactionComparator());
+        return sorted;
+    }
+
+    private void assertThatInstallmentsMatch(final String message, final LoanRepaymentScheduleInstallment expected,
+            final LoanRepaymentScheduleInstallment actual) {
+        assertEquals(message, expected.getDueDate(), actual.getDueDate());
+        assertSameAmount(message, expected.getPrincipalCompleted(this.usDollars), actual.getPrincipalCompleted(this.usDollars));
+        assertSameAmount(message, expected.getInterestPaid(this.usDollars), actual.getInterestPaid(this.usDollars));
+        assertSameAmount(message, expected.getInterestWaived(this.usDollars), actual.getInterestWaived(this.usDollars));
+        assertSameAmount(message, expected.getFeeChargesPaid(this.usDollars), actual.getFeeChargesPaid(this.usDollars));
+        assertSameAmount(message, expected.getPenaltyChargesPaid(this.usDollars), actual.getPenaltyChargesPaid(this.usDollars));
+        assertSameAmount(message, expected.getTotalPaidInAdvance(this.usDollars), actual.getTotalPaidInAdvance(this.usDollars));
+        assertSameAmount(message, expected.getTotalPaidLate(this.usDollars), actual.getTotalPaidLate(this.usDollars));
+        assertEquals(message, expected.isObligationsMet(), actual.isObligationsMet());
+        assertEquals(message, expected.getObligationsMetOnDate(), actual.getObligationsMetOnDate());
+    }
+
+    private void assertThatTransactionsMatch(final String message, final LoanTransaction expected, final LoanTransaction actual) {
+        assertEquals(message, expected.getTransactionDate(), actual.getTransactionDate());
+        assertSameAmount(message, expected.getAmount(this.usDollars), actual.getAmount(this.usDollars));
+        assertSameAmount(message, expected.getPrincipalPortion(this.usDollars), actual.getPrincipalPortion(this.usDollars));
+        assertSameAmount(message, expected.getInterestPortion(this.usDollars), actual.getInterestPortion(this.usDollars));
+        assertSameAmount(message, expected.getFeeChargesPortion(this.usDollars), actual.getFeeChargesPortion(this.usDollars));
+        assertSameAmount(message, expected.getPenaltyChargesPortion(this.usDollars), actual.getPenaltyChargesPortion(this.usDollars));
+        assertSameAmount(message, expected.getOverPaymentPortion(this.usDollars), actual.getOverPaymentPortion(this.usDollars));
+    }
+
+    private void assertSameAmount(final String message, final Money expected, final Money actual) {
+        assertTrue(message + ": expected " + expected + " but was " + actual, expected.isEqualTo(actual));
+    }
+
+    private static class TransactionSpecification {
+
+        private final LocalDate date;
+        private final BigDecimal amount;
+        private final boolean interestWaiver;
+
+        TransactionSpecification(final LocalDate date, final BigDecimal amount, final boolean interestWaiver) {
+            this.date = date;
+            this.amount = amount;
+            this.interestWaiver = interestWaiver;
+        }
+
+        LoanTransaction create(final MonetaryCurrency currency) {
+            final Money money = Money.of(currency, this.amount);
+            if (this.interestWaiver) { return LoanTransaction.waiver(null, null, money, this.date, money, money.zero(),
+                    LocalDateTime.now(), null); }
+            return LoanTransaction.repayment(null, money, null, this.date, null, LocalDateTime.now(), null);
+        }
+    }
+}
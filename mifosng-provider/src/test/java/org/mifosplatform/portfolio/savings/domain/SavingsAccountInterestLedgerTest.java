@@ -0,0 +1,328 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.portfolio.savings.domain;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.joda.time.LocalDate;
+import org.junit.Test;
+import org.mifosplatform.organisation.monetary.domain.MonetaryCurrency;
+import org.mifosplatform.organisation.monetary.domain.Money;
+import org.mifosplatform.portfolio.account.service.AccountTransfersReadPlatformService;
+import org.mifosplatform.portfolio.accountdetails.domain.AccountType;
+import org.mifosplatform.portfolio.group.domain.Group;
+import org.mifosplatform.portfolio.savings.DepositAccountType;
+import org.mifosplatform.portfolio.savings.SavingsCompoundingInterestPeriodType;
+import org.mifosplatform.portfolio.savings.SavingsInterestCalculationDaysInYearType;
+import org.mifosplatform.portfolio.savings.SavingsInterestCalculationType;
+import org.mifosplatform.portfolio.savings.SavingsPostingInterestPeriodType;
+import org.mifosplatform.portfolio.savings.domain.interest.PostingPeriod;
+import org.springframework.beans.BeanUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Runs the same transactions and interest postings against an account that
+ * always recalculates interest over its full history and one that uses the
+ * {@link SavingsAccountInterestLedger}, and checks after every posting that
+ * both post the same interest and calculate the same periods.
+ */
+public class SavingsAccountInterestLedgerTest {
+
+    private static final MathContext MC = new MathContext(15, RoundingMode.HALF_EVEN);
+    private static final boolean POSTING_AT_PERIOD_END = false;
+    private static final Integer FINANCIAL_YEAR_BEGINNING_MONTH = 1;
+
+    private final MonetaryCurrency currency = new MonetaryCurrency("USD", 2, null);
+
+    private SavingsAccount fullyRecalculated;
+    private SavingsAccount incremental;
+    private long nextTransactionId = 1;
+
+    @Test
+    public void midPeriodDepositsAndWithdrawalsEarnTheSameInterest() {
+        openAccounts(new LocalDate(2014, 1, 1), SavingsCompoundingInterestPeriodType.DAILY, SavingsPostingInterestPeriodType.MONTHLY,
+                SavingsInterestCalculationType.DAILY_BALANCE, SavingsInterestCalculationDaysInYearType.DAYS_365);
+
+        deposit(new LocalDate(2014, 1, 1), "1000");
+        deposit(new LocalDate(2014, 1, 17), "250.55");
+        postInterestAndCompare(new LocalDate(2014, 2, 1));
+
+        deposit(new LocalDate(2014, 2, 10), "500");
+        withdraw(new LocalDate(2014, 2, 20), "200.10");
+        assertIncrementalCalculationUsed(new LocalDate(2014, 3, 1));
+        postInterestAndCompare(new LocalDate(2014, 3, 1));
+
+        deposit(new LocalDate(2014, 3, 15), "250");
+        withdraw(new LocalDate(2014, 3, 31), "100");
+        assertIncrementalCalculationUsed(new LocalDate(2014, 4, 1));
+        postInterestAndCompare(new LocalDate(2014, 4, 1));
+
+        // interest accrued part way through the next period
+        deposit(new LocalDate(2014, 4, 8), "75");
+        assertIncrementalCalculationUsed(new LocalDate(2014, 4, 20));
+        postInterestAndCompare(new LocalDate(2014, 4, 20));
+    }
+
+    @Test
+    public void periodsWithoutTransactionsEarnTheSameInterest() {
+        openAccounts(new LocalDate(2014, 1, 1), SavingsCompoundingInterestPeriodType.MONTHLY, SavingsPostingInterestPeriodType.MONTHLY,
+                SavingsInterestCalculationType.DAILY_BALANCE, SavingsInterestCalculationDaysInYearType.DAYS_365);
+
+        deposit(new LocalDate(2014, 1, 1), "5000");
+        postInterestAndCompare(new LocalDate(2014, 2, 1));
+
+        // several periods are posted at once when the job has not run
+        assertIncrementalCalculationUsed(new LocalDate(2014, 6, 1));
+        postInterestAndCompare(new LocalDate(2014, 6, 1));
+
+        assertIncrementalCalculationUsed(new LocalDate(2014, 7, 1));
+        postInterestAndCompare(new LocalDate(2014, 7, 1));
+    }
+
+    @Test
+    public void backdatedTransactionFallsBackToTheFullRecalculation() {
+        openAccounts(new LocalDate(2014, 1, 1), SavingsCompoundingInterestPeriodType.DAILY, SavingsPostingInterestPeriodType.MONTHLY,
+                SavingsInterestCalculationType.DAILY_BALANCE, SavingsInterestCalculationDaysInYearType.DAYS_365);
+
+        deposit(new LocalDate(2014, 1, 1), "1000");
+        postInterestAndCompare(new LocalDate(2014, 2, 1));
+        deposit(new LocalDate(2014, 2, 5), "300");
+        postInterestAndCompare(new LocalDate(2014, 3, 1));
+
+        // dated in an already posted period, so the posted interest changes
+        deposit(new LocalDate(2014, 1, 15), "2000");
+        assertFullRecalculationUsed(new LocalDate(2014, 3, 1));
+        postInterestAndCompare(new LocalDate(2014, 3, 1));
+
+        // the ledger is rebuilt by the full recalculation
+        withdraw(new LocalDate(2014, 3, 10), "150");
+        assertIncrementalCalculationUsed(new LocalDate(2014, 4, 1));
+        postInterestAndCompare(new LocalDate(2014, 4, 1));
+    }
+
+    @Test
+    public void reversalsMatchTheFullRecalculation() {
+        openAccounts(new LocalDate(2014, 1, 1), SavingsCompoundingInterestPeriodType.DAILY, SavingsPostingInterestPeriodType.MONTHLY,
+                SavingsInterestCalculationType.DAILY_BALANCE, SavingsInterestCalculationDaysInYearType.DAYS_365);
+
+        deposit(new LocalDate(2014, 1, 1), "1000");
+        deposit(new LocalDate(2014, 1, 20), "300");
+        postInterestAndCompare(new LocalDate(2014, 2, 1));
+
+        // a reversal since the last posting keeps the ledger
+        deposit(new LocalDate(2014, 2, 10), "400");
+        undo(new LocalDate(2014, 2, 10), "400");
+        assertIncrementalCalculationUsed(new LocalDate(2014, 3, 1));
+        postInterestAndCompare(new LocalDate(2014, 3, 1));
+
+        // a reversal before the last posting invalidates it
+        undo(new LocalDate(2014, 1, 20), "300");
+        assertFullRecalculationUsed(new LocalDate(2014, 3, 1));
+        postInterestAndCompare(new LocalDate(2014, 3, 1));
+
+        deposit(new LocalDate(2014, 3, 3), "80");
+        assertIncrementalCalculationUsed(new LocalDate(2014, 4, 1));
+        postInterestAndCompare(new LocalDate(2014, 4, 1));
+    }
+
+    @Test
+    public void compoundingAndPostingPeriodBoundariesMatchTheFullRecalculation() {
+        openAccounts(new LocalDate(2014, 1, 15), SavingsCompoundingInterestPeriodType.MONTHLY, SavingsPostingInterestPeriodType.QUATERLY,
+                SavingsInterestCalculationType.AVERAGE_DAILY_BALANCE, SavingsInterestCalculationDaysInYearType.DAYS_360);
+
+        deposit(new LocalDate(2014, 1, 15), "1000");
+        deposit(new LocalDate(2014, 1, 31), "100");
+        deposit(new LocalDate(2014, 3, 31), "200");
+        postInterestAndCompare(new LocalDate(2014, 4, 1));
+
+        // on the posting date, after the interest posting of that day
+        deposit(new LocalDate(2014, 4, 1), "300");
+        deposit(new LocalDate(2014, 4, 30), "400");
+        withdraw(new LocalDate(2014, 5, 1), "50");
+
+        // nothing is posted part way through a posting period
+        assertIncrementalCalculationUsed(new LocalDate(2014, 5, 15));
+        postInterestAndCompare(new LocalDate(2014, 5, 15));
+
+        deposit(new LocalDate(2014, 6, 30), "60");
+        assertIncrementalCalculationUsed(new LocalDate(2014, 7, 1));
+        postInterestAndCompare(new LocalDate(2014, 7, 1));
+
+        // the last day of the posted period is before the ledger start
+        deposit(new LocalDate(2014, 6, 30), "70");
+        assertFullRecalculationUsed(new LocalDate(2014, 7, 1));
+        postInterestAndCompare(new LocalDate(2014, 7, 1));
+
+        assertIncrementalCalculationUsed(new LocalDate(2014, 10, 1));
+        postInterestAndCompare(new LocalDate(2014, 10, 1));
+    }
+
+    private void openAccounts(final LocalDate activationDate, final SavingsCompoundingInterestPeriodType compoundingPeriodType,
+            final SavingsPostingInterestPeriodType postingPeriodType, final SavingsInterestCalculationType interestCalculationType,
+            final SavingsInterestCalculationDaysInYearType daysInYearType) {
+        this.fullyRecalculated = openAccount(false, activationDate, compoundingPeriodType, postingPeriodType, interestCalculationType,
+                daysInYearType);
+        this.incremental = openAccount(true, activationDate, compoundingPeriodType, postingPeriodType, interestCalculationType,
+                daysInYearType);
+    }
+
+    private SavingsAccount openAccount(final boolean incrementalInterestCalculation, final LocalDate activationDate,
+            final SavingsCompoundingInterestPeriodType compoundingPeriodType, final SavingsPostingInterestPeriodType postingPeriodType,
+            final SavingsInterestCalculationType interestCalculationType, final SavingsInterestCalculationDaysInYearType daysInYearType) {
+
+        final SavingsProduct product = mock(SavingsProduct.class);
+        when(product.currency()).thenReturn(this.currency);
+        when(product.isIncrementalInterestCalculation()).thenReturn(incrementalInterestCalculation);
+
+        final Group group = BeanUtils.instantiateClass(Group.class);
+
+        final SavingsAccount account = SavingsAccount.createNewApplicationForSubmittal(null, group, product, null, "000000001", null,
+                AccountType.GROUP, activationDate, null, BigDecimal.valueOf(7.5), compoundingPeriodType, postingPeriodType,
+                interestCalculationType, daysInYearType, null, null, null, false, null, false, null, false, null);
+        account.activatedOnDate = activationDate.toDate();
+        ReflectionTestUtils.setField(account, "depositType", DepositAccountType.SAVINGS_DEPOSIT.getValue());
+        account.setHelpers(new SavingsAccountTransactionSummaryWrapper(), new SavingsHelper(mock(AccountTransfersReadPlatformService.class)));
+        return account;
+    }
+
+    private void deposit(final LocalDate date, final String amount) {
+        for (final SavingsAccount account : accounts()) {
+            account.transactions.add(SavingsAccountTransaction.deposit(account, account.office(), null, date, money(amount),
+                    date.toDate(), null));
+            save(account);
+        }
+    }
+
+    private void withdraw(final LocalDate date, final String amount) {
+        for (final SavingsAccount account : accounts()) {
+            account.transactions.add(SavingsAccountTransaction.withdrawal(account, account.office(), null, date, money(amount),
+                    date.toDate(), null));
+            save(account);
+        }
+    }
+
+    private void undo(final LocalDate date, final String amount) {
+        for (final SavingsAccount account : accounts()) {
+            Long transactionId = null;
+            for (final SavingsAccountTransaction transaction : account.transactions) {
+                if (transaction.isNotReversed() && !transaction.isInterestPosting() && transaction.occursOn(date)
+                        && transaction.getAmount(this.currency).isEqualTo(money(amount))) {
+                    transactionId = transaction.getId();
+                }
+            }
+            assertNotNull("no transaction of " + amount + " on " + date, transactionId);
+            account.undoTransaction(transactionId);
+            save(account);
+        }
+    }
+
+    private void postInterestAndCompare(final LocalDate interestPostingUpToDate) {
+        for (final SavingsAccount account : accounts()) {
+            account.postInterest(MC, interestPostingUpToDate, false, POSTING_AT_PERIOD_END, FINANCIAL_YEAR_BEGINNING_MONTH);
+            save(account);
+        }
+
+        assertEquals("interest postings up to " + interestPostingUpToDate, interestPostings(this.fullyRecalculated),
+                interestPostings(this.incremental));
+        assertSameAmount("account balance", this.fullyRecalculated.summary.getAccountBalance(),
+                this.incremental.summary.getAccountBalance());
+
+        final List<PostingPeriod> fullPeriods = calculateInterest(this.fullyRecalculated, interestPostingUpToDate);
+        final List<PostingPeriod> incrementalPeriods = calculateInterest(this.incremental, interestPostingUpToDate);
+
+        final Map<LocalDate, PostingPeriod> fullPeriodsByStartDate = new HashMap<>();
+        for (final PostingPeriod period : fullPeriods) {
+            fullPeriodsByStartDate.put(period.getPeriodInterval().startDate(), period);
+        }
+        assertFalse(incrementalPeriods.isEmpty());
+        for (final PostingPeriod period : incrementalPeriods) {
+            final LocalDate startDate = period.getPeriodInterval().startDate();
+            final PostingPeriod fullPeriod = fullPeriodsByStartDate.get(startDate);
+            assertNotNull("no fully recalculated period starting " + startDate, fullPeriod);
+            assertEquals(fullPeriod.getPeriodInterval().endDate(), period.getPeriodInterval().endDate());
+            assertSameAmount("interest earned in period starting " + startDate, fullPeriod.getInterestEarned().getAmount(), period
+                    .getInterestEarned().getAmount());
+            assertSameAmount("closing balance of period starting " + startDate, fullPeriod.closingBalance().getAmount(), period
+                    .closingBalance().getAmount());
+        }
+        assertSameAmount("total interest earned", totalInterestEarned(this.fullyRecalculated), totalInterestEarned(this.incremental));
+    }
+
+    private void assertIncrementalCalculationUsed(final LocalDate upToDate) {
+        assertTrue("interest ledger not usable up to " + upToDate, isInterestLedgerUsable(upToDate));
+    }
+
+    private void assertFullRecalculationUsed(final LocalDate upToDate) {
+        assertFalse("interest ledger usable up to " + upToDate, isInterestLedgerUsable(upToDate));
+    }
+
+    private boolean isInterestLedgerUsable(final LocalDate upToDate) {
+        return this.incremental.interestLedger != null
+                && this.incremental.interestLedger.isUsableFor(upToDate, this.incremental.transactions, POSTING_AT_PERIOD_END,
+                        FINANCIAL_YEAR_BEGINNING_MONTH);
+    }
+
+    private List<PostingPeriod> calculateInterest(final SavingsAccount account, final LocalDate upToDate) {
+        final List<PostingPeriod> periods = account.calculateInterestUsing(MC, upToDate, false, POSTING_AT_PERIOD_END,
+                FINANCIAL_YEAR_BEGINNING_MONTH);
+        save(account);
+        return periods;
+    }
+
+    private List<String> interestPostings(final SavingsAccount account) {
+        final List<String> interestPostings = new ArrayList<>();
+        for (final SavingsAccountTransaction transaction : account.retreiveListOfTransactions()) {
+            if (transaction.isInterestPostingAndNotReversed()) {
+                interestPostings.add(transaction.transactionLocalDate() + " "
+                        + transaction.getAmount(this.currency).getAmount().stripTrailingZeros().toPlainString());
+            }
+        }
+        return interestPostings;
+    }
+
+    private BigDecimal totalInterestEarned(final SavingsAccount account) {
+        return (BigDecimal) ReflectionTestUtils.getField(account.summary, "totalInterestEarned");
+    }
+
+    /**
+     * Gives the transactions added since the last call ids, as saving the
+     * account would, so that later ones have higher ids.
+     */
+    private void save(final SavingsAccount account) {
+        for (final SavingsAccountTransaction transaction : account.transactions) {
+            if (transaction.getId() == null) {
+                ReflectionTestUtils.setField(transaction, "id", this.nextTransactionId++);
+            }
+        }
+    }
+
+    private SavingsAccount[] accounts() {
+        return new SavingsAccount[] { this.fullyRecalculated, this.incremental };
+    }
+
+    private Money money(final String amount) {
+        return Money.of(this.currency, new BigDecimal(amount));
+    }
+
+    private static void assertSameAmount(final String message, final BigDecimal expected, final BigDecimal actual) {
+        final BigDecimal expectedAmount = expected == null ? BigDecimal.ZERO : expected;
+        final BigDecimal actualAmount = actual == null ? BigDecimal.ZERO : actual;
+        assertTrue(message + ": expected " + expectedAmount + " but was " + actualAmount, expectedAmount.compareTo(actualAmount) == 0);
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.portfolio.savings.service;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.joda.time.LocalDate;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mifosplatform.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.core.service.RoutingDataSource;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.mifosplatform.infrastructure.jobs.exception.JobExecutionException;
+import org.mifosplatform.infrastructure.jobs.service.JobCheckpointService;
+import org.mifosplatform.infrastructure.jobs.service.JobName;
+import org.mifosplatform.infrastructure.jobs.service.JobRunProgressRecorder;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SavingsInterestPostingJobServiceImplTest {
+
+    private static final JobName JOB_NAME = JobName.POST_INTEREST_FOR_SAVINGS;
+
+    @Mock
+    private RoutingDataSource dataSource;
+    @Mock
+    private SavingsAccountWritePlatformService savingsAccountWritePlatformService;
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+    @Mock
+    private JobCheckpointService jobCheckpointService;
+    @Mock
+    private MifosPlatformTenant tenant;
+
+    /**
+     * The ids of the active savings accounts, in id order.
+     */
+    private List<Long> activeSavingsIds;
+
+    private SavingsInterestPostingJobServiceImpl jobService;
+
+    @Before
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(this.tenant);
+        when(this.configurationDomainService.retrieveSavingsInterestPostingChunkSize()).thenReturn(2);
+        when(this.configurationDomainService.retrieveSavingsInterestPostingThreadPoolSize()).thenReturn(2);
+        this.activeSavingsIds = Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+
+        this.jobService = new SavingsInterestPostingJobServiceImpl(this.dataSource, this.savingsAccountWritePlatformService,
+                this.configurationDomainService, this.jobCheckpointService) {
+
+            @Override
+            List<Long> retrieveActiveSavingsIdsAfter(final Long lastFetchedId, final int chunkSize) {
+                final List<Long> savingsIds = new ArrayList<>();
+                for (final Long savingsId : SavingsInterestPostingJobServiceImplTest.this.activeSavingsIds) {
+                    if (savingsId > lastFetchedId && savingsIds.size() < chunkSize) {
+                        savingsIds.add(savingsId);
+                    }
+                }
+                return savingsIds;
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        JobRunProgressRecorder.drain();
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    public void shouldPostEveryChunkCheckpointEachAndClearTheCheckpointAtTheEnd() throws JobExecutionException {
+        this.jobService.postInterestForAccounts();
+
+        verify(this.savingsAccountWritePlatformService).postInterestForAccounts(Arrays.asList(1L, 2L));
+        verify(this.savingsAccountWritePlatformService).postInterestForAccounts(Arrays.asList(3L, 4L));
+        verify(this.savingsAccountWritePlatformService).postInterestForAccounts(Arrays.asList(5L, 6L));
+        verify(this.savingsAccountWritePlatformService).postInterestForAccounts(Arrays.asList(7L));
+
+        final InOrder checkpoints = inOrder(this.jobCheckpointService);
+        checkpoints.verify(this.jobCheckpointService).updateLastProcessedId(eq(JOB_NAME), any(LocalDate.class), eq(2L));
+        checkpoints.verify(this.jobCheckpointService).updateLastProcessedId(eq(JOB_NAME), any(LocalDate.class), eq(4L));
+        checkpoints.verify(this.jobCheckpointService).updateLastProcessedId(eq(JOB_NAME), any(LocalDate.class), eq(6L));
+        checkpoints.verify(this.jobCheckpointService).updateLastProcessedId(eq(JOB_NAME), any(LocalDate.class), eq(7L));
+        checkpoints.verify(this.jobCheckpointService).clearCheckpoint(JOB_NAME);
+    }
+
+    @Test
+    public void shouldResumeAfterTheCheckpointOfTheSameDay() throws JobExecutionException {
+        when(this.jobCheckpointService.retrieveLastProcessedId(eq(JOB_NAME), any(LocalDate.class))).thenReturn(4L);
+
+        this.jobService.postInterestForAccounts();
+
+        verify(this.savingsAccountWritePlatformService, never()).postInterestForAccounts(Arrays.asList(1L, 2L));
+        verify(this.savingsAccountWritePlatformService, never()).postInterestForAccounts(Arrays.asList(3L, 4L));
+        verify(this.savingsAccountWritePlatformService).postInterestForAccounts(Arrays.asList(5L, 6L));
+        verify(this.savingsAccountWritePlatformService).postInterestForAccounts(Arrays.asList(7L));
+        verify(this.jobCheckpointService).clearCheckpoint(JOB_NAME);
+    }
+
+    @Test
+    public void shouldKeepTheCheckpointAtTheLastIdBeforeAFailedChunk() {
+        doThrow(new IllegalStateException("posting failed")).when(this.savingsAccountWritePlatformService).postInterestForAccounts(
+                Arrays.asList(3L, 4L));
+
+        try {
+            this.jobService.postInterestForAccounts();
+            fail("a failed chunk must fail the job");
+        } catch (final JobExecutionException e) {
+            // expected
+        }
+
+        // the chunks after the failed one are still posted
+        verify(this.savingsAccountWritePlatformService).postInterestForAccounts(Arrays.asList(5L, 6L));
+        verify(this.savingsAccountWritePlatformService).postInterestForAccounts(Arrays.asList(7L));
+
+        verify(this.jobCheckpointService).updateLastProcessedId(eq(JOB_NAME), any(LocalDate.class), eq(2L));
+        verify(this.jobCheckpointService, never()).updateLastProcessedId(eq(JOB_NAME), any(LocalDate.class), eq(4L));
+        verify(this.jobCheckpointService, never()).updateLastProcessedId(eq(JOB_NAME), any(LocalDate.class), eq(6L));
+        verify(this.jobCheckpointService, never()).updateLastProcessedId(eq(JOB_NAME), any(LocalDate.class), eq(7L));
+        verify(this.jobCheckpointService, never()).clearCheckpoint(JOB_NAME);
+    }
+
+    @Test
+    public void shouldNotCheckpointWhenTheFirstChunkFails() {
+        doThrow(new IllegalStateException("posting failed")).when(this.savingsAccountWritePlatformService).postInterestForAccounts(
+                Arrays.asList(1L, 2L));
+
+        try {
+            this.jobService.postInterestForAccounts();
+            fail("a failed chunk must fail the job");
+        } catch (final JobExecutionException e) {
+            assertTrue(e.getMessage().contains("Savings accounts 1 - 2"));
+        }
+
+        verify(this.jobCheckpointService, never()).updateLastProcessedId(eq(JOB_NAME), any(LocalDate.class), anyLong());
+        verify(this.jobCheckpointService, never()).clearCheckpoint(JOB_NAME);
+    }
+
+    @Test
+    public void shouldClearTheCheckpointWhenThereIsNothingToPost() throws JobExecutionException {
+        this.activeSavingsIds = Collections.emptyList();
+
+        this.jobService.postInterestForAccounts();
+
+        verify(this.savingsAccountWritePlatformService, never()).postInterestForAccounts(Arrays.asList(1L, 2L));
+        verify(this.jobCheckpointService, never()).updateLastProcessedId(eq(JOB_NAME), any(LocalDate.class), anyLong());
+        verify(this.jobCheckpointService).clearCheckpoint(JOB_NAME);
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.mifosplatform.portfolio.search.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.apache.commons.lang.StringUtils;
+import org.junit.Test;
+
+public class SearchIndexTermsTest {
+
+    @Test
+    public void normalizeTrimsCollapsesWhitespaceAndLowerCases() {
+        assertEquals("john doe", SearchIndexTerms.normalize("  John \t DOE "));
+        assertNull(SearchIndexTerms.normalize("   "));
+        assertNull(SearchIndexTerms.normalize(null));
+    }
+
+    @Test
+    public void nameIsIndexedAsAWholeAndByWord() {
+        final Map<String, Boolean> terms = new SearchIndexTerms().addName("Mary Jane Smith").getTerms();
+
+        assertEquals(Arrays.asList("mary jane smith", "mary", "jane", "smith"), Arrays.asList(terms.keySet().toArray()));
+        assertTrue(terms.get("mary jane smith"));
+        assertFalse(terms.get("jane"));
+    }
+
+    @Test
+    public void identifierIsIndexedByEverySuffix() {
+        final Map<String, Boolean> terms = new SearchIndexTerms().addIdentifier("AB 12").getTerms();
+
+        assertEquals(Arrays.asList("ab 12", "b 12", "12", "2"), Arrays.asList(terms.keySet().toArray()));
+        assertTrue(terms.get("ab 12"));
+        assertFalse(terms.get("12"));
+    }
+
+    @Test
+    public void wholeValueWinsOverASuffixOfAnotherValue() {
+        final Map<String, Boolean> terms = new SearchIndexTerms().addIdentifier("0012").addIdentifier("12").getTerms();
+
+        assertTrue(terms.get("12"));
+        assertFalse(terms.get("012"));
+    }
+
+    @Test
+    public void termsAreTruncatedToTheColumnLength() {
+        final Map<String, Boolean> terms = new SearchIndexTerms().addName(StringUtils.repeat("a", 150)).getTerms();
+
+        assertEquals(1, terms.size());
+        assertEquals(SearchIndexTerms.MAX_TERM_LENGTH, terms.keySet().iterator().next().length());
+    }
+
+    @Test
+    public void blankValuesAreNotIndexed() {
+        assertTrue(new SearchIndexTerms().addName(" ").addIdentifier(null).getTerms().isEmpty());
+    }
+}